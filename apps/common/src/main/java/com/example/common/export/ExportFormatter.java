@@ -24,17 +24,6 @@ public class ExportFormatter {
         this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
     
-    /**
-     * Convert export bundle to JSON string
-     */
-    public String toJson(ExportBundle bundle) {
-        try {
-            return objectMapper.writeValueAsString(bundle);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to serialize export bundle to JSON", e);
-        }
-    }
-    
     /**
      * Convert export bundle to Markdown format for JIRA/documentation
      */
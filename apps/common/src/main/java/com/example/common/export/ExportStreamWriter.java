@@ -0,0 +1,211 @@
+package com.example.common.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes an {@link ExportBundle} document straight to an output stream, section by section.
+ *
+ * Why this matters:
+ * - Building the full bundle and then serializing it (or rendering it to a String first)
+ *   holds the diagnostic data twice; for large releases with thousands of events that
+ *   doubles peak heap for a download nobody reads in memory
+ * - Streaming keeps only the item being written, and the first bytes leave immediately
+ *
+ * Design:
+ * - Same JSON shape as a serialized ExportBundle:
+ *   {metadata, source, health, findings: [...], additionalData: {...}}
+ * - Sections are written in that order; {@link #finding} opens the findings array on first use,
+ *   {@link #additional} closes it and opens additionalData, {@link #finish} closes whatever is open
+ * - {@link #close} without {@link #finish} aborts: the document and the gzip stream are left
+ *   unterminated, so a failure mid-export reaches the client as a broken download, not as a
+ *   well-formed but truncated bundle
+ * - Each value goes through the caller's ObjectMapper (same dates/naming as the REST responses),
+ *   written directly to the generator without an intermediate tree or String; no flush per value,
+ *   the generator's buffer decides when bytes go out
+ * - Optional gzip; the underlying stream is finished but never closed (the servlet owns it)
+ *
+ * Not thread-safe: one writer per response.
+ */
+public final class ExportStreamWriter implements Closeable {
+
+    private enum Section { HEADER, FINDINGS, ADDITIONAL }
+
+    private final ObjectWriter valueWriter;
+    private final JsonGenerator generator;
+    private final GZIPOutputStream gzip;
+    private final OutputStream target;
+    private Section section = Section.HEADER;
+    private boolean findingsWritten;
+    private boolean closed;
+
+    private ExportStreamWriter(ObjectMapper objectMapper, OutputStream target, boolean gzip) throws IOException {
+        this.target = target;
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.gzip = gzip ? new GZIPOutputStream(target, 8192, true) : null;
+        this.generator = objectMapper.getFactory().createGenerator(gzip ? this.gzip : target, JsonEncoding.UTF8);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        this.generator.writeStartObject();
+    }
+
+    /**
+     * Start a bundle document on {@code out}, gzip-compressed when {@code gzip} is set.
+     */
+    public static ExportStreamWriter open(ObjectMapper objectMapper, OutputStream out, boolean gzip) throws IOException {
+        return new ExportStreamWriter(objectMapper, out, gzip);
+    }
+
+    /**
+     * Whether a request's Accept-Encoding header allows a gzip body.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equalsIgnoreCase("q=0");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stream an already built bundle (small bundles; large ones should be written section by section).
+     */
+    public static void write(ObjectMapper objectMapper, ExportBundle bundle, OutputStream out, boolean gzip) throws IOException {
+        try (ExportStreamWriter writer = open(objectMapper, out, gzip)) {
+            writer.metadata(bundle.metadata());
+            writer.source(bundle.source());
+            writer.health(bundle.health());
+            if (bundle.findings() != null) {
+                for (ExportBundle.FindingDto finding : bundle.findings()) {
+                    writer.finding(finding);
+                }
+            }
+            if (bundle.additionalData() != null) {
+                for (var entry : bundle.additionalData().entrySet()) {
+                    writer.additional(entry.getKey(), entry.getValue());
+                }
+            }
+            writer.finish();
+        }
+    }
+
+    public ExportStreamWriter metadata(ExportBundle.MetadataDto metadata) throws IOException {
+        return header("metadata", metadata);
+    }
+
+    public ExportStreamWriter source(ExportBundle.SourceDto source) throws IOException {
+        return header("source", source);
+    }
+
+    public ExportStreamWriter health(ExportBundle.HealthDto health) throws IOException {
+        return header("health", health);
+    }
+
+    /**
+     * Append one finding; call as each finding is produced.
+     */
+    public ExportStreamWriter finding(ExportBundle.FindingDto finding) throws IOException {
+        if (section == Section.ADDITIONAL) {
+            throw new IllegalStateException("Findings must be written before additional data");
+        }
+        if (section == Section.HEADER) {
+            generator.writeArrayFieldStart("findings");
+            section = Section.FINDINGS;
+        }
+        valueWriter.writeValue(generator, finding);
+        findingsWritten = true;
+        return this;
+    }
+
+    /**
+     * Append one additionalData entry. Collections are written element by element as Jackson
+     * walks them (e.g. a summary's events), never copied into the bundle.
+     */
+    public ExportStreamWriter additional(String name, Object value) throws IOException {
+        if (section != Section.ADDITIONAL) {
+            endFindings();
+            generator.writeObjectFieldStart("additionalData");
+            section = Section.ADDITIONAL;
+        }
+        generator.writeFieldName(name);
+        valueWriter.writeValue(generator, value);
+        return this;
+    }
+
+    /**
+     * Push buffered bytes to the client (e.g. after the findings so a slow tail does not hold them).
+     */
+    public void flush() throws IOException {
+        generator.flush();
+        if (gzip != null) {
+            gzip.flush();
+        }
+    }
+
+    /**
+     * End the document (and the gzip stream) after the last section was written successfully.
+     */
+    public void finish() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (section == Section.ADDITIONAL) {
+            generator.writeEndObject();
+        } else {
+            endFindings();
+        }
+        generator.writeEndObject();
+        generator.close();
+        if (gzip != null) {
+            gzip.finish();
+        }
+        target.flush();
+    }
+
+    /**
+     * Without a prior {@link #finish} (the export failed): stop writing and leave the document
+     * and the gzip stream unterminated.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        generator.close();
+    }
+
+    private ExportStreamWriter header(String name, Object value) throws IOException {
+        if (section != Section.HEADER) {
+            throw new IllegalStateException(name + " must be written before findings and additional data");
+        }
+        generator.writeFieldName(name);
+        valueWriter.writeValue(generator, value);
+        return this;
+    }
+
+    private void endFindings() throws IOException {
+        if (section == Section.FINDINGS) {
+            generator.writeEndArray();
+        } else if (!findingsWritten) {
+            // Keep the bundle shape: an empty findings array rather than a missing field
+            generator.writeArrayFieldStart("findings");
+            generator.writeEndArray();
+        }
+        findingsWritten = true;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.common.http;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Writes selected response types as Smile or CBOR when the client asks for it in Accept.
+ *
+ * Why this matters:
+ * - Summaries and comparisons of large releases run to megabytes of JSON that automation
+ *   fetches and parses over and over; a binary Jackson format carries the same document
+ *   smaller and encodes/decodes faster (no number/string formatting, back-referenced names)
+ *
+ * Design:
+ * - Same data model as the JSON responses: the binary mapper is a copy of the app's ObjectMapper
+ *   with a Smile/CBOR factory, so modules, date handling and naming stay identical
+ * - Write-only and limited to the listed response types; request bodies and every other
+ *   endpoint (errors included) stay JSON
+ * - Registered after the JSON converter (see {@link BinaryJsonResponses#install}), so JSON
+ *   remains the default for wildcard Accept headers and browsers
+ */
+public class BinaryJsonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    public enum Format {
+        SMILE(APPLICATION_SMILE),
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        JsonFactory newFactory() {
+            return this == SMILE ? new SmileFactory() : new CBORFactory();
+        }
+    }
+
+    private final Format format;
+    private final List<Class<?>> responseTypes;
+
+    /**
+     * @param jsonMapper The app's JSON ObjectMapper (copied, not modified)
+     * @param responseTypes Types written in this format; subclasses included
+     */
+    public BinaryJsonHttpMessageConverter(ObjectMapper jsonMapper, Format format, List<Class<?>> responseTypes) {
+        super(jsonMapper.copyWith(format.newFactory()), format.mediaType());
+        this.format = format;
+        this.responseTypes = List.copyOf(responseTypes);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public MediaType getMediaType() {
+        return format.mediaType();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return supports(clazz) && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return supports(clazz) && super.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        for (Class<?> responseType : responseTypes) {
+            if (responseType.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
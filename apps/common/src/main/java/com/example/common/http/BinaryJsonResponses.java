@@ -0,0 +1,99 @@
+package com.example.common.http;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smile and CBOR converters for an app's large responses, plus Accept negotiation for
+ * endpoints that stream their body themselves (exports).
+ *
+ * Usage: one instance per app, built from the app's ObjectMapper, installed from a
+ * WebMvcConfigurer's extendMessageConverters and injected where a body is streamed.
+ *
+ * Clients ask with e.g. {@code Accept: application/x-jackson-smile, application/json;q=0.9};
+ * keeping JSON as the lower-quality fallback lets error bodies (always JSON) through.
+ */
+public final class BinaryJsonResponses {
+
+    private final List<BinaryJsonHttpMessageConverter> converters;
+
+    /**
+     * @param jsonMapper The app's JSON ObjectMapper
+     * @param responseTypes Response types that may be written as Smile/CBOR
+     */
+    public BinaryJsonResponses(ObjectMapper jsonMapper, Class<?>... responseTypes) {
+        List<Class<?>> types = List.of(responseTypes);
+        this.converters = List.of(
+                new BinaryJsonHttpMessageConverter(jsonMapper, BinaryJsonHttpMessageConverter.Format.SMILE, types),
+                new BinaryJsonHttpMessageConverter(jsonMapper, BinaryJsonHttpMessageConverter.Format.CBOR, types));
+    }
+
+    public List<BinaryJsonHttpMessageConverter> converters() {
+        return converters;
+    }
+
+    /**
+     * Append these converters after JSON. Spring adds type-agnostic Smile/CBOR converters when the
+     * dataformats are on the classpath (with a default mapper rather than the app's); those are
+     * replaced so only the listed types are offered in binary, with the app's mapper settings.
+     */
+    public void install(List<HttpMessageConverter<?>> messageConverters) {
+        messageConverters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        messageConverters.addAll(converters);
+    }
+
+    /**
+     * Binary format a request's Accept header prefers over JSON, if any.
+     *
+     * Mirrors Spring's choice for converter-written responses: the explicitly listed type with the
+     * highest quality wins, earlier wins on a tie, and wildcards never select a binary format.
+     */
+    public Optional<BinaryJsonHttpMessageConverter> negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Optional.empty();
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+
+        BinaryJsonHttpMessageConverter best = null;
+        double bestQuality = 0;
+        int bestIndex = Integer.MAX_VALUE;
+        double jsonQuality = 0;
+        int jsonIndex = Integer.MAX_VALUE;
+        for (int i = 0; i < accepted.size(); i++) {
+            MediaType type = accepted.get(i);
+            double quality = type.getQualityValue();
+            if (type.isWildcardType() || type.isWildcardSubtype()) {
+                continue;
+            }
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON) && quality > jsonQuality) {
+                jsonQuality = quality;
+                jsonIndex = i;
+            }
+            for (BinaryJsonHttpMessageConverter converter : converters) {
+                if (type.equalsTypeAndSubtype(converter.getMediaType()) && quality > bestQuality) {
+                    best = converter;
+                    bestQuality = quality;
+                    bestIndex = i;
+                }
+            }
+        }
+        if (best == null || bestQuality < jsonQuality || (bestQuality == jsonQuality && jsonIndex < bestIndex)) {
+            return Optional.empty();
+        }
+        return Optional.of(best);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.common.llm;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded LRU cache of LLM intent routing answers, keyed by normalized question + context hint.
+ *
+ * Why this matters:
+ * - Every question the heuristics can't route costs a blocking LLM round trip (seconds), and
+ *   operators ask the same handful of questions over and over
+ *
+ * Design:
+ * - Key: question lowercased with whitespace collapsed, plus the context hint (the same words
+ *   against another namespace or schema may route differently)
+ * - At most maxEntries answers, least recently used evicted first; each expires after ttl
+ * - Only answers are cached: a failed or empty routing call is tried again next time
+ * - Sized from the environment: LLM_ROUTE_CACHE_SIZE (default 256, 0 disables),
+ *   LLM_ROUTE_CACHE_TTL_SECONDS (default 600)
+ * - Thread-safe; the loader runs outside the lock (two concurrent misses may both load)
+ */
+public final class IntentRouteCache<V> {
+
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private record Entry<V>(V value, long loadedAtNanos) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, Entry<V>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public IntentRouteCache(int maxEntries, Duration ttl) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > IntentRouteCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cache sized from LLM_ROUTE_CACHE_SIZE / LLM_ROUTE_CACHE_TTL_SECONDS.
+     *
+     * @param environment Environment lookup (System::getenv outside tests)
+     */
+    public static <V> IntentRouteCache<V> fromEnvironment(UnaryOperator<String> environment) {
+        int size = parse(environment.apply("LLM_ROUTE_CACHE_SIZE"), DEFAULT_MAX_ENTRIES);
+        long ttlSeconds = parse(environment.apply("LLM_ROUTE_CACHE_TTL_SECONDS"), (int) DEFAULT_TTL.toSeconds());
+        return new IntentRouteCache<>(size, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Cached answer for this question and hint, else the loader's (cached when present).
+     */
+    public Optional<V> get(String question, String contextHint, Supplier<Optional<V>> loader) {
+        if (maxEntries == 0) {
+            return loader.get();
+        }
+        String key = key(question, contextHint);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.loadedAtNanos() <= ttlNanos) {
+                    hits.incrementAndGet();
+                    return Optional.of(entry.value());
+                }
+                entries.remove(key);
+            }
+        }
+
+        misses.incrementAndGet();
+        Optional<V> loaded = loader.get();
+        loaded.ifPresent(value -> {
+            synchronized (entries) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        });
+        return loaded;
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Get number of cached answers (for testing/debugging).
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Clear all cached answers (for testing).
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static String key(String question, String contextHint) {
+        String normalized = question == null ? "" : WHITESPACE.matcher(question.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return normalized + '\u0000' + (contextHint == null ? "" : contextHint);
+    }
+
+    private static int parse(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.example.common.llm;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Shared async client for LLM chat completion calls (intent routing in both triage apps).
+ *
+ * Why this matters:
+ * - Routing used to call httpClient.send on the triage request thread with no limits; a slow
+ *   or failing endpoint held every triage request for the full timeout, one after another
+ * - Routing is optional (the heuristic router always has an answer), so when the model is
+ *   slow or down the right move is to skip it immediately, not to wait
+ *
+ * Design:
+ * - sendAsync over HTTP/2 (multiplexed on one connection); the returned future always
+ *   completes normally: the response body on a 2xx answer, otherwise empty
+ * - Concurrency cap: at most maxConcurrent calls in flight; beyond that callers get empty
+ *   right away instead of queueing behind a slow endpoint
+ * - Hedging: once a model has latency history, a call still running after that model's
+ *   recent p95 (never sooner than minHedgeDelay) sends one identical second request if a
+ *   permit is free; the first 2xx answer wins and the loser is cancelled (a hedge is never
+ *   started once the call has finished)
+ * - Blocking callers wait at most maxWait ({@link #sendAndWait}); the call itself keeps
+ *   running to its own timeout so the latency history and circuit still see its outcome
+ * - Circuit breaker: failureThreshold consecutive failures open the circuit for openDuration,
+ *   during which calls return empty without touching the network; afterwards one trial call
+ *   is let through and its outcome closes or re-opens the circuit
+ * - Metrics (per client and model): llm.client.requests{outcome=success|failure|short_circuited|rejected},
+ *   llm.client.hedges and llm.client.latency{outcome=success|failure}
+ * - Settings from the environment: LLM_MAX_CONCURRENT (8), LLM_REQUEST_TIMEOUT_MS (8000),
+ *   LLM_HEDGE_MIN_DELAY_MS (300), LLM_BREAKER_FAILURES (5), LLM_BREAKER_OPEN_SECONDS (30),
+ *   LLM_MAX_WAIT_MS (3000)
+ */
+public final class LlmClient {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmClient.class);
+
+    /**
+     * Latency samples kept per model for the hedge delay (p95 of the most recent calls).
+     */
+    private static final int LATENCY_WINDOW = 128;
+
+    /**
+     * No hedging until a model has this many samples: an early p95 is mostly noise.
+     */
+    private static final int MIN_HEDGE_SAMPLES = 20;
+
+    /**
+     * Client tuning; see the class doc for environment names and defaults.
+     */
+    public record Settings(
+            int maxConcurrent,
+            Duration requestTimeout,
+            Duration minHedgeDelay,
+            int failureThreshold,
+            Duration openDuration,
+            Duration maxWait
+    ) {
+        public static Settings fromEnvironment(UnaryOperator<String> environment) {
+            return new Settings(
+                    Math.max(1, parse(environment.apply("LLM_MAX_CONCURRENT"), 8)),
+                    Duration.ofMillis(parse(environment.apply("LLM_REQUEST_TIMEOUT_MS"), 8_000)),
+                    Duration.ofMillis(parse(environment.apply("LLM_HEDGE_MIN_DELAY_MS"), 300)),
+                    Math.max(1, parse(environment.apply("LLM_BREAKER_FAILURES"), 5)),
+                    Duration.ofSeconds(parse(environment.apply("LLM_BREAKER_OPEN_SECONDS"), 30)),
+                    Duration.ofMillis(parse(environment.apply("LLM_MAX_WAIT_MS"), 3_000)));
+        }
+    }
+
+    private enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+    private final Map<String, ModelStats> statsByModel = new ConcurrentHashMap<>();
+
+    private final Object circuitLock = new Object();
+    private CircuitState circuitState = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+
+    /**
+     * @param name Client name used as the metrics tag ("platformtriage", "dbtriage")
+     * @param meterRegistry Registry for latency and outcome metrics
+     * @param environment Environment lookup for {@link Settings} (System::getenv outside tests)
+     */
+    public LlmClient(String name, MeterRegistry meterRegistry, UnaryOperator<String> environment) {
+        this(name, Settings.fromEnvironment(environment), meterRegistry);
+    }
+
+    public LlmClient(String name, Settings settings, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(settings.maxConcurrent());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.requestTimeout())
+                .build();
+    }
+
+    /**
+     * Send a chat completion request; the future completes with the 2xx response body, or
+     * empty when the call failed, timed out, was rejected by the concurrency cap or skipped
+     * by an open circuit. It never completes exceptionally.
+     *
+     * @param model Model name (metrics tag and hedge latency history)
+     * @param request Request to send; resent as-is when hedging
+     */
+    public CompletableFuture<Optional<String>> send(String model, HttpRequest request) {
+        ModelStats stats = statsByModel.computeIfAbsent(model, ModelStats::new);
+        if (!allowRequest()) {
+            stats.shortCircuited.increment();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        if (!permits.tryAcquire()) {
+            stats.rejected.increment();
+            releaseTrial();
+            log.warn("LLM client {} at its concurrency cap ({}), skipping call", name, settings.maxConcurrent());
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        long start = System.nanoTime();
+        Call call = new Call(request);
+        call.attempt();
+
+        long hedgeDelayNanos = stats.hedgeDelayNanos(settings.minHedgeDelay().toNanos());
+        if (hedgeDelayNanos > 0 && hedgeDelayNanos < settings.requestTimeout().toNanos()) {
+            Executor afterDelay = CompletableFuture.delayedExecutor(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            CompletableFuture.runAsync(() -> {
+                if (call.hedge()) {
+                    stats.hedges.increment();
+                }
+            }, afterDelay);
+        }
+
+        return call.result
+                .orTimeout(settings.requestTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                .handle((body, error) -> {
+                    call.cancelAttempts();
+                    boolean success = error == null && body.isPresent();
+                    stats.record(success, System.nanoTime() - start);
+                    recordOutcome(success);
+                    return success ? body : Optional.<String>empty();
+                });
+    }
+
+    /**
+     * {@link #send} for callers that block: the answer, or empty when it did not arrive
+     * within maxWait. A call that outlives the wait is not abandoned; it still completes
+     * (and is recorded) in the background.
+     */
+    public Optional<String> sendAndWait(String model, HttpRequest request) {
+        CompletableFuture<Optional<String>> call = send(model, request);
+        try {
+            return call.get(settings.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("LLM client {} gave up waiting after {} ms", name, settings.maxWait().toMillis());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            return Optional.empty(); // send never completes exceptionally
+        }
+    }
+
+    /**
+     * Whether the circuit is currently open (for testing/debugging).
+     */
+    public boolean isCircuitOpen() {
+        synchronized (circuitLock) {
+            return circuitState == CircuitState.OPEN
+                    && System.nanoTime() - openedAtNanos < settings.openDuration().toNanos();
+        }
+    }
+
+    /**
+     * One logical call: the primary request plus an optional hedge, each holding a permit.
+     * The first 2xx answer completes it; a failure completes it empty only once no other
+     * attempt is still running.
+     */
+    private final class Call {
+        private final HttpRequest request;
+        private final CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final List<CompletableFuture<HttpResponse<String>>> attempts = new CopyOnWriteArrayList<>();
+        private boolean finished;
+
+        private Call(HttpRequest request) {
+            this.request = request;
+        }
+
+        /**
+         * Start the second request, unless the call already finished or no permit is free.
+         * Runs under the same lock as {@link #cancelAttempts}, so a hedge is either started
+         * before the attempts are cancelled (and cancelled with them) or not at all.
+         */
+        private synchronized boolean hedge() {
+            if (finished || result.isDone() || !permits.tryAcquire()) {
+                return false;
+            }
+            attempt();
+            return true;
+        }
+
+        private void attempt() {
+            running.incrementAndGet();
+            CompletableFuture<HttpResponse<String>> attempt = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            attempts.add(attempt);
+            attempt.whenComplete((response, error) -> {
+                permits.release();
+                if (error == null && response.statusCode() >= 200 && response.statusCode() < 300) {
+                    result.complete(Optional.ofNullable(response.body()));
+                    return;
+                }
+                if (!result.isDone()) {
+                    if (error != null) {
+                        log.warn("LLM client {} call failed: {}", name, error.getMessage());
+                    } else {
+                        log.warn("LLM client {} call failed with status {}: {}", name, response.statusCode(), response.body());
+                    }
+                }
+                if (running.decrementAndGet() == 0) {
+                    result.complete(Optional.empty());
+                }
+            });
+        }
+
+        private synchronized void cancelAttempts() {
+            finished = true;
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    private boolean allowRequest() {
+        synchronized (circuitLock) {
+            if (circuitState == CircuitState.CLOSED) {
+                return true;
+            }
+            if (circuitState == CircuitState.OPEN
+                    && System.nanoTime() - openedAtNanos >= settings.openDuration().toNanos()) {
+                circuitState = CircuitState.HALF_OPEN; // This caller is the trial
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A trial call that never went out (concurrency cap) hands the trial to the next caller.
+     */
+    private void releaseTrial() {
+        synchronized (circuitLock) {
+            if (circuitState == CircuitState.HALF_OPEN) {
+                circuitState = CircuitState.OPEN;
+                openedAtNanos = System.nanoTime() - settings.openDuration().toNanos();
+            }
+        }
+    }
+
+    private void recordOutcome(boolean success) {
+        synchronized (circuitLock) {
+            if (success) {
+                consecutiveFailures = 0;
+                circuitState = CircuitState.CLOSED;
+                return;
+            }
+            consecutiveFailures++;
+            if (circuitState == CircuitState.HALF_OPEN || consecutiveFailures >= settings.failureThreshold()) {
+                if (circuitState != CircuitState.OPEN) {
+                    log.warn("LLM client {} circuit opened after {} consecutive failures; routing falls back for {}s",
+                            name, consecutiveFailures, settings.openDuration().toSeconds());
+                }
+                circuitState = CircuitState.OPEN;
+                openedAtNanos = System.nanoTime();
+            }
+        }
+    }
+
+    private final class ModelStats {
+        private final Counter success;
+        private final Counter failure;
+        private final Counter shortCircuited;
+        private final Counter rejected;
+        private final Counter hedges;
+        private final Timer successLatency;
+        private final Timer failureLatency;
+        private final long[] latencies = new long[LATENCY_WINDOW];
+        private int samples;
+
+        private ModelStats(String model) {
+            this.success = counter(model, "success");
+            this.failure = counter(model, "failure");
+            this.shortCircuited = counter(model, "short_circuited");
+            this.rejected = counter(model, "rejected");
+            this.hedges = Counter.builder("llm.client.hedges")
+                    .description("Second requests sent after the p95 delay")
+                    .tag("client", name)
+                    .tag("model", model)
+                    .register(meterRegistry);
+            this.successLatency = timer(model, "success");
+            this.failureLatency = timer(model, "failure");
+        }
+
+        private Counter counter(String model, String outcome) {
+            return Counter.builder("llm.client.requests")
+                    .tag("client", name)
+                    .tag("model", model)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String model, String outcome) {
+            return Timer.builder("llm.client.latency")
+                    .description("LLM call latency including hedged requests")
+                    .tag("client", name)
+                    .tag("model", model)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private void record(boolean ok, long elapsedNanos) {
+            (ok ? success : failure).increment();
+            (ok ? successLatency : failureLatency).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (ok) {
+                synchronized (latencies) {
+                    latencies[samples % LATENCY_WINDOW] = elapsedNanos;
+                    samples++;
+                }
+            }
+        }
+
+        /**
+         * Hedge delay in nanos: p95 of recent successful calls, at least minNanos; 0 = don't hedge yet.
+         */
+        private long hedgeDelayNanos(long minNanos) {
+            long[] window;
+            synchronized (latencies) {
+                if (samples < MIN_HEDGE_SAMPLES) {
+                    return 0;
+                }
+                window = Arrays.copyOf(latencies, Math.min(samples, LATENCY_WINDOW));
+            }
+            Arrays.sort(window);
+            long p95 = window[(int) Math.ceil(window.length * 0.95d) - 1];
+            return Math.max(p95, minNanos);
+        }
+    }
+
+    private static int parse(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.Triage.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.Triage.model.response.DbSummaryResponse;
+import com.example.Triage.model.response.EnvironmentComparisonResponse;
+import com.example.Triage.model.response.ExportDiagnosticsResponse;
+import com.example.common.http.BinaryJsonResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smile/CBOR on request (Accept) for the summary, environment comparison and diagnostics export
+ * responses; JSON stays the default. The streamed export bundle negotiates through the same
+ * BinaryJsonResponses.
+ */
+@Configuration
+public class BinaryJsonConfig implements WebMvcConfigurer {
+
+    private final BinaryJsonResponses binaryJsonResponses;
+
+    public BinaryJsonConfig(ObjectMapper objectMapper) {
+        this.binaryJsonResponses = new BinaryJsonResponses(objectMapper,
+                DbSummaryResponse.class,
+                EnvironmentComparisonResponse.class,
+                ExportDiagnosticsResponse.class);
+    }
+
+    @Bean
+    public BinaryJsonResponses binaryJsonResponses() {
+        return binaryJsonResponses;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        binaryJsonResponses.install(converters);
+    }
+}
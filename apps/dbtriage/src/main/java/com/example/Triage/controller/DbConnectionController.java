@@ -7,9 +7,18 @@ import com.example.Triage.model.request.DbConnectionRequest;
 import com.example.Triage.model.request.DbPrivilegesRequest;
 import com.example.Triage.model.response.ErrorResponse;
 import com.example.Triage.util.LogUtils;
+import com.example.common.export.ExportStreamWriter;
+import com.example.common.http.BinaryJsonHttpMessageConverter;
+import com.example.common.http.BinaryJsonResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,6 +26,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +40,8 @@ public class DbConnectionController {
 
     private final DbConnectionHandler connectionHandler;
     private final DbPrivilegesHandler privilegesHandler;
+    private final ObjectMapper objectMapper;
+    private final BinaryJsonResponses binaryJsonResponses;
 
     @PostMapping("/connections")
     public ResponseEntity<?> createConnection(@Valid @RequestBody DbConnectionRequest req) {
@@ -155,12 +168,34 @@ public class DbConnectionController {
         }
     }
 
+    /**
+     * Export bundle streamed to the response (Smile/CBOR when Accept prefers it,
+     * gzip-encoded when the client accepts it).
+     * Diagnostics are collected before the first byte so failures keep their error body.
+     */
     @GetMapping("/diagnostics/export/bundle")
-    public ResponseEntity<?> exportDiagnosticsBundle(@RequestParam String connectionId) {
+    public ResponseEntity<?> exportDiagnosticsBundle(@RequestParam String connectionId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("#exportDiagnosticsBundle: Exporting diagnostics bundle for connectionId: {}", connectionId);
         try {
-            var resp = connectionHandler.exportDiagnosticsBundle(connectionId);
-            return ResponseEntity.ok(resp);
+            var resp = connectionHandler.exportDiagnostics(connectionId);
+            boolean gzip = ExportStreamWriter.acceptsGzip(acceptEncoding);
+            Optional<BinaryJsonHttpMessageConverter> binary = binaryJsonResponses.negotiate(accept);
+            ObjectMapper mapper = binary.map(BinaryJsonHttpMessageConverter::getObjectMapper).orElse(objectMapper);
+            StreamingResponseBody body = out -> {
+                try (ExportStreamWriter writer = ExportStreamWriter.open(mapper, out, gzip)) {
+                    connectionHandler.writeDiagnosticsBundle(resp, writer);
+                    writer.finish();
+                }
+            };
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(binary.map(BinaryJsonHttpMessageConverter::getMediaType).orElse(MediaType.APPLICATION_JSON))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
         } catch (ConnectionNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ErrorResponse("CONNECTION_NOT_FOUND", e.getMessage()));
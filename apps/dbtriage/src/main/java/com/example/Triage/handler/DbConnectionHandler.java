@@ -19,7 +19,8 @@ import com.example.Triage.util.DbConnectionUtils;
 import com.example.Triage.model.dto.FlywayHistoryRowDto;
 import com.example.Triage.model.dto.ConnectionSummaryDto;
 import com.example.Triage.model.dto.DbConnectContextDto;
-import com.example.common.export.ExportBundle;
+import com.example.common.export.ExportStreamWriter;
+import java.io.IOException;
 import java.util.List;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -224,15 +225,10 @@ public class DbConnectionHandler {
         }
     }
     
-    public ExportBundle exportDiagnosticsBundle(String connectionId) {
-        log.info("#exportDiagnosticsBundle: Exporting diagnostics bundle for connectionId: {}", connectionId);
-        try {
-            // Use existing export method and convert to bundle format
-            ExportDiagnosticsResponse response = exportDiagnostics(connectionId);
-            return exportService.convertToExportBundle(response);
-        } catch (Exception e) {
-            log.error("#exportDiagnosticsBundle: Export bundle failed for connectionId: {}", connectionId, e);
-            throw new ConnectionNotFoundException("EXPORT_DIAGNOSTICS_BUNDLE_FAILED.");
-        }
+    /**
+     * Stream the export bundle of already collected diagnostics (see {@link #exportDiagnostics}).
+     */
+    public void writeDiagnosticsBundle(ExportDiagnosticsResponse response, ExportStreamWriter writer) throws IOException {
+        exportService.writeExportBundle(response, writer);
     }
 }
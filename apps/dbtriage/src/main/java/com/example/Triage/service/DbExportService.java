@@ -2,8 +2,10 @@ package com.example.Triage.service;
 
 import com.example.Triage.model.response.ExportDiagnosticsResponse;
 import com.example.common.export.ExportBundle;
+import com.example.common.export.ExportStreamWriter;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -20,8 +22,41 @@ public class DbExportService {
      * Convert ExportDiagnosticsResponse to ExportBundle format
      */
     public ExportBundle convertToExportBundle(ExportDiagnosticsResponse response) {
-        // Build metadata
-        ExportBundle.MetadataDto metadata = ExportBundle.MetadataDto.builder()
+        // Build findings
+        List<ExportBundle.FindingDto> findings = response.findings() != null ?
+                response.findings().stream()
+                        .map(this::convertFinding)
+                        .collect(Collectors.toList()) :
+                List.of();
+        
+        return ExportBundle.builder()
+                .metadata(buildMetadata(response))
+                .source(buildSource(response))
+                .health(buildHealth(response))
+                .findings(findings)
+                .additionalData(buildAdditionalData(response))
+                .build();
+    }
+    
+    /**
+     * Write the export bundle straight to {@code writer}, converting findings one at a time.
+     */
+    public void writeExportBundle(ExportDiagnosticsResponse response, ExportStreamWriter writer) throws IOException {
+        writer.metadata(buildMetadata(response))
+                .source(buildSource(response))
+                .health(buildHealth(response));
+        if (response.findings() != null) {
+            for (ExportDiagnosticsResponse.FindingDto finding : response.findings()) {
+                writer.finding(convertFinding(finding));
+            }
+        }
+        for (Map.Entry<String, Object> entry : buildAdditionalData(response).entrySet()) {
+            writer.additional(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    private ExportBundle.MetadataDto buildMetadata(ExportDiagnosticsResponse response) {
+        return ExportBundle.MetadataDto.builder()
                 .generatedAt(response.metadata() != null ? 
                            response.metadata().generatedAt() : OffsetDateTime.now())
                 .tool(response.metadata() != null ? 
@@ -33,8 +68,9 @@ public class DbExportService {
                 .identifier(response.metadata() != null ? 
                           response.metadata().connectionId() : "unknown")
                 .build();
-        
-        // Build source
+    }
+    
+    private ExportBundle.SourceDto buildSource(ExportDiagnosticsResponse response) {
         Map<String, String> sourceDetails = new HashMap<>();
         if (response.db() != null) {
             sourceDetails.put("engine", response.db().engine());
@@ -46,14 +82,15 @@ public class DbExportService {
             sourceDetails.put("sslMode", response.db().sslMode());
         }
         
-        ExportBundle.SourceDto source = ExportBundle.SourceDto.builder()
+        return ExportBundle.SourceDto.builder()
                 .type("database")
                 .name(response.db() != null ? response.db().database() : "unknown")
                 .location(buildLocation(response))
                 .details(sourceDetails)
                 .build();
-        
-        // Build health
+    }
+    
+    private ExportBundle.HealthDto buildHealth(ExportDiagnosticsResponse response) {
         Map<String, Object> healthMetrics = new HashMap<>();
         if (response.flyway() != null) {
             healthMetrics.put("flywayStatus", response.flyway().status());
@@ -73,20 +110,14 @@ public class DbExportService {
         String healthStatus = determineHealthStatus(response);
         String healthSummary = buildHealthSummary(response);
         
-        ExportBundle.HealthDto health = ExportBundle.HealthDto.builder()
+        return ExportBundle.HealthDto.builder()
                 .status(healthStatus)
                 .summary(healthSummary)
                 .metrics(healthMetrics)
                 .build();
-        
-        // Build findings
-        List<ExportBundle.FindingDto> findings = response.findings() != null ?
-                response.findings().stream()
-                        .map(this::convertFinding)
-                        .collect(Collectors.toList()) :
-                List.of();
-        
-        // Build additional data
+    }
+    
+    private Map<String, Object> buildAdditionalData(ExportDiagnosticsResponse response) {
         Map<String, Object> additionalData = new HashMap<>();
         if (response.flyway() != null) {
             additionalData.put("flyway", response.flyway());
@@ -94,14 +125,7 @@ public class DbExportService {
         if (response.compare() != null) {
             additionalData.put("comparison", response.compare());
         }
-        
-        return ExportBundle.builder()
-                .metadata(metadata)
-                .source(source)
-                .health(health)
-                .findings(findings)
-                .additionalData(additionalData)
-                .build();
+        return additionalData;
     }
     
     private ExportBundle.FindingDto convertFinding(ExportDiagnosticsResponse.FindingDto finding) {
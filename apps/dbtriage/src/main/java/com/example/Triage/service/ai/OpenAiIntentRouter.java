@@ -1,10 +1,7 @@
 package com.example.Triage.service.ai;
 
-import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -14,21 +11,34 @@ import java.util.Optional;
 
 import org.springframework.stereotype.Component;
 
+import com.example.common.llm.IntentRouteCache;
+import com.example.common.llm.LlmClient;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OpenAiIntentRouter {
 
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(8);
 
     private final ObjectMapper objectMapper;
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final LlmClient llmClient;
+
+    /**
+     * Answers already routed for the same normalized question and active schema.
+     * See {@link IntentRouteCache} for sizing (LLM_ROUTE_CACHE_SIZE, LLM_ROUTE_CACHE_TTL_SECONDS).
+     */
+    private final IntentRouteCache<AiIntent> routeCache = IntentRouteCache.fromEnvironment(System::getenv);
+
+    public OpenAiIntentRouter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.llmClient = new LlmClient("dbtriage", meterRegistry, System::getenv);
+    }
 
     public Optional<AiIntent> route(String question, String activeSchema) {
         String apiKey = resolveEnv("OPENAI_API_KEY");
@@ -36,6 +46,10 @@ public class OpenAiIntentRouter {
             return Optional.empty();
         }
 
+        return routeCache.get(question, activeSchema, () -> callRouter(apiKey, question, activeSchema));
+    }
+
+    private Optional<AiIntent> callRouter(String apiKey, String question, String activeSchema) {
         String baseUrl = resolveEnv("OPENAI_BASE_URL", "https://api.openai.com/v1");
         String model = resolveEnv("OPENAI_MODEL", "gpt-4.1-mini");
         String endpoint = baseUrl.endsWith("/chat/completions") ? baseUrl : String.format("%s/chat/completions", baseUrl);
@@ -49,18 +63,9 @@ public class OpenAiIntentRouter {
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
 
-        try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                log.warn("OpenAI intent route failed with status {}: {}", response.statusCode(), response.body());
-                return Optional.empty();
-            }
-
-            return parse(response.body());
-        } catch (IOException | InterruptedException e) {
-            log.warn("OpenAI intent route failed: {}", e.getMessage());
-            return Optional.empty();
-        }
+        // Empty when the call failed, was capped, the circuit is open or the model is slower than
+        // LLM_MAX_WAIT_MS: callers use the heuristic intent
+        return llmClient.sendAndWait(model, request).flatMap(this::parse);
     }
 
     private Optional<AiIntent> parse(String responseBody) {
@@ -89,7 +94,8 @@ public class OpenAiIntentRouter {
                 });
             }
 
-            return Optional.of(AiIntent.from(tool, confidence, params));
+            // Immutable: the same intent is handed out again on cache hits
+            return Optional.of(AiIntent.from(tool, confidence, Map.copyOf(params)));
         } catch (Exception e) {
             log.warn("Unable to parse OpenAI JSON intent response: {}", e.getMessage());
             return Optional.empty();
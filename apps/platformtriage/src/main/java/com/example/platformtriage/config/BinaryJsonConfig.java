@@ -0,0 +1,41 @@
+package com.example.platformtriage.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.common.http.BinaryJsonResponses;
+import com.example.platformtriage.model.response.CrossClusterSummaryResponse;
+import com.example.platformtriage.model.response.DeploymentSummaryDiffResponse;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smile/CBOR on request (Accept) for the large summary responses; JSON stays the default.
+ * The export endpoint streams its body and negotiates through the same BinaryJsonResponses.
+ */
+@Configuration
+public class BinaryJsonConfig implements WebMvcConfigurer {
+
+    private final BinaryJsonResponses binaryJsonResponses;
+
+    public BinaryJsonConfig(ObjectMapper objectMapper) {
+        this.binaryJsonResponses = new BinaryJsonResponses(objectMapper,
+                DeploymentSummaryResponse.class,
+                DeploymentSummaryDiffResponse.class,
+                CrossClusterSummaryResponse.class);
+    }
+
+    @Bean
+    public BinaryJsonResponses binaryJsonResponses() {
+        return binaryJsonResponses;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        binaryJsonResponses.install(converters);
+    }
+}
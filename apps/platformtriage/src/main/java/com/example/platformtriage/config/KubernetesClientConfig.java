@@ -3,24 +3,28 @@ package com.example.platformtriage.config;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.util.Config;
 import io.kubernetes.client.openapi.Configuration;
+import okhttp3.ConnectionPool;
 import org.springframework.context.annotation.Bean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 @org.springframework.context.annotation.Configuration
 public class KubernetesClientConfig {
 
   private static final Logger log = LoggerFactory.getLogger(KubernetesClientConfig.class);
 
+  /**
+   * One connection pool for every cluster client (connections are still per apiserver).
+   */
+  private static final ConnectionPool SHARED_POOL = new ConnectionPool(20, 5, TimeUnit.MINUTES);
+
   @Bean
   public ApiClient kubernetesApiClient() {
     try {
       // Works in-cluster and locally (uses kubeconfig by default if not in cluster)
-      ApiClient client = Config.defaultClient();
-      // Optional: tune timeouts for cluster calls
-      client.setReadTimeout(10_000);
-      client.setConnectTimeout(5_000);
-      client.setWriteTimeout(10_000);
+      ApiClient client = tune(Config.defaultClient());
 
       Configuration.setDefaultApiClient(client);
       log.info("✓ Kubernetes ApiClient initialized successfully");
@@ -33,4 +37,15 @@ public class KubernetesClientConfig {
           "Ensure kubectl is configured and ~/.kube/config is accessible.", e);
     }
   }
+
+  /**
+   * Shared connection pool and timeouts for cluster calls (default and per-context clients).
+   */
+  public static ApiClient tune(ApiClient client) {
+    client.setHttpClient(client.getHttpClient().newBuilder().connectionPool(SHARED_POOL).build());
+    client.setReadTimeout(10_000);
+    client.setConnectTimeout(5_000);
+    client.setWriteTimeout(10_000);
+    return client;
+  }
 }
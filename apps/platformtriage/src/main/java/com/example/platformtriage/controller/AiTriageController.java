@@ -1,14 +1,21 @@
 package com.example.platformtriage.controller;
 
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.example.platformtriage.model.request.AiTriageRequest;
 import com.example.platformtriage.model.response.AiTriageResponse;
 import com.example.platformtriage.service.AiTriageService;
+import com.example.platformtriage.service.ai.AiIntent;
+import com.example.platformtriage.service.ai.PlatformTriageProgress;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,13 +27,76 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AiTriageController {
 
+    /**
+     * Upper bound for one streamed triage turn (routing + skill, e.g. a wide trace search).
+     */
+    private static final long STREAM_TIMEOUT_MS = 120_000L;
+
     private final AiTriageService aiTriageService;
 
     @PostMapping("/triage")
     public ResponseEntity<AiTriageResponse> triage(@Valid @RequestBody AiTriageRequest request) {
-        log.info("#platformAiTriage: tool={}, action={}, contextProvided={}",
-                request.tool(), request.action(), request.context() != null);
+        log.info("#platformAiTriage: tool={}, action={}, summaryId={}, contextProvided={}",
+                request.tool(), request.action(), request.summaryId(), request.context() != null);
         AiTriageResponse response = aiTriageService.triage(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Same triage as {@link #triage}, streamed as server-sent events while it runs:
+     * {@code intent} (resolved tool, confidence, params), {@code tool_started},
+     * {@code finding} (partial results, e.g. trace matches per pod), then {@code answer}
+     * (the full AiTriageResponse) or {@code error}.
+     */
+    @PostMapping(value = "/triage/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter triageStream(@Valid @RequestBody AiTriageRequest request) {
+        log.info("#platformAiTriageStream: tool={}, action={}, summaryId={}, contextProvided={}",
+                request.tool(), request.action(), request.summaryId(), request.context() != null);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Thread.ofVirtual().name("ai-triage-stream").start(() -> {
+            try {
+                AiTriageResponse response = aiTriageService.triage(request, new SseProgress(emitter));
+                emitter.send(SseEmitter.event().name("answer").data(response));
+                emitter.complete();
+            } catch (IOException e) {
+                log.debug("AI triage stream closed by client: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } catch (Exception e) {
+                log.error("Streamed AI triage failed", e);
+                sendQuietly(emitter, "error", Map.of("message", String.valueOf(e.getMessage())));
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Forwards triage progress as SSE events. A client that went away only loses the
+     * intermediate events; the triage itself runs to completion.
+     */
+    private record SseProgress(SseEmitter emitter) implements PlatformTriageProgress {
+
+        @Override
+        public void intentResolved(AiIntent intent) {
+            sendQuietly(emitter, "intent", intent);
+        }
+
+        @Override
+        public void toolStarted(String tool) {
+            sendQuietly(emitter, "tool_started", Map.of("tool", tool));
+        }
+
+        @Override
+        public void finding(String finding) {
+            sendQuietly(emitter, "finding", Map.of("text", finding));
+        }
+    }
+
+    private static void sendQuietly(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropped AI triage stream event {}: {}", name, e.getMessage());
+        }
+    }
 }
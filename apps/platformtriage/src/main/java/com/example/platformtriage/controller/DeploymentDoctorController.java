@@ -1,24 +1,45 @@
 package com.example.platformtriage.controller;
 
-import com.example.common.export.ExportBundle;
+import com.example.common.export.ExportStreamWriter;
+import com.example.common.http.BinaryJsonHttpMessageConverter;
+import com.example.common.http.BinaryJsonResponses;
+import com.example.platformtriage.model.dto.ClusterHealth;
+import com.example.platformtriage.model.response.CrossClusterSummaryResponse;
+import com.example.platformtriage.model.response.DeploymentSummaryDiffResponse;
 import com.example.platformtriage.model.response.DeploymentSummaryResponse;
 import com.example.platformtriage.model.response.DeploymentTraceSearchResponse;
 import com.example.platformtriage.model.response.DeploymentVersionCheck;
+import com.example.platformtriage.model.response.LogPatternsResponse;
 import com.example.platformtriage.service.DeploymentDoctorService;
 import com.example.platformtriage.service.ExportService;
+import com.example.platformtriage.service.SummaryHandleStore;
+import com.example.platformtriage.service.incident.IncidentArchive;
+import com.example.platformtriage.service.logs.LogTimeline;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.kubernetes.client.openapi.ApiException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/deployment")
@@ -27,10 +48,17 @@ public class DeploymentDoctorController {
   private static final Logger log = LoggerFactory.getLogger(DeploymentDoctorController.class);
   private final DeploymentDoctorService service;
   private final ExportService exportService;
+  private final SummaryHandleStore summaryHandles;
+  private final ObjectMapper objectMapper;
+  private final BinaryJsonResponses binaryJsonResponses;
 
-  public DeploymentDoctorController(DeploymentDoctorService service, ExportService exportService) {
+  public DeploymentDoctorController(DeploymentDoctorService service, ExportService exportService,
+      SummaryHandleStore summaryHandles, ObjectMapper objectMapper, BinaryJsonResponses binaryJsonResponses) {
     this.service = service;
     this.exportService = exportService;
+    this.summaryHandles = summaryHandles;
+    this.objectMapper = objectMapper;
+    this.binaryJsonResponses = binaryJsonResponses;
   }
 
   @GetMapping("/summary")
@@ -38,52 +66,146 @@ public class DeploymentDoctorController {
       @RequestParam String namespace,
       @RequestParam(required = false) String selector,
       @RequestParam(required = false) String release,
-      @RequestParam(defaultValue = "50") int limitEvents
+      @RequestParam(defaultValue = "50") int limitEvents,
+      @RequestParam(required = false) Long budgetMs,
+      @RequestParam(required = false) String cluster
   ) {
-    log.info("📋 Fetching deployment summary for namespace: {}, selector: {}, release: {}", 
-        namespace, selector, release);
+    log.info("📋 Fetching deployment summary for namespace: {}, selector: {}, release: {}, budgetMs: {}, cluster: {}", 
+        namespace, selector, release, budgetMs, cluster);
     try {
-      DeploymentSummaryResponse response = service.getSummary(namespace, selector, release, limitEvents);
+      DeploymentSummaryResponse response = service.getSummary(cluster, namespace, selector, release, limitEvents, budgetMs);
       log.info("✓ Successfully fetched deployment summary");
-      return response;
+      // summaryId lets AI triage requests reference this summary instead of posting it back
+      return summaryHandles.register(response);
     } catch (Exception e) {
       log.error("✗ Error fetching deployment summary: {}", e.getMessage(), e);
       throw e;
     }
   }
 
+  @GetMapping("/summary/diff")
+  public DeploymentSummaryDiffResponse getSummaryDiff(
+      @RequestParam String namespace,
+      @RequestParam(required = false) String selector,
+      @RequestParam(required = false) String release,
+      @RequestParam(required = false) String since,
+      @RequestParam(defaultValue = "50") int limitEvents,
+      @RequestParam(required = false) String cluster
+  ) {
+    log.info("🔀 Diffing deployment summary for namespace: {}, selector: {}, release: {}, since: {}, cluster: {}",
+        namespace, selector, release, since, cluster);
+    return service.getSummaryDiff(cluster, namespace, selector, release, since, limitEvents);
+  }
+
+  /**
+   * Same scope in several clusters, queried in parallel.
+   * clusters = comma-separated kubeconfig contexts (default: PLATFORMTRIAGE_CLUSTERS or all contexts).
+   */
+  @GetMapping("/summary/clusters")
+  public CrossClusterSummaryResponse getCrossClusterSummary(
+      @RequestParam String namespace,
+      @RequestParam(required = false) String selector,
+      @RequestParam(required = false) String release,
+      @RequestParam(defaultValue = "50") int limitEvents,
+      @RequestParam(required = false) List<String> clusters,
+      @RequestParam(required = false) Long budgetMs
+  ) {
+    log.info("🌐 Cross-cluster summary for namespace: {}, selector: {}, release: {}, clusters: {}",
+        namespace, selector, release, clusters);
+    return service.getCrossClusterSummary(namespace, selector, release, limitEvents, clusters, budgetMs);
+  }
+
+  @GetMapping("/clusters")
+  public List<ClusterHealth> getClusters() {
+    return service.getClusters();
+  }
+
+  /**
+   * Export bundle (ExportBundle JSON) streamed to the response as it is written;
+   * Smile/CBOR when Accept prefers it, gzip-encoded when the client accepts it.
+   */
   @GetMapping("/diagnostics/export")
-  public ResponseEntity<ExportBundle> exportDiagnostics(
+  public ResponseEntity<StreamingResponseBody> exportDiagnostics(
       @RequestParam String namespace,
       @RequestParam(required = false) String selector,
       @RequestParam(required = false) String release,
-      @RequestParam(defaultValue = "50") int limitEvents
+      @RequestParam(defaultValue = "50") int limitEvents,
+      @RequestParam(required = false) String cluster,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
   ) {
-    log.info("📦 Exporting deployment diagnostics for namespace: {}, selector: {}, release: {}", 
-        namespace, selector, release);
+    log.info("📦 Exporting deployment diagnostics for namespace: {}, selector: {}, release: {}, cluster: {}", 
+        namespace, selector, release, cluster);
+    DeploymentSummaryResponse summary;
     try {
-      // Get the deployment summary first
-      DeploymentSummaryResponse summary = service.getSummary(namespace, selector, release, limitEvents);
-      
-      // Convert to export bundle
-      ExportBundle exportBundle = exportService.createExportBundle(summary);
-      
-      log.info("✓ Successfully created export bundle");
-      return ResponseEntity.ok(exportBundle);
+      // Get the deployment summary first (failures still map to the JSON error body)
+      summary = service.getSummary(cluster, namespace, selector, release, limitEvents, null);
     } catch (Exception e) {
       log.error("✗ Error exporting deployment diagnostics: {}", e.getMessage(), e);
       throw e;
     }
+
+    boolean gzip = ExportStreamWriter.acceptsGzip(acceptEncoding);
+    Optional<BinaryJsonHttpMessageConverter> binary = binaryJsonResponses.negotiate(accept);
+    ObjectMapper mapper = binary.map(BinaryJsonHttpMessageConverter::getObjectMapper).orElse(objectMapper);
+    MediaType contentType = binary.map(BinaryJsonHttpMessageConverter::getMediaType).orElse(MediaType.APPLICATION_JSON);
+    StreamingResponseBody body = out -> {
+      try (ExportStreamWriter writer = ExportStreamWriter.open(mapper, out, gzip)) {
+        exportService.writeExport(summary, writer);
+        writer.finish();
+      }
+      log.info("✓ Successfully streamed export bundle ({}, gzip: {})", contentType, gzip);
+    };
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(contentType)
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  /**
+   * Incident archive for postmortems, streamed as a zip while its entries are fetched:
+   * summary.json, events.json, logs/POD/CONTAINER[.previous].log, deployments/NAME.yaml,
+   * db-version.json and manifest.json (sizes, truncation, errors).
+   */
+  @GetMapping("/diagnostics/archive")
+  public ResponseEntity<StreamingResponseBody> exportIncidentArchive(
+      @RequestParam String namespace,
+      @RequestParam(required = false) String selector,
+      @RequestParam(required = false) String release,
+      @RequestParam(defaultValue = "50") int limitEvents,
+      @RequestParam(required = false) Integer tailLines,
+      @RequestParam(required = false) Integer podBytes,
+      @RequestParam(required = false) Long maxBytes,
+      @RequestParam(required = false) String cluster
+  ) throws ApiException {
+    log.info("🗄️ Building incident archive for namespace: {}, selector: {}, release: {}, cluster: {}",
+        namespace, selector, release, cluster);
+    IncidentArchive archive = service.openIncidentArchive(cluster, namespace, selector, release, limitEvents,
+        tailLines, podBytes, maxBytes);
+    StreamingResponseBody body = out -> {
+      IncidentArchive.Manifest manifest = archive.writeTo(out, objectMapper);
+      log.info("✓ Streamed incident archive: {} entries, {} bytes", manifest.entries().size(), manifest.bytes());
+    };
+    String filename = "incident-" + namespace + "-"
+        + Instant.now().truncatedTo(ChronoUnit.SECONDS).toString().replace(":", "") + ".zip";
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/zip"))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+        .body(body);
   }
 
   @GetMapping("/versions")
   public DeploymentVersionCheck getDeploymentVersions(
       @RequestParam String namespace,
       @RequestParam(required = false) String selector,
-      @RequestParam(required = false) String release
+      @RequestParam(required = false) String release,
+      @RequestParam(required = false) String cluster
   ) throws ApiException {
-    log.info("🔖 Checking versions for namespace: {}, selector: {}, release: {}", namespace, selector, release);
-    return service.getVersionCheck(namespace, selector, release);
+    log.info("🔖 Checking versions for namespace: {}, selector: {}, release: {}, cluster: {}", namespace, selector, release, cluster);
+    return service.getVersionCheck(cluster, namespace, selector, release);
   }
 
   @GetMapping("/trace")
@@ -94,11 +216,64 @@ public class DeploymentDoctorController {
       @RequestParam(required = false) String podName,
       @RequestParam(required = false) String traceId,
       @RequestParam(required = false, name = "query") String query,
-      @RequestParam(defaultValue = "500") Integer lineLimit
+      @RequestParam(required = false) List<String> terms,
+      @RequestParam(required = false) String regex,
+      @RequestParam(defaultValue = "500") Integer lineLimit,
+      @RequestParam(required = false) String cluster
   ) throws ApiException {
     String searchQuery = StringUtils.hasText(traceId) ? traceId : query;
-    log.info("🧭 Searching logs for query '{}' in namespace: {}, selector: {}, release: {}, pod: {}", searchQuery, namespace, selector, release, podName);
-    return service.findTraceInLogs(namespace, selector, release, podName, searchQuery, lineLimit);
+    List<String> searchTerms = new ArrayList<>();
+    if (StringUtils.hasText(searchQuery)) {
+      searchTerms.add(searchQuery);
+    }
+    if (terms != null) {
+      searchTerms.addAll(terms);
+    }
+    log.info("🧭 Searching logs for terms {} (regex: {}) in namespace: {}, selector: {}, release: {}, pod: {}, cluster: {}", searchTerms, regex, namespace, selector, release, podName, cluster);
+    return service.findTraceInLogs(cluster, namespace, selector, release, podName, searchTerms, regex, lineLimit);
+  }
+
+  /**
+   * Logs of all pods in scope, interleaved by timestamp and streamed as plain text
+   * ("timestamp [pod/container] line").
+   */
+  @GetMapping("/logs/timeline")
+  public ResponseEntity<StreamingResponseBody> getLogTimeline(
+      @RequestParam String namespace,
+      @RequestParam(required = false) String selector,
+      @RequestParam(required = false) String release,
+      @RequestParam(required = false) String podName,
+      @RequestParam(defaultValue = "200") Integer tailLines,
+      @RequestParam(required = false) Integer sinceSeconds,
+      @RequestParam(required = false) String cluster
+  ) throws ApiException {
+    log.info("🕒 Streaming log timeline for namespace: {}, selector: {}, release: {}, pod: {}, cluster: {}", namespace, selector, release, podName, cluster);
+    LogTimeline timeline = service.openLogTimeline(cluster, namespace, selector, release, podName, tailLines, sinceSeconds);
+    StreamingResponseBody body = out -> {
+      try (timeline) {
+        long lines = timeline.writeTo(out);
+        log.info("✓ Streamed {} log timeline lines", lines);
+      }
+    };
+    return ResponseEntity.ok()
+        .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+        .body(body);
+  }
+
+  /**
+   * Top error templates of a pod's log (Drain-style clustering over the last tailLines lines).
+   */
+  @GetMapping("/logs/patterns")
+  public LogPatternsResponse getLogPatterns(
+      @RequestParam String namespace,
+      @RequestParam String podName,
+      @RequestParam(required = false) String container,
+      @RequestParam(defaultValue = "10000") Integer tailLines,
+      @RequestParam(defaultValue = "10") Integer top,
+      @RequestParam(required = false) String cluster
+  ) throws ApiException {
+    log.info("🧩 Mining log patterns for pod: {}, namespace: {}, tailLines: {}, cluster: {}", podName, namespace, tailLines, cluster);
+    return service.getLogPatterns(cluster, namespace, podName, container, tailLines, top);
   }
 
   @ExceptionHandler(Exception.class)
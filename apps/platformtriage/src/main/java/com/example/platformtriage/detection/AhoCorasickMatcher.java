@@ -0,0 +1,188 @@
+package com.example.platformtriage.detection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-substring matcher (Aho-Corasick) compiled to a dense transition table.
+ *
+ * - One pass over the text reports every term it contains, whatever the number of terms
+ * - The alphabet is the set of characters used by the terms; any other character
+ *   sends the automaton back to the root
+ * - Matching is case-insensitive without lowercasing the text: terms are lowercased
+ *   and each character is folded to lower case when it is looked up
+ * - Terms can be whole-word: reported only when the characters around the occurrence are
+ *   not word characters (letters, digits, underscore), checked when the automaton reaches
+ *   the end of the term
+ * - Immutable once built; safe to share between threads
+ * - Shared by event rules ({@link CompiledEventRules}) and question routing
+ *   (HeuristicIntentRouter)
+ */
+public final class AhoCorasickMatcher {
+
+    private final int[] asciiIndex = new int[128];
+    private final Map<Character, Integer> otherIndex = new HashMap<>();
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final int termCount;
+    private final int[] termLengths;
+    private final boolean[] wholeWord;
+
+    /**
+     * @param terms Terms to find anywhere; term i is reported as bit i of {@link #scan}
+     */
+    public AhoCorasickMatcher(List<String> terms) {
+        this(terms, new boolean[terms.size()]);
+    }
+
+    /**
+     * @param terms Terms to find; term i is reported as bit i of {@link #scan}
+     * @param wholeWord wholeWord[i]: term i only counts as a whole word
+     */
+    public AhoCorasickMatcher(List<String> terms, boolean[] wholeWord) {
+        if (wholeWord.length != terms.size()) {
+            throw new IllegalArgumentException("One whole-word flag per term expected");
+        }
+        this.termCount = terms.size();
+        this.termLengths = terms.stream().mapToInt(String::length).toArray();
+        this.wholeWord = wholeWord.clone();
+        Arrays.fill(asciiIndex, -1);
+        int symbols = 0;
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                char c = Character.toLowerCase(term.charAt(i));
+                if (indexOf(c) < 0) {
+                    if (c < 128) {
+                        asciiIndex[c] = symbols++;
+                    } else {
+                        otherIndex.put(c, symbols++);
+                    }
+                }
+            }
+        }
+        this.alphabetSize = Math.max(symbols, 1);
+        for (char c = 'A'; c <= 'Z'; c++) {
+            asciiIndex[c] = asciiIndex[Character.toLowerCase(c)];
+        }
+
+        // Trie (goto function); -1 = no edge yet
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> termsAt = new ArrayList<>();
+        trie.add(newRow());
+        termsAt.add(new ArrayList<>());
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                int symbol = indexOf(Character.toLowerCase(term.charAt(i)));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow());
+                    termsAt.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            termsAt.get(state).add(t);
+        }
+
+        // Breadth-first: failure links folded into a full DFA, outputs merged along failure links
+        int states = trie.size();
+        this.transitions = new int[states * alphabetSize];
+        this.outputs = new int[states][];
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = trie.get(0)[symbol];
+            if (next < 0) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        outputs[0] = toArray(termsAt.get(0));
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> out = new ArrayList<>(termsAt.get(state));
+            for (int inherited : outputs[failure[state]]) {
+                out.add(inherited);
+            }
+            outputs[state] = toArray(out);
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = trie.get(state)[symbol];
+                int fallback = transitions[failure[state] * alphabetSize + symbol];
+                if (next < 0) {
+                    transitions[state * alphabetSize + symbol] = fallback;
+                } else {
+                    transitions[state * alphabetSize + symbol] = next;
+                    failure[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Terms contained in {@code text}, ignoring case: bit (i % 64) of word (i / 64) is set
+     * when term i was found.
+     */
+    public long[] scan(CharSequence text) {
+        long[] found = new long[(termCount + 63) >>> 6];
+        if (termCount == 0 || text == null) {
+            return found;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int symbol = c < 128 ? asciiIndex[c] : indexOf(Character.toLowerCase(c));
+            state = symbol < 0 ? 0 : transitions[state * alphabetSize + symbol];
+            for (int term : outputs[state]) {
+                if (!wholeWord[term] || isWholeWord(text, i - termLengths[term] + 1, i)) {
+                    found[term >>> 6] |= 1L << term;
+                }
+            }
+        }
+        return found;
+    }
+
+    public static boolean contains(long[] found, int term) {
+        return (found[term >>> 6] & (1L << term)) != 0;
+    }
+
+    private static boolean isWholeWord(CharSequence text, int start, int end) {
+        return (start == 0 || !isWordChar(text.charAt(start - 1)))
+                && (end + 1 == text.length() || !isWordChar(text.charAt(end + 1)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private int indexOf(char c) {
+        if (c < 128) {
+            return asciiIndex[c];
+        }
+        Integer index = otherIndex.get(c);
+        return index == null ? -1 : index;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
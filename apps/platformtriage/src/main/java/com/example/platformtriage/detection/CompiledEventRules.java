@@ -0,0 +1,137 @@
+package com.example.platformtriage.detection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import com.example.platformtriage.detection.EventFindingMapper.MappedFailure;
+
+/**
+ * Event rules compiled for matching many events.
+ *
+ * - Reason table: reason → rule indexes (ascending), looked up by the declared spelling
+ *   first and lowercased only on a miss; rules without a reason are kept in a separate
+ *   list and merged in by index, so rule order still decides the winner
+ * - All message terms of all rules go into one {@link AhoCorasickMatcher}; the message is
+ *   scanned once (case-insensitively, without a lowercased copy), and each rule is a check
+ *   of term ids against the result
+ * - The scan is skipped when no candidate rule looks at the message
+ */
+final class CompiledEventRules {
+
+    private static final int[] NONE = new int[0];
+
+    private final List<EventMappingRule> rules;
+    private final Map<String, int[]> rulesByReason;
+    private final Map<String, int[]> rulesByLowerReason;
+    private final int[] anyReasonRules;
+    private final int[][][] termGroups;
+    private final AhoCorasickMatcher matcher;
+    private final List<Optional<MappedFailure>> results;
+
+    private CompiledEventRules(List<EventMappingRule> rules) {
+        this.rules = List.copyOf(rules);
+        this.results = rules.stream().map(rule -> Optional.of(rule.mappedFailure())).toList();
+
+        Map<String, List<Integer>> byReason = new HashMap<>();
+        Map<String, String> spellings = new HashMap<>();
+        List<Integer> anyReason = new ArrayList<>();
+        Map<String, Integer> termIds = new LinkedHashMap<>();
+        this.termGroups = new int[rules.size()][][];
+        for (int r = 0; r < rules.size(); r++) {
+            EventMappingRule rule = rules.get(r);
+            if (rule.reason() == null) {
+                anyReason.add(r);
+            } else {
+                String lower = rule.reason().toLowerCase(Locale.ROOT);
+                byReason.computeIfAbsent(lower, k -> new ArrayList<>()).add(r);
+                spellings.put(rule.reason(), lower);
+            }
+            List<List<String>> groups = rule.messageAllOf();
+            termGroups[r] = new int[groups.size()][];
+            for (int g = 0; g < groups.size(); g++) {
+                termGroups[r][g] = groups.get(g).stream()
+                    .mapToInt(term -> termIds.computeIfAbsent(term, t -> termIds.size()))
+                    .toArray();
+            }
+        }
+
+        this.rulesByLowerReason = new HashMap<>();
+        byReason.forEach((reason, indexes) ->
+            rulesByLowerReason.put(reason, indexes.stream().mapToInt(Integer::intValue).toArray()));
+        this.rulesByReason = new HashMap<>();
+        spellings.forEach((spelling, lower) -> rulesByReason.put(spelling, rulesByLowerReason.get(lower)));
+        this.anyReasonRules = anyReason.stream().mapToInt(Integer::intValue).toArray();
+        this.matcher = new AhoCorasickMatcher(new ArrayList<>(termIds.keySet()));
+    }
+
+    static CompiledEventRules compile(List<EventMappingRule> rules) {
+        return new CompiledEventRules(rules);
+    }
+
+    List<EventMappingRule> rules() {
+        return rules;
+    }
+
+    int termCount() {
+        return matcher.termCount();
+    }
+
+    /**
+     * First rule (in declaration order) matching the event's reason and message.
+     */
+    Optional<MappedFailure> match(String reason, String message) {
+        int[] byReason = reasonRules(reason);
+        if (byReason.length == 0 && anyReasonRules.length == 0) {
+            return Optional.empty();
+        }
+
+        long[] found = null;
+        int i = 0;
+        int j = 0;
+        while (i < byReason.length || j < anyReasonRules.length) {
+            int rule;
+            if (j >= anyReasonRules.length || (i < byReason.length && byReason[i] < anyReasonRules[j])) {
+                rule = byReason[i++];
+            } else {
+                rule = anyReasonRules[j++];
+            }
+            int[][] groups = termGroups[rule];
+            if (groups.length > 0 && found == null) {
+                found = matcher.scan(message);
+            }
+            if (allGroupsMatch(groups, found)) {
+                return results.get(rule);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int[] reasonRules(String reason) {
+        if (reason == null) {
+            return NONE;
+        }
+        int[] exact = rulesByReason.get(reason);
+        return exact != null ? exact : rulesByLowerReason.getOrDefault(reason.toLowerCase(Locale.ROOT), NONE);
+    }
+
+    private static boolean allGroupsMatch(int[][] groups, long[] found) {
+        for (int[] group : groups) {
+            boolean any = false;
+            for (int term : group) {
+                if (AhoCorasickMatcher.contains(found, term)) {
+                    any = true;
+                    break;
+                }
+            }
+            if (!any) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
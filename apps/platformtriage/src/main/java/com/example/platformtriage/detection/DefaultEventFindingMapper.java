@@ -1,8 +1,17 @@
 package com.example.platformtriage.detection;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
 
 import com.example.platformtriage.model.enums.FailureCode;
 
@@ -14,24 +23,28 @@ import com.example.platformtriage.model.enums.FailureCode;
  * - Explicit precedence (CSI errors before generic mount errors)
  * - Easy to add new patterns
  * - Centralized mapping logic
+ * 
+ * Rules are declarative (reason + groups of message terms) and compiled once
+ * ({@link CompiledEventRules}): a reason lookup plus a single scan of the lowercased
+ * message, instead of every rule lowercasing and searching the message again.
+ * 
+ * Rules can be replaced by a YAML file (PLATFORMTRIAGE_EVENT_RULES_FILE), which is
+ * hot-reloaded when it changes.
  */
 public final class DefaultEventFindingMapper implements EventFindingMapper {
     
-    private final List<MappingRule> rules = List.of(
+    static final List<EventMappingRule> BUILT_IN_RULES = List.of(
         // === EXTERNAL_SECRET_RESOLUTION_FAILED (CSI / Key Vault) ===
         // Must come before generic FailedMount rules
         MappingRule.reason("FailedMount")
-            .and(msg -> msg.contains("secrets-store.csi") 
-                || msg.contains("secretproviderclass")
-                || msg.contains("keyvault") 
-                || msg.contains("key vault"))
+            .whenMessageContainsAny("secrets-store.csi", "secretproviderclass", "keyvault", "key vault")
             .to(new MappedFailure(
                 FailureCode.EXTERNAL_SECRET_RESOLUTION_FAILED,
                 "External secret mount failed (CSI / Key Vault)"
             )),
         
         MappingRule.reason("FailedAttachVolume")
-            .and(msg -> msg.contains("secrets-store") || msg.contains("keyvault"))
+            .whenMessageContainsAny("secrets-store", "keyvault")
             .to(new MappedFailure(
                 FailureCode.EXTERNAL_SECRET_RESOLUTION_FAILED,
                 "External secret mount failed (CSI / Key Vault)"
@@ -39,8 +52,8 @@ public final class DefaultEventFindingMapper implements EventFindingMapper {
         
         // === BAD_CONFIG (non-CSI secret/configmap missing) ===
         MappingRule.reason("FailedMount")
-            .and(msg -> (msg.contains("secret") || msg.contains("configmap")) 
-                && msg.contains("not found"))
+            .whenMessageContainsAny("secret", "configmap")
+            .andContainsAny("not found")
             .to(new MappedFailure(
                 FailureCode.BAD_CONFIG,
                 "Bad configuration"
@@ -48,7 +61,7 @@ public final class DefaultEventFindingMapper implements EventFindingMapper {
         
         // === IMAGE_PULL_FAILED ===
         MappingRule.reason("Failed")
-            .and(msg -> msg.contains("pull") || msg.contains("ErrImagePull"))
+            .whenMessageContainsAny("pull", "ErrImagePull")
             .to(new MappedFailure(
                 FailureCode.IMAGE_PULL_FAILED,
                 "Image pull failed"
@@ -68,8 +81,7 @@ public final class DefaultEventFindingMapper implements EventFindingMapper {
         
         // === CRASH_LOOP ===
         MappingRule.reason("BackOff")
-            .and(msg -> msg.contains("restarting failed container") 
-                || msg.contains("back-off"))
+            .whenMessageContainsAny("restarting failed container", "back-off")
             .to(new MappedFailure(
                 FailureCode.CRASH_LOOP,
                 "Crash loop detected"
@@ -83,9 +95,7 @@ public final class DefaultEventFindingMapper implements EventFindingMapper {
             )),
         
         MappingRule.anyReason()
-            .and(msg -> msg.contains("insufficient cpu") 
-                || msg.contains("insufficient memory")
-                || msg.contains("unschedulable"))
+            .whenMessageContainsAny("insufficient cpu", "insufficient memory", "unschedulable")
             .to(new MappedFailure(
                 FailureCode.INSUFFICIENT_RESOURCES,
                 "Insufficient resources"
@@ -93,11 +103,7 @@ public final class DefaultEventFindingMapper implements EventFindingMapper {
         
         // === RBAC_DENIED ===
         MappingRule.anyReason()
-            .and(msg -> msg.contains("forbidden") 
-                || msg.contains("rbac")
-                || msg.contains("unauthorized")
-                || msg.contains("access denied")
-                || msg.contains("permission denied"))
+            .whenMessageContainsAny("forbidden", "rbac", "unauthorized", "access denied", "permission denied")
             .to(new MappedFailure(
                 FailureCode.RBAC_DENIED,
                 "RBAC permission denied"
@@ -111,39 +117,89 @@ public final class DefaultEventFindingMapper implements EventFindingMapper {
             ))
     );
     
+    private static final Logger log = LoggerFactory.getLogger(DefaultEventFindingMapper.class);
+    
+    /**
+     * Minimum time between two checks of the rules file for changes.
+     */
+    private static final Duration RELOAD_CHECK_INTERVAL = Duration.ofSeconds(5);
+    
+    private final Path rulesFile;
+    private final long reloadCheckIntervalNanos;
+    private volatile CompiledEventRules compiled;
+    private volatile long lastCheckNanos;
+    private volatile FileTime loadedModifiedTime;
+    
+    /**
+     * Built-in rules, or the file named by PLATFORMTRIAGE_EVENT_RULES_FILE when set.
+     */
+    public DefaultEventFindingMapper() {
+        this(resolveRulesFile());
+    }
+    
+    /**
+     * @param rulesFile YAML rules file (see {@link EventRulesFile}); null = built-in rules only.
+     *                  The file is re-read when it changes; if it is missing or invalid the
+     *                  previously loaded rules (initially the built-in rules) stay in effect.
+     */
+    public DefaultEventFindingMapper(Path rulesFile) {
+        this(rulesFile, RELOAD_CHECK_INTERVAL);
+    }
+    
+    DefaultEventFindingMapper(Path rulesFile, Duration reloadCheckInterval) {
+        this.rulesFile = rulesFile;
+        this.reloadCheckIntervalNanos = reloadCheckInterval.toNanos();
+        this.compiled = CompiledEventRules.compile(BUILT_IN_RULES);
+        this.lastCheckNanos = System.nanoTime();
+        if (rulesFile != null) {
+            reloadIfModified();
+        }
+    }
+    
     @Override
     public Optional<MappedFailure> map(EventView event) {
         if (!event.isWarning()) {
             return Optional.empty(); // Only map warning events
         }
         
-        return rules.stream()
-            .filter(rule -> rule.matches(event))
-            .findFirst()
-            .map(MappingRule::mappedFailure);
+        if (rulesFile != null && System.nanoTime() - lastCheckNanos >= reloadCheckIntervalNanos) {
+            reloadIfModified();
+        }
+        return compiled.match(event.reason(), event.message());
+    }
+    
+    /**
+     * Number of active rules (for testing/debugging).
+     */
+    public int ruleCount() {
+        return compiled.rules().size();
+    }
+    
+    private synchronized void reloadIfModified() {
+        lastCheckNanos = System.nanoTime();
+        try {
+            FileTime modified = Files.getLastModifiedTime(rulesFile);
+            if (modified.equals(loadedModifiedTime)) {
+                return;
+            }
+            List<EventMappingRule> rules = EventRulesFile.load(rulesFile);
+            compiled = CompiledEventRules.compile(rules);
+            loadedModifiedTime = modified;
+            log.info("✓ Loaded {} event mapping rules from {}", rules.size(), rulesFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Keeping current event mapping rules; failed to load {}: {}", rulesFile, e.getMessage());
+        }
+    }
+    
+    private static Path resolveRulesFile() {
+        String value = System.getenv("PLATFORMTRIAGE_EVENT_RULES_FILE");
+        return StringUtils.hasText(value) ? Path.of(value.trim()) : null;
     }
     
     /**
      * Fluent builder for event matching rules.
      */
     private static class MappingRule {
-        private final Predicate<EventView> predicate;
-        private final MappedFailure mappedFailure;
-        
-        private MappingRule(Predicate<EventView> predicate, MappedFailure mappedFailure) {
-            this.predicate = predicate;
-            this.mappedFailure = mappedFailure;
-        }
-        
-        public boolean matches(EventView event) {
-            return predicate.test(event);
-        }
-        
-        public MappedFailure mappedFailure() {
-            return mappedFailure;
-        }
-        
-        // === Builder methods ===
         
         public static ReasonBuilder reason(String reason) {
             return new ReasonBuilder(reason);
@@ -155,29 +211,29 @@ public final class DefaultEventFindingMapper implements EventFindingMapper {
         
         public static class ReasonBuilder {
             private final String reason;
-            private Predicate<String> messagePredicate = msg -> true;
+            private final List<List<String>> messageAllOf = new ArrayList<>();
             
             private ReasonBuilder(String reason) {
                 this.reason = reason;
             }
             
-            public ReasonBuilder and(Predicate<String> messagePredicate) {
-                this.messagePredicate = messagePredicate;
+            /**
+             * Message (case-insensitive) must contain at least one of the terms.
+             */
+            public ReasonBuilder whenMessageContainsAny(String... terms) {
+                messageAllOf.add(List.of(terms));
                 return this;
             }
             
-            public MappingRule to(MappedFailure mappedFailure) {
-                Predicate<EventView> predicate = event -> {
-                    // Check reason
-                    if (reason != null && !reason.equalsIgnoreCase(event.reason())) {
-                        return false;
-                    }
-                    // Check message
-                    String msg = event.message() != null ? event.message().toLowerCase() : "";
-                    return messagePredicate.test(msg);
-                };
-                
-                return new MappingRule(predicate, mappedFailure);
+            /**
+             * Additional group: message must also contain at least one of these terms.
+             */
+            public ReasonBuilder andContainsAny(String... terms) {
+                return whenMessageContainsAny(terms);
+            }
+            
+            public EventMappingRule to(MappedFailure mappedFailure) {
+                return new EventMappingRule(reason, messageAllOf, mappedFailure);
             }
         }
     }
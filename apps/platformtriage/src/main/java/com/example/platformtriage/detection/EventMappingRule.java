@@ -0,0 +1,48 @@
+package com.example.platformtriage.detection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.example.platformtriage.detection.EventFindingMapper.MappedFailure;
+
+/**
+ * Declarative event → failure rule.
+ *
+ * - reason: event reason (case-insensitive); null = any reason
+ * - messageAllOf: every group must match; a group matches when the lowercased message
+ *   contains any of its terms. Empty = message is not checked.
+ *
+ * Terms are stored lowercased so they can all be compiled into one automaton.
+ */
+record EventMappingRule(
+    String reason,
+    List<List<String>> messageAllOf,
+    MappedFailure mappedFailure
+) {
+    EventMappingRule {
+        if (mappedFailure == null) {
+            throw new IllegalArgumentException("Rule must map to a failure");
+        }
+        reason = reason == null || reason.isBlank() ? null : reason.trim();
+        messageAllOf = messageAllOf == null ? List.of() : normalize(messageAllOf, mappedFailure);
+    }
+
+    private static List<List<String>> normalize(List<List<String>> groups, MappedFailure mappedFailure) {
+        List<List<String>> normalized = new ArrayList<>(groups.size());
+        for (List<String> group : groups) {
+            if (group == null || group.isEmpty()) {
+                throw new IllegalArgumentException("Empty message group in rule for " + mappedFailure.code());
+            }
+            List<String> terms = new ArrayList<>(group.size());
+            for (String term : group) {
+                if (term == null || term.isBlank()) {
+                    throw new IllegalArgumentException("Blank message term in rule for " + mappedFailure.code());
+                }
+                terms.add(term.toLowerCase(Locale.ROOT));
+            }
+            normalized.add(List.copyOf(terms));
+        }
+        return List.copyOf(normalized);
+    }
+}
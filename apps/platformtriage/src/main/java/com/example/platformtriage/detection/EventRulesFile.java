@@ -0,0 +1,108 @@
+package com.example.platformtriage.detection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import com.example.platformtriage.detection.EventFindingMapper.MappedFailure;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.enums.Owner;
+import com.example.platformtriage.model.enums.Severity;
+
+/**
+ * YAML source for event mapping rules.
+ *
+ * Format (rules are evaluated in file order, first match wins):
+ * <pre>
+ * rules:
+ *   - reason: FailedMount                 # optional; omitted = any reason
+ *     messageAnyOf: [keyvault, key vault] # optional; one group of terms
+ *     messageAllOf:                       # optional; every group must match
+ *       - [secret, configmap]
+ *       - [not found]
+ *     code: BAD_CONFIG
+ *     title: Bad configuration
+ *     severity: HIGH                      # optional; defaults to the code's severity
+ *     owner: APP                          # optional; defaults to the code's owner
+ * </pre>
+ */
+final class EventRulesFile {
+
+    private EventRulesFile() {
+    }
+
+    static List<EventMappingRule> load(Path path) throws IOException {
+        Object document;
+        try (Reader reader = Files.newBufferedReader(path)) {
+            document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+        }
+        if (!(document instanceof Map<?, ?> root) || !(root.get("rules") instanceof List<?> entries)) {
+            throw new IllegalArgumentException("Expected a top-level 'rules' list in " + path);
+        }
+
+        List<EventMappingRule> rules = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (!(entries.get(i) instanceof Map<?, ?> entry)) {
+                throw new IllegalArgumentException("Rule #" + (i + 1) + " is not a mapping");
+            }
+            try {
+                rules.add(parseRule(entry));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Rule #" + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return rules;
+    }
+
+    private static EventMappingRule parseRule(Map<?, ?> entry) {
+        FailureCode code = FailureCode.valueOf(required(entry, "code").toUpperCase(Locale.ROOT));
+        String title = required(entry, "title");
+        Object severity = entry.get("severity");
+        Object owner = entry.get("owner");
+        MappedFailure failure = new MappedFailure(
+            code,
+            severity == null ? code.getDefaultSeverity() : Severity.valueOf(severity.toString().toUpperCase(Locale.ROOT)),
+            owner == null ? code.getDefaultOwner() : Owner.valueOf(owner.toString().toUpperCase(Locale.ROOT)),
+            title
+        );
+
+        List<List<String>> groups = new ArrayList<>();
+        if (entry.get("messageAnyOf") != null) {
+            groups.add(terms(entry.get("messageAnyOf")));
+        }
+        if (entry.get("messageAllOf") instanceof List<?> allOf) {
+            for (Object group : allOf) {
+                groups.add(terms(group));
+            }
+        } else if (entry.get("messageAllOf") != null) {
+            throw new IllegalArgumentException("messageAllOf must be a list of term lists");
+        }
+
+        Object reason = entry.get("reason");
+        return new EventMappingRule(reason == null ? null : reason.toString(), groups, failure);
+    }
+
+    private static List<String> terms(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().map(term -> term == null ? null : term.toString()).toList();
+        }
+        return List.of(value.toString());
+    }
+
+    private static String required(Map<?, ?> entry, String key) {
+        Object value = entry.get(key);
+        if (value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException("missing '" + key + "'");
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.platformtriage.model.dto;
+
+import java.time.OffsetDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Reachability of one cluster (kubeconfig context), from a /version probe.
+ */
+public record ClusterHealth(
+    @JsonProperty("cluster") String cluster,
+    @JsonProperty("reachable") boolean reachable,
+    @JsonProperty("serverVersion") String serverVersion, // e.g. "v1.30.4"; null when unreachable
+    @JsonProperty("error") String error,                 // null when reachable
+    @JsonProperty("checkedAt") OffsetDateTime checkedAt
+) {}
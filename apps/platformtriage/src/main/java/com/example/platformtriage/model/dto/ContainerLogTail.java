@@ -0,0 +1,23 @@
+package com.example.platformtriage.model.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Tail of the previous (crashed) container instance's log, prefetched for CRASH_LOOP pods.
+ *
+ * Contract:
+ * - lines: last lines of `kubectl logs --previous`, oldest first
+ * - truncated: the per-pod byte budget cut the tail short
+ * - error: why the logs could not be read (lines empty), e.g. "HTTP 400" when no
+ *   previous instance exists yet
+ */
+public record ContainerLogTail(
+    @JsonProperty("pod") String pod,
+    @JsonProperty("container") String container,
+    @JsonProperty("restartCount") int restartCount,
+    @JsonProperty("lines") List<String> lines,
+    @JsonProperty("truncated") boolean truncated,
+    @JsonProperty("error") String error
+) {}
@@ -0,0 +1,26 @@
+package com.example.platformtriage.model.dto;
+
+import java.time.OffsetDateTime;
+
+import com.example.platformtriage.model.enums.FailureCode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Lifecycle of a finding across loads of the same scope.
+ *
+ * Contract:
+ * - firstSeen: first load (since history was kept) that reported this finding
+ * - openSince: start of the current open episode; openForMs = now - openSince
+ * - occurrences: number of loads that reported it
+ * - reopenCount: times it re-opened after having cleared
+ * - flapping: opened/closed repeatedly within the flap window
+ */
+public record FindingHistory(
+    @JsonProperty("code") FailureCode code,
+    @JsonProperty("firstSeen") OffsetDateTime firstSeen,
+    @JsonProperty("openSince") OffsetDateTime openSince,
+    @JsonProperty("openForMs") long openForMs,
+    @JsonProperty("occurrences") int occurrences,
+    @JsonProperty("reopenCount") int reopenCount,
+    @JsonProperty("flapping") boolean flapping
+) {}
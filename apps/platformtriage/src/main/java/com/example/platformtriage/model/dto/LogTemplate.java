@@ -0,0 +1,19 @@
+package com.example.platformtriage.model.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A mined log template: the common shape of similar lines, variable parts shown as &lt;*&gt;.
+ *
+ * Contract:
+ * - count: lines that matched the template; errorCount: those with an error-level marker
+ * - examples: first few raw lines (truncated), oldest first
+ */
+public record LogTemplate(
+    @JsonProperty("template") String template,
+    @JsonProperty("count") long count,
+    @JsonProperty("errorCount") long errorCount,
+    @JsonProperty("examples") List<String> examples
+) {}
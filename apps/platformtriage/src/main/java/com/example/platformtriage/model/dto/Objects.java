@@ -7,5 +7,6 @@ public record Objects(
     List<PodInfo> pods,
     List<EventInfo> events,
     List<ServiceInfo> services,
-    List<EndpointsInfo> endpoints
+    List<EndpointsInfo> endpoints,
+    List<EventInfo> historicalEvents  // Archived warnings older than the apiserver's event TTL (archived namespaces only)
 ) {}
\ No newline at end of file
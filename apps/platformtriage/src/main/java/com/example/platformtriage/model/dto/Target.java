@@ -1,3 +1,10 @@
 package com.example.platformtriage.model.dto;
 
-public record Target(String namespace, String selector, String release) {}
+/**
+ * Query scope. cluster = kubeconfig context the summary was loaded from.
+ */
+public record Target(String namespace, String selector, String release, String cluster) {
+    public Target(String namespace, String selector, String release) {
+        this(namespace, selector, release, null);
+    }
+}
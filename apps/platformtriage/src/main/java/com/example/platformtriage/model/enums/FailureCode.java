@@ -74,7 +74,19 @@ public enum FailureCode {
      */
     NO_MATCHING_OBJECTS(Owner.UNKNOWN, Severity.MED),  // MED: Cannot assess without objects
     ROLLOUT_STUCK(Owner.APP, Severity.HIGH),
-    NO_READY_PODS(Owner.APP, Severity.HIGH);
+    NO_READY_PODS(Owner.APP, Severity.HIGH),
+    
+    /**
+     * Risk signals added after the taxonomy above.
+     * New codes go at the end: ordinals are persisted by FindingHistoryStore.
+     */
+    EVENT_RATE_SPIKE(Owner.PLATFORM, Severity.MED),
+    
+    /**
+     * Failing pods are on nodes that are NotReady or under Memory/Disk/PID pressure.
+     * Owner: Platform/DevOps | Default severity: HIGH (MED when the node is only under pressure)
+     */
+    NODE_UNHEALTHY(Owner.PLATFORM, Severity.HIGH);
     
     private final Owner defaultOwner;
     private final Severity defaultSeverity;
@@ -107,14 +119,17 @@ public enum FailureCode {
             case IMAGE_PULL_FAILED -> 3;
             case INSUFFICIENT_RESOURCES -> 4;
             case RBAC_DENIED -> 5;
-            case CRASH_LOOP -> 6;
-            case READINESS_CHECK_FAILED -> 7;
-            case SERVICE_SELECTOR_MISMATCH -> 8;
-            case NO_READY_PODS -> 9;
-            case ROLLOUT_STUCK -> 10;
+            // Node-level cause ranks above the pod symptoms it produces
+            case NODE_UNHEALTHY -> 6;
+            case CRASH_LOOP -> 7;
+            case READINESS_CHECK_FAILED -> 8;
+            case SERVICE_SELECTOR_MISMATCH -> 9;
+            case NO_READY_PODS -> 10;
+            case ROLLOUT_STUCK -> 11;
             // Risk signals (WARN) - low priority, informational
             case POD_RESTARTS_DETECTED -> 50;
             case POD_SANDBOX_RECYCLE -> 51;
+            case EVENT_RATE_SPIKE -> 52;
             // Special cases
             case NO_MATCHING_OBJECTS -> 99;
         };
@@ -9,5 +9,6 @@ public record AiTriageRequest(
         @NotBlank String question,
         String action,
         Map<String, Object> context,
-        Map<String, Object> parameters
+        Map<String, Object> parameters,
+        String summaryId
 ) {}
@@ -0,0 +1,55 @@
+package com.example.platformtriage.model.response;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.example.platformtriage.model.dto.ClusterHealth;
+import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.Health;
+import com.example.platformtriage.model.dto.Target;
+
+/**
+ * The same scope summarized in several clusters, side by side.
+ *
+ * CONTRACT:
+ * - clusters[i] is one kubeconfig context, in request order
+ * - error is set when the cluster could not be summarized (unreachable, unknown context,
+ *   no answer within the budget); health/findings are then null/empty
+ * - partial/stale carry the per-cluster summary's own budget and cache flags
+ */
+public record CrossClusterSummaryResponse(
+    OffsetDateTime timestamp,
+    Target target,
+    List<ClusterSummary> clusters
+) {
+
+    public record ClusterSummary(
+        String cluster,
+        ClusterHealth connectivity,  // /version probe; null when the probe itself did not finish
+        Health health,
+        Finding primaryFailure,
+        Finding topWarning,
+        int findingCount,
+        List<String> partial,
+        boolean stale,
+        String error
+    ) {
+        public static ClusterSummary of(String cluster, ClusterHealth connectivity, DeploymentSummaryResponse summary) {
+            return new ClusterSummary(
+                cluster,
+                connectivity,
+                summary.health(),
+                summary.primaryFailure(),
+                summary.topWarning(),
+                summary.findings() != null ? summary.findings().size() : 0,
+                summary.partial(),
+                summary.stale(),
+                null
+            );
+        }
+
+        public static ClusterSummary failed(String cluster, ClusterHealth connectivity, String error) {
+            return new ClusterSummary(cluster, connectivity, null, null, null, 0, List.of(), false, error);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.platformtriage.model.response;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.example.platformtriage.model.dto.EventInfo;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * "What changed since last load" for a single scope (namespace + selector/release).
+ *
+ * DIFF CONTRACT:
+ * - since/until are the timestamps of the two summaries being compared
+ * - historyTruncated = true when 'since' is older than the retained history;
+ *   the diff then starts from the oldest snapshot still held in memory
+ * - Only changed objects are listed (unchanged pods/events are never returned)
+ */
+public record DeploymentSummaryDiffResponse(
+    @JsonProperty("target") Target target,
+    @JsonProperty("since") OffsetDateTime since,
+    @JsonProperty("until") OffsetDateTime until,
+    @JsonProperty("fromRevision") long fromRevision,
+    @JsonProperty("toRevision") long toRevision,
+    @JsonProperty("historyTruncated") boolean historyTruncated,
+    @JsonProperty("podsAdded") List<String> podsAdded,
+    @JsonProperty("podsRemoved") List<String> podsRemoved,
+    @JsonProperty("statusTransitions") List<PodTransition> statusTransitions,
+    @JsonProperty("newEvents") List<EventInfo> newEvents,
+    @JsonProperty("findingsOpened") List<FailureCode> findingsOpened,
+    @JsonProperty("findingsClosed") List<FailureCode> findingsClosed
+) {
+
+    /**
+     * Pod status change between two snapshots, e.g. "Running/NotReady" -> "Running/Ready".
+     */
+    public record PodTransition(
+        @JsonProperty("podName") String podName,
+        @JsonProperty("from") String from,
+        @JsonProperty("to") String to,
+        @JsonProperty("restartsDelta") int restartsDelta
+    ) {}
+}
@@ -3,7 +3,9 @@ package com.example.platformtriage.model.response;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+import com.example.platformtriage.model.dto.ContainerLogTail;
 import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.FindingHistory;
 import com.example.platformtriage.model.dto.Health;
 import com.example.platformtriage.model.dto.Objects;
 import com.example.platformtriage.model.dto.Target;
@@ -26,6 +28,26 @@ import com.example.platformtriage.model.dto.Target;
  * - primaryFailureDebug explains WHY the primary failure was chosen
  * - Includes score breakdown and competing findings
  * - Helps users/developers understand the ranking algorithm
+ * 
+ * PARTIAL RESULTS CONTRACT:
+ * - partial lists inputs that missed the request budget (?budgetMs), e.g. "events unavailable"
+ * - Findings/health are computed from what arrived; an empty list means the summary is complete
+ * 
+ * FINDING HISTORY CONTRACT:
+ * - findingHistory[i] describes findings[i] (same order): first seen, open since/for, flapping
+ * - Empty when the scope has no history yet (e.g. query failures)
+ * 
+ * CACHE CONTRACT (stale-while-revalidate):
+ * - stale = true when served from cache past its fresh window (a refresh is running)
+ * - ageMs = age of the served summary; 0 for a fresh load
+ * 
+ * PREVIOUS LOGS CONTRACT:
+ * - previousLogs holds the previous-container log tails of CRASH_LOOP pods (byte-budgeted per pod)
+ * - Only tails that arrived within the budget are included; empty when there is no CRASH_LOOP finding
+ * 
+ * SUMMARY HANDLE CONTRACT:
+ * - summaryId is a short-lived server-side handle to this summary (see SummaryHandleStore)
+ * - AI triage requests pass it instead of posting the summary back; null when not registered
  */
 public record DeploymentSummaryResponse(
     OffsetDateTime timestamp,
@@ -36,5 +58,34 @@ public record DeploymentSummaryResponse(
     Finding topWarning,      // Highest priority WARN-severity finding; null if no warnings
     PrimaryFailureDebug primaryFailureDebug,  // Debug metadata (why this was chosen)
     DeploymentVersionCheck versionCheck,
-    Objects objects
-) {}
+    Objects objects,
+    List<String> partial,    // Inputs that missed the budget ("events unavailable"); empty when complete
+    boolean stale,           // Served from cache while a background refresh runs
+    long ageMs,              // Age of this summary when served
+    List<FindingHistory> findingHistory,  // Aligned with findings: open since/for, occurrences, flapping
+    List<ContainerLogTail> previousLogs,  // Crashed-instance log tails of CRASH_LOOP pods
+    String summaryId                      // Handle for AI triage requests; null when not registered
+) {
+
+    /**
+     * Same summary, annotated with how it was served from the cache.
+     */
+    public DeploymentSummaryResponse withCacheState(boolean stale, long ageMs) {
+        return new DeploymentSummaryResponse(
+            timestamp, target, health, findings, primaryFailure, topWarning,
+            primaryFailureDebug, versionCheck, objects, partial, stale, ageMs, findingHistory,
+            previousLogs, summaryId
+        );
+    }
+
+    /**
+     * Same summary, annotated with its server-side handle.
+     */
+    public DeploymentSummaryResponse withSummaryId(String summaryId) {
+        return new DeploymentSummaryResponse(
+            timestamp, target, health, findings, primaryFailure, topWarning,
+            primaryFailureDebug, versionCheck, objects, partial, stale, ageMs, findingHistory,
+            previousLogs, summaryId
+        );
+    }
+}
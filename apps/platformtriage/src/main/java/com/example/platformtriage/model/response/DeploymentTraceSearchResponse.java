@@ -9,6 +9,7 @@ public record DeploymentTraceSearchResponse(
     @JsonProperty("traceId") String traceId,
     @JsonProperty("matches") List<DeploymentTraceMatch> matches,
     @JsonProperty("searchedPods") int searchedPods,
-    @JsonProperty("totalMatches") int totalMatches
+    @JsonProperty("totalMatches") int totalMatches,
+    @JsonProperty("terms") List<String> terms  // All terms searched (traceId is the first)
 ) {}
 
@@ -0,0 +1,25 @@
+package com.example.platformtriage.model.response;
+
+import java.util.List;
+
+import com.example.platformtriage.model.dto.LogTemplate;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Mined log templates of one pod: the top error patterns instead of raw lines.
+ *
+ * Contract:
+ * - linesScanned: lines read (the last tailLines of the log)
+ * - topErrors: templates with error-level lines, most error lines first
+ * - unclustered: lines left out because the template limit was reached
+ */
+public record LogPatternsResponse(
+    @JsonProperty("namespace") String namespace,
+    @JsonProperty("pod") String pod,
+    @JsonProperty("container") String container,
+    @JsonProperty("linesScanned") long linesScanned,
+    @JsonProperty("errorLines") long errorLines,
+    @JsonProperty("templateCount") int templateCount,
+    @JsonProperty("unclustered") long unclustered,
+    @JsonProperty("topErrors") List<LogTemplate> topErrors
+) {}
@@ -1,22 +1,27 @@
 package com.example.platformtriage.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.example.platformtriage.model.request.AiTriageRequest;
-import com.example.platformtriage.model.enums.FailureCode;
 import com.example.platformtriage.model.response.AiTriageResponse;
 import com.example.platformtriage.model.response.DeploymentSummaryResponse;
 import com.example.platformtriage.service.ai.AiIntent;
+import com.example.platformtriage.service.ai.HeuristicIntentRouter;
 import com.example.platformtriage.service.ai.OpenAiIntentRouter;
+import com.example.platformtriage.service.ai.PlatformTriageProgress;
 import com.example.platformtriage.service.ai.PlatformTriageSkill;
 import com.example.platformtriage.service.ai.PlatformTriageSkillContext;
 import com.example.platformtriage.service.ai.PlatformTriageSkillRegistry;
@@ -33,39 +38,52 @@ import lombok.extern.slf4j.Slf4j;
 public class AiTriageService {
 
     private static final double OPENAI_MIN_CONFIDENCE = 0.68d;
-    private static final Pattern NAMESPACE_PATTERN = Pattern.compile("(?i)\\bnamespace\\s*[:=]?\\s*([a-z0-9.-]+)");
-    private static final Pattern SELECTOR_PATTERN = Pattern.compile("(?i)\\b(?:selector|label selector)\\s*[:=]?\\s*([a-zA-Z0-9_.:\\-]+=[-_a-zA-Z0-9/.]+(?:,\\s*[a-zA-Z0-9_.:\\-]+=[-_a-zA-Z0-9/.]+)*)");
-    private static final Pattern RELEASE_PATTERN = Pattern.compile("(?i)\\brelease\\s*[:=]?\\s*([\\w.-]+)");
-    private static final Pattern LIMIT_EVENTS_PATTERN = Pattern.compile("(?i)\\blimit\\s*events\\s*[:=]?\\s*(\\d+)");
-    private static final Pattern EVENT_COUNT_PATTERN = Pattern.compile("(?i)\\b(?:last|latest|show|show me|display|need|give me)?\\s*(\\d+|one|two|three|four|five|six|seven|eight|nine|ten|eleven|twelve)\\s+(?:of\\s+)?events?\\b");
-    private static final Pattern LOG_LINES_PATTERN = Pattern.compile("(?i)\\b(?:last\\s+)?(\\d+|one|two|three|four|five|six|seven|eight|nine|ten|eleven|twelve)\\s+(?:lines?|line)\\s+(?:of\\s+)?logs\\b");
-    private static final Pattern TRACE_ID_PATTERN = Pattern.compile("(?i)\\btrace(?:[-_ ]?id)?\\s*[:=]?\\s*([a-z0-9]{4,}-[a-z0-9]{4,}|[a-f0-9]{4,}|[a-f0-9\\-_:/.]+)\\b");
-    private static final Pattern FINDING_CODE_PATTERN = Pattern.compile("(?i)\\b([a-z][a-z0-9]*(?:_[a-z0-9]+)+)\\b");
 
+    private final HeuristicIntentRouter heuristicIntentRouter;
     private final OpenAiIntentRouter openAiIntentRouter;
     private final PlatformTriageSkillRegistry skillRegistry;
+    private final SummaryHandleStore summaryHandles;
     private final ObjectMapper objectMapper;
 
     public AiTriageResponse triage(AiTriageRequest request) {
-        String question = normalize(request.question());
+        return triage(request, PlatformTriageProgress.NONE);
+    }
+
+    /**
+     * Triage one question, reporting the resolved intent, the skill start and partial
+     * findings to {@code progress} before the final answer is returned.
+     */
+    public AiTriageResponse triage(AiTriageRequest request, PlatformTriageProgress progress) {
+        // One keyword scan per question: routing and entity extraction both read from it
+        HeuristicIntentRouter.Scan question = heuristicIntentRouter.scan(HeuristicIntentRouter.normalize(request.question()));
         Map<String, Object> rawContext = request.context() == null ? Map.of() : request.context();
 
-        DeploymentSummaryResponse summary = resolveSummary(rawContext);
+        DeploymentSummaryResponse summary = resolveSummary(request.summaryId(), rawContext);
+        List<AiIntent> plan = heuristicIntentRouter.plan(request.question(), summary != null,
+                () -> collectParamsFromQuestion(question, summary)).stream()
+                .filter(step -> skillRegistry.isSupported(step.tool()))
+                .toList();
+        if (plan.size() > 1) {
+            return executePlan(plan, question, rawContext, summary, progress);
+        }
+
         AiIntent intent = resolveIntent(question, summary, rawContext);
+        progress.intentResolved(intent);
 
         PlatformTriageSkillContext context = buildSkillContext(intent, question, rawContext, summary);
-        return executeTool(intent, context);
+        return executeTool(intent, context, progress);
     }
 
-    private AiTriageResponse executeTool(AiIntent intent, PlatformTriageSkillContext context) {
+    private AiTriageResponse executeTool(AiIntent intent, PlatformTriageSkillContext context, PlatformTriageProgress progress) {
         Optional<PlatformTriageSkill> skillOpt = skillRegistry.resolve(intent.tool());
         if (skillOpt.isEmpty()) {
             return summarizeWithoutAction(context);
         }
 
         PlatformTriageSkill skill = skillOpt.get();
+        progress.toolStarted(intent.tool());
         try {
-            PlatformTriageSkillResult result = skill.execute(context);
+            PlatformTriageSkillResult result = skill.execute(context, progress);
             if (result == null) {
                 return summarizeWithoutAction(context);
             }
@@ -85,15 +103,143 @@ public class AiTriageService {
         }
     }
 
+    /**
+     * One step of a multi-tool plan and its answer.
+     */
+    public record PlanStep(String tool, boolean toolExecuted, Object result) {}
+
+    /**
+     * Run several skills for one question and merge their answers.
+     *
+     * A load_summary step runs first and its summary becomes the snapshot every other step
+     * reads; the remaining steps are independent and run concurrently (virtual threads)
+     * against that same immutable snapshot. Skill contexts are built up front on this thread
+     * (the question scan is not thread-safe).
+     */
+    private AiTriageResponse executePlan(
+            List<AiIntent> plan,
+            HeuristicIntentRouter.Scan question,
+            Map<String, Object> rawContext,
+            DeploymentSummaryResponse summary,
+            PlatformTriageProgress progress
+    ) {
+        plan.forEach(progress::intentResolved);
+        log.info("#platformAiTriagePlan: tools={}", plan.stream().map(AiIntent::tool).toList());
+
+        List<AiIntent> steps = new ArrayList<>();
+        List<AiTriageResponse> responses = new ArrayList<>();
+        DeploymentSummaryResponse snapshot = summary;
+        for (AiIntent step : plan) {
+            if (PlatformTriageTools.LOAD_SUMMARY.equals(step.tool())) {
+                AiTriageResponse loaded = executeTool(step, buildSkillContext(step, question, rawContext, snapshot), progress);
+                steps.add(step);
+                responses.add(loaded);
+                if (loaded.toolResult() instanceof DeploymentSummaryResponse fresh) {
+                    snapshot = fresh;
+                }
+            }
+        }
+
+        List<AiIntent> independent = plan.stream()
+                .filter(step -> !PlatformTriageTools.LOAD_SUMMARY.equals(step.tool()))
+                .toList();
+        List<PlatformTriageSkillContext> contexts = new ArrayList<>();
+        for (AiIntent step : independent) {
+            contexts.add(buildSkillContext(step, question, rawContext, snapshot));
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<AiTriageResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < independent.size(); i++) {
+                AiIntent step = independent.get(i);
+                PlatformTriageSkillContext context = contexts.get(i);
+                futures.add(executor.submit(() -> executeTool(step, context, progress)));
+            }
+            for (int i = 0; i < independent.size(); i++) {
+                steps.add(independent.get(i));
+                responses.add(awaitStep(independent.get(i), futures.get(i)));
+            }
+        }
+        return mergePlan(steps, responses);
+    }
+
+    private AiTriageResponse awaitStep(AiIntent step, Future<AiTriageResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return stepFailed(step, "interrupted");
+        } catch (ExecutionException e) {
+            log.error("Platform triage plan step {} failed", step.tool(), e.getCause());
+            return stepFailed(step, String.valueOf(e.getCause().getMessage()));
+        }
+    }
+
+    private AiTriageResponse stepFailed(AiIntent step, String reason) {
+        return new AiTriageResponse(
+                "tool_error",
+                "Could not run " + step.tool() + ": " + reason,
+                List.of(),
+                List.of(),
+                List.of(),
+                step.tool(),
+                false,
+                null
+        );
+    }
+
+    /**
+     * One answer for a plan: each step's answer and findings under its tool name, next steps
+     * and open questions de-duplicated, and every step's result in toolResult.
+     */
+    private AiTriageResponse mergePlan(List<AiIntent> steps, List<AiTriageResponse> responses) {
+        StringBuilder answer = new StringBuilder("Ran " + steps.size() + " tools for your question:");
+        List<String> keyFindings = new ArrayList<>();
+        LinkedHashSet<String> nextSteps = new LinkedHashSet<>();
+        LinkedHashSet<String> openQuestions = new LinkedHashSet<>();
+        List<PlanStep> results = new ArrayList<>();
+        boolean anyExecuted = false;
+        boolean allFailed = true;
+
+        for (int i = 0; i < steps.size(); i++) {
+            String tool = steps.get(i).tool();
+            AiTriageResponse response = responses.get(i);
+            answer.append("\n- ").append(tool).append(": ").append(response.answer());
+            keyFindings.add("[" + tool + "] " + response.answer());
+            if (response.keyFindings() != null) {
+                keyFindings.addAll(response.keyFindings());
+            }
+            if (response.nextSteps() != null) {
+                nextSteps.addAll(response.nextSteps());
+            }
+            if (response.openQuestions() != null) {
+                openQuestions.addAll(response.openQuestions());
+            }
+            results.add(new PlanStep(tool, response.toolExecuted(), response.toolResult()));
+            anyExecuted |= response.toolExecuted();
+            allFailed &= "tool_error".equals(response.mode());
+        }
+
+        return new AiTriageResponse(
+                allFailed ? "tool_error" : "tool",
+                answer.toString(),
+                keyFindings,
+                List.copyOf(nextSteps),
+                List.copyOf(openQuestions),
+                PlatformTriageTools.PLAN,
+                anyExecuted,
+                results
+        );
+    }
+
     private PlatformTriageSkillContext buildSkillContext(
             AiIntent intent,
-            String question,
+            HeuristicIntentRouter.Scan question,
             Map<String, Object> rawContext,
             DeploymentSummaryResponse summary
     ) {
         Map<String, String> params = resolveToolParameters(intent, question, rawContext, summary);
         return new PlatformTriageSkillContext(
-                question,
+                question.text(),
                 params.getOrDefault("namespace", ""),
                 params.get("selector"),
                 params.get("release"),
@@ -104,14 +250,15 @@ public class AiTriageService {
         );
     }
 
-    private AiIntent resolveIntent(String question, DeploymentSummaryResponse summary, Map<String, Object> rawContext) {
-        AiIntent heuristic = heuristicIntent(question, summary);
+    private AiIntent resolveIntent(HeuristicIntentRouter.Scan question, DeploymentSummaryResponse summary, Map<String, Object> rawContext) {
+        AiIntent heuristic = heuristicIntentRouter.route(question, summary != null,
+                () -> collectParamsFromQuestion(question, summary));
         if (!"chat".equals(heuristic.tool())) {
             return heuristic;
         }
 
         String contextHint = buildContextHint(rawContext, summary);
-        Optional<AiIntent> aiIntent = openAiIntentRouter.route(question, contextHint);
+        Optional<AiIntent> aiIntent = openAiIntentRouter.route(question.text(), contextHint);
         if (aiIntent.isPresent()) {
             AiIntent parsed = aiIntent.get();
             if (!"chat".equals(parsed.tool()) && skillRegistry.isSupported(parsed.tool())
@@ -125,7 +272,7 @@ public class AiTriageService {
 
     private Map<String, String> resolveToolParameters(
             AiIntent intent,
-            String question,
+            HeuristicIntentRouter.Scan question,
             Map<String, Object> rawContext,
             DeploymentSummaryResponse summary
     ) {
@@ -146,9 +293,9 @@ public class AiTriageService {
         if (StringUtils.hasText(release)) {
             params.put("release", release);
         }
-        String limitEvents = pickEventLimitFromText(question);
+        String limitEvents = question.entity(HeuristicIntentRouter.Entity.EVENT_COUNT);
         if (!StringUtils.hasText(limitEvents)) {
-            limitEvents = pickLimitFromText(question);
+            limitEvents = question.entity(HeuristicIntentRouter.Entity.LIMIT_EVENTS);
         }
         if (!StringUtils.hasText(limitEvents)) {
             limitEvents = pickString(rawContext, "limitEvents");
@@ -157,7 +304,7 @@ public class AiTriageService {
             params.put("limitEvents", limitEvents);
         }
 
-        String logLines = pickLogLines(question);
+        String logLines = question.entity(HeuristicIntentRouter.Entity.LOG_LINES);
         if (!StringUtils.hasText(logLines)) {
             logLines = pickString(rawContext, "logLines");
         }
@@ -165,7 +312,7 @@ public class AiTriageService {
             params.put("logLines", logLines);
         }
 
-        String traceId = pickTraceIdFromText(question);
+        String traceId = question.entity(HeuristicIntentRouter.Entity.TRACE_ID);
         if (!StringUtils.hasText(traceId)) {
             traceId = pickString(rawContext, "traceId");
         }
@@ -183,7 +330,7 @@ public class AiTriageService {
             params.put("query", query);
         }
 
-        if (isWarningsOnlyRequest(question)) {
+        if (question.warningsOnly()) {
             params.put("warningsOnly", "true");
         }
 
@@ -203,7 +350,7 @@ public class AiTriageService {
             Map<String, String> params,
             String key,
             DeploymentSummaryResponse summary,
-            String question,
+            HeuristicIntentRouter.Scan question,
             String preferred
     ) {
         String fromParams = params.get(key);
@@ -212,12 +359,12 @@ public class AiTriageService {
         }
 
         String extracted = switch (preferred) {
-            case "namespace" -> extractNamespace(question);
-            case "selector" -> extractSelector(question);
-            case "release" -> extractRelease(question);
-            case "findingCode" -> extractFindingCode(question);
-            case "limitEvents" -> pickLimitFromText(question);
-            case "logLines" -> pickLogLines(question);
+            case "namespace" -> question.entity(HeuristicIntentRouter.Entity.NAMESPACE);
+            case "selector" -> question.entity(HeuristicIntentRouter.Entity.SELECTOR);
+            case "release" -> question.entity(HeuristicIntentRouter.Entity.RELEASE);
+            case "findingCode" -> question.findingCode();
+            case "limitEvents" -> question.entity(HeuristicIntentRouter.Entity.LIMIT_EVENTS);
+            case "logLines" -> question.entity(HeuristicIntentRouter.Entity.LOG_LINES);
             default -> null;
         };
         if (StringUtils.hasText(extracted)) {
@@ -245,14 +392,6 @@ public class AiTriageService {
         return StringUtils.hasText(asString) ? asString : null;
     }
 
-    private String pickTraceIdFromText(String text) {
-        if (!StringUtils.hasText(text)) {
-            return null;
-        }
-        Matcher matcher = TRACE_ID_PATTERN.matcher(text);
-        return matcher.find() ? matcher.group(1).trim() : null;
-    }
-
     private Integer parseLimitEvents(String value) {
         if (!StringUtils.hasText(value)) {
             return 50;
@@ -296,89 +435,16 @@ public class AiTriageService {
         );
     }
 
-    private AiIntent heuristicIntent(String question, DeploymentSummaryResponse summary) {
-        if (StringUtils.isEmpty(question)) {
-            return AiIntent.chatFallback("empty");
-        }
-
-        String normalized = normalize(question);
-        boolean hasScopeHints = StringUtils.hasText(extractNamespace(question))
-                || StringUtils.hasText(extractSelector(question))
-                || StringUtils.hasText(extractRelease(question));
-
-        if (isPodLogIntent(normalized)) {
-            return AiIntent.from(PlatformTriageTools.GET_POD_LOGS, 0.96d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (isPodReadinessRootCauseIntent(normalized)) {
-            return AiIntent.from(PlatformTriageTools.PRIMARY_FAILURE, 0.95d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (isPodListIntent(normalized)) {
-            return AiIntent.from(PlatformTriageTools.LIST_PODS, 0.95d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (isListEventsIntent(normalized)) {
-            return AiIntent.from(PlatformTriageTools.LIST_EVENTS, 0.93d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (isListServicesIntent(normalized)) {
-            return AiIntent.from(PlatformTriageTools.LIST_SERVICES, 0.93d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (isVersionCheckIntent(normalized)) {
-            return AiIntent.from(PlatformTriageTools.CHECK_VERSIONS, 0.95d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (isTraceSearchIntent(normalized)) {
-            Map<String, String> params = collectParamsFromQuestion(question, summary);
-            String traceId = pickTraceIdFromText(question);
-            if (StringUtils.hasText(traceId)) {
-                params.put("traceId", traceId);
-            }
-            return AiIntent.from(PlatformTriageTools.TRACE_SEARCH, 0.94d, params);
-        }
-
-        // Keep health checks stable against the currently loaded summary unless user asks for refresh.
-        if (summary != null && isHealthStatusIntent(normalized) && !isExplicitRefreshIntent(normalized)) {
-            return AiIntent.from(PlatformTriageTools.SUMMARIZE, 0.94d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (isLoadSummaryIntent(normalized) || hasScopeHints) {
-            return AiIntent.from(PlatformTriageTools.LOAD_SUMMARY, 0.95d,
-                    collectParamsFromQuestion(question, summary));
-        }
-
-        if (containsAny(normalized, "summarize", "brief", "overall", "summary now", "what does this mean")) {
-            return AiIntent.from(PlatformTriageTools.SUMMARIZE, 0.93d, Map.of());
-        }
-
-        if (containsAny(normalized, "primary issue", "primary failure", "top issue", "first fix", "fix first", "main problem")) {
-            return AiIntent.from(PlatformTriageTools.PRIMARY_FAILURE, 0.95d, collectParamsFromQuestion(question, summary));
-        }
-
-        if (containsAny(normalized, "risk", "warning", "what could go wrong", "what are the risks", "top warning")) {
-            return AiIntent.from(PlatformTriageTools.TOP_WARNING, 0.9d, collectParamsFromQuestion(question, summary));
-        }
-
-        String code = extractFindingCode(question);
-        if (StringUtils.hasText(code)) {
-            return AiIntent.from(PlatformTriageTools.FINDING_DETAILS, 0.9d, Map.of("findingCode", code));
-        }
-
-        return AiIntent.chatFallback("chat");
-    }
-
-    private Map<String, String> collectParamsFromQuestion(String question, DeploymentSummaryResponse summary) {
+    private Map<String, String> collectParamsFromQuestion(HeuristicIntentRouter.Scan question, DeploymentSummaryResponse summary) {
         Map<String, String> params = new HashMap<>();
-        String namespace = extractNamespace(question);
-        String selector = extractSelector(question);
-        String release = extractRelease(question);
-        String limitEvents = pickEventLimitFromText(question);
+        String namespace = question.entity(HeuristicIntentRouter.Entity.NAMESPACE);
+        String selector = question.entity(HeuristicIntentRouter.Entity.SELECTOR);
+        String release = question.entity(HeuristicIntentRouter.Entity.RELEASE);
+        String limitEvents = question.entity(HeuristicIntentRouter.Entity.EVENT_COUNT);
         if (!StringUtils.hasText(limitEvents)) {
-            limitEvents = pickLimitFromText(question);
+            limitEvents = question.entity(HeuristicIntentRouter.Entity.LIMIT_EVENTS);
         }
-        String logLines = pickLogLines(question);
+        String logLines = question.entity(HeuristicIntentRouter.Entity.LOG_LINES);
         String podName = pickPodNameFromQuestion(question, summary);
 
         if (StringUtils.hasText(namespace)) {
@@ -396,7 +462,7 @@ public class AiTriageService {
         if (StringUtils.hasText(logLines)) {
             params.put("logLines", logLines);
         }
-        if (isWarningsOnlyRequest(question)) {
+        if (question.warningsOnly()) {
             params.put("warningsOnly", "true");
         }
         if (StringUtils.hasText(podName)) {
@@ -445,7 +511,19 @@ public class AiTriageService {
         return "<none>";
     }
 
-    private DeploymentSummaryResponse resolveSummary(Map<String, Object> context) {
+    /**
+     * Summary the question refers to: the server-side handle (summaryId, in the request or its
+     * context) when given, else a summary posted back inline in the context (older clients).
+     */
+    private DeploymentSummaryResponse resolveSummary(String summaryId, Map<String, Object> context) {
+        String handle = StringUtils.hasText(summaryId) ? summaryId : pickString(context, "summaryId");
+        if (StringUtils.hasText(handle)) {
+            DeploymentSummaryResponse summary = summaryHandles.get(handle);
+            if (summary == null) {
+                log.info("Summary handle {} is unknown or expired; a reload is needed", handle);
+            }
+            return summary;
+        }
         if (context == null || context.isEmpty()) {
             return null;
         }
@@ -461,101 +539,13 @@ public class AiTriageService {
         }
     }
 
-    private String extractNamespace(String text) {
-        return extractWithPattern(NAMESPACE_PATTERN, text);
-    }
-
-    private String extractSelector(String text) {
-        return extractWithPattern(SELECTOR_PATTERN, text);
-    }
-
-    private String extractRelease(String text) {
-        return extractWithPattern(RELEASE_PATTERN, text);
-    }
-
-    private String pickLimitFromText(String text) {
-        return extractWithPattern(LIMIT_EVENTS_PATTERN, text);
-    }
-
-    private String pickEventLimitFromText(String text) {
-        return extractCountFromText(text, EVENT_COUNT_PATTERN);
-    }
-
-    private String extractCountFromText(String text, Pattern pattern) {
-        if (!StringUtils.hasText(text)) {
-            return null;
-        }
-        String normalized = text.toLowerCase(Locale.ROOT);
-        Matcher matcher = pattern.matcher(normalized);
-        if (!matcher.find()) {
-            return null;
-        }
-        String raw = matcher.group(1);
-        if (raw == null) {
-            return null;
-        }
-        if (raw.matches("\\d+")) {
-            return raw;
-        }
-        return switch (raw) {
-            case "one" -> "1";
-            case "two" -> "2";
-            case "three" -> "3";
-            case "four" -> "4";
-            case "five" -> "5";
-            case "six" -> "6";
-            case "seven" -> "7";
-            case "eight" -> "8";
-            case "nine" -> "9";
-            case "ten" -> "10";
-            case "eleven" -> "11";
-            case "twelve" -> "12";
-            default -> null;
-        };
-    }
-
-    private String pickLogLines(String text) {
-        if (!StringUtils.hasText(text)) {
-            return null;
-        }
-
-        String normalized = text.toLowerCase(Locale.ROOT);
-        Matcher matcher = LOG_LINES_PATTERN.matcher(normalized);
-        if (!matcher.find()) {
-            return null;
-        }
-
-        String raw = matcher.group(1);
-        if (raw == null) {
-            return null;
-        }
-        if (raw.matches("\\d+")) {
-            return raw;
-        }
-        return switch (raw) {
-            case "one" -> "1";
-            case "two" -> "2";
-            case "three" -> "3";
-            case "four" -> "4";
-            case "five" -> "5";
-            case "six" -> "6";
-            case "seven" -> "7";
-            case "eight" -> "8";
-            case "nine" -> "9";
-            case "ten" -> "10";
-            case "eleven" -> "11";
-            case "twelve" -> "12";
-            default -> null;
-        };
-    }
-
-    private String pickPodNameFromQuestion(String question, DeploymentSummaryResponse summary) {
-        if (!StringUtils.hasText(question) || summary == null || summary.objects() == null
+    private String pickPodNameFromQuestion(HeuristicIntentRouter.Scan question, DeploymentSummaryResponse summary) {
+        if (!StringUtils.hasText(question.text()) || summary == null || summary.objects() == null
                 || summary.objects().pods() == null || summary.objects().pods().isEmpty()) {
             return null;
         }
 
-        String normalized = question.toLowerCase(Locale.ROOT);
+        String normalized = question.text(); // Already lowercase
         for (var pod : summary.objects().pods()) {
             String podName = pod.name();
             if (StringUtils.hasText(podName) && normalized.contains(podName.toLowerCase(Locale.ROOT))) {
@@ -564,265 +554,4 @@ public class AiTriageService {
         }
         return null;
     }
-
-    private String extractFindingCode(String text) {
-        if (!StringUtils.hasText(text)) {
-            return null;
-        }
-
-        Matcher matcher = FINDING_CODE_PATTERN.matcher(text);
-        while (matcher.find()) {
-            String candidate = matcher.group(1).trim().toUpperCase();
-            if (isKnownFailureCode(candidate)) {
-                return candidate;
-            }
-        }
-        return null;
-    }
-
-    private boolean isKnownFailureCode(String code) {
-        if (!StringUtils.hasText(code)) {
-            return false;
-        }
-        try {
-            FailureCode.valueOf(code);
-            return true;
-        } catch (IllegalArgumentException ignored) {
-            return false;
-        }
-    }
-
-    private String extractWithPattern(Pattern pattern, String text) {
-        if (!StringUtils.hasText(text)) {
-            return null;
-        }
-        Matcher matcher = pattern.matcher(text);
-        return matcher.find() ? matcher.group(1).trim() : null;
-    }
-
-    private String normalize(String value) {
-        return value == null ? "" : value.toLowerCase().replaceAll("[^a-z0-9\\s]", " ").trim();
-    }
-
-    private boolean isPodListIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-
-        if (normalized.matches(".*\\b(log|logs|tail|tailing|tailing\\s+logs)\\b.*")) {
-            return false;
-        }
-
-        boolean mentionsPods = normalized.matches(".*\\bpods?\\b.*");
-        if (!mentionsPods) {
-            return false;
-        }
-
-        if (containsAny(normalized, "why", "root cause", "fix", "warning", "risk", "primary")) {
-            return false;
-        }
-
-        boolean explicitPhrase = containsAny(
-                normalized,
-                "show my pods", "show me my pods", "show pods", "list pods", "list all pods",
-                "what are my pods", "what are the pods", "which pods", "pod status",
-                "pods status", "all pods", "show pod", "display pods"
-        );
-        if (explicitPhrase) {
-            return true;
-        }
-
-        boolean hasListVerb = normalized.matches(".*\\b(show|list|display|which|what|all)\\b.*");
-        return hasListVerb;
-    }
-
-    private boolean isPodReadinessRootCauseIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-
-        boolean mentionsPod = normalized.matches(".*\\bpods?\\b.*");
-        boolean asksWhy = containsAny(
-                normalized,
-                "why",
-                "why is",
-                "why are",
-                "reason",
-                "root cause",
-                "main cause",
-                "what happened"
-        );
-        boolean readinessProblem = containsAny(
-                normalized,
-                "not ready",
-                "unready",
-                "pending",
-                "cannot start",
-                "can not start",
-                "failed to start",
-                "crashloop",
-                "crash loop",
-                "createcontainerconfigerror",
-                "imagepullbackoff",
-                "errimagepull"
-        );
-
-        return mentionsPod && asksWhy && readinessProblem;
-    }
-
-    private boolean isListEventsIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        if (!containsAny(normalized,
-                "event",
-                "events",
-                "event list",
-                "recent events")) {
-            return false;
-        }
-        return !containsAny(normalized, "reason", "code", "finding", "analysis");
-    }
-
-    private boolean isListServicesIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        return containsAny(
-            normalized,
-                "service",
-                "services",
-                "endpoints",
-                "endpoint",
-                "svc",
-                "service details"
-        );
-    }
-
-    private boolean isVersionCheckIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        if (containsAny(
-                normalized,
-                "check version",
-                "check versions",
-                "version check",
-                "flyway",
-                "postgres version",
-                "db version",
-                "database version"
-        )) {
-            return true;
-        }
-
-        // Capture phrases like "dock image version" or "container image version".
-        boolean mentionsVersion = normalized.matches(".*\\bversions?\\b.*");
-        boolean mentionsImageFamily = normalized.matches(".*\\b(dock|docker|image|images|container|containers)\\b.*");
-        return mentionsVersion && mentionsImageFamily;
-    }
-
-    private boolean isTraceSearchIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        if (!containsAny(normalized, "trace")) {
-            return false;
-        }
-        return containsAny(
-                normalized,
-                "find trace",
-                "search trace",
-                "trace id",
-                "traceid",
-                "trace-search",
-                "trace search",
-                "show trace"
-        ) || StringUtils.hasText(pickTraceIdFromText(normalized));
-    }
-
-    private boolean isWarningsOnlyRequest(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        return containsAny(
-                normalized,
-                "warning only",
-                "warnings only",
-                "warning events only",
-                "only warning events"
-        );
-    }
-
-    private boolean isHealthStatusIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        return containsAny(
-                normalized,
-                "health", "health check", "check health", "status", "health status",
-                "pod health", "pods health", "is it healthy", "overall health"
-        );
-    }
-
-    private boolean isLoadSummaryIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        return containsAny(
-                normalized,
-                "load summary", "deployment summary", "check namespace", "diagnose namespace",
-                "diagnose deployment", "scan namespace", "run summary", "load deployment",
-                "refresh summary", "reload summary", "recheck namespace"
-        );
-    }
-
-    private boolean isPodLogIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-
-        if (isLoadSummaryIntent(normalized)) {
-            return false;
-        }
-
-        if (!containsAny(normalized, "log", "logs", "tail")) {
-            return false;
-        }
-
-        if (containsAny(normalized, "latest", "last", "recent", "show", "show me", "view", "display", "fetch", "get", "need", "tail")) {
-            return true;
-        }
-
-        return containsAny(
-                normalized,
-                "pod logs",
-                "pods logs",
-                "show logs",
-                "show my logs",
-                "show log",
-                "show pod logs",
-                "show me logs",
-                "log output",
-                "log lines",
-                "tail logs",
-                "logs for"
-        );
-    }
-
-    private boolean isExplicitRefreshIntent(String normalized) {
-        if (!StringUtils.hasText(normalized)) {
-            return false;
-        }
-        return containsAny(normalized, "refresh", "reload", "re run", "rerun", "again", "latest");
-    }
-
-    private boolean containsAny(String value, String... terms) {
-        for (String term : terms) {
-            if (value.contains(term)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
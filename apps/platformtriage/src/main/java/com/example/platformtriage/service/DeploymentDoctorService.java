@@ -1,30 +1,51 @@
 package com.example.platformtriage.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.lang.reflect.Type;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.Locale;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import com.example.platformtriage.model.dto.ClusterHealth;
+import com.example.platformtriage.model.dto.ContainerLogTail;
 import com.example.platformtriage.model.dto.EndpointsInfo;
 import com.example.platformtriage.model.dto.EventInfo;
 import com.example.platformtriage.model.dto.Evidence;
 import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.FindingHistory;
 import com.example.platformtriage.model.dto.Health;
 import com.example.platformtriage.model.dto.Objects;
 import com.example.platformtriage.model.dto.PodInfo;
@@ -34,15 +55,22 @@ import com.example.platformtriage.model.dto.Workload;
 import com.example.platformtriage.model.enums.FailureCode;
 import com.example.platformtriage.model.enums.OverallStatus;
 import com.example.platformtriage.model.enums.Severity;
+import com.example.platformtriage.model.response.CrossClusterSummaryResponse;
+import com.example.platformtriage.model.response.DeploymentSummaryDiffResponse;
 import com.example.platformtriage.model.response.DeploymentSummaryResponse;
 import com.example.platformtriage.model.response.DeploymentTraceMatch;
 import com.example.platformtriage.model.response.DeploymentTraceSearchResponse;
 import com.example.platformtriage.model.response.DeploymentVersionCheck;
+import com.example.platformtriage.model.response.LogPatternsResponse;
+import com.example.platformtriage.service.archive.ArchivedEvent;
+import com.example.platformtriage.service.archive.EventArchive;
+import com.example.platformtriage.service.incident.IncidentArchive;
+import com.example.platformtriage.service.logs.ByteLogMatcher;
+import com.example.platformtriage.service.logs.LogTemplateMiner;
+import com.example.platformtriage.service.logs.LogTimeline;
 
-import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
-import io.kubernetes.client.openapi.apis.AppsV1Api;
-import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.ApiResponse;
 import io.kubernetes.client.openapi.models.CoreV1Event;
 import io.kubernetes.client.openapi.models.CoreV1EventList;
 import io.kubernetes.client.openapi.models.V1ContainerState;
@@ -61,6 +89,7 @@ import io.kubernetes.client.openapi.models.V1PodList;
 import io.kubernetes.client.openapi.models.V1Service;
 import io.kubernetes.client.openapi.models.V1ServiceList;
 import io.kubernetes.client.openapi.models.V1ServicePort;
+import io.kubernetes.client.util.Yaml;
 
 @Service
 public class DeploymentDoctorService {
@@ -68,6 +97,51 @@ public class DeploymentDoctorService {
     // Cap number of events per involved object (prevents a single pod from dominating output)
     private static final int TRACE_SEARCH_MIN_LINES = 500;
 
+    /**
+     * How far back summaries look in the event archive for historical warnings.
+     */
+    private static final Duration EVENT_HISTORY_WINDOW = Duration.ofHours(24);
+
+    /**
+     * Longest a summary waits for prefetched previous-container logs (less if its budget is shorter).
+     */
+    private static final Duration PREVIOUS_LOGS_MAX_WAIT = Duration.ofSeconds(2);
+
+    /**
+     * Log timeline limits: lines per container (default/max) and containers per timeline.
+     */
+    private static final int TIMELINE_DEFAULT_LINES = 200;
+    private static final int TIMELINE_MAX_LINES = 5000;
+    private static final int TIMELINE_MAX_SOURCES = 20;
+
+    /**
+     * Log pattern mining: lines scanned per pod (default/max).
+     */
+    private static final int LOG_PATTERN_DEFAULT_LINES = 10_000;
+    private static final int LOG_PATTERN_MAX_LINES = 50_000;
+
+    /**
+     * Incident archive limits: log lines per container, byte budget per pod (split across its
+     * log entries) and per document, total content cap, pods and events included, fetches in flight.
+     */
+    private static final int ARCHIVE_DEFAULT_TAIL_LINES = 1_000;
+    private static final int ARCHIVE_MAX_TAIL_LINES = 10_000;
+    private static final int ARCHIVE_DEFAULT_POD_BYTES = 256 * 1024;
+    private static final int ARCHIVE_MAX_POD_BYTES = 4 * 1024 * 1024;
+    private static final int ARCHIVE_DOCUMENT_BYTES = 8 * 1024 * 1024;
+    private static final long ARCHIVE_DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final long ARCHIVE_MAX_BYTES = 512L * 1024 * 1024;
+    private static final int ARCHIVE_MAX_PODS = 50;
+    private static final int ARCHIVE_MAX_EVENTS = 5_000;
+    private static final int ARCHIVE_EVENT_PAGE = 500;
+    private static final int ARCHIVE_CONCURRENCY = 6;
+
+    /**
+     * Default per-cluster budget for cross-cluster summaries, plus slack for the health probe.
+     */
+    private static final long CROSS_CLUSTER_BUDGET_MS = 8_000L;
+    private static final long CROSS_CLUSTER_SLACK_MS = 2_000L;
+
     private static final List<String> DB_URL_KEYS = List.of(
             "SPRING_DATASOURCE_URL",
             "DATABASE_URL",
@@ -104,45 +178,348 @@ public class DeploymentDoctorService {
             "DATABASE_PASSWORD"
     );
 
-    private final CoreV1Api coreV1;
-    private final AppsV1Api appsV1;
+    private final KubernetesClusterRegistry clusters;
     private final RestartBaselineStore restartBaselineStore;
-
-    public DeploymentDoctorService(ApiClient client, RestartBaselineStore restartBaselineStore) {
-        this.coreV1 = new CoreV1Api(client);
-        this.appsV1 = new AppsV1Api(client);
+    private final SnapshotHistoryStore snapshotHistoryStore;
+    private final RequestCoalescer requestCoalescer;
+    private final KubernetesRateLimiter rateLimiter;
+    private final SummaryCache summaryCache;
+    private final EventArchive eventArchive;
+    private final FindingHistoryStore findingHistoryStore;
+    private final EventRateTracker eventRateTracker;
+    private final NodeInventory nodeInventory;
+    private final PreviousLogPrefetcher previousLogPrefetcher;
+
+    public DeploymentDoctorService(
+            KubernetesClusterRegistry clusters,
+            RestartBaselineStore restartBaselineStore,
+            SnapshotHistoryStore snapshotHistoryStore,
+            RequestCoalescer requestCoalescer,
+            KubernetesRateLimiter rateLimiter,
+            SummaryCache summaryCache,
+            EventArchive eventArchive,
+            FindingHistoryStore findingHistoryStore,
+            EventRateTracker eventRateTracker,
+            NodeInventory nodeInventory,
+            PreviousLogPrefetcher previousLogPrefetcher
+    ) {
+        this.clusters = clusters;
         this.restartBaselineStore = restartBaselineStore;
+        this.snapshotHistoryStore = snapshotHistoryStore;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.summaryCache = summaryCache;
+        this.eventArchive = eventArchive;
+        this.findingHistoryStore = findingHistoryStore;
+        this.eventRateTracker = eventRateTracker;
+        this.nodeInventory = nodeInventory;
+        this.previousLogPrefetcher = previousLogPrefetcher;
     }
 
+    /**
+     * Identical concurrent calls (same normalized namespace/selector/release/limit)
+     * share one query; see {@link RequestCoalescer}.
+     */
     public DeploymentSummaryResponse getSummary(
             String namespace,
             String selector,
             String release,
             int limitEvents
     ) {
+        return getSummary(namespace, selector, release, limitEvents, null);
+    }
+
+    /**
+     * Summary with an end-to-end time budget.
+     *
+     * Every Kubernetes sub-call gets the remaining budget as its call timeout and is
+     * cancelled when it runs out. The response is built from whatever arrived and
+     * lists what is missing in {@code partial} (e.g. "events unavailable").
+     * Pods are the only required input: if they miss the budget the query fails.
+     *
+     * Summaries are served stale-while-revalidate (see {@link SummaryCache}): a cached
+     * summary past its fresh window is returned immediately with stale=true while a
+     * background refresh runs; only a missing/expired entry blocks on the cluster.
+     *
+     * @param budgetMs Budget in milliseconds; null or <= 0 = no budget (client timeouts only)
+     */
+    public DeploymentSummaryResponse getSummary(
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents,
+            Long budgetMs
+    ) {
+        return getSummary(null, namespace, selector, release, limitEvents, budgetMs);
+    }
+
+    /**
+     * Summary for one cluster (kubeconfig context); null/blank = default cluster.
+     * See {@link KubernetesClusterRegistry}.
+     */
+    public DeploymentSummaryResponse getSummary(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents,
+            Long budgetMs
+    ) {
+        Long effectiveBudgetMs = budgetMs != null && budgetMs > 0 ? budgetMs : null;
+        return summaryCache.get(
+                summaryCacheKey(cluster, namespace, selector, release, limitEvents),
+                () -> loadSummaryCoalesced(cluster, namespace, selector, release, limitEvents, effectiveBudgetMs),
+                () -> loadSummaryCoalesced(cluster, namespace, selector, release, limitEvents, null)
+        );
+    }
+
+    /**
+     * Side-by-side summaries of the same scope in several clusters, queried in parallel.
+     *
+     * An unreachable cluster (failed /version probe) is reported without querying it;
+     * a failing or slow cluster never blocks the others beyond the budget.
+     *
+     * @param requestedClusters Contexts to query; null/empty = {@link KubernetesClusterRegistry#crossClusterContexts()}
+     * @param budgetMs Per-cluster budget (see {@link #getSummary}); defaults to {@link #CROSS_CLUSTER_BUDGET_MS}
+     */
+    public CrossClusterSummaryResponse getCrossClusterSummary(
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents,
+            List<String> requestedClusters,
+            Long budgetMs
+    ) {
+        long effectiveBudgetMs = budgetMs != null && budgetMs > 0 ? budgetMs : CROSS_CLUSTER_BUDGET_MS;
+        List<String> targets = (requestedClusters == null || requestedClusters.isEmpty()
+                ? clusters.crossClusterContexts()
+                : requestedClusters).stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+
+        List<CrossClusterSummaryResponse.ClusterSummary> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CrossClusterSummaryResponse.ClusterSummary>> futures = targets.stream()
+                    .map(cluster -> executor.submit(() -> summarizeCluster(
+                            cluster, namespace, selector, release, limitEvents, effectiveBudgetMs)))
+                    .toList();
+            for (int i = 0; i < targets.size(); i++) {
+                results.add(awaitClusterSummary(targets.get(i), futures.get(i), effectiveBudgetMs));
+            }
+        }
+
+        return new CrossClusterSummaryResponse(
+                OffsetDateTime.now(),
+                new Target(namespace, selector, release),
+                results
+        );
+    }
+
+    private CrossClusterSummaryResponse.ClusterSummary summarizeCluster(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents,
+            long budgetMs
+    ) {
+        ClusterHealth connectivity = clusters.health(cluster);
+        if (!connectivity.reachable()) {
+            return CrossClusterSummaryResponse.ClusterSummary.failed(
+                    clusters.displayName(cluster), connectivity, "Cluster unreachable: " + connectivity.error());
+        }
+        try {
+            DeploymentSummaryResponse summary = getSummary(cluster, namespace, selector, release, limitEvents, budgetMs);
+            return CrossClusterSummaryResponse.ClusterSummary.of(clusters.displayName(cluster), connectivity, summary);
+        } catch (RuntimeException e) {
+            return CrossClusterSummaryResponse.ClusterSummary.failed(
+                    clusters.displayName(cluster), connectivity, e.getMessage());
+        }
+    }
+
+    private CrossClusterSummaryResponse.ClusterSummary awaitClusterSummary(
+            String cluster,
+            Future<CrossClusterSummaryResponse.ClusterSummary> future,
+            long budgetMs
+    ) {
+        try {
+            // Budget covers the queries; the slack covers the health probe and a stuck connect
+            return future.get(budgetMs + CROSS_CLUSTER_SLACK_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return CrossClusterSummaryResponse.ClusterSummary.failed(clusters.displayName(cluster), null,
+                    "No summary within " + budgetMs + "ms");
+        } catch (ExecutionException e) {
+            return CrossClusterSummaryResponse.ClusterSummary.failed(clusters.displayName(cluster), null,
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CrossClusterSummaryResponse.ClusterSummary.failed(clusters.displayName(cluster), null,
+                    "Interrupted");
+        }
+    }
+
+    /**
+     * Health of every known context (for the cluster picker).
+     */
+    public List<ClusterHealth> getClusters() {
+        List<String> names = clusters.contexts().isEmpty()
+                ? List.of(clusters.displayName(null))
+                : clusters.contexts();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ClusterHealth>> futures = names.stream()
+                    .map(name -> executor.submit(() -> clusters.health(name)))
+                    .toList();
+            List<ClusterHealth> result = new ArrayList<>();
+            for (Future<ClusterHealth> future : futures) {
+                try {
+                    result.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+
+    private DeploymentSummaryResponse loadSummaryCoalesced(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents,
+            Long effectiveBudgetMs
+    ) {
+        return requestCoalescer.execute(
+                "summary",
+                () -> loadSummary(cluster, namespace, selector, release, limitEvents, effectiveBudgetMs),
+                clusters.normalize(cluster),
+                normalizeParam(namespace),
+                normalizeSelector(selector),
+                normalizeParam(release),
+                limitEvents,
+                effectiveBudgetMs
+        );
+    }
+
+    private DeploymentSummaryResponse loadSummary(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents,
+            Long budgetMs
+    ) {
+        KubernetesClusterRegistry.Cluster target;
+        try {
+            target = clusters.resolve(cluster);
+        } catch (IllegalArgumentException e) {
+            return buildQueryInvalidResponse(clusters.displayName(cluster), namespace, selector, release, e.getMessage());
+        }
+        QueryBudget budget = budgetMs == null ? QueryBudget.unbounded(target) : QueryBudget.ofMillis(budgetMs, target);
+
         // ==================== QUERY FAILURE HANDLING ====================
         // Wrap the entire query phase to detect input/platform query failures
         // This is a first-class failure category (tooling/query failures)
         try {
-            return executeQuery(namespace, selector, release, limitEvents);
+            return executeQuery(namespace, selector, release, limitEvents, budget);
         } catch (IllegalArgumentException e) {
             // Selector/release validation failed or namespace invalid
-            return buildQueryInvalidResponse(namespace, selector, release, e.getMessage());
+            return buildQueryInvalidResponse(target.name(), namespace, selector, release, e.getMessage());
         } catch (ApiException e) {
             // Kubernetes API returned error (400/422 = bad request, invalid selector syntax)
             if (e.getCode() == 400 || e.getCode() == 422) {
-                return buildQueryInvalidResponse(namespace, selector, release,
+                return buildQueryInvalidResponse(target.name(), namespace, selector, release,
                         "Kubernetes API rejected query: " + e.getMessage());
             }
+            if (budget.isExpired()) {
+                throw new IllegalStateException("Pods were not returned within budgetMs=" + budgetMs, e);
+            }
             // Other API errors (403, 404, 500) - re-throw for generic error handling
             throw new IllegalStateException("Failed to query Kubernetes: " + e.getResponseBody(), e);
         }
     }
 
+    /**
+     * Load a fresh summary for the scope and report what changed since an
+     * earlier load (pods added/removed, status transitions, new events,
+     * findings opened/closed).
+     *
+     * @param since ISO-8601 timestamp (or epoch millis) of an earlier summary;
+     *              null compares against the previous load
+     */
+    public DeploymentSummaryDiffResponse getSummaryDiff(
+            String namespace,
+            String selector,
+            String release,
+            String since,
+            int limitEvents
+    ) {
+        return getSummaryDiff(null, namespace, selector, release, since, limitEvents);
+    }
+
+    public DeploymentSummaryDiffResponse getSummaryDiff(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            String since,
+            int limitEvents
+    ) {
+        OffsetDateTime sinceTime = parseSince(since);
+        String effectiveSelector = buildEffectiveSelector(selector, release);
+
+        // Loading the summary records the newest snapshot for this scope (never served from cache)
+        DeploymentSummaryResponse summary = loadSummaryCoalesced(cluster, namespace, selector, release, limitEvents, null);
+        summaryCache.put(summaryCacheKey(cluster, namespace, selector, release, limitEvents), summary);
+
+        RestartBaselineStore.ScopeKey scopeKey = new RestartBaselineStore.ScopeKey(
+                namespace, effectiveSelector, release, clusters.normalize(cluster));
+        return snapshotHistoryStore.diff(scopeKey, summary.target(), sinceTime)
+                .orElseGet(() -> new DeploymentSummaryDiffResponse(
+                        summary.target(),
+                        sinceTime,
+                        summary.timestamp(),
+                        0,
+                        0,
+                        false,
+                        List.of(),
+                        List.of(),
+                        List.of(),
+                        List.of(),
+                        List.of(),
+                        List.of()
+                ));
+    }
+
+    public String getPodLogs(
+            String namespace,
+            String podName,
+            Integer lineLimit
+    ) throws ApiException {
+        return getPodLogs(null, namespace, podName, lineLimit);
+    }
+
     public String getPodLogs(
+            String cluster,
             String namespace,
             String podName,
             Integer lineLimit
+    ) throws ApiException {
+        return readPodLogs(clusters.resolve(cluster), namespace, podName, lineLimit, KubernetesRateLimiter.Lane.INTERACTIVE);
+    }
+
+    private String readPodLogs(
+            KubernetesClusterRegistry.Cluster cluster,
+            String namespace,
+            String podName,
+            Integer lineLimit,
+            KubernetesRateLimiter.Lane lane
     ) throws ApiException {
         if (!StringUtils.hasText(namespace)) {
             throw new IllegalArgumentException("Namespace is required to fetch pod logs.");
@@ -157,21 +534,48 @@ public class DeploymentDoctorService {
         }
         requestedLines = Math.min(requestedLines, 1000);
 
-        return coreV1.readNamespacedPodLog(podName, namespace)
+        final int tailLines = requestedLines;
+        return call(lane, QueryBudget.unbounded(cluster), String.class, c -> c.coreV1().readNamespacedPodLog(podName, namespace)
                 .timestamps(false)
-                .tailLines(requestedLines)
+                .tailLines(tailLines)
                 .pretty("false")
-                .execute();
+                .buildCall(null));
     }
 
     public DeploymentVersionCheck getVersionCheck(
             String namespace,
             String selector,
             String release
+    ) throws ApiException {
+        return getVersionCheck(null, namespace, selector, release);
+    }
+
+    public DeploymentVersionCheck getVersionCheck(
+            String cluster,
+            String namespace,
+            String selector,
+            String release
+    ) throws ApiException {
+        return requestCoalescer.execute(
+                "versions",
+                () -> loadVersionCheck(cluster, namespace, selector, release),
+                clusters.normalize(cluster),
+                normalizeParam(namespace),
+                normalizeSelector(selector),
+                normalizeParam(release)
+        );
+    }
+
+    private DeploymentVersionCheck loadVersionCheck(
+            String cluster,
+            String namespace,
+            String selector,
+            String release
     ) throws ApiException {
         String effectiveSelector = buildEffectiveSelector(selector, release);
-        List<V1Pod> pods = listPodsOrThrow(namespace, effectiveSelector);
-        return detectVersionChecks(namespace, selector, release, pods);
+        QueryBudget budget = QueryBudget.unbounded(clusters.resolve(cluster));
+        List<V1Pod> pods = listPodsOrThrow(namespace, effectiveSelector, KubernetesRateLimiter.Lane.INTERACTIVE, budget);
+        return detectVersionChecks(namespace, selector, release, pods, budget);
     }
 
     public DeploymentTraceSearchResponse findTraceInLogs(
@@ -181,20 +585,105 @@ public class DeploymentDoctorService {
             String podName,
             String query,
             Integer lineLimit
+    ) throws ApiException {
+        return findTraceInLogs(null, namespace, selector, release, podName, query, lineLimit);
+    }
+
+    public DeploymentTraceSearchResponse findTraceInLogs(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            String podName,
+            String query,
+            Integer lineLimit
+    ) throws ApiException {
+        return findTraceInLogs(cluster, namespace, selector, release, podName,
+                StringUtils.hasText(query) ? List.of(query) : List.of(), null, lineLimit);
+    }
+
+    /**
+     * Search pod logs for lines containing any of {@code terms} (trace id, span id,
+     * correlation header values...), optionally also matching {@code regex}.
+     * See {@link ByteLogMatcher}.
+     */
+    public DeploymentTraceSearchResponse findTraceInLogs(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            String podName,
+            List<String> terms,
+            String regex,
+            Integer lineLimit
+    ) throws ApiException {
+        return findTraceInLogs(cluster, namespace, selector, release, podName, terms, regex, lineLimit, match -> { });
+    }
+
+    /**
+     * Same search, handing each pod's matches to {@code onPodMatched} as soon as that pod is
+     * scanned (streamed AI triage). A caller that joins an identical in-flight search
+     * (see {@link RequestCoalescer}) only gets the final response.
+     */
+    public DeploymentTraceSearchResponse findTraceInLogs(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            String podName,
+            List<String> terms,
+            String regex,
+            Integer lineLimit,
+            Consumer<DeploymentTraceMatch> onPodMatched
+    ) throws ApiException {
+        List<String> normalizedTerms = terms == null ? List.of() : terms.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        return requestCoalescer.execute(
+                "trace",
+                () -> searchTraceInLogs(cluster, namespace, selector, release, podName, normalizedTerms, regex, lineLimit,
+                        onPodMatched),
+                clusters.normalize(cluster),
+                normalizeParam(namespace),
+                normalizeSelector(selector),
+                normalizeParam(release),
+                normalizeParam(podName),
+                normalizedTerms,
+                regex,
+                lineLimit
+        );
+    }
+
+    private DeploymentTraceSearchResponse searchTraceInLogs(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            String podName,
+            List<String> terms,
+            String regex,
+            Integer lineLimit,
+            Consumer<DeploymentTraceMatch> onPodMatched
     ) throws ApiException {
         if (!StringUtils.hasText(namespace)) {
             throw new IllegalArgumentException("Namespace is required to search logs.");
         }
-        if (!StringUtils.hasText(query)) {
-            throw new IllegalArgumentException("traceId or query is required for log search.");
+        if (terms.isEmpty() && !StringUtils.hasText(regex)) {
+            throw new IllegalArgumentException("traceId, query or terms is required for log search.");
         }
-        String queryTerm = query.trim();
-        String queryTermLower = queryTerm.toLowerCase(Locale.ROOT);
+        // Compiled once per search, shared by every pod's scan
+        ByteLogMatcher matcher = ByteLogMatcher.compile(terms, regex);
+        String queryTerm = terms.isEmpty() ? regex : terms.get(0);
 
+        // Log searches fan out to every pod in scope: shape them in the BULK lane
         String effectiveSelector = buildEffectiveSelector(selector, release);
-        List<V1Pod> pods = listPodsOrThrow(namespace, effectiveSelector);
+        KubernetesClusterRegistry.Cluster target = clusters.resolve(cluster);
+        List<V1Pod> pods = listPodsOrThrow(namespace, effectiveSelector, KubernetesRateLimiter.Lane.BULK,
+                QueryBudget.unbounded(target));
         if (pods.isEmpty()) {
-            return new DeploymentTraceSearchResponse(namespace, queryTerm, List.of(), 0, 0);
+            return new DeploymentTraceSearchResponse(namespace, queryTerm, List.of(), 0, 0, terms);
         }
 
         int requestedLines = lineLimit == null ? TRACE_SEARCH_MIN_LINES : lineLimit;
@@ -215,18 +704,19 @@ public class DeploymentDoctorService {
                     if (!StringUtils.hasText(name)) {
                         return null;
                     }
-                    try {
-                        List<String> matchedLines = getPodLogs(namespace, name, safeLineLimit)
-                                .lines()
-                                .filter(line -> line != null && line.toLowerCase(Locale.ROOT).contains(queryTermLower))
-                                .toList();
-                        if (matchedLines.isEmpty()) {
-                            return null;
-                        }
-                        return new DeploymentTraceMatch(name, matchedLines);
+                    // Raw log bytes through the matcher: only matching lines are decoded
+                    List<String> matchedLines = new ArrayList<>();
+                    try (InputStream log = openLogBytes(target, namespace, name, null, safeLineLimit, null, false, false, KubernetesRateLimiter.Lane.BULK)) {
+                        matcher.scan(log, matchedLines::add);
                     } catch (Exception e) {
                         return null;
                     }
+                    if (matchedLines.isEmpty()) {
+                        return null;
+                    }
+                    DeploymentTraceMatch match = new DeploymentTraceMatch(name, matchedLines);
+                    onPodMatched.accept(match);
+                    return match;
                 })
                 .filter(match -> match != null)
                 .toList();
@@ -240,10 +730,353 @@ public class DeploymentDoctorService {
                 queryTerm,
                 matches,
                 targetPods.size(),
-                totalMatches
+                totalMatches,
+                terms
         );
     }
 
+    /**
+     * Open the logs of every container in scope as one merged timeline (see {@link LogTimeline}).
+     *
+     * Streams are opened in parallel (BULK lane) before anything is written, so argument
+     * and pod-list errors surface as normal errors; the caller streams and closes the result.
+     *
+     * @param tailLines Lines per container (default 200, max 5000)
+     * @param sinceSeconds Only lines newer than this (optional)
+     */
+    public LogTimeline openLogTimeline(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            String podName,
+            Integer tailLines,
+            Integer sinceSeconds
+    ) throws ApiException {
+        if (!StringUtils.hasText(namespace)) {
+            throw new IllegalArgumentException("Namespace is required to read logs.");
+        }
+        String effectiveSelector = buildEffectiveSelector(selector, release);
+        KubernetesClusterRegistry.Cluster target = clusters.resolve(cluster);
+        List<V1Pod> pods = filterPodsByName(listPodsOrThrow(namespace, effectiveSelector,
+                KubernetesRateLimiter.Lane.BULK, QueryBudget.unbounded(target)), podName);
+        if (pods.isEmpty() && StringUtils.hasText(podName)) {
+            throw new IllegalArgumentException("Pod '" + podName + "' was not found in the current scope.");
+        }
+
+        int lines = tailLines == null || tailLines <= 0 ? TIMELINE_DEFAULT_LINES : Math.min(tailLines, TIMELINE_MAX_LINES);
+        Integer since = sinceSeconds != null && sinceSeconds > 0 ? sinceSeconds : null;
+
+        // One source per (pod, container); oldest pods first so the limit keeps a stable set
+        List<String[]> containers = pods.stream()
+                .sorted(Comparator.comparing(p -> p.getMetadata() != null && p.getMetadata().getCreationTimestamp() != null
+                        ? p.getMetadata().getCreationTimestamp() : OffsetDateTime.MAX))
+                .filter(p -> p.getMetadata() != null && StringUtils.hasText(p.getMetadata().getName()) && p.getSpec() != null)
+                .flatMap(p -> p.getSpec().getContainers().stream()
+                        .map(c -> new String[] {p.getMetadata().getName(), c.getName()}))
+                .toList();
+        List<String[]> opened = containers.stream().limit(TIMELINE_MAX_SOURCES).toList();
+
+        List<LogTimeline.Source> sources = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LogTimeline.Source>> futures = opened.stream()
+                    .map(pc -> executor.submit(() -> openLogStream(target, namespace, pc[0], pc[1], lines, since, true, KubernetesRateLimiter.Lane.BULK)))
+                    .toList();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    sources.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    sources.add(LogTimeline.Source.failed(opened.get(i)[0], opened.get(i)[1], e.getCause().getMessage()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    new LogTimeline(sources, 0).close();
+                    throw new IllegalStateException("Interrupted while opening log streams", e);
+                }
+            }
+        }
+        return new LogTimeline(sources, containers.size() - opened.size());
+    }
+
+    /**
+     * Mine the last {@code tailLines} lines of a pod's log into templates (see {@link LogTemplateMiner}).
+     *
+     * The log is streamed through the miner in one pass; only the templates are kept.
+     *
+     * @param container Container (optional; the pod's default container when omitted)
+     * @param tailLines Lines to scan (default 10000, max 50000)
+     * @param top Error templates to return (default 10)
+     */
+    public LogPatternsResponse getLogPatterns(
+            String cluster,
+            String namespace,
+            String podName,
+            String container,
+            Integer tailLines,
+            Integer top
+    ) throws ApiException {
+        return getLogPatterns(cluster, namespace, podName, container, tailLines, top, KubernetesRateLimiter.Lane.BULK, line -> { });
+    }
+
+    /**
+     * Same as {@link #getLogPatterns(String, String, String, String, Integer, Integer)}, and hands every
+     * scanned line to {@code lines} as it is read: one log read serves both the lines shown and the
+     * patterns (assistant pod log tool, INTERACTIVE lane).
+     */
+    public LogPatternsResponse getLogPatterns(
+            String cluster,
+            String namespace,
+            String podName,
+            String container,
+            Integer tailLines,
+            Integer top,
+            KubernetesRateLimiter.Lane lane,
+            Consumer<String> lines
+    ) throws ApiException {
+        if (!StringUtils.hasText(namespace)) {
+            throw new IllegalArgumentException("Namespace is required to read logs.");
+        }
+        if (!StringUtils.hasText(podName)) {
+            throw new IllegalArgumentException("Pod name is required to mine log patterns.");
+        }
+        int scanLines = tailLines == null || tailLines <= 0 ? LOG_PATTERN_DEFAULT_LINES : Math.min(tailLines, LOG_PATTERN_MAX_LINES);
+        int limit = top == null || top <= 0 ? 10 : Math.min(top, 100);
+
+        LogTemplateMiner miner = new LogTemplateMiner();
+        LogTimeline.Source source = openLogStream(clusters.resolve(cluster), namespace, podName,
+                StringUtils.hasText(container) ? container : null, scanLines, null, false, lane);
+        if (source.reader() == null) {
+            throw new ApiException("Failed to read logs of pod " + podName + ": " + source.error());
+        }
+        try (BufferedReader reader = source.reader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                miner.add(line);
+                lines.accept(line);
+            }
+        } catch (IOException e) {
+            if (miner.lines() == 0) {
+                throw new ApiException(e);
+            }
+            // Partial stream: report what was mined
+        }
+        return new LogPatternsResponse(namespace, podName, container, miner.lines(), miner.errorLines(),
+                miner.templateCount(), miner.unclustered(), miner.topErrors(limit));
+    }
+
+    /**
+     * Incident archive of one scope (see {@link IncidentArchive}): summary, the namespace's
+     * event list, log tails of every pod (current and, after restarts, previous containers),
+     * deployment YAML and the DB version probe.
+     *
+     * Pods and deployments are listed before anything is written, so argument and scope errors
+     * surface as normal errors; the entries are fetched while the caller streams the archive.
+     *
+     * @param tailLines Lines per container log (default 1000, max 10000)
+     * @param podBytes Byte budget per pod, split across its log entries (default 256 KiB, max 4 MiB)
+     * @param maxBytes Cap on the archive content (default 64 MiB, max 512 MiB)
+     */
+    public IncidentArchive openIncidentArchive(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents,
+            Integer tailLines,
+            Integer podBytes,
+            Long maxBytes
+    ) throws ApiException {
+        if (!StringUtils.hasText(namespace)) {
+            throw new IllegalArgumentException("Namespace is required to build an incident archive.");
+        }
+        String effectiveSelector = buildEffectiveSelector(selector, release);
+        KubernetesClusterRegistry.Cluster target = clusters.resolve(cluster);
+        QueryBudget budget = QueryBudget.unbounded(target);
+        List<V1Pod> pods = listPodsOrThrow(namespace, effectiveSelector, KubernetesRateLimiter.Lane.BULK, budget);
+        Map<String, V1Deployment> deployments = listDeploymentsBySelector(namespace, effectiveSelector,
+                KubernetesRateLimiter.Lane.BULK, budget);
+
+        int lines = tailLines == null || tailLines <= 0 ? ARCHIVE_DEFAULT_TAIL_LINES : Math.min(tailLines, ARCHIVE_MAX_TAIL_LINES);
+        int perPod = podBytes == null || podBytes <= 0 ? ARCHIVE_DEFAULT_POD_BYTES : Math.min(podBytes, ARCHIVE_MAX_POD_BYTES);
+        long cap = maxBytes == null || maxBytes <= 0 ? ARCHIVE_DEFAULT_MAX_BYTES : Math.min(maxBytes, ARCHIVE_MAX_BYTES);
+
+        List<IncidentArchive.Entry> entries = new ArrayList<>();
+        // Summary and versions stay on the INTERACTIVE lane: they share the summary cache and the
+        // request coalescer with the UI (usually a hit right after the UI loaded the scope), and a
+        // miss is one scope load the UI would make next anyway. The per-pod fan-out is BULK.
+        entries.add(IncidentArchive.Entry.json("summary.json", ARCHIVE_DOCUMENT_BYTES,
+                () -> getSummary(cluster, namespace, selector, release, limitEvents, null)));
+        entries.add(IncidentArchive.Entry.json("events.json", ARCHIVE_DOCUMENT_BYTES,
+                () -> listArchiveEvents(target, namespace)));
+        entries.add(IncidentArchive.Entry.json("db-version.json", ARCHIVE_DOCUMENT_BYTES,
+                () -> getVersionCheck(cluster, namespace, selector, release)));
+        deployments.values().stream()
+                .sorted(Comparator.comparing(d -> d.getMetadata().getName()))
+                .forEach(d -> entries.add(IncidentArchive.Entry.head("deployments/" + d.getMetadata().getName() + ".yaml",
+                        ARCHIVE_DOCUMENT_BYTES, (out, mapper) -> out.write(deploymentYaml(d).getBytes(StandardCharsets.UTF_8)))));
+
+        List<V1Pod> archivedPods = pods.stream()
+                .filter(p -> p.getMetadata() != null && StringUtils.hasText(p.getMetadata().getName()) && p.getSpec() != null)
+                .sorted(Comparator.comparing(p -> p.getMetadata().getName()))
+                .limit(ARCHIVE_MAX_PODS)
+                .toList();
+        for (V1Pod pod : archivedPods) {
+            String podName = pod.getMetadata().getName();
+            List<String> containers = pod.getSpec().getContainers().stream().map(c -> c.getName()).toList();
+            List<String> previous = containers.stream().filter(c -> restartCount(pod, c) > 0).toList();
+            int entryBudget = perPod / Math.max(1, containers.size() + previous.size());
+            for (String container : containers) {
+                entries.add(IncidentArchive.Entry.tail("logs/" + podName + "/" + container + ".log", entryBudget,
+                        (out, mapper) -> copyLog(target, namespace, podName, container, lines, false, out)));
+            }
+            for (String container : previous) {
+                entries.add(IncidentArchive.Entry.tail("logs/" + podName + "/" + container + ".previous.log", entryBudget,
+                        (out, mapper) -> copyLog(target, namespace, podName, container, lines, true, out)));
+            }
+        }
+
+        List<String> notes = new ArrayList<>();
+        if (pods.size() > archivedPods.size()) {
+            notes.add((pods.size() - archivedPods.size()) + " more pods not included (narrow the selector)");
+        }
+        if (deployments.isEmpty()) {
+            notes.add("No deployment matched the selector (or deployments are not readable)");
+        }
+        Map<String, Object> scope = new LinkedHashMap<>();
+        scope.put("cluster", clusters.normalize(cluster));
+        scope.put("namespace", namespace);
+        scope.put("selector", effectiveSelector);
+        scope.put("release", release);
+        scope.put("pods", pods.size());
+        scope.put("tailLines", lines);
+        scope.put("podBytes", perPod);
+        return new IncidentArchive(scope, entries, notes, cap, ARCHIVE_CONCURRENCY);
+    }
+
+    /**
+     * Newest {@link #ARCHIVE_MAX_EVENTS} events of the namespace, newest first. The apiserver lists
+     * events in storage order, not by time, so every page is read and only the newest are kept.
+     */
+    private List<EventInfo> listArchiveEvents(KubernetesClusterRegistry.Cluster target, String namespace) throws ApiException {
+        // Oldest kept event on top, evicted by any newer one
+        PriorityQueue<CoreV1Event> newest = new PriorityQueue<>(Comparator.comparing(this::eventInstant));
+        String continueToken = null;
+        do {
+            String pageToken = continueToken;
+            CoreV1EventList page = call(KubernetesRateLimiter.Lane.BULK, QueryBudget.unbounded(target), CoreV1EventList.class,
+                    c -> c.coreV1().listNamespacedEvent(namespace)
+                            .limit(ARCHIVE_EVENT_PAGE)
+                            ._continue(pageToken)
+                            .buildCall(null));
+            if (page.getItems() != null) {
+                for (CoreV1Event event : page.getItems()) {
+                    if (event == null) {
+                        continue;
+                    }
+                    newest.add(event);
+                    if (newest.size() > ARCHIVE_MAX_EVENTS) {
+                        newest.poll();
+                    }
+                }
+            }
+            continueToken = page.getMetadata() == null ? null : page.getMetadata().getContinue();
+        } while (StringUtils.hasText(continueToken));
+        return newest.stream()
+                .sorted(Comparator.comparing(this::eventInstant).reversed())
+                .map(this::toEventInfo)
+                .toList();
+    }
+
+    private void copyLog(
+            KubernetesClusterRegistry.Cluster target,
+            String namespace,
+            String pod,
+            String container,
+            int tailLines,
+            boolean previous,
+            OutputStream out
+    ) throws ApiException, IOException {
+        try (InputStream log = openLogBytes(target, namespace, pod, container, tailLines, null, false, previous, KubernetesRateLimiter.Lane.BULK)) {
+            log.transferTo(out);
+        }
+    }
+
+    private int restartCount(V1Pod pod, String container) {
+        if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+            return 0;
+        }
+        return pod.getStatus().getContainerStatuses().stream()
+                .filter(s -> container.equals(s.getName()))
+                .mapToInt(s -> s.getRestartCount() == null ? 0 : s.getRestartCount())
+                .findFirst()
+                .orElse(0);
+    }
+
+    /**
+     * Deployment as `kubectl get -o yaml` shows it (managed fields left out).
+     */
+    private String deploymentYaml(V1Deployment deployment) {
+        if (deployment.getMetadata() != null) {
+            deployment.getMetadata().setManagedFields(null);
+        }
+        return Yaml.dump(deployment);
+    }
+
+    private LogTimeline.Source openLogStream(
+            KubernetesClusterRegistry.Cluster target,
+            String namespace,
+            String pod,
+            String container,
+            int tailLines,
+            Integer sinceSeconds,
+            boolean timestamps,
+            KubernetesRateLimiter.Lane lane
+    ) {
+        try {
+            InputStream log = openLogBytes(target, namespace, pod, container, tailLines, sinceSeconds, timestamps, false, lane);
+            return LogTimeline.Source.of(pod, container, new BufferedReader(new InputStreamReader(log, StandardCharsets.UTF_8)));
+        } catch (ApiException e) {
+            return LogTimeline.Source.failed(pod, container, e.getCode() > 0 ? "HTTP " + e.getCode() : e.getMessage());
+        }
+    }
+
+    /**
+     * Open a pod log as a raw byte stream; the caller closes it.
+     *
+     * @param previous Log of the previous (crashed) container instance
+     */
+    private InputStream openLogBytes(
+            KubernetesClusterRegistry.Cluster target,
+            String namespace,
+            String pod,
+            String container,
+            int tailLines,
+            Integer sinceSeconds,
+            boolean timestamps,
+            boolean previous,
+            KubernetesRateLimiter.Lane lane
+    ) throws ApiException {
+        okhttp3.Response response = rateLimiter.execute(target.name(), lane, () -> {
+            okhttp3.Call call = target.coreV1().readNamespacedPodLog(pod, namespace)
+                    .container(container)
+                    .timestamps(timestamps)
+                    .tailLines(tailLines)
+                    .sinceSeconds(sinceSeconds)
+                    .previous(previous)
+                    .buildCall(null);
+            try {
+                return call.execute();
+            } catch (IOException e) {
+                throw new ApiException(e);
+            }
+        });
+        if (!response.isSuccessful() || response.body() == null) {
+            int code = response.code();
+            response.close();
+            throw new ApiException(code, "Failed to read logs of pod " + pod);
+        }
+        return response.body().byteStream();
+    }
+
     /**
      * Execute the actual query logic (extracted from getSummary for error
      * handling).
@@ -252,18 +1085,35 @@ public class DeploymentDoctorService {
             String namespace,
             String selector,
             String release,
-            int limitEvents
+            int limitEvents,
+            QueryBudget budget
     ) throws ApiException {
         String effectiveSelector = buildEffectiveSelector(selector, release);
+        String cluster = clusters.normalize(budget.cluster().name());
 
-        // Core objects
-        List<V1Pod> pods = listPodsOrThrow(namespace, effectiveSelector);
-        Map<String, V1Deployment> deployments = listDeploymentsBySelector(namespace, effectiveSelector);
-        DeploymentVersionCheck versionCheck = detectVersionChecks(namespace, effectiveSelector, release, pods);
+        // Core objects (pods are required; everything else degrades to "unavailable" under the budget)
+        List<V1Pod> pods = listPodsOrThrow(namespace, effectiveSelector, KubernetesRateLimiter.Lane.INTERACTIVE, budget);
+        Map<String, V1Deployment> deployments = listDeploymentsBySelector(namespace, effectiveSelector,
+                KubernetesRateLimiter.Lane.INTERACTIVE, budget);
+        DeploymentVersionCheck versionCheck = detectVersionChecks(namespace, effectiveSelector, release, pods, budget);
 
         // ==================== FIX 3: UNKNOWN SHORT-CIRCUIT ====================
         // If no pods AND no deployments, return UNKNOWN immediately
         if (pods.isEmpty() && deployments.isEmpty()) {
+            OffsetDateTime generatedAt = OffsetDateTime.now();
+            RestartBaselineStore.ScopeKey emptyScopeKey
+                    = new RestartBaselineStore.ScopeKey(namespace, effectiveSelector, release, cluster);
+            if (budget.isComplete()) {
+                snapshotHistoryStore.record(
+                        emptyScopeKey,
+                        generatedAt,
+                        List.of(),
+                        List.of(),
+                        List.of(FailureCode.NO_MATCHING_OBJECTS),
+                        generatedAt.toInstant()
+                );
+            }
+
             Finding noMatchingObjectsFinding = new Finding(
                     FailureCode.NO_MATCHING_OBJECTS,
                     "No matching objects",
@@ -275,10 +1125,13 @@ public class DeploymentDoctorService {
                             "Confirm you're connected to the correct cluster and namespace."
                     )
             );
+            List<FindingHistory> emptyScopeHistory = budget.isComplete()
+                    ? findingHistoryStore.record(emptyScopeKey, List.of(noMatchingObjectsFinding), generatedAt.toInstant())
+                    : findingHistoryStore.describe(emptyScopeKey, List.of(noMatchingObjectsFinding), generatedAt.toInstant());
 
             return new DeploymentSummaryResponse(
-                    OffsetDateTime.now(),
-                    new Target(namespace, effectiveSelector, release),
+                    generatedAt,
+                    new Target(namespace, effectiveSelector, release, budget.cluster().name()),
                     new Health(OverallStatus.UNKNOWN, "0/0", Map.of(
                             "running", 0,
                             "pending", 0,
@@ -291,7 +1144,13 @@ public class DeploymentDoctorService {
                     null, // topWarning: N/A when no objects found
                     null, // primaryFailureDebug: N/A for short-circuit (not ranked)
                     versionCheck,
-                    new Objects(List.of(), List.of(), List.of(), List.of(), List.of())
+                    new Objects(List.of(), List.of(), List.of(), List.of(), List.of(), List.of()),
+                    budget.partial(),
+                    false,
+                    0L,
+                    emptyScopeHistory,
+                    List.of(),
+                    null
             );
         }
 
@@ -316,7 +1175,11 @@ public class DeploymentDoctorService {
                 .collect(Collectors.toSet());
 
         // Events: fetch wide (namespace), then filter to relevant, then sort/dedupe/warn-first/limit
-        List<CoreV1Event> nsEvents = listEvents(namespace, limitEvents);
+        List<CoreV1Event> nsEvents = listEvents(namespace, limitEvents, budget);
+
+        // Feed the event rate counters (count increases since the last sighting of each event)
+        Instant observedAt = Instant.now();
+        eventRateTracker.observeAll(cluster, namespace, nsEvents, observedAt);
 
         // Events: fetch wide (namespace), then filter to relevant, then sort/dedupe, then
 // Policy 3: guarantee up to W warnings first, then fill with newest normals up to limitEvents.
@@ -373,6 +1236,11 @@ public class DeploymentDoctorService {
         // Map to DTOs (your EventInfo uses @JsonProperty("timestamp") already)
         List<EventInfo> relatedEvents = selected.stream().map(this::toEventInfo).toList();
 
+        // Archived warnings the apiserver has already garbage-collected (archived namespaces only)
+        // The archive watches the default cluster only
+        List<EventInfo> historicalEvents = cluster != null ? List.of() : listHistoricalWarnings(
+                namespace, podNames, deployNames, replicaSetNames, related, limitEvents);
+
         // Pod infos + breakdown
         List<PodInfo> podInfos = pods.stream().map(this::toPodInfo).toList();
 
@@ -395,19 +1263,38 @@ public class DeploymentDoctorService {
 
         Map<String, Integer> breakdown = computePodBreakdown(podInfos, backoffPods);
 
+        // Previous-container logs of crash-looping pods (same pods detectCrashLoop reports);
+        // started now so the reads overlap the service/endpoint calls below
+        Set<String> crashLoopPodNames = podInfos.stream()
+                .filter(p -> "CrashLoopBackOff".equalsIgnoreCase(p.reason()) || backoffPods.contains(p.name()))
+                .map(PodInfo::name)
+                .collect(Collectors.toSet());
+        List<CompletableFuture<ContainerLogTail>> previousLogTails = crashLoopPodNames.isEmpty()
+                ? List.of()
+                : previousLogPrefetcher.prefetch(budget.cluster(), cluster, namespace, pods.stream()
+                        .filter(p -> p.getMetadata() != null && crashLoopPodNames.contains(p.getMetadata().getName()))
+                        .toList());
+
         // Workloads
         List<Workload> workloadInfos = deployments.values().stream()
                 .map(this::toWorkloadInfo)
                 .toList();
 
         // Services/endpoints that actually target these pods
-        List<V1Service> services = findServicesForPods(namespace, pods);
+        List<V1Service> services = findServicesForPods(namespace, pods, budget);
 
-        Map<String, V1Endpoints> endpointsByService = services.stream()
+        // Services whose endpoints could not be read are left out (detectors skip them)
+        Map<String, V1Endpoints> endpointsByService = new LinkedHashMap<>();
+        services.stream()
                 .map(s -> s.getMetadata() != null ? s.getMetadata().getName() : null)
                 .filter(StringUtils::hasText)
                 .distinct()
-                .collect(Collectors.toMap(n -> n, n -> readEndpoints(namespace, n)));
+                .forEach(n -> {
+                    V1Endpoints eps = readEndpoints(namespace, n, budget);
+                    if (eps != null) {
+                        endpointsByService.put(n, eps);
+                    }
+                });
 
         List<ServiceInfo> serviceInfos = services.stream().map(this::toServiceInfo).toList();
         List<EndpointsInfo> endpointsInfos = endpointsByService.entrySet().stream()
@@ -426,13 +1313,14 @@ public class DeploymentDoctorService {
         findings.addAll(detectServiceSelectorMismatch(services, endpointsByService, pods));
         findings.addAll(detectInsufficientResources(podInfos, relatedEvents));
         findings.addAll(detectRbacDenied(relatedEvents));
+        findings.addAll(detectNodeUnhealthy(cluster, pods, notReadyPodNames, backoffPods, budget));
 
         // Run risk signal detection - MED severity (warnings/advisories)
         // Compute restart deltas (only warn on NEW restarts since last load)
         java.time.Instant now = java.time.Instant.now();
         restartBaselineStore.evictExpired(now);
         RestartBaselineStore.ScopeKey scopeKey
-                = new RestartBaselineStore.ScopeKey(namespace, effectiveSelector, release);
+                = new RestartBaselineStore.ScopeKey(namespace, effectiveSelector, release, cluster);
         Map<String, Integer> restartDeltas = podInfos.stream()
                 .collect(Collectors.toMap(
                         PodInfo::name,
@@ -440,6 +1328,8 @@ public class DeploymentDoctorService {
                 ));
         findings.addAll(detectPodRestarts(podInfos, restartDeltas));
         findings.addAll(detectPodSandboxRecycle(relatedEvents));
+        eventRateTracker.evictExpired(now);
+        findings.addAll(detectEventRateSpikes(cluster, namespace, relatedEvents, now));
 
         // Legacy findings (for backward compatibility)
         findings.addAll(findingsFromDeployments(deployments.values()));
@@ -451,16 +1341,52 @@ public class DeploymentDoctorService {
         Finding topWarning = selectTopWarning(findings);
         String deploymentsReady = computeDeploymentsReadyString(deployments.values());
 
+        // Prefetched previous logs: wait only within the budget (slower reads land in the cache)
+        previousLogPrefetcher.evictExpired(now);
+        List<ContainerLogTail> previousLogs = findings.stream().anyMatch(f -> f.code() == FailureCode.CRASH_LOOP)
+                ? previousLogPrefetcher.collect(previousLogTails, budget.isBounded()
+                        && budget.remaining().compareTo(PREVIOUS_LOGS_MAX_WAIT) < 0
+                        ? budget.remaining()
+                        : PREVIOUS_LOGS_MAX_WAIT)
+                : List.of();
+
+        // Finding lifecycle (open since/for, flapping); partial loads are described but not recorded
+        findingHistoryStore.evictExpired(now);
+        List<FindingHistory> findingHistory = budget.isComplete()
+                ? findingHistoryStore.record(scopeKey, findings, now)
+                : findingHistoryStore.describe(scopeKey, findings, now);
+
+        // Snapshot history (delta against previous load of this scope)
+        // Partial loads are not recorded: missing inputs would show up as removed events/closed findings
+        OffsetDateTime generatedAt = OffsetDateTime.now();
+        snapshotHistoryStore.evictExpired(now);
+        if (budget.isComplete()) {
+            snapshotHistoryStore.record(
+                    scopeKey,
+                    generatedAt,
+                    toPodObservations(pods, podInfos),
+                    toEventObservations(related),
+                    findings.stream().map(Finding::code).toList(),
+                    now
+            );
+        }
+
         return new DeploymentSummaryResponse(
-                OffsetDateTime.now(),
-                new Target(namespace, effectiveSelector, release),
+                generatedAt,
+                new Target(namespace, effectiveSelector, release, budget.cluster().name()),
                 new Health(overall, deploymentsReady, breakdown),
                 findings,
                 primaryFailure, // The highest-priority finding for primary decision
                 topWarning, // The highest-priority warning-level finding
                 null, // TODO: Add primaryFailureDebug from ranker
                 versionCheck,
-                new Objects(workloadInfos, podInfos, relatedEvents, serviceInfos, endpointsInfos)
+                new Objects(workloadInfos, podInfos, relatedEvents, serviceInfos, endpointsInfos, historicalEvents),
+                budget.partial(),
+                false,
+                0L,
+                findingHistory,
+                previousLogs,
+                null
         );
     }
 
@@ -468,12 +1394,17 @@ public class DeploymentDoctorService {
             String namespace,
             String selector,
             String release,
-            List<V1Pod> pods
+            List<V1Pod> pods,
+            QueryBudget budget
     ) {
         List<String> dockerImages = collectDockerImages(pods);
         String dbSourceLabel = "Not available from inspected pod spec";
 
-        DatabaseConnectionProfile profile = resolveDatabaseProfile(pods, namespace);
+        DatabaseConnectionProfile profile = resolveDatabaseProfile(pods, namespace, budget);
+        if (budget.isExpired()) {
+            budget.markUnavailable("versionCheck");
+            return buildUnavailableVersionCheck();
+        }
         if (profile == null) {
             return new DeploymentVersionCheck(
                     dockerImages,
@@ -486,8 +1417,8 @@ public class DeploymentDoctorService {
         }
 
         try {
-            String dbVersion = queryDatabaseVersion(profile);
-            String flywayVersion = queryFlywayVersion(profile);
+            String dbVersion = queryDatabaseVersion(profile, budget);
+            String flywayVersion = queryFlywayVersion(profile, budget);
             String notes = buildVersionNotes(profile, dbVersion, flywayVersion);
             return new DeploymentVersionCheck(
                     dockerImages,
@@ -498,6 +1429,7 @@ public class DeploymentDoctorService {
                     notes
             );
         } catch (Exception e) {
+            budget.markUnavailableIfExpired("versionCheck");
             return new DeploymentVersionCheck(
                     dockerImages,
                     null,
@@ -520,13 +1452,16 @@ public class DeploymentDoctorService {
         );
     }
 
-    private DatabaseConnectionProfile resolveDatabaseProfile(List<V1Pod> pods, String namespace) {
+    private DatabaseConnectionProfile resolveDatabaseProfile(List<V1Pod> pods, String namespace, QueryBudget budget) {
         if (pods == null || pods.isEmpty()) {
             return null;
         }
 
         for (V1Pod pod : pods) {
-            Map<String, String> env = collectEnvValuesFromPod(pod, namespace);
+            if (budget.isExpired()) {
+                return null;
+            }
+            Map<String, String> env = collectEnvValuesFromPod(pod, namespace, budget);
             if (env.isEmpty()) {
                 continue;
             }
@@ -569,19 +1504,20 @@ public class DeploymentDoctorService {
         );
     }
 
-    private String queryDatabaseVersion(DatabaseConnectionProfile profile) throws Exception {
-        String dbVersion = executeDatabaseScalar(profile, "SHOW server_version;");
+    private String queryDatabaseVersion(DatabaseConnectionProfile profile, QueryBudget budget) throws Exception {
+        String dbVersion = executeDatabaseScalar(profile, "SHOW server_version;", budget);
         return trimString(dbVersion);
     }
 
-    private String queryFlywayVersion(DatabaseConnectionProfile profile) {
+    private String queryFlywayVersion(DatabaseConnectionProfile profile, QueryBudget budget) {
         try {
             return trimString(executeDatabaseScalar(profile,
                     "SELECT version::text " +
                             "FROM public.flyway_schema_history " +
                             "WHERE success = true " +
                             "ORDER BY installed_rank DESC " +
-                            "LIMIT 1;"
+                            "LIMIT 1;",
+                    budget
             ));
         } catch (Exception e) {
             return null;
@@ -595,20 +1531,38 @@ public class DeploymentDoctorService {
         return "Profile source: " + profile.label() + " (could not read versions from DB)";
     }
 
-    private String executeDatabaseScalar(DatabaseConnectionProfile profile, String query) throws Exception {
+    private String executeDatabaseScalar(DatabaseConnectionProfile profile, String query, QueryBudget budget)
+            throws Exception {
         if (profile == null || !StringUtils.hasText(profile.jdbcUrl())
                 || !StringUtils.hasText(profile.username())
                 || !StringUtils.hasText(profile.password())) {
             return null;
         }
 
-        try (Connection connection = DriverManager.getConnection(profile.jdbcUrl(), profile.username(), profile.password());
-             Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(query)) {
-            if (resultSet.next()) {
-                return resultSet.getString(1);
+        Properties properties = new Properties();
+        properties.setProperty("user", profile.username());
+        properties.setProperty("password", profile.password());
+        int timeoutSeconds = 0;
+        if (budget.isBounded()) {
+            if (budget.isExpired()) {
+                return null;
+            }
+            // PostgreSQL driver timeouts are in whole seconds
+            timeoutSeconds = (int) Math.max(1L, (budget.remainingMillis() + 999L) / 1000L);
+            properties.setProperty("connectTimeout", String.valueOf(timeoutSeconds));
+            properties.setProperty("loginTimeout", String.valueOf(timeoutSeconds));
+            properties.setProperty("socketTimeout", String.valueOf(timeoutSeconds));
+        }
+
+        try (Connection connection = DriverManager.getConnection(profile.jdbcUrl(), properties);
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(query)) {
+                if (resultSet.next()) {
+                    return resultSet.getString(1);
+                }
+                return null;
             }
-            return null;
         }
     }
 
@@ -662,7 +1616,7 @@ public class DeploymentDoctorService {
         return new ArrayList<>(images);
     }
 
-    private Map<String, String> collectEnvValuesFromPod(V1Pod pod, String namespace) {
+    private Map<String, String> collectEnvValuesFromPod(V1Pod pod, String namespace, QueryBudget budget) {
         Map<String, String> result = new java.util.HashMap<>();
         if (pod == null || pod.getSpec() == null || pod.getSpec().getContainers() == null) {
             return result;
@@ -677,7 +1631,7 @@ public class DeploymentDoctorService {
                 if (!StringUtils.hasText(key) || result.containsKey(key)) {
                     return;
                 }
-                String resolved = resolvePodEnvValue(envVar, namespace);
+                String resolved = resolvePodEnvValue(envVar, namespace, budget);
                 if (StringUtils.hasText(resolved)) {
                     result.put(key, resolved);
                 }
@@ -687,7 +1641,7 @@ public class DeploymentDoctorService {
         return result;
     }
 
-    private String resolvePodEnvValue(V1EnvVar envVar, String namespace) {
+    private String resolvePodEnvValue(V1EnvVar envVar, String namespace, QueryBudget budget) {
         if (envVar == null) {
             return null;
         }
@@ -704,7 +1658,8 @@ public class DeploymentDoctorService {
             return null;
         }
         try {
-            V1Secret secret = coreV1.readNamespacedSecret(secretName, namespace).execute();
+            V1Secret secret = call(KubernetesRateLimiter.Lane.INTERACTIVE, budget, V1Secret.class,
+                    c -> c.coreV1().readNamespacedSecret(secretName, namespace).buildCall(null));
             if (secret == null || secret.getData() == null) {
                 return null;
             }
@@ -749,6 +1704,7 @@ public class DeploymentDoctorService {
      * This prevents confusion and maintains trust in the tool.
      */
     private DeploymentSummaryResponse buildQueryInvalidResponse(
+            String cluster,
             String namespace,
             String selector,
             String release,
@@ -779,7 +1735,7 @@ public class DeploymentDoctorService {
 
         return new DeploymentSummaryResponse(
                 OffsetDateTime.now(),
-                new Target(namespace, selector, release),
+                new Target(namespace, selector, release, cluster),
                 new Health(OverallStatus.FAIL, "0/0", Map.of(
                         "running", 0,
                         "pending", 0,
@@ -792,7 +1748,13 @@ public class DeploymentDoctorService {
                 null, // topWarning: N/A when query fails
                 null, // primaryFailureDebug: N/A for short-circuit (not ranked)
                 buildUnavailableVersionCheck(),
-                new Objects(List.of(), List.of(), List.of(), List.of(), List.of())
+                new Objects(List.of(), List.of(), List.of(), List.of(), List.of(), List.of()),
+                List.of(),
+                false,
+                0L,
+                List.of(),
+                List.of(),
+                null
         );
     }
 
@@ -831,6 +1793,150 @@ public class DeploymentDoctorService {
         return steps;
     }
 
+    // -------------------- request coalescing keys --------------------
+    private SummaryCache.Key summaryCacheKey(
+            String cluster,
+            String namespace,
+            String selector,
+            String release,
+            int limitEvents
+    ) {
+        return new SummaryCache.Key(
+                clusters.normalize(cluster),
+                normalizeParam(namespace),
+                normalizeSelector(selector),
+                normalizeParam(release),
+                limitEvents
+        );
+    }
+
+    private String normalizeParam(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    /**
+     * Equality-based selectors are order-insensitive ("b=2,a=1" == "a=1, b=2").
+     * Set-based selectors (with parentheses) are only trimmed.
+     */
+    private String normalizeSelector(String selector) {
+        if (!StringUtils.hasText(selector)) {
+            return null;
+        }
+        String trimmed = selector.trim();
+        if (trimmed.contains("(")) {
+            return trimmed;
+        }
+        return Arrays.stream(trimmed.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    // -------------------- request budget --------------------
+    @FunctionalInterface
+    private interface CallBuilder {
+        okhttp3.Call build(KubernetesClusterRegistry.Cluster cluster) throws ApiException;
+    }
+
+    /**
+     * Execute one Kubernetes call through the rate limiter, bounded by the request budget.
+     * The remaining budget becomes the HTTP call timeout, so a slow call is cancelled
+     * instead of holding the whole summary until the client read timeout.
+     */
+    private <T> T call(
+            KubernetesRateLimiter.Lane lane,
+            QueryBudget budget,
+            Type returnType,
+            CallBuilder builder
+    ) throws ApiException {
+        if (budget.isExpired()) {
+            throw new ApiException("Request budget exhausted before call", 0, Map.of(), null);
+        }
+        return rateLimiter.execute(budget.cluster().name(), lane, budget.remaining(), () -> {
+            okhttp3.Call httpCall = builder.build(budget.cluster());
+            if (budget.isBounded()) {
+                httpCall.timeout().timeout(Math.max(1L, budget.remainingMillis()), TimeUnit.MILLISECONDS);
+            }
+            ApiResponse<T> response = budget.cluster().client().execute(httpCall, returnType);
+            return response.getData();
+        });
+    }
+
+    /**
+     * End-to-end deadline for one query plus the inputs that missed it.
+     * Also carries the cluster the query runs against, so every sub-call targets it.
+     * Not thread-safe: a budget belongs to a single query.
+     */
+    private static final class QueryBudget {
+        private final KubernetesClusterRegistry.Cluster cluster;
+        private final long deadlineNanos;
+        private final boolean bounded;
+        private final List<String> partial = new ArrayList<>();
+
+        private QueryBudget(KubernetesClusterRegistry.Cluster cluster, long deadlineNanos, boolean bounded) {
+            this.cluster = cluster;
+            this.deadlineNanos = deadlineNanos;
+            this.bounded = bounded;
+        }
+
+        static QueryBudget unbounded(KubernetesClusterRegistry.Cluster cluster) {
+            return new QueryBudget(cluster, 0L, false);
+        }
+
+        static QueryBudget ofMillis(long budgetMs, KubernetesClusterRegistry.Cluster cluster) {
+            return new QueryBudget(cluster, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs), true);
+        }
+
+        KubernetesClusterRegistry.Cluster cluster() {
+            return cluster;
+        }
+
+        boolean isBounded() {
+            return bounded;
+        }
+
+        boolean isExpired() {
+            return bounded && deadlineNanos - System.nanoTime() <= 0;
+        }
+
+        long remainingMillis() {
+            return bounded ? TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+        }
+
+        /**
+         * Remaining budget, or null when unbounded.
+         */
+        Duration remaining() {
+            return bounded ? Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime())) : null;
+        }
+
+        void markUnavailable(String input) {
+            String marker = input + " unavailable";
+            if (!partial.contains(marker)) {
+                partial.add(marker);
+            }
+        }
+
+        /**
+         * Record a failed input as missing only when the failure was the budget running out
+         * (other failures such as RBAC keep their existing degrade behavior).
+         */
+        void markUnavailableIfExpired(String input) {
+            if (isExpired()) {
+                markUnavailable(input);
+            }
+        }
+
+        boolean isComplete() {
+            return partial.isEmpty();
+        }
+
+        List<String> partial() {
+            return List.copyOf(partial);
+        }
+    }
+
     // -------------------- selectors / list API --------------------
     private String buildEffectiveSelector(String selector, String release) {
         if (StringUtils.hasText(selector)) {
@@ -845,14 +1951,26 @@ public class DeploymentDoctorService {
     /**
      * List pods, allowing ApiException to propagate for query failure handling.
      */
-    private List<V1Pod> listPodsOrThrow(String namespace, String selector) throws ApiException {
-        V1PodList list = coreV1.listNamespacedPod(namespace).labelSelector(selector).execute();
+    private List<V1Pod> listPodsOrThrow(
+            String namespace,
+            String selector,
+            KubernetesRateLimiter.Lane lane,
+            QueryBudget budget
+    ) throws ApiException {
+        V1PodList list = call(lane, budget, V1PodList.class,
+                c -> c.coreV1().listNamespacedPod(namespace).labelSelector(selector).buildCall(null));
         return list.getItems() == null ? List.of() : list.getItems();
     }
 
-    private Map<String, V1Deployment> listDeploymentsBySelector(String namespace, String selector) throws ApiException {
+    private Map<String, V1Deployment> listDeploymentsBySelector(
+            String namespace,
+            String selector,
+            KubernetesRateLimiter.Lane lane,
+            QueryBudget budget
+    ) throws ApiException {
         try {
-            V1DeploymentList list = appsV1.listNamespacedDeployment(namespace).labelSelector(selector).execute();
+            V1DeploymentList list = call(lane, budget, V1DeploymentList.class,
+                    c -> c.appsV1().listNamespacedDeployment(namespace).labelSelector(selector).buildCall(null));
             if (list.getItems() == null) {
                 return Map.of();
             }
@@ -867,15 +1985,17 @@ public class DeploymentDoctorService {
             }
             // RBAC (403) or not found (404): proceed with pods-only view
             // This is not a query failure, just limited permissions
+            budget.markUnavailableIfExpired("deployments");
             return Map.of();
         }
     }
 
-    private List<CoreV1Event> listEvents(String namespace, int limitEvents) {
+    private List<CoreV1Event> listEvents(String namespace, int limitEvents, QueryBudget budget) {
         int fetchLimit = Math.max(limitEvents * 20, 200);
 
         try {
-            CoreV1EventList list = coreV1.listNamespacedEvent(namespace).limit(fetchLimit).execute();
+            CoreV1EventList list = call(KubernetesRateLimiter.Lane.INTERACTIVE, budget, CoreV1EventList.class,
+                    c -> c.coreV1().listNamespacedEvent(namespace).limit(fetchLimit).buildCall(null));
             if (list.getItems() == null) {
                 return List.of();
             }
@@ -885,10 +2005,46 @@ public class DeploymentDoctorService {
                     .sorted(Comparator.comparing(this::eventInstant).reversed())
                     .toList();
         } catch (ApiException e) {
+            budget.markUnavailableIfExpired("events");
             return List.of();
         }
     }
 
+    /**
+     * Warnings from the event archive for the objects in scope, excluding events the
+     * apiserver still returns. Detectors only see live events; these are context.
+     */
+    private List<EventInfo> listHistoricalWarnings(
+            String namespace,
+            Set<String> podNames,
+            Set<String> deployNames,
+            Set<String> replicaSetNames,
+            List<CoreV1Event> liveEvents,
+            int limitEvents
+    ) {
+        if (!eventArchive.isArchived(namespace)) {
+            return List.of();
+        }
+        Set<String> objectKeys = new HashSet<>();
+        podNames.forEach(n -> objectKeys.add(ArchivedEvent.objectKey("Pod", n)));
+        deployNames.forEach(n -> objectKeys.add(ArchivedEvent.objectKey("Deployment", n)));
+        replicaSetNames.forEach(n -> objectKeys.add(ArchivedEvent.objectKey("ReplicaSet", n)));
+
+        Set<String> liveUids = liveEvents.stream()
+                .map(e -> e.getMetadata() != null ? e.getMetadata().getUid() : null)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toSet());
+
+        Instant now = Instant.now();
+        return eventArchive.query(namespace, now.minus(EVENT_HISTORY_WINDOW), now, objectKeys, null, true,
+                        limitEvents + liveUids.size())
+                .stream()
+                .filter(e -> !liveUids.contains(e.uid()))
+                .limit(limitEvents)
+                .map(ArchivedEvent::toEventInfo)
+                .toList();
+    }
+
     // -------------------- mapping helpers --------------------
     private PodInfo toPodInfo(V1Pod p) {
         String name = p.getMetadata() != null ? p.getMetadata().getName() : "unknown";
@@ -984,6 +2140,47 @@ public class DeploymentDoctorService {
         return s == null ? "" : s;
     }
 
+    // -------------------- snapshot history --------------------
+    private List<SnapshotHistoryStore.PodObservation> toPodObservations(List<V1Pod> pods, List<PodInfo> podInfos) {
+        List<SnapshotHistoryStore.PodObservation> out = new ArrayList<>(pods.size());
+        for (int i = 0; i < pods.size(); i++) {
+            V1Pod pod = pods.get(i);
+            PodInfo info = podInfos.get(i);
+            String resourceVersion = pod.getMetadata() != null ? pod.getMetadata().getResourceVersion() : null;
+            String status = safe(info.phase()) + "/" + (info.ready() ? "Ready" : "NotReady")
+                    + (StringUtils.hasText(info.reason()) ? " (" + info.reason() + ")" : "");
+            out.add(new SnapshotHistoryStore.PodObservation(info.name(), resourceVersion, status, info.restarts()));
+        }
+        return out;
+    }
+
+    private List<SnapshotHistoryStore.EventObservation> toEventObservations(List<CoreV1Event> events) {
+        return events.stream()
+                .filter(e -> e.getMetadata() != null && StringUtils.hasText(e.getMetadata().getUid()))
+                .map(e -> new SnapshotHistoryStore.EventObservation(
+                        e.getMetadata().getUid(),
+                        e.getMetadata().getResourceVersion(),
+                        toEventInfo(e)
+                ))
+                .toList();
+    }
+
+    private OffsetDateTime parseSince(String since) {
+        if (!StringUtils.hasText(since)) {
+            return null;
+        }
+        String value = since.trim();
+        if (value.chars().allMatch(Character::isDigit)) {
+            return Instant.ofEpochMilli(Long.parseLong(value)).atOffset(java.time.ZoneOffset.UTC);
+        }
+        Instant parsed = parseInstantOrNull(value);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Invalid 'since' value: " + since
+                    + " (expected ISO-8601 timestamp or epoch millis)");
+        }
+        return parsed.atOffset(java.time.ZoneOffset.UTC);
+    }
+
     // -------------------- breakdown --------------------
     private Map<String, Integer> computePodBreakdown(List<PodInfo> pods, Set<String> backoffPods) {
         Map<String, Integer> m = new LinkedHashMap<>();
@@ -1020,12 +2217,14 @@ public class DeploymentDoctorService {
     }
 
     // -------------------- services / endpoints --------------------
-    private List<V1Service> findServicesForPods(String namespace, List<V1Pod> pods) {
+    private List<V1Service> findServicesForPods(String namespace, List<V1Pod> pods, QueryBudget budget) {
         List<V1Service> all;
         try {
-            V1ServiceList list = coreV1.listNamespacedService(namespace).execute();
+            V1ServiceList list = call(KubernetesRateLimiter.Lane.INTERACTIVE, budget, V1ServiceList.class,
+                    c -> c.coreV1().listNamespacedService(namespace).buildCall(null));
             all = list.getItems() == null ? List.of() : list.getItems();
         } catch (ApiException e) {
+            budget.markUnavailableIfExpired("services");
             return List.of();
         }
 
@@ -1046,10 +2245,12 @@ public class DeploymentDoctorService {
                 .toList();
     }
 
-    private V1Endpoints readEndpoints(String namespace, String serviceName) {
+    private V1Endpoints readEndpoints(String namespace, String serviceName, QueryBudget budget) {
         try {
-            return coreV1.readNamespacedEndpoints(serviceName, namespace).execute();
+            return call(KubernetesRateLimiter.Lane.INTERACTIVE, budget, V1Endpoints.class,
+                    c -> c.coreV1().readNamespacedEndpoints(serviceName, namespace).buildCall(null));
         } catch (ApiException e) {
+            budget.markUnavailableIfExpired("endpoints");
             return null;
         }
     }
@@ -1375,6 +2576,9 @@ public class DeploymentDoctorService {
                 continue;
             }
 
+            if (!endpointsByService.containsKey(name)) {
+                continue; // Endpoints unavailable: don't report a mismatch we can't see
+            }
             V1Endpoints eps = endpointsByService.get(name);
             int ready = countReadyAddresses(eps);
             int notReady = countNotReadyAddresses(eps);
@@ -1632,6 +2836,134 @@ public class DeploymentDoctorService {
         ));
     }
 
+    /**
+     * RISK SIGNAL: EVENT_RATE_SPIKE Trigger: a warning reason on an object kind
+     * this workload's events also carry is firing at 10x+ its recent baseline in
+     * the namespace (e.g. FailedScheduling bursting). Earlier than waiting for
+     * pods to fail readiness.
+     */
+    private List<Finding> detectEventRateSpikes(String cluster, String namespace, List<EventInfo> events, Instant now) {
+        Set<String> scopeReasons = events.stream()
+                .filter(e -> "Warning".equalsIgnoreCase(e.type()))
+                .map(e -> e.reason() + "|" + e.involvedObjectKind())
+                .collect(Collectors.toSet());
+        if (scopeReasons.isEmpty()) {
+            return List.of();
+        }
+
+        List<Evidence> evidence = new ArrayList<>();
+        for (EventRateTracker.Spike spike : eventRateTracker.spikes(cluster, namespace, now)) {
+            EventRateTracker.RateKey key = spike.key();
+            if (!scopeReasons.contains(key.reason() + "|" + key.kind())) {
+                continue;
+            }
+            evidence.add(new Evidence("EventRate", key.reason() + " (" + key.kind() + ")", String.format(
+                    "%d in last %d min vs ~%.1f per %d min over the previous %d min (%.0fx)",
+                    spike.recent(),
+                    EventRateTracker.SPIKE_WINDOW.toMinutes(),
+                    spike.baselinePerWindow(),
+                    EventRateTracker.SPIKE_WINDOW.toMinutes(),
+                    EventRateTracker.BASELINE.toMinutes(),
+                    spike.factor())));
+        }
+
+        if (evidence.isEmpty()) {
+            return List.of();
+        }
+
+        return List.of(new Finding(
+                FailureCode.EVENT_RATE_SPIKE,
+                "Warning event rate spike",
+                "Warning events seen on this workload are firing far above their recent rate in namespace "
+                + namespace + ". This often precedes pods failing readiness or scheduling.",
+                evidence,
+                List.of(
+                        "List recent warnings: kubectl get events -n " + namespace + " --field-selector type=Warning --sort-by=.lastTimestamp",
+                        "For FailedScheduling: check node capacity and quotas (kubectl describe nodes).",
+                        "Check for a recent rollout, scaling event or node drain that coincides with the burst."
+                )
+        ));
+    }
+
+    /**
+     * NODE_UNHEALTHY Trigger: failing pods (not Ready / BackOff) are scheduled on
+     * nodes that are NotReady or under Memory/Disk/PID pressure (cached node
+     * inventory, no extra API call). HIGH when a node is not Ready or evicted a
+     * failing pod; MED when the nodes are only under pressure.
+     */
+    private List<Finding> detectNodeUnhealthy(String cluster, List<V1Pod> pods,
+                                              Set<String> notReadyPodNames, Set<String> backoffPods,
+                                              QueryBudget budget) {
+        // Failing pods grouped by node
+        Map<String, List<String>> failingByNode = new LinkedHashMap<>();
+        Set<String> evictedPods = new HashSet<>();
+        for (V1Pod pod : pods) {
+            String podName = pod.getMetadata() != null ? pod.getMetadata().getName() : null;
+            String nodeName = pod.getSpec() != null ? pod.getSpec().getNodeName() : null;
+            String phase = pod.getStatus() != null ? pod.getStatus().getPhase() : null;
+            if (!StringUtils.hasText(podName) || !StringUtils.hasText(nodeName) || "Succeeded".equals(phase)) {
+                continue;
+            }
+            if (notReadyPodNames.contains(podName) || backoffPods.contains(podName)) {
+                failingByNode.computeIfAbsent(nodeName, n -> new ArrayList<>()).add(podName);
+                if ("Evicted".equals(pod.getStatus().getReason())) {
+                    evictedPods.add(podName);
+                }
+            }
+        }
+        if (failingByNode.isEmpty()) {
+            return List.of();
+        }
+
+        // The first lookup of a cluster may wait for its node list, never past the request budget
+        Map<String, NodeInventory.NodeState> nodes = nodeInventory.nodes(cluster, budget.remaining());
+        List<Evidence> evidence = new ArrayList<>();
+        boolean blocking = false;
+        for (Map.Entry<String, List<String>> entry : failingByNode.entrySet()) {
+            NodeInventory.NodeState node = nodes.get(entry.getKey());
+            if (node == null || !node.unhealthy()) {
+                continue;
+            }
+            List<String> causes = new ArrayList<>();
+            if (!node.ready()) {
+                causes.add((node.readyStatus() == null ? "NotReady" : "Ready=" + node.readyStatus())
+                        + (node.readyReason() != null ? " (" + node.readyReason() + ")" : "")
+                        + (node.readySince() != null ? " since " + node.readySince() : ""));
+            }
+            causes.addAll(node.pressures());
+            if (!node.taints().isEmpty()) {
+                causes.add("taints: " + String.join(", ", node.taints()));
+            }
+            if (node.pressures().contains("MemoryPressure") && node.allocatable().containsKey("memory")) {
+                causes.add("allocatable memory: " + node.allocatable().get("memory"));
+            }
+            evidence.add(new Evidence("Node", entry.getKey(), String.join("; ", causes)
+                    + " | failing pods: " + String.join(", ", entry.getValue())));
+            blocking |= !node.ready() || entry.getValue().stream().anyMatch(evictedPods::contains);
+        }
+
+        if (evidence.isEmpty()) {
+            return List.of();
+        }
+
+        return List.of(new Finding(
+                FailureCode.NODE_UNHEALTHY,
+                blocking ? Severity.HIGH : Severity.MED,
+                FailureCode.NODE_UNHEALTHY.getDefaultOwner(),
+                "Failing pods on unhealthy nodes",
+                "Failing pods are scheduled on nodes that are NotReady or under resource pressure. "
+                + "The node condition is the likely cause rather than the workload itself.",
+                evidence,
+                List.of(
+                        "Inspect the node: kubectl describe node <node>",
+                        "Check node conditions across the cluster: kubectl get nodes -o wide",
+                        "For DiskPressure: check image/log usage on the node (kubelet eviction thresholds).",
+                        "For MemoryPressure: compare pod requests to node allocatable; look for evictions.",
+                        "If one node is bad, cordon and drain it: kubectl cordon <node> && kubectl drain <node> --ignore-daemonsets"
+                )
+        ));
+    }
+
     /**
      * Legacy deployment findings (for backward compatibility)
      */
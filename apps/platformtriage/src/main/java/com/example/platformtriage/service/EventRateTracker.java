@@ -0,0 +1,314 @@
+package com.example.platformtriage.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.kubernetes.client.openapi.models.CoreV1Event;
+
+/**
+ * Sliding-window warning-event rates per (cluster, namespace, reason, involved object kind).
+ *
+ * Why this matters:
+ * - A warning event is either present or not in the summary; a burst (e.g. FailedScheduling
+ *   jumping 10x in five minutes) is an earlier signal than pods failing readiness
+ * - Kubernetes folds repeats into one event (count / series.count), so presence alone
+ *   hides the rate
+ *
+ * Design:
+ * - Fed from the event watches and from every summary load (same event seen twice is
+ *   counted once: per event uid, only the count increase since the last sighting is added)
+ * - Only activity after a namespace was first observed is counted: on first sighting, an
+ *   event created before that contributes nothing (its count is history we cannot place in
+ *   time); an event created since contributes its full count
+ * - A count increase is spread evenly over the minutes it happened in (previous sighting's
+ *   last occurrence, or the event's first occurrence, up to its last occurrence), not booked
+ *   into one minute, so a summary poll every few minutes does not read as a burst
+ * - One ring of one-minute {@link LongAdder} buckets per key; a bucket is recycled when its
+ *   minute stamp is stale. Recording is O(1) per minute and lock-free; a racing recycle can
+ *   drop a few increments at a minute boundary, which is fine for a rate signal
+ * - Spike: the last {@link #SPIKE_WINDOW} holds at least {@link #SPIKE_MIN_EVENTS} events
+ *   and {@link #SPIKE_FACTOR}x the average per window over the preceding {@link #BASELINE},
+ *   with the baseline floored at {@link #SPIKE_BASELINE_FLOOR} (a quiet reason needs a real
+ *   burst, not ten events, to count as a spike)
+ * - No spikes are reported for a namespace until it has been observed for a full baseline
+ */
+@Component
+public class EventRateTracker {
+
+    /**
+     * Aggregation key. Kind is the involved object kind (Pod, Node, ReplicaSet...);
+     * cluster = null for the default cluster.
+     */
+    public record RateKey(String cluster, String namespace, String reason, String kind) {}
+
+    /**
+     * A detected spike: {@code recent} events in the spike window vs. the baseline average.
+     */
+    public record Spike(RateKey key, long recent, double baselinePerWindow) {
+        public double factor() {
+            return recent / Math.max(baselinePerWindow, SPIKE_BASELINE_FLOOR);
+        }
+    }
+
+    public static final Duration SPIKE_WINDOW = Duration.ofMinutes(5);
+    public static final Duration BASELINE = Duration.ofMinutes(30);
+    public static final int SPIKE_FACTOR = 10;
+    public static final int SPIKE_MIN_EVENTS = 10;
+    public static final double SPIKE_BASELINE_FLOOR = 2.0;
+
+    private static final int SPIKE_MINUTES = (int) SPIKE_WINDOW.toMinutes();
+    private static final int BASELINE_MINUTES = (int) BASELINE.toMinutes();
+    private static final int BUCKETS = SPIKE_MINUTES + BASELINE_MINUTES + 1;
+    private static final Duration WINDOW = Duration.ofMinutes(BUCKETS);
+
+    /**
+     * Last sighting of an event uid (cumulative count, time of its last occurrence).
+     */
+    private record Seen(int count, Instant lastOccurrence, Instant lastSeen) {}
+
+    /**
+     * When a (cluster, namespace) was first and last fed to the tracker.
+     */
+    private record Feed(Instant since, Instant lastSeen) {}
+
+    private final Map<RateKey, MinuteRing> rings = new ConcurrentHashMap<>();
+    private final Map<String, Seen> seenByUid = new ConcurrentHashMap<>();
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+
+    /**
+     * Record all events of one namespace listing (a summary load). Marks the namespace as
+     * observed even when the listing is empty.
+     *
+     * @param cluster Cluster the events were read from (null = default cluster)
+     * @param namespace Namespace the events were read from
+     * @param events Events of the listing
+     * @param now Current timestamp
+     */
+    public void observeAll(String cluster, String namespace, Collection<CoreV1Event> events, Instant now) {
+        markObserved(cluster, namespace, now);
+        for (CoreV1Event event : events) {
+            observe(cluster, namespace, event, now);
+        }
+    }
+
+    /**
+     * Record a watched or listed event. Normal events are ignored.
+     *
+     * @param cluster Cluster the event was read from (null = default cluster)
+     * @param namespace Namespace the event was read from
+     * @param event Event (count / series.count are cumulative)
+     * @param now Current timestamp
+     */
+    public void observe(String cluster, String namespace, CoreV1Event event, Instant now) {
+        Instant observedSince = markObserved(cluster, namespace, now);
+        if (event == null || !"Warning".equalsIgnoreCase(event.getType())
+                || event.getMetadata() == null || event.getMetadata().getUid() == null) {
+            return;
+        }
+        Instant last = lastOccurrence(event);
+        if (last == null || last.isBefore(now.minus(WINDOW))) {
+            return;
+        }
+        if (last.isAfter(now)) {
+            last = now; // Clock skew between apiserver and us
+        }
+
+        int count = cumulativeCount(event);
+        Seen previous = seenByUid.put(cluster + "/" + event.getMetadata().getUid(), new Seen(count, last, now));
+        long delta;
+        Instant from;
+        if (previous != null) {
+            delta = Math.max(0, count - previous.count());
+            from = previous.lastOccurrence();
+        } else {
+            from = firstOccurrence(event);
+            // Created before we started watching this namespace: the count is history
+            delta = from != null && !from.isBefore(observedSince) ? count : 0;
+        }
+        if (delta == 0) {
+            return;
+        }
+
+        String kind = event.getInvolvedObject() != null ? event.getInvolvedObject().getKind() : null;
+        RateKey key = new RateKey(cluster, namespace, event.getReason(), kind);
+        long toMinute = minuteOf(last);
+        long fromMinute = from != null && from.isBefore(last) ? minuteOf(from) : toMinute;
+        rings.computeIfAbsent(key, k -> new MinuteRing()).spread(fromMinute, toMinute, delta);
+    }
+
+    /**
+     * Current spikes in a namespace, strongest first.
+     */
+    public List<Spike> spikes(String cluster, String namespace, Instant now) {
+        Feed feed = feeds.get(feedKey(cluster, namespace));
+        if (feed == null || now.isBefore(feed.since().plus(SPIKE_WINDOW).plus(BASELINE))) {
+            return List.of(); // Baseline not observed yet: everything would look like a spike
+        }
+        long currentMinute = minuteOf(now);
+        List<Spike> spikes = new ArrayList<>();
+        rings.forEach((key, ring) -> {
+            if (!key.namespace().equals(namespace) || !Objects.equals(key.cluster(), cluster)) {
+                return;
+            }
+            long recent = ring.sum(currentMinute - SPIKE_MINUTES + 1, currentMinute);
+            if (recent < SPIKE_MIN_EVENTS) {
+                return;
+            }
+            long baseline = ring.sum(currentMinute - SPIKE_MINUTES - BASELINE_MINUTES + 1, currentMinute - SPIKE_MINUTES);
+            double baselinePerWindow = baseline / (double) (BASELINE_MINUTES / SPIKE_MINUTES);
+            Spike spike = new Spike(key, recent, baselinePerWindow);
+            if (spike.factor() >= SPIKE_FACTOR) {
+                spikes.add(spike);
+            }
+        });
+        spikes.sort(Comparator.comparingDouble(Spike::factor).reversed());
+        return spikes;
+    }
+
+    /**
+     * Evict uid sightings and rings with no events left in the window.
+     *
+     * @param now Current timestamp
+     */
+    public void evictExpired(Instant now) {
+        Instant cutoff = now.minus(WINDOW);
+        seenByUid.entrySet().removeIf(e -> e.getValue().lastSeen().isBefore(cutoff));
+        feeds.entrySet().removeIf(e -> e.getValue().lastSeen().isBefore(cutoff));
+        long currentMinute = minuteOf(now);
+        rings.entrySet().removeIf(e -> e.getValue().sum(currentMinute - BUCKETS + 1, currentMinute) == 0);
+    }
+
+    /**
+     * Get number of tracked keys (for testing/debugging).
+     */
+    public int size() {
+        return rings.size();
+    }
+
+    /**
+     * Clear all counters (for testing).
+     */
+    public void clear() {
+        rings.clear();
+        seenByUid.clear();
+        feeds.clear();
+    }
+
+    /**
+     * @return When the namespace was first observed (start of its continuous feed)
+     */
+    private Instant markObserved(String cluster, String namespace, Instant now) {
+        return feeds.compute(feedKey(cluster, namespace), (k, feed) -> feed == null
+                ? new Feed(now, now)
+                : new Feed(feed.since(), now.isAfter(feed.lastSeen()) ? now : feed.lastSeen())).since();
+    }
+
+    private static String feedKey(String cluster, String namespace) {
+        return cluster + "/" + namespace;
+    }
+
+    private static long minuteOf(Instant instant) {
+        return instant.getEpochSecond() / 60;
+    }
+
+    private static int cumulativeCount(CoreV1Event e) {
+        int count = e.getCount() != null ? e.getCount() : 1;
+        if (e.getSeries() != null && e.getSeries().getCount() != null) {
+            count = Math.max(count, e.getSeries().getCount());
+        }
+        return Math.max(count, 1);
+    }
+
+    private static Instant lastOccurrence(CoreV1Event e) {
+        if (e.getSeries() != null && e.getSeries().getLastObservedTime() != null) {
+            return e.getSeries().getLastObservedTime().toInstant();
+        }
+        if (e.getLastTimestamp() != null) {
+            return e.getLastTimestamp().toInstant();
+        }
+        if (e.getEventTime() != null) {
+            return e.getEventTime().toInstant();
+        }
+        return firstOccurrence(e);
+    }
+
+    private static Instant firstOccurrence(CoreV1Event e) {
+        if (e.getFirstTimestamp() != null) {
+            return e.getFirstTimestamp().toInstant();
+        }
+        if (e.getEventTime() != null) {
+            return e.getEventTime().toInstant();
+        }
+        OffsetDateTime created = e.getMetadata() != null ? e.getMetadata().getCreationTimestamp() : null;
+        return created != null ? created.toInstant() : null;
+    }
+
+    /**
+     * Ring of one-minute buckets; bucket i holds minute m where m % BUCKETS == i.
+     */
+    private static final class MinuteRing {
+        private final LongAdder[] counts = new LongAdder[BUCKETS];
+        private final AtomicLongArray minutes = new AtomicLongArray(BUCKETS);
+
+        MinuteRing() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = new LongAdder();
+                minutes.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        void add(long minute, long delta) {
+            int slot = (int) Math.floorMod(minute, (long) BUCKETS);
+            long stamped = minutes.get(slot);
+            if (stamped != minute) {
+                if (stamped > minute) {
+                    return; // Slot already reused by a newer minute: too old to count
+                }
+                if (minutes.compareAndSet(slot, stamped, minute)) {
+                    counts[slot].reset();
+                }
+            }
+            counts[slot].add(delta);
+        }
+
+        /**
+         * Add {@code delta} spread evenly over [fromMinute, toMinute] (clamped to the ring);
+         * the remainder goes to the latest minutes.
+         */
+        void spread(long fromMinute, long toMinute, long delta) {
+            long first = Math.max(fromMinute, toMinute - BUCKETS + 1);
+            long minutesSpanned = toMinute - first + 1;
+            long perMinute = delta / minutesSpanned;
+            long remainder = delta % minutesSpanned;
+            for (long minute = first; minute <= toMinute; minute++) {
+                long share = perMinute + (toMinute - minute < remainder ? 1 : 0);
+                if (share > 0) {
+                    add(minute, share);
+                }
+            }
+        }
+
+        long sum(long fromMinute, long toMinute) {
+            long total = 0;
+            for (long minute = fromMinute; minute <= toMinute; minute++) {
+                int slot = (int) Math.floorMod(minute, (long) BUCKETS);
+                if (minutes.get(slot) == minute) {
+                    total += counts[slot].sum();
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.platformtriage.service;
 
 import com.example.common.export.ExportBundle;
+import com.example.common.export.ExportStreamWriter;
 import com.example.platformtriage.model.dto.Finding;
 import com.example.platformtriage.model.response.DeploymentSummaryResponse;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -21,8 +23,59 @@ public class ExportService {
      * Convert deployment summary to export bundle format
      */
     public ExportBundle createExportBundle(DeploymentSummaryResponse summary) {
-        // Build metadata
-        ExportBundle.MetadataDto metadata = ExportBundle.MetadataDto.builder()
+        // Build findings
+        List<ExportBundle.FindingDto> findings = summary.findings().stream()
+                .map(this::convertFinding)
+                .collect(Collectors.toList());
+        
+        // Build additional data
+        Map<String, Object> additionalData = new HashMap<>();
+        additionalData.put("timestamp", summary.timestamp());
+        if (summary.primaryFailure() != null) {
+            additionalData.put("primaryFailure", summary.primaryFailure());
+        }
+        if (summary.topWarning() != null) {
+            additionalData.put("topWarning", summary.topWarning());
+        }
+        if (summary.objects() != null) {
+            additionalData.put("objects", summary.objects());
+        }
+        
+        return ExportBundle.builder()
+                .metadata(buildMetadata(summary))
+                .source(buildSource(summary))
+                .health(buildHealth(summary))
+                .findings(findings)
+                .additionalData(additionalData)
+                .build();
+    }
+    
+    /**
+     * Write the export bundle for this summary straight to {@code writer}: each finding is
+     * converted and written in turn, and the summary's objects (pods, events...) are serialized
+     * from the summary itself instead of being copied into a bundle first.
+     */
+    public void writeExport(DeploymentSummaryResponse summary, ExportStreamWriter writer) throws IOException {
+        writer.metadata(buildMetadata(summary))
+                .source(buildSource(summary))
+                .health(buildHealth(summary));
+        for (Finding finding : summary.findings()) {
+            writer.finding(convertFinding(finding));
+        }
+        writer.additional("timestamp", summary.timestamp());
+        if (summary.primaryFailure() != null) {
+            writer.additional("primaryFailure", summary.primaryFailure());
+        }
+        if (summary.topWarning() != null) {
+            writer.additional("topWarning", summary.topWarning());
+        }
+        if (summary.objects() != null) {
+            writer.additional("objects", summary.objects());
+        }
+    }
+    
+    private ExportBundle.MetadataDto buildMetadata(DeploymentSummaryResponse summary) {
+        return ExportBundle.MetadataDto.builder()
                 .generatedAt(OffsetDateTime.now())
                 .tool("PlatformTriage - Deployment Doctor")
                 .toolVersion("1.0.0")
@@ -30,8 +83,9 @@ public class ExportService {
                 .environment(determineEnvironment(summary))
                 .identifier(buildIdentifier(summary))
                 .build();
-        
-        // Build source
+    }
+    
+    private ExportBundle.SourceDto buildSource(DeploymentSummaryResponse summary) {
         Map<String, String> sourceDetails = new HashMap<>();
         if (summary.target().namespace() != null) {
             sourceDetails.put("namespace", summary.target().namespace());
@@ -43,14 +97,15 @@ public class ExportService {
             sourceDetails.put("release", summary.target().release());
         }
         
-        ExportBundle.SourceDto source = ExportBundle.SourceDto.builder()
+        return ExportBundle.SourceDto.builder()
                 .type("kubernetes")
                 .name(summary.target().namespace())
                 .location(buildLocation(summary))
                 .details(sourceDetails)
                 .build();
-        
-        // Build health
+    }
+    
+    private ExportBundle.HealthDto buildHealth(DeploymentSummaryResponse summary) {
         Map<String, Object> healthMetrics = new HashMap<>();
         healthMetrics.put("overallStatus", summary.health().overall().toString());
         healthMetrics.put("deploymentsReady", summary.health().deploymentsReady());
@@ -60,37 +115,11 @@ public class ExportService {
         
         String healthSummary = buildHealthSummary(summary);
         
-        ExportBundle.HealthDto health = ExportBundle.HealthDto.builder()
+        return ExportBundle.HealthDto.builder()
                 .status(summary.health().overall().toString())
                 .summary(healthSummary)
                 .metrics(healthMetrics)
                 .build();
-        
-        // Build findings
-        List<ExportBundle.FindingDto> findings = summary.findings().stream()
-                .map(this::convertFinding)
-                .collect(Collectors.toList());
-        
-        // Build additional data
-        Map<String, Object> additionalData = new HashMap<>();
-        additionalData.put("timestamp", summary.timestamp());
-        if (summary.primaryFailure() != null) {
-            additionalData.put("primaryFailure", summary.primaryFailure());
-        }
-        if (summary.topWarning() != null) {
-            additionalData.put("topWarning", summary.topWarning());
-        }
-        if (summary.objects() != null) {
-            additionalData.put("objects", summary.objects());
-        }
-        
-        return ExportBundle.builder()
-                .metadata(metadata)
-                .source(source)
-                .health(health)
-                .findings(findings)
-                .additionalData(additionalData)
-                .build();
     }
     
     private ExportBundle.FindingDto convertFinding(Finding finding) {
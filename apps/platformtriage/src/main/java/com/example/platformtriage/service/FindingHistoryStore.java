@@ -0,0 +1,377 @@
+package com.example.platformtriage.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.platformtriage.model.dto.Evidence;
+import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.FindingHistory;
+import com.example.platformtriage.model.enums.FailureCode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Tracks finding lifecycles per scope: first seen, open since, occurrences, re-opens, flapping.
+ *
+ * Why this matters:
+ * - Findings are recomputed and forgotten on every load
+ * - The dashboard needs "open for 42 min" and "this keeps flapping" without re-deriving it
+ *
+ * Design:
+ * - Records are keyed by (FailureCode ordinal << 32 | object hash) in a primitive long,
+ *   no string keys. The object hash covers stable evidence only (Deployment, Service, ...),
+ *   not pods/events, so pod churn during a rollout doesn't look like a new finding.
+ * - A finding is open while consecutive loads report it; a load without it closes it
+ * - Flapping = at least {@link #FLAP_TRANSITIONS} open/close transitions within {@link #flapWindow}
+ * - Metrics: platformtriage.findings.open.duration{code} (timer, recorded on close) and
+ *   platformtriage.findings.flaps{code} (counter, when a finding starts flapping)
+ * - Optional snapshot to PLATFORMTRIAGE_FINDING_HISTORY_FILE (every 5 min on write,
+ *   restored at startup) so history survives restarts
+ */
+@Component
+public class FindingHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FindingHistoryStore.class);
+
+    private static final int SNAPSHOT_VERSION = 2; // 2: scope includes the cluster
+    private static final int FLAP_TRANSITIONS = 4;
+    private static final long NOT_OPEN = -1L;
+
+    /**
+     * Evidence kinds that change on every rollout/restart (or load) and must not affect the key.
+     */
+    private static final Set<String> VOLATILE_EVIDENCE_KINDS = Set.of("Pod", "Event", "Error", "EventRate");
+
+    private static final class FindingRecord {
+        private long firstSeenMillis;
+        private long lastSeenMillis;
+        private long openedAtMillis = NOT_OPEN;
+        private int occurrences;
+        private int openCount;
+        private boolean flapping;
+        private final Deque<Long> transitions = new ArrayDeque<>();
+    }
+
+    private static final class ScopeFindings {
+        private final Map<Long, FindingRecord> records = new HashMap<>();
+        private long updatedAtMillis;
+    }
+
+    /**
+     * Window for flap detection.
+     */
+    private final Duration flapWindow = Duration.ofMinutes(30);
+
+    /**
+     * History is kept longer than restart baselines: open durations matter over a shift.
+     */
+    private final Duration ttl = Duration.ofHours(24);
+
+    private final Duration snapshotInterval = Duration.ofMinutes(5);
+
+    private final Map<RestartBaselineStore.ScopeKey, ScopeFindings> scopes = new ConcurrentHashMap<>();
+    private final Map<FailureCode, Timer> openDurations = new EnumMap<>(FailureCode.class);
+    private final Map<FailureCode, Counter> flaps = new EnumMap<>(FailureCode.class);
+    private final Path snapshotFile;
+    private volatile long lastSnapshotMillis;
+
+    public FindingHistoryStore(MeterRegistry meterRegistry) {
+        for (FailureCode code : FailureCode.values()) {
+            openDurations.put(code, Timer.builder("platformtriage.findings.open.duration")
+                    .description("How long findings stayed open")
+                    .tag("code", code.name())
+                    .register(meterRegistry));
+            flaps.put(code, Counter.builder("platformtriage.findings.flaps")
+                    .description("Findings that started flapping")
+                    .tag("code", code.name())
+                    .register(meterRegistry));
+        }
+        String file = System.getenv("PLATFORMTRIAGE_FINDING_HISTORY_FILE");
+        this.snapshotFile = StringUtils.hasText(file) ? Path.of(file) : null;
+        restore();
+        this.lastSnapshotMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Record the findings of one complete load and describe their history.
+     *
+     * @param scope The query scope (namespace + selector/release)
+     * @param findings Findings of this load (normalized)
+     * @param now Current timestamp
+     * @return History per finding, in the same order as {@code findings}
+     */
+    public List<FindingHistory> record(RestartBaselineStore.ScopeKey scope, List<Finding> findings, Instant now) {
+        long nowMillis = now.toEpochMilli();
+        ScopeFindings scopeFindings = scopes.computeIfAbsent(scope, k -> new ScopeFindings());
+        List<FindingHistory> result;
+        synchronized (scopeFindings) {
+            Set<Long> present = new HashSet<>();
+            for (Finding finding : findings) {
+                long key = key(finding);
+                if (!present.add(key)) {
+                    continue; // Same code + objects reported twice in one load
+                }
+                FindingRecord record = scopeFindings.records.computeIfAbsent(key, k -> {
+                    FindingRecord created = new FindingRecord();
+                    created.firstSeenMillis = nowMillis;
+                    return created;
+                });
+                record.occurrences++;
+                record.lastSeenMillis = nowMillis;
+                if (record.openedAtMillis == NOT_OPEN) {
+                    record.openedAtMillis = nowMillis;
+                    record.openCount++;
+                    transition(record, finding.code(), nowMillis);
+                }
+            }
+
+            for (Map.Entry<Long, FindingRecord> entry : scopeFindings.records.entrySet()) {
+                FindingRecord record = entry.getValue();
+                if (record.openedAtMillis != NOT_OPEN && !present.contains(entry.getKey())) {
+                    FailureCode code = codeOf(entry.getKey());
+                    if (code != null) {
+                        openDurations.get(code).record(Duration.ofMillis(nowMillis - record.openedAtMillis));
+                    }
+                    record.openedAtMillis = NOT_OPEN;
+                    transition(record, code, nowMillis);
+                }
+            }
+            long staleCutoff = nowMillis - ttl.toMillis();
+            scopeFindings.records.values().removeIf(r -> r.openedAtMillis == NOT_OPEN && r.lastSeenMillis < staleCutoff);
+            scopeFindings.updatedAtMillis = nowMillis;
+            result = describeLocked(scopeFindings, findings, nowMillis);
+        }
+
+        maybeSnapshot(nowMillis);
+        return result;
+    }
+
+    /**
+     * Describe findings without recording them (e.g. for partial loads).
+     */
+    public List<FindingHistory> describe(RestartBaselineStore.ScopeKey scope, List<Finding> findings, Instant now) {
+        ScopeFindings scopeFindings = scopes.get(scope);
+        if (scopeFindings == null) {
+            return List.of();
+        }
+        synchronized (scopeFindings) {
+            return describeLocked(scopeFindings, findings, now.toEpochMilli());
+        }
+    }
+
+    /**
+     * Evict scopes not loaded within the TTL.
+     *
+     * @param now Current timestamp
+     */
+    public void evictExpired(Instant now) {
+        long cutoff = now.minus(ttl).toEpochMilli();
+        scopes.entrySet().removeIf(e -> e.getValue().updatedAtMillis < cutoff);
+    }
+
+    /**
+     * Get number of tracked scopes (for testing/debugging).
+     */
+    public int size() {
+        return scopes.size();
+    }
+
+    /**
+     * Clear all history (for testing).
+     */
+    public void clear() {
+        scopes.clear();
+    }
+
+    /**
+     * Key = FailureCode ordinal (high 32 bits) | hash of stable evidence (low 32 bits).
+     */
+    static long key(Finding finding) {
+        TreeSet<String> stable = new TreeSet<>();
+        Collection<Evidence> evidence = finding.evidence() == null ? List.of() : finding.evidence();
+        for (Evidence e : evidence) {
+            if (e != null && e.kind() != null && !VOLATILE_EVIDENCE_KINDS.contains(e.kind())) {
+                stable.add(e.kind() + "/" + e.name());
+            }
+        }
+        return ((long) finding.code().ordinal() << 32) | (stable.hashCode() & 0xFFFFFFFFL);
+    }
+
+    private static FailureCode codeOf(long key) {
+        int ordinal = (int) (key >>> 32);
+        FailureCode[] codes = FailureCode.values();
+        return ordinal >= 0 && ordinal < codes.length ? codes[ordinal] : null;
+    }
+
+    private void transition(FindingRecord record, FailureCode code, long nowMillis) {
+        record.transitions.addLast(nowMillis);
+        long windowStart = nowMillis - flapWindow.toMillis();
+        while (!record.transitions.isEmpty() && record.transitions.peekFirst() < windowStart) {
+            record.transitions.removeFirst();
+        }
+        boolean flapping = record.transitions.size() >= FLAP_TRANSITIONS;
+        if (flapping && !record.flapping && code != null) {
+            flaps.get(code).increment();
+        }
+        record.flapping = flapping;
+    }
+
+    private List<FindingHistory> describeLocked(ScopeFindings scopeFindings, List<Finding> findings, long nowMillis) {
+        List<FindingHistory> result = new ArrayList<>(findings.size());
+        for (Finding finding : findings) {
+            FindingRecord record = scopeFindings.records.get(key(finding));
+            if (record == null) {
+                result.add(new FindingHistory(finding.code(), null, null, 0L, 0, 0, false));
+                continue;
+            }
+            long openedAt = record.openedAtMillis == NOT_OPEN ? nowMillis : record.openedAtMillis;
+            result.add(new FindingHistory(
+                    finding.code(),
+                    toOffsetDateTime(record.firstSeenMillis),
+                    toOffsetDateTime(openedAt),
+                    Math.max(0L, nowMillis - openedAt),
+                    record.occurrences,
+                    Math.max(0, record.openCount - 1),
+                    record.flapping
+            ));
+        }
+        return result;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(long millis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    // -------------------- snapshotting --------------------
+    private void maybeSnapshot(long nowMillis) {
+        if (snapshotFile == null || nowMillis - lastSnapshotMillis < snapshotInterval.toMillis()) {
+            return;
+        }
+        lastSnapshotMillis = nowMillis;
+        try {
+            snapshot();
+        } catch (IOException e) {
+            log.warn("Failed to snapshot finding history to {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private synchronized void snapshot() throws IOException {
+        Path parent = snapshotFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            Map<RestartBaselineStore.ScopeKey, ScopeFindings> copy = new HashMap<>(scopes);
+            out.writeInt(copy.size());
+            for (Map.Entry<RestartBaselineStore.ScopeKey, ScopeFindings> scope : copy.entrySet()) {
+                writeNullable(out, scope.getKey().namespace());
+                writeNullable(out, scope.getKey().selector());
+                writeNullable(out, scope.getKey().release());
+                writeNullable(out, scope.getKey().cluster());
+                ScopeFindings scopeFindings = scope.getValue();
+                synchronized (scopeFindings) {
+                    out.writeLong(scopeFindings.updatedAtMillis);
+                    out.writeInt(scopeFindings.records.size());
+                    for (Map.Entry<Long, FindingRecord> entry : scopeFindings.records.entrySet()) {
+                        FindingRecord record = entry.getValue();
+                        out.writeLong(entry.getKey());
+                        out.writeLong(record.firstSeenMillis);
+                        out.writeLong(record.lastSeenMillis);
+                        out.writeLong(record.openedAtMillis);
+                        out.writeInt(record.occurrences);
+                        out.writeInt(record.openCount);
+                        out.writeBoolean(record.flapping);
+                        out.writeInt(record.transitions.size());
+                        for (long t : record.transitions) {
+                            out.writeLong(t);
+                        }
+                    }
+                }
+            }
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void restore() {
+        if (snapshotFile == null || !Files.isRegularFile(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION && version != 1) {
+                log.warn("Ignoring finding history snapshot {} (unknown version)", snapshotFile);
+                return;
+            }
+            int scopeCount = in.readInt();
+            for (int i = 0; i < scopeCount; i++) {
+                RestartBaselineStore.ScopeKey scope = new RestartBaselineStore.ScopeKey(
+                        readNullable(in), readNullable(in), readNullable(in), version >= 2 ? readNullable(in) : null);
+                ScopeFindings scopeFindings = new ScopeFindings();
+                scopeFindings.updatedAtMillis = in.readLong();
+                int recordCount = in.readInt();
+                for (int r = 0; r < recordCount; r++) {
+                    long key = in.readLong();
+                    FindingRecord record = new FindingRecord();
+                    record.firstSeenMillis = in.readLong();
+                    record.lastSeenMillis = in.readLong();
+                    record.openedAtMillis = in.readLong();
+                    record.occurrences = in.readInt();
+                    record.openCount = in.readInt();
+                    record.flapping = in.readBoolean();
+                    int transitionCount = in.readInt();
+                    for (int t = 0; t < transitionCount; t++) {
+                        record.transitions.addLast(in.readLong());
+                    }
+                    scopeFindings.records.put(key, record);
+                }
+                scopes.put(scope, scopeFindings);
+            }
+            log.info("✓ Restored finding history for {} scopes from {}", scopeCount, snapshotFile);
+        } catch (IOException e) {
+            log.warn("Failed to restore finding history from {}: {}", snapshotFile, e.getMessage());
+            scopes.clear();
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
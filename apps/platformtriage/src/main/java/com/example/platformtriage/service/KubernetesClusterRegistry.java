@@ -0,0 +1,228 @@
+package com.example.platformtriage.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.platformtriage.config.KubernetesClientConfig;
+import com.example.platformtriage.model.dto.ClusterHealth;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.VersionApi;
+import io.kubernetes.client.openapi.models.VersionInfo;
+import io.kubernetes.client.util.ClientBuilder;
+import io.kubernetes.client.util.KubeConfig;
+
+/**
+ * ApiClients per cluster, keyed by kubeconfig context.
+ *
+ * Why this matters:
+ * - The same release runs in several regional clusters; triage has to target any of them
+ *   and compare them side by side
+ *
+ * Design:
+ * - No cluster (or the current context) = the default ApiClient bean, unchanged
+ * - Other contexts are created lazily on first use and kept for the process lifetime
+ * - All clients share one OkHttp connection pool ({@link KubernetesClientConfig#tune})
+ * - Health = GET /version, cached for {@link #HEALTH_TTL}
+ * - Each cluster has its own {@link KubernetesRateLimiter} bucket (keyed by {@link Cluster#name()}),
+ *   so one slow or throttling apiserver does not hold calls to the others
+ *
+ * Configuration (environment):
+ * - KUBECONFIG: kubeconfig path (first entry); default ~/.kube/config
+ * - PLATFORMTRIAGE_CLUSTERS: comma-separated contexts for cross-cluster summaries
+ *   (default: every context in the kubeconfig)
+ */
+@Component
+public class KubernetesClusterRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(KubernetesClusterRegistry.class);
+
+    private static final Duration HEALTH_TTL = Duration.ofSeconds(30);
+    private static final String IN_CLUSTER = "in-cluster";
+
+    /**
+     * One cluster: its client and the typed APIs built on it.
+     */
+    public record Cluster(String name, ApiClient client, CoreV1Api coreV1, AppsV1Api appsV1) {
+        static Cluster of(String name, ApiClient client) {
+            return new Cluster(name, client, new CoreV1Api(client), new AppsV1Api(client));
+        }
+    }
+
+    private final Cluster defaultCluster;
+    private final Path kubeconfig;
+    private final List<String> contexts;
+    private final List<String> crossClusterContexts;
+    private final KubernetesRateLimiter rateLimiter;
+    private final Map<String, Cluster> clusters = new ConcurrentHashMap<>();
+    private final Map<String, ClusterHealth> health = new ConcurrentHashMap<>();
+
+    public KubernetesClusterRegistry(ApiClient defaultClient, KubernetesRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.kubeconfig = resolveKubeconfig();
+
+        List<String> names = new ArrayList<>();
+        String currentContext = null;
+        if (kubeconfig != null) {
+            try {
+                KubeConfig config = loadKubeConfig();
+                currentContext = config.getCurrentContext();
+                if (config.getContexts() != null) {
+                    for (Object context : config.getContexts()) {
+                        if (context instanceof Map<?, ?> map && map.get("name") != null) {
+                            names.add(map.get("name").toString());
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to read kubeconfig {}: {}", kubeconfig, e.getMessage());
+            }
+        }
+        this.contexts = List.copyOf(names);
+        this.defaultCluster = Cluster.of(StringUtils.hasText(currentContext) ? currentContext : IN_CLUSTER, defaultClient);
+
+        String configured = System.getenv("PLATFORMTRIAGE_CLUSTERS");
+        if (StringUtils.hasText(configured)) {
+            this.crossClusterContexts = Arrays.stream(configured.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .distinct()
+                    .toList();
+        } else {
+            this.crossClusterContexts = contexts.isEmpty() ? List.of(defaultCluster.name()) : contexts;
+        }
+    }
+
+    /**
+     * Canonical cluster key: null for the default cluster (blank or current context).
+     */
+    public String normalize(String cluster) {
+        if (!StringUtils.hasText(cluster)) {
+            return null;
+        }
+        String trimmed = cluster.trim();
+        return trimmed.equals(defaultCluster.name()) ? null : trimmed;
+    }
+
+    /**
+     * Display name (context name; "in-cluster" for a service-account default).
+     */
+    public String displayName(String cluster) {
+        String normalized = normalize(cluster);
+        return normalized == null ? defaultCluster.name() : normalized;
+    }
+
+    public boolean isDefault(String cluster) {
+        return normalize(cluster) == null;
+    }
+
+    /**
+     * Client for a cluster; other contexts are created on first use.
+     *
+     * @throws IllegalArgumentException Unknown context
+     * @throws IllegalStateException Context exists but its client cannot be built
+     */
+    public Cluster resolve(String cluster) {
+        String normalized = normalize(cluster);
+        if (normalized == null) {
+            return defaultCluster;
+        }
+        if (!contexts.contains(normalized)) {
+            throw new IllegalArgumentException("Unknown cluster context '" + normalized + "'. Known contexts: "
+                    + (contexts.isEmpty() ? "(none, no kubeconfig)" : String.join(", ", contexts)));
+        }
+        return clusters.computeIfAbsent(normalized, this::createCluster);
+    }
+
+    /**
+     * Contexts in the kubeconfig.
+     */
+    public List<String> contexts() {
+        return contexts;
+    }
+
+    /**
+     * Contexts queried by a cross-cluster summary when none are requested.
+     */
+    public List<String> crossClusterContexts() {
+        return crossClusterContexts;
+    }
+
+    /**
+     * Reachability of a cluster (cached for {@link #HEALTH_TTL}).
+     */
+    public ClusterHealth health(String cluster) {
+        String name = displayName(cluster);
+        ClusterHealth cached = health.get(name);
+        if (cached != null && cached.checkedAt().plus(HEALTH_TTL).isAfter(OffsetDateTime.now())) {
+            return cached;
+        }
+        ClusterHealth checked = check(cluster, name);
+        health.put(name, checked);
+        return checked;
+    }
+
+    private ClusterHealth check(String cluster, String name) {
+        try {
+            Cluster target = resolve(cluster);
+            VersionApi versionApi = new VersionApi(target.client());
+            VersionInfo version = rateLimiter.execute(target.name(), KubernetesRateLimiter.Lane.INTERACTIVE,
+                    () -> versionApi.getCode().execute());
+            return new ClusterHealth(name, true, version != null ? version.getGitVersion() : null, null,
+                    OffsetDateTime.now());
+        } catch (ApiException e) {
+            String error = e.getCode() > 0 ? "HTTP " + e.getCode() : e.getMessage();
+            return new ClusterHealth(name, false, null, error, OffsetDateTime.now());
+        } catch (RuntimeException e) {
+            return new ClusterHealth(name, false, null, e.getMessage(), OffsetDateTime.now());
+        }
+    }
+
+    private Cluster createCluster(String context) {
+        try {
+            KubeConfig config = loadKubeConfig();
+            if (!config.setContext(context)) {
+                throw new IllegalArgumentException("Unknown cluster context '" + context + "'");
+            }
+            ApiClient client = KubernetesClientConfig.tune(ClientBuilder.kubeconfig(config).build());
+            log.info("✓ Kubernetes ApiClient initialized for context {}", context);
+            return Cluster.of(context, client);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to initialize ApiClient for context '" + context + "': "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private KubeConfig loadKubeConfig() throws IOException {
+        try (Reader reader = Files.newBufferedReader(kubeconfig)) {
+            KubeConfig config = KubeConfig.loadKubeConfig(reader);
+            config.setFile(kubeconfig.toFile()); // Relative certificate/token paths
+            return config;
+        }
+    }
+
+    private static Path resolveKubeconfig() {
+        String env = System.getenv("KUBECONFIG");
+        Path path = StringUtils.hasText(env)
+                ? Path.of(env.split(java.io.File.pathSeparator)[0].trim())
+                : Path.of(System.getProperty("user.home"), ".kube", "config");
+        return Files.isRegularFile(path) ? path : null;
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.platformtriage.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Client-side token buckets in front of the Kubernetes ApiClients, one per cluster.
+ *
+ * Why this matters:
+ * - Summaries, trace searches and AI skills all share one ApiClient per cluster
+ * - A few log searches over large scopes can issue hundreds of calls and starve
+ *   the interactive summary (or get the whole client throttled by the apiserver)
+ *
+ * Design:
+ * - One bucket per cluster (apiserver capacity is per cluster, so a slow or throttling
+ *   cluster never holds calls to the others), created on first use
+ * - Two lanes per bucket: INTERACTIVE (summary, version check, single pod logs) and
+ *   BULK (log searches, archives, watches)
+ * - BULK never takes the last {@link #interactiveReserve} tokens and yields while
+ *   any INTERACTIVE caller of the same cluster is waiting, so bulk work is shaped to the refill rate
+ * - Waiting is bounded per lane; on timeout the call fails with a 429 ApiException
+ *   so existing degrade paths (empty events, pods-only view, ...) apply unchanged
+ * - 429 responses from an apiserver pause that cluster's bucket for Retry-After and the
+ *   call is retried once if the pause fits in the lane's queue timeout
+ * - Metrics per cluster and lane: platformtriage.k8s.limiter.queue.depth (gauge),
+ *   platformtriage.k8s.limiter.wait (timer), platformtriage.k8s.limiter.rejected (counter);
+ *   platformtriage.k8s.limiter.retry_after per cluster
+ */
+@Component
+public class KubernetesRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(KubernetesRateLimiter.class);
+
+    public enum Lane {
+        INTERACTIVE,
+        BULK
+    }
+
+    /**
+     * A single Kubernetes API call (typically a fluent request ending in execute()).
+     */
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        T execute() throws ApiException;
+    }
+
+    private static final class LaneStats {
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Timer wait;
+        private final Counter rejected;
+
+        private LaneStats(String cluster, Lane lane, MeterRegistry registry) {
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("platformtriage.k8s.limiter.queue.depth", queued, AtomicInteger::get)
+                    .description("Callers waiting for an apiserver token")
+                    .tag("cluster", cluster)
+                    .tag("lane", tag)
+                    .register(registry);
+            this.wait = Timer.builder("platformtriage.k8s.limiter.wait")
+                    .description("Time spent waiting for an apiserver token")
+                    .tag("cluster", cluster)
+                    .tag("lane", tag)
+                    .register(registry);
+            this.rejected = Counter.builder("platformtriage.k8s.limiter.rejected")
+                    .description("Calls rejected after the lane queue timeout")
+                    .tag("cluster", cluster)
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Token bucket, lanes and Retry-After pause of one cluster.
+     */
+    private final class Bucket {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final Map<Lane, LaneStats> lanes = new EnumMap<>(Lane.class);
+        private final Counter retryAfterCounter;
+
+        private double tokens = burst;
+        private long lastRefillNanos = System.nanoTime();
+        // "Not paused" is any value <= now; nanoTime values are only compared by difference
+        private long pausedUntilNanos = lastRefillNanos;
+
+        private Bucket(String cluster) {
+            for (Lane lane : Lane.values()) {
+                lanes.put(lane, new LaneStats(cluster, lane, meterRegistry));
+            }
+            this.retryAfterCounter = Counter.builder("platformtriage.k8s.limiter.retry_after")
+                    .description("429 responses received from the apiserver")
+                    .tag("cluster", cluster)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Sustained request rate towards one apiserver.
+     */
+    private final double permitsPerSecond = 20.0d;
+
+    /**
+     * Bucket capacity (a summary issues ~5 calls plus one per service).
+     */
+    private final int burst = 40;
+
+    /**
+     * Tokens BULK callers may never consume, kept for interactive bursts.
+     */
+    private final int interactiveReserve = 10;
+
+    private final Duration interactiveQueueTimeout = Duration.ofSeconds(5);
+    private final Duration bulkQueueTimeout = Duration.ofSeconds(15);
+
+    /**
+     * Upper bound for honoring a Retry-After header (and the default when it is missing: 1s).
+     */
+    private final Duration maxRetryAfter = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public KubernetesRateLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run {@code call} once a token of {@code cluster} is available in {@code lane}.
+     *
+     * @param cluster Cluster name ({@link KubernetesClusterRegistry.Cluster#name()})
+     * @throws ApiException from the call, or with code 429 when the lane queue timed out
+     */
+    public <T> T execute(String cluster, Lane lane, ApiCall<T> call) throws ApiException {
+        return execute(cluster, lane, null, call);
+    }
+
+    /**
+     * Same as {@link #execute(String, Lane, ApiCall)}, but never waits longer than {@code maxWait}
+     * (the caller's remaining request budget).
+     *
+     * @param maxWait Upper bound for queueing; null = lane default
+     */
+    public <T> T execute(String cluster, Lane lane, Duration maxWait, ApiCall<T> call) throws ApiException {
+        Bucket bucket = bucket(cluster);
+        Duration wait = maxWait == null || maxWait.compareTo(queueTimeout(lane)) > 0
+                ? queueTimeout(lane)
+                : maxWait;
+        long deadline = System.nanoTime() + wait.toNanos();
+        acquire(bucket, lane, deadline);
+        try {
+            return call.execute();
+        } catch (ApiException e) {
+            if (e.getCode() != 429) {
+                throw e;
+            }
+            Duration retryAfter = parseRetryAfter(e.getResponseHeaders());
+            pause(bucket, retryAfter);
+            if (System.nanoTime() + retryAfter.toNanos() - deadline > 0) {
+                throw e;
+            }
+            log.debug("Apiserver {} throttled {} call, retrying after {}ms", cluster, lane, retryAfter.toMillis());
+            acquire(bucket, lane, deadline);
+            return call.execute();
+        }
+    }
+
+    /**
+     * Callers of a cluster currently waiting in a lane (for testing/debugging).
+     */
+    public int queueDepth(String cluster, Lane lane) {
+        Bucket bucket = buckets.get(cluster);
+        return bucket == null ? 0 : bucket.lanes.get(lane).queued.get();
+    }
+
+    private Bucket bucket(String cluster) {
+        return buckets.computeIfAbsent(cluster, Bucket::new);
+    }
+
+    private void acquire(Bucket bucket, Lane lane, long deadline) throws ApiException {
+        LaneStats stats = bucket.lanes.get(lane);
+        long start = System.nanoTime();
+        bucket.lock.lock();
+        stats.queued.incrementAndGet();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(bucket, now);
+
+                long waitNanos;
+                if (bucket.pausedUntilNanos - now > 0) {
+                    waitNanos = bucket.pausedUntilNanos - now;
+                } else if (canTake(bucket, lane)) {
+                    bucket.tokens -= 1.0d;
+                    return;
+                } else if (lane == Lane.BULK && bucket.lanes.get(Lane.INTERACTIVE).queued.get() > 0) {
+                    waitNanos = nanosForTokens(1.0d); // Re-check after interactive callers drained
+                } else {
+                    double floor = lane == Lane.BULK ? interactiveReserve + 1.0d : 1.0d;
+                    waitNanos = nanosForTokens(floor - bucket.tokens);
+                }
+
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    stats.rejected.increment();
+                    throw new ApiException(
+                            "Apiserver rate limit: " + lane.name().toLowerCase(Locale.ROOT) + " lane queue timeout",
+                            429,
+                            Map.of(),
+                            "Client-side rate limit exceeded (" + lane.name().toLowerCase(Locale.ROOT)
+                                    + " lane waited " + (System.nanoTime() - start) / 1_000_000L + "ms)"
+                    );
+                }
+                bucket.changed.awaitNanos(Math.max(1L, Math.min(waitNanos, remaining)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while waiting for apiserver rate limiter", e, 429, Map.of());
+        } finally {
+            stats.queued.decrementAndGet();
+            stats.wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            bucket.changed.signalAll();
+            bucket.lock.unlock();
+        }
+    }
+
+    private boolean canTake(Bucket bucket, Lane lane) {
+        if (lane == Lane.INTERACTIVE) {
+            return bucket.tokens >= 1.0d;
+        }
+        return bucket.lanes.get(Lane.INTERACTIVE).queued.get() == 0 && bucket.tokens >= interactiveReserve + 1.0d;
+    }
+
+    private void refill(Bucket bucket, long now) {
+        double elapsedSeconds = (now - bucket.lastRefillNanos) / 1_000_000_000.0d;
+        if (elapsedSeconds > 0) {
+            bucket.tokens = Math.min(burst, bucket.tokens + elapsedSeconds * permitsPerSecond);
+            bucket.lastRefillNanos = now;
+        }
+    }
+
+    private long nanosForTokens(double needed) {
+        return (long) Math.ceil(Math.max(needed, 0.0d) / permitsPerSecond * 1_000_000_000.0d);
+    }
+
+    private void pause(Bucket bucket, Duration retryAfter) {
+        bucket.retryAfterCounter.increment();
+        bucket.lock.lock();
+        try {
+            long until = System.nanoTime() + retryAfter.toNanos();
+            if (until - bucket.pausedUntilNanos > 0) {
+                bucket.pausedUntilNanos = until;
+            }
+            bucket.tokens = 0.0d; // Start slow after the pause instead of bursting again
+            bucket.changed.signalAll();
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    private Duration parseRetryAfter(Map<String, List<String>> headers) {
+        Duration fallback = Duration.ofSeconds(1);
+        if (headers == null) {
+            return fallback;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!"retry-after".equalsIgnoreCase(header.getKey())
+                    || header.getValue() == null || header.getValue().isEmpty()) {
+                continue;
+            }
+            try {
+                long seconds = Long.parseLong(header.getValue().get(0).trim());
+                Duration retryAfter = Duration.ofSeconds(Math.max(seconds, 0));
+                return retryAfter.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : retryAfter;
+            } catch (NumberFormatException e) {
+                return fallback; // HTTP-date form is not used by the apiserver
+            }
+        }
+        return fallback;
+    }
+
+    private Duration queueTimeout(Lane lane) {
+        return lane == Lane.INTERACTIVE ? interactiveQueueTimeout : bulkQueueTimeout;
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.platformtriage.service;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.google.gson.reflect.TypeToken;
+
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeCondition;
+import io.kubernetes.client.openapi.models.V1NodeList;
+import io.kubernetes.client.openapi.models.V1Taint;
+import io.kubernetes.client.util.Watch;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Watch-backed node cache per cluster (conditions, taints, allocatable, pressure flags).
+ *
+ * Why this matters:
+ * - Pods failing together on one node usually share a node-level cause (NotReady,
+ *   DiskPressure, MemoryPressure) that pod and event data alone cannot show
+ * - Listing nodes on every summary would cost a cluster-scoped list call per load
+ *
+ * Design:
+ * - One informer per cluster: list once, then watch from the list resourceVersion
+ *   (short server-side timeout, below the client read timeout); a watch ERROR
+ *   (e.g. 410 Gone) re-lists
+ * - The default cluster starts at application ready; other clusters on first lookup
+ * - A lookup is one map read; the first lookup for a cluster waits at most
+ *   {@link #INITIAL_SYNC_WAIT} (or the caller's remaining budget) for the initial list,
+ *   then returns whatever is cached
+ * - A cluster that cannot be resolved {@link #MAX_RESOLVE_FAILURES} times in a row (context
+ *   removed or broken) drops its informer; a later lookup starts a new one
+ * - An interrupted informer thread exits and drops only its own informer
+ * - List/watch (re)connects go through the BULK lane of the rate limiter
+ * - Nodes are cluster-scoped: without RBAC to list them the cache stays empty
+ *   (node correlation is skipped) and the list is retried every {@link #DENIED_BACKOFF}
+ */
+@Component
+public class NodeInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeInventory.class);
+
+    /**
+     * Server-side watch timeout; must stay below the ApiClient read timeout (10s).
+     */
+    private static final int WATCH_TIMEOUT_SECONDS = 8;
+
+    private static final Duration INITIAL_SYNC_WAIT = Duration.ofSeconds(2);
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration DENIED_BACKOFF = Duration.ofMinutes(5);
+    private static final int MAX_RESOLVE_FAILURES = 3;
+
+    private static final Type WATCH_TYPE = new TypeToken<Watch.Response<V1Node>>() {}.getType();
+
+    /**
+     * Node conditions that are bad when True.
+     */
+    private static final List<String> PRESSURE_CONDITIONS
+            = List.of("MemoryPressure", "DiskPressure", "PIDPressure", "NetworkUnavailable");
+
+    /**
+     * Cached view of one node.
+     *
+     * @param ready Ready condition is True
+     * @param readyStatus Ready condition status (True/False/Unknown; null if not reported)
+     * @param readyReason Reason/message of the Ready condition when not ready
+     * @param readySince Last transition of the Ready condition
+     * @param pressures Pressure conditions currently True (MemoryPressure, DiskPressure, ...)
+     * @param taints Taints as key[=value]:Effect
+     * @param allocatable Allocatable resources (cpu, memory, pods, ...)
+     * @param unschedulable Node is cordoned
+     */
+    public record NodeState(
+            String name,
+            boolean ready,
+            String readyStatus,
+            String readyReason,
+            OffsetDateTime readySince,
+            List<String> pressures,
+            List<String> taints,
+            Map<String, String> allocatable,
+            boolean unschedulable
+    ) {
+        /**
+         * Not ready, or any pressure condition set.
+         */
+        public boolean unhealthy() {
+            return !ready || !pressures.isEmpty();
+        }
+
+        static NodeState from(V1Node node) {
+            String name = node.getMetadata() != null ? node.getMetadata().getName() : null;
+            String readyStatus = null;
+            String readyReason = null;
+            OffsetDateTime readySince = null;
+            List<String> pressures = new ArrayList<>();
+            if (node.getStatus() != null && node.getStatus().getConditions() != null) {
+                for (V1NodeCondition c : node.getStatus().getConditions()) {
+                    if ("Ready".equals(c.getType())) {
+                        readyStatus = c.getStatus();
+                        readySince = c.getLastTransitionTime();
+                        if (!"True".equals(c.getStatus())) {
+                            readyReason = c.getReason() != null
+                                    ? c.getReason() + (c.getMessage() != null ? ": " + c.getMessage() : "")
+                                    : c.getMessage();
+                        }
+                    } else if (PRESSURE_CONDITIONS.contains(c.getType()) && "True".equals(c.getStatus())) {
+                        pressures.add(c.getType());
+                    }
+                }
+            }
+
+            List<String> taints = new ArrayList<>();
+            boolean unschedulable = false;
+            if (node.getSpec() != null) {
+                unschedulable = Boolean.TRUE.equals(node.getSpec().getUnschedulable());
+                if (node.getSpec().getTaints() != null) {
+                    for (V1Taint t : node.getSpec().getTaints()) {
+                        taints.add(t.getKey() + (t.getValue() != null ? "=" + t.getValue() : "") + ":" + t.getEffect());
+                    }
+                }
+            }
+
+            Map<String, String> allocatable = new LinkedHashMap<>();
+            if (node.getStatus() != null && node.getStatus().getAllocatable() != null) {
+                for (Map.Entry<String, Quantity> e : node.getStatus().getAllocatable().entrySet()) {
+                    if (e.getValue() != null) {
+                        allocatable.put(e.getKey(), e.getValue().toSuffixedString());
+                    }
+                }
+            }
+
+            return new NodeState(name, "True".equals(readyStatus), readyStatus, readyReason, readySince,
+                    List.copyOf(pressures), List.copyOf(taints), Map.copyOf(allocatable), unschedulable);
+        }
+    }
+
+    private final KubernetesClusterRegistry clusters;
+    private final KubernetesRateLimiter rateLimiter;
+    private final Map<String, Informer> informers = new ConcurrentHashMap<>();
+    private final Duration retryBackoff;
+    private volatile boolean running = true;
+
+    public NodeInventory(KubernetesClusterRegistry clusters, KubernetesRateLimiter rateLimiter) {
+        this(clusters, rateLimiter, RETRY_BACKOFF);
+    }
+
+    NodeInventory(KubernetesClusterRegistry clusters, KubernetesRateLimiter rateLimiter, Duration retryBackoff) {
+        this.clusters = clusters;
+        this.rateLimiter = rateLimiter;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        informer(null);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        informers.values().forEach(i -> i.thread.interrupt());
+    }
+
+    /**
+     * Cached nodes of a cluster by name (empty until synced, or if nodes cannot be listed).
+     *
+     * @param cluster Cluster context (null = default cluster)
+     */
+    public Map<String, NodeState> nodes(String cluster) {
+        return nodes(cluster, null);
+    }
+
+    /**
+     * Same as {@link #nodes(String)}, but waits for the initial list no longer than {@code maxWait}.
+     *
+     * @param maxWait Caller's remaining budget; null = {@link #INITIAL_SYNC_WAIT}
+     */
+    public Map<String, NodeState> nodes(String cluster, Duration maxWait) {
+        Informer informer = informer(cluster);
+        if (informer.synced.getCount() > 0) {
+            Duration wait = maxWait == null || maxWait.compareTo(INITIAL_SYNC_WAIT) > 0 ? INITIAL_SYNC_WAIT : maxWait;
+            try {
+                informer.synced.await(wait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return informer.nodes;
+    }
+
+    /**
+     * Get number of cached nodes across clusters (for testing/debugging).
+     */
+    public int size() {
+        return informers.values().stream().mapToInt(i -> i.nodes.size()).sum();
+    }
+
+    /**
+     * Get number of running informers (for testing/debugging).
+     */
+    public int informerCount() {
+        return informers.size();
+    }
+
+    /**
+     * Clear cached nodes (for testing); informers re-fill on their next event or re-list.
+     */
+    public void clear() {
+        informers.values().forEach(i -> i.nodes.clear());
+    }
+
+    private Informer informer(String cluster) {
+        String name = clusters.displayName(cluster);
+        return informers.computeIfAbsent(name, n -> {
+            Informer informer = new Informer(n, cluster);
+            informer.thread = Thread.ofVirtual().name("node-inventory-" + n).start(() -> run(informer));
+            return informer;
+        });
+    }
+
+    private void run(Informer informer) {
+        try {
+            watchLoop(informer);
+        } finally {
+            // Only this cluster's informer goes away; a later lookup starts a new one
+            informers.remove(informer.name, informer);
+            informer.synced.countDown();
+        }
+    }
+
+    private void watchLoop(Informer informer) {
+        String resourceVersion = null;
+        int resolveFailures = 0;
+        while (running) {
+            KubernetesClusterRegistry.Cluster cluster;
+            try {
+                cluster = clusters.resolve(informer.cluster);
+                resolveFailures = 0;
+            } catch (RuntimeException e) {
+                if (++resolveFailures >= MAX_RESOLVE_FAILURES) {
+                    log.warn("Node inventory for {} stopped: cluster cannot be resolved ({})", informer.name, e.getMessage());
+                    return;
+                }
+                log.debug("Node inventory for {}: cluster cannot be resolved: {}", informer.name, e.getMessage());
+                if (!sleep(retryBackoff)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                if (resourceVersion == null) {
+                    resourceVersion = relist(informer, cluster);
+                }
+                final String fromVersion = resourceVersion;
+                try (Watch<V1Node> watch = rateLimiter.execute(cluster.name(), KubernetesRateLimiter.Lane.BULK,
+                        () -> Watch.createWatch(cluster.client(), cluster.coreV1().listNode()
+                                .watch(true)
+                                .allowWatchBookmarks(true)
+                                .resourceVersion(fromVersion)
+                                .timeoutSeconds(WATCH_TIMEOUT_SECONDS)
+                                .buildCall(null), WATCH_TYPE))) {
+                    for (Watch.Response<V1Node> item : watch) {
+                        if ("ERROR".equals(item.type)) {
+                            resourceVersion = null; // Expired resourceVersion: re-list
+                            break;
+                        }
+                        if (item.object == null || item.object.getMetadata() == null) {
+                            continue;
+                        }
+                        resourceVersion = item.object.getMetadata().getResourceVersion();
+                        String nodeName = item.object.getMetadata().getName();
+                        switch (item.type) {
+                            case "ADDED", "MODIFIED" -> informer.nodes.put(nodeName, NodeState.from(item.object));
+                            case "DELETED" -> informer.nodes.remove(nodeName);
+                            default -> { } // BOOKMARK: resourceVersion only
+                        }
+                    }
+                }
+            } catch (ApiException e) {
+                if (!running) {
+                    return;
+                }
+                resourceVersion = null;
+                boolean slept;
+                if (e.getCode() == 401 || e.getCode() == 403) {
+                    log.warn("Node inventory for {} disabled for {}: cannot list nodes (HTTP {})",
+                            informer.name, DENIED_BACKOFF, e.getCode());
+                    informer.synced.countDown(); // Don't make lookups wait for a list that cannot succeed
+                    slept = sleep(DENIED_BACKOFF);
+                } else {
+                    log.debug("Node watch for {} interrupted: {}", informer.name, e.getMessage());
+                    slept = sleep(retryBackoff);
+                }
+                if (!slept) {
+                    return;
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.debug("Node watch for {} interrupted: {}", informer.name, e.getMessage());
+                if (!sleep(retryBackoff)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private String relist(Informer informer, KubernetesClusterRegistry.Cluster cluster) throws ApiException {
+        V1NodeList list = rateLimiter.execute(cluster.name(), KubernetesRateLimiter.Lane.BULK,
+                () -> cluster.coreV1().listNode().execute());
+        Map<String, NodeState> fresh = new LinkedHashMap<>();
+        if (list.getItems() != null) {
+            for (V1Node node : list.getItems()) {
+                NodeState state = NodeState.from(node);
+                if (state.name() != null) {
+                    fresh.put(state.name(), state);
+                }
+            }
+        }
+        informer.nodes.keySet().retainAll(fresh.keySet());
+        informer.nodes.putAll(fresh);
+        if (informer.synced.getCount() > 0) {
+            informer.synced.countDown();
+            log.info("✓ Node inventory synced for {}: {} nodes", cluster.name(), fresh.size());
+        }
+        return list.getMetadata() != null ? list.getMetadata().getResourceVersion() : null;
+    }
+
+    /**
+     * @return false when interrupted: the calling informer thread should exit
+     */
+    private boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class Informer {
+        private final String name;
+        private final String cluster;
+        private final Map<String, NodeState> nodes = new ConcurrentHashMap<>();
+        private final CountDownLatch synced = new CountDownLatch(1);
+        private Thread thread;
+
+        Informer(String name, String cluster) {
+            this.name = name;
+            this.cluster = cluster;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.platformtriage.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.platformtriage.model.dto.ContainerLogTail;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ContainerStatus;
+import io.kubernetes.client.openapi.models.V1Pod;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Prefetches previous-container log tails for crash-looping pods.
+ *
+ * Why this matters:
+ * - For CRASH_LOOP the useful output is in the crashed instance's log; a follow-up
+ *   pod_logs request reads the current (usually empty, restarting) container instead
+ *
+ * Design:
+ * - Started as soon as a summary knows its crash-looping pods, so the reads overlap
+ *   the rest of the load; the summary waits for them only within its budget
+ * - Bounded executor ({@link #CONCURRENCY} reads at a time), at most {@link #MAX_PODS}
+ *   pods per summary; reads use the BULK lane of the rate limiter
+ * - Per pod: containers that restarted, {@link #TAIL_LINES} lines each, newest lines
+ *   kept within {@link #POD_BYTE_BUDGET} bytes split across the pod's containers
+ * - Cached per (cluster, namespace, pod, container, restartCount): a previous instance's
+ *   log never changes, so repeat loads and skills reuse it until the next restart.
+ *   Transient failures (throttling, timeouts) are not cached
+ */
+@Component
+public class PreviousLogPrefetcher {
+
+    public static final int TAIL_LINES = 50;
+    public static final int POD_BYTE_BUDGET = 16 * 1024;
+    public static final int MAX_PODS = 5;
+
+    private static final int CONCURRENCY = 4;
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    private record Key(String cluster, String namespace, String pod, String container, int restartCount) {}
+
+    private record Entry(CompletableFuture<ContainerLogTail> tail, Instant createdAt) {}
+
+    private final KubernetesRateLimiter rateLimiter;
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            CONCURRENCY, Thread.ofVirtual().name("crashlog-prefetch-", 0).factory());
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+
+    public PreviousLogPrefetcher(KubernetesRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start (or reuse) previous-log reads for the restarted containers of these pods.
+     *
+     * @param cluster Cluster to read from
+     * @param cacheCluster Cluster cache key (null = default cluster)
+     * @param namespace Namespace of the pods
+     * @param pods Crash-looping pods (only the first {@link #MAX_PODS} are read)
+     * @return Pending tails, one per container
+     */
+    public List<CompletableFuture<ContainerLogTail>> prefetch(
+            KubernetesClusterRegistry.Cluster cluster,
+            String cacheCluster,
+            String namespace,
+            List<V1Pod> pods
+    ) {
+        Instant now = Instant.now();
+        List<CompletableFuture<ContainerLogTail>> tails = new ArrayList<>();
+        for (V1Pod pod : pods.stream().limit(MAX_PODS).toList()) {
+            String podName = pod.getMetadata() != null ? pod.getMetadata().getName() : null;
+            List<V1ContainerStatus> restarted = restartedContainers(pod);
+            if (!StringUtils.hasText(podName) || restarted.isEmpty()) {
+                continue;
+            }
+            int byteBudget = POD_BYTE_BUDGET / restarted.size();
+            for (V1ContainerStatus status : restarted) {
+                Key key = new Key(cacheCluster, namespace, podName, status.getName(), status.getRestartCount());
+                Entry entry = cache.compute(key, (k, existing) -> existing != null && !existing.tail().isCompletedExceptionally()
+                        ? existing
+                        : new Entry(CompletableFuture.supplyAsync(() -> read(cluster, k, byteBudget), executor), now));
+                tails.add(entry.tail());
+            }
+        }
+        return tails;
+    }
+
+    /**
+     * Tails that completed within {@code maxWait}; slower reads keep running and land
+     * in the cache for the next load.
+     */
+    public List<ContainerLogTail> collect(List<CompletableFuture<ContainerLogTail>> tails, Duration maxWait) {
+        if (tails.isEmpty()) {
+            return List.of();
+        }
+        try {
+            CompletableFuture.allOf(tails.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0L, maxWait.toMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Collect what finished
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return tails.stream()
+                .filter(t -> t.isDone() && !t.isCompletedExceptionally())
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Evict cached tails older than the TTL.
+     *
+     * @param now Current timestamp
+     */
+    public void evictExpired(Instant now) {
+        Instant cutoff = now.minus(TTL);
+        cache.entrySet().removeIf(e -> e.getValue().createdAt().isBefore(cutoff));
+    }
+
+    /**
+     * Get number of cached tails (for testing/debugging).
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Clear all cached tails (for testing).
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private ContainerLogTail read(KubernetesClusterRegistry.Cluster cluster, Key key, int byteBudget) {
+        try {
+            String log = rateLimiter.execute(cluster.name(), KubernetesRateLimiter.Lane.BULK,
+                    () -> cluster.coreV1().readNamespacedPodLog(key.pod(), key.namespace())
+                            .container(key.container())
+                            .previous(true)
+                            .tailLines(TAIL_LINES)
+                            .timestamps(false)
+                            .execute());
+            return tail(key, log, byteBudget);
+        } catch (ApiException e) {
+            if (e.getCode() == 0 || e.getCode() == 429 || e.getCode() >= 500) {
+                cache.remove(key); // Transient: retry on the next load
+            }
+            String error = e.getCode() > 0 ? "HTTP " + e.getCode() : e.getMessage();
+            return new ContainerLogTail(key.pod(), key.container(), key.restartCount(), List.of(), false, error);
+        }
+    }
+
+    /**
+     * Newest lines that fit the byte budget; an over-long newest line keeps its last bytes.
+     */
+    private static ContainerLogTail tail(Key key, String log, int byteBudget) {
+        Deque<String> kept = new ArrayDeque<>();
+        boolean truncated = false;
+        if (log != null && !log.isEmpty()) {
+            String[] lines = log.split("\r?\n");
+            int used = 0;
+            for (int i = lines.length - 1; i >= 0; i--) {
+                int size = lines[i].getBytes(StandardCharsets.UTF_8).length + 1;
+                if (used + size > byteBudget) {
+                    truncated = true;
+                    if (kept.isEmpty()) {
+                        String line = lines[i];
+                        kept.addFirst(line.substring(Math.max(0, line.length() - byteBudget / 4)));
+                    }
+                    break;
+                }
+                used += size;
+                kept.addFirst(lines[i]);
+            }
+        }
+        return new ContainerLogTail(key.pod(), key.container(), key.restartCount(), List.copyOf(kept), truncated, null);
+    }
+
+    private static List<V1ContainerStatus> restartedContainers(V1Pod pod) {
+        if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+            return List.of();
+        }
+        return pod.getStatus().getContainerStatuses().stream()
+                .filter(cs -> StringUtils.hasText(cs.getName()))
+                .filter(cs -> cs.getRestartCount() != null && cs.getRestartCount() > 0)
+                .filter(cs -> cs.getLastState() != null && cs.getLastState().getTerminated() != null)
+                .toList();
+    }
+}
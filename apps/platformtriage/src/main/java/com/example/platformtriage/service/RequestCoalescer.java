@@ -0,0 +1,201 @@
+package com.example.platformtriage.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight layer for expensive, identical Kubernetes queries.
+ *
+ * Why this matters:
+ * - During an incident many people open the same release page within seconds
+ * - Without coalescing, each request runs the full query and multiplies apiserver load
+ *
+ * Design:
+ * - Callers with the same (operation, normalized params) key share ONE in-flight computation
+ * - After it completes successfully, the result is served from a short micro-cache window
+ * - Failures are shared with callers already waiting, but never cached
+ * - Metrics: platformtriage.coalescing.requests{operation, outcome=leader|coalesced|cached}
+ *   and platformtriage.coalescing.ratio{operation} (share of requests that did not hit the apiserver)
+ */
+@Component
+public class RequestCoalescer {
+
+    /**
+     * Work that may throw a checked exception (e.g. ApiException).
+     */
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        T load() throws E;
+    }
+
+    private record FlightKey(String operation, List<Object> params) {}
+
+    private static final class Flight {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long completedAtNanos;
+    }
+
+    private static final class OperationStats {
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong shared = new AtomicLong();
+        private final Counter leader;
+        private final Counter coalesced;
+        private final Counter cached;
+
+        private OperationStats(String operation, MeterRegistry registry) {
+            this.leader = counter(registry, operation, "leader");
+            this.coalesced = counter(registry, operation, "coalesced");
+            this.cached = counter(registry, operation, "cached");
+            Gauge.builder("platformtriage.coalescing.ratio", this, OperationStats::ratio)
+                    .description("Share of requests served by another caller's computation")
+                    .tag("operation", operation)
+                    .register(registry);
+        }
+
+        private static Counter counter(MeterRegistry registry, String operation, String outcome) {
+            return Counter.builder("platformtriage.coalescing.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        private double ratio() {
+            long t = total.get();
+            return t == 0 ? 0.0d : (double) shared.get() / t;
+        }
+    }
+
+    /**
+     * Micro-cache window after a computation completes.
+     * Short enough that a manual refresh a few seconds later still hits the cluster.
+     */
+    private final Duration cacheWindow = Duration.ofSeconds(2);
+
+    /**
+     * Sweep stale completed flights every N leader computations.
+     */
+    private static final int SWEEP_INTERVAL = 64;
+
+    private final Map<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong leaderCount = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run {@code loader} unless an identical call is in flight (join it) or just
+     * completed (reuse its result).
+     *
+     * @param operation Logical operation name ("summary", "versions", "trace")
+     * @param loader The actual computation
+     * @param params Normalized parameters identifying identical calls
+     */
+    public <T, E extends Exception> T execute(String operation, Loader<T, E> loader, Object... params) throws E {
+        FlightKey key = new FlightKey(operation, Arrays.asList(params));
+        OperationStats opStats = stats.computeIfAbsent(operation, op -> new OperationStats(op, meterRegistry));
+        opStats.total.incrementAndGet();
+
+        while (true) {
+            Flight existing = flights.get(key);
+            if (existing != null) {
+                if (!existing.future.isDone()) {
+                    opStats.shared.incrementAndGet();
+                    opStats.coalesced.increment();
+                    return this.<T, E>await(existing);
+                }
+                if (isFresh(existing)) {
+                    opStats.shared.incrementAndGet();
+                    opStats.cached.increment();
+                    return this.<T, E>await(existing);
+                }
+                flights.remove(key, existing);
+            }
+
+            Flight mine = new Flight();
+            if (flights.putIfAbsent(key, mine) != null) {
+                continue; // Lost the race: join the winner on the next iteration
+            }
+
+            opStats.leader.increment();
+            if (leaderCount.incrementAndGet() % SWEEP_INTERVAL == 0) {
+                evictStale();
+            }
+            try {
+                T value = loader.load();
+                mine.completedAtNanos = System.nanoTime();
+                mine.future.complete(value);
+                return value;
+            } catch (Exception | Error e) {
+                mine.completedAtNanos = System.nanoTime();
+                mine.future.completeExceptionally(e);
+                flights.remove(key, mine);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Fraction of calls for an operation that were coalesced or served from the micro-cache.
+     */
+    public double coalescingRatio(String operation) {
+        OperationStats opStats = stats.get(operation);
+        return opStats == null ? 0.0d : opStats.ratio();
+    }
+
+    /**
+     * Drop completed flights whose micro-cache window has passed.
+     */
+    public void evictStale() {
+        flights.entrySet().removeIf(e -> e.getValue().future.isDone() && !isFresh(e.getValue()));
+    }
+
+    /**
+     * Clear all flights (for testing).
+     */
+    public void clear() {
+        flights.clear();
+    }
+
+    private boolean isFresh(Flight flight) {
+        return !flight.future.isCompletedExceptionally()
+                && System.nanoTime() - flight.completedAtNanos <= cacheWindow.toNanos();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T await(Flight flight) throws E {
+        try {
+            return (T) flight.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight request", e);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw (E) cause;
+        } catch (CancellationException e) {
+            throw new IllegalStateException("In-flight request was cancelled", e);
+        }
+    }
+}
@@ -25,10 +25,15 @@ import org.springframework.stereotype.Component;
 public class RestartBaselineStore {
     
     /**
-     * Scope identifies a query context (namespace + selector/release).
-     * Baselines don't cross-contaminate between different filters.
+     * Scope identifies a query context (namespace + selector/release, in one cluster).
+     * Baselines don't cross-contaminate between different filters or clusters.
+     * cluster = null for the default cluster.
      */
-    public record ScopeKey(String namespace, String selector, String release) {}
+    public record ScopeKey(String namespace, String selector, String release, String cluster) {
+        public ScopeKey(String namespace, String selector, String release) {
+            this(namespace, selector, release, null);
+        }
+    }
     
     /**
      * Unique key for a pod within a scope.
@@ -0,0 +1,310 @@
+package com.example.platformtriage.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.example.platformtriage.model.dto.EventInfo;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.response.DeploymentSummaryDiffResponse;
+import com.example.platformtriage.model.response.DeploymentSummaryDiffResponse.PodTransition;
+
+/**
+ * Bounded per-scope history of summary snapshots, stored as deltas.
+ *
+ * Why this matters:
+ * - Users constantly ask "what changed since my last refresh?"
+ * - Keeping full summaries per load is wasteful (most objects don't change between loads)
+ *
+ * Design:
+ * - Per scope we keep only the LATEST state (resourceVersion + compact status per pod,
+ *   resourceVersion per event uid, set of open finding codes)
+ * - Each load produces a delta against the previous state; only non-empty deltas are retained
+ * - Objects whose resourceVersion did not change are skipped without comparing their status
+ * - A diff "since T" composes the retained deltas after T, so cost is O(changed objects)
+ * - Bounded deltas per scope + TTL eviction keep memory flat
+ */
+@Component
+public class SnapshotHistoryStore {
+
+    /**
+     * Compact pod state observed in one load.
+     */
+    public record PodObservation(String name, String resourceVersion, String status, int restarts) {}
+
+    /**
+     * Event observed in one load. uid + resourceVersion identify a new occurrence
+     * (Kubernetes bumps resourceVersion when the event count increments).
+     */
+    public record EventObservation(String uid, String resourceVersion, EventInfo event) {}
+
+    private record PodState(String resourceVersion, String status, int restarts) {}
+
+    private record PodChange(PodState before, PodState after) {}
+
+    private record Delta(
+            long revision,
+            OffsetDateTime capturedAt,
+            Map<String, PodChange> podChanges,
+            List<EventInfo> newEvents,
+            Set<FailureCode> opened,
+            Set<FailureCode> closed
+    ) {
+        boolean isEmpty() {
+            return podChanges.isEmpty() && newEvents.isEmpty() && opened.isEmpty() && closed.isEmpty();
+        }
+    }
+
+    private static final class ScopeHistory {
+        private long revision;
+        private OffsetDateTime lastCapturedAt;
+        private OffsetDateTime previousCapturedAt;
+        private OffsetDateTime evictedThrough;
+        private Instant updatedAt;
+        private Map<String, PodState> pods = Map.of();
+        private Map<String, String> eventVersions = Map.of();
+        private Set<FailureCode> findings = EnumSet.noneOf(FailureCode.class);
+        private final Deque<Delta> deltas = new ArrayDeque<>();
+    }
+
+    /**
+     * Max retained deltas per scope. Loads that change nothing don't consume a slot.
+     */
+    private static final int MAX_DELTAS_PER_SCOPE = 32;
+
+    /**
+     * Cap new events recorded per delta (event storms shouldn't blow up the history).
+     */
+    private static final int MAX_EVENTS_PER_DELTA = 100;
+
+    /**
+     * Same TTL as restart baselines: long enough for an incident, short enough to auto-clean.
+     */
+    private final Duration ttl = Duration.ofHours(2);
+
+    private final Map<RestartBaselineStore.ScopeKey, ScopeHistory> histories = new ConcurrentHashMap<>();
+
+    /**
+     * Record a new snapshot for the scope and store its delta against the previous one.
+     *
+     * @param scope The query scope (namespace + selector/release)
+     * @param capturedAt Timestamp of the summary being recorded
+     * @param pods Pods in this load
+     * @param events Related events in this load
+     * @param findingCodes Codes of findings open in this load
+     * @param now Current timestamp (for TTL)
+     */
+    public void record(
+            RestartBaselineStore.ScopeKey scope,
+            OffsetDateTime capturedAt,
+            Collection<PodObservation> pods,
+            Collection<EventObservation> events,
+            Collection<FailureCode> findingCodes,
+            Instant now
+    ) {
+        ScopeHistory history = histories.computeIfAbsent(scope, k -> new ScopeHistory());
+        synchronized (history) {
+            Map<String, PodState> nextPods = new HashMap<>(pods.size() * 2);
+            Map<String, PodChange> podChanges = new LinkedHashMap<>();
+            for (PodObservation pod : pods) {
+                PodState state = new PodState(pod.resourceVersion(), pod.status(), pod.restarts());
+                nextPods.put(pod.name(), state);
+
+                PodState prev = history.pods.get(pod.name());
+                if (prev == null) {
+                    podChanges.put(pod.name(), new PodChange(null, state));
+                } else if (!Objects.equals(prev.resourceVersion(), state.resourceVersion())
+                        && (!Objects.equals(prev.status(), state.status()) || prev.restarts() != state.restarts())) {
+                    // Only objects with a new resourceVersion are compared at all
+                    podChanges.put(pod.name(), new PodChange(prev, state));
+                }
+            }
+            for (Map.Entry<String, PodState> prev : history.pods.entrySet()) {
+                if (!nextPods.containsKey(prev.getKey())) {
+                    podChanges.put(prev.getKey(), new PodChange(prev.getValue(), null));
+                }
+            }
+
+            Map<String, String> nextEventVersions = new HashMap<>(events.size() * 2);
+            List<EventInfo> newEvents = new ArrayList<>();
+            for (EventObservation event : events) {
+                if (event.uid() == null) {
+                    continue;
+                }
+                nextEventVersions.put(event.uid(), event.resourceVersion());
+                if (!Objects.equals(history.eventVersions.get(event.uid()), event.resourceVersion())
+                        && newEvents.size() < MAX_EVENTS_PER_DELTA) {
+                    newEvents.add(event.event());
+                }
+            }
+
+            Set<FailureCode> nextFindings = findingCodes.isEmpty()
+                    ? EnumSet.noneOf(FailureCode.class)
+                    : EnumSet.copyOf(findingCodes);
+            Set<FailureCode> opened = EnumSet.copyOf(nextFindings);
+            opened.removeAll(history.findings);
+            Set<FailureCode> closed = EnumSet.copyOf(history.findings);
+            closed.removeAll(nextFindings);
+
+            history.revision++;
+            Delta delta = new Delta(history.revision, capturedAt, podChanges, newEvents, opened, closed);
+            if (!delta.isEmpty()) {
+                history.deltas.addLast(delta);
+                while (history.deltas.size() > MAX_DELTAS_PER_SCOPE) {
+                    history.evictedThrough = history.deltas.removeFirst().capturedAt();
+                }
+            }
+
+            history.pods = nextPods;
+            history.eventVersions = nextEventVersions;
+            history.findings = nextFindings;
+            history.previousCapturedAt = history.lastCapturedAt;
+            history.lastCapturedAt = capturedAt;
+            history.updatedAt = now;
+        }
+    }
+
+    /**
+     * Compose the retained deltas after {@code since} into a single diff.
+     *
+     * @param scope The query scope
+     * @param target Target echoed back in the response
+     * @param since Compare against the snapshot at this time; null = previous load
+     * @return The diff, or empty if this scope has no history
+     */
+    public Optional<DeploymentSummaryDiffResponse> diff(
+            RestartBaselineStore.ScopeKey scope,
+            Target target,
+            OffsetDateTime since
+    ) {
+        ScopeHistory history = histories.get(scope);
+        if (history == null) {
+            return Optional.empty();
+        }
+
+        synchronized (history) {
+            OffsetDateTime effectiveSince = since != null ? since : history.previousCapturedAt;
+            boolean truncated = effectiveSince != null
+                    && history.evictedThrough != null
+                    && history.evictedThrough.isAfter(effectiveSince);
+
+            // Newest first; stop at the first delta that is not after 'since'
+            List<Delta> applicable = new ArrayList<>();
+            Iterator<Delta> newestFirst = history.deltas.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Delta delta = newestFirst.next();
+                if (effectiveSince != null && !delta.capturedAt().isAfter(effectiveSince)) {
+                    break;
+                }
+                applicable.add(delta);
+            }
+
+            Map<String, PodChange> netPods = new LinkedHashMap<>();
+            Map<FailureCode, boolean[]> netFindings = new EnumMap<>(FailureCode.class);
+            List<EventInfo> newEvents = new ArrayList<>();
+            for (int i = applicable.size() - 1; i >= 0; i--) {
+                Delta delta = applicable.get(i);
+                delta.podChanges().forEach((name, change) -> netPods.merge(name, change,
+                        (first, later) -> new PodChange(first.before(), later.after())));
+                delta.opened().forEach(code -> netFindings
+                        .computeIfAbsent(code, c -> new boolean[]{false, true})[1] = true);
+                delta.closed().forEach(code -> netFindings
+                        .computeIfAbsent(code, c -> new boolean[]{true, false})[1] = false);
+            }
+            // Newest events first, matching the summary's event ordering
+            applicable.forEach(delta -> newEvents.addAll(delta.newEvents()));
+
+            List<String> added = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            List<PodTransition> transitions = new ArrayList<>();
+            netPods.forEach((name, change) -> {
+                if (change.before() == null && change.after() != null) {
+                    added.add(name);
+                } else if (change.before() != null && change.after() == null) {
+                    removed.add(name);
+                } else if (change.before() != null
+                        && (!Objects.equals(change.before().status(), change.after().status())
+                        || change.before().restarts() != change.after().restarts())) {
+                    transitions.add(new PodTransition(
+                            name,
+                            change.before().status(),
+                            change.after().status(),
+                            Math.max(0, change.after().restarts() - change.before().restarts())
+                    ));
+                }
+            });
+
+            List<FailureCode> findingsOpened = new ArrayList<>();
+            List<FailureCode> findingsClosed = new ArrayList<>();
+            netFindings.forEach((code, beforeAfter) -> {
+                if (!beforeAfter[0] && beforeAfter[1]) {
+                    findingsOpened.add(code);
+                } else if (beforeAfter[0] && !beforeAfter[1]) {
+                    findingsClosed.add(code);
+                }
+            });
+
+            long fromRevision = applicable.isEmpty()
+                    ? history.revision
+                    : applicable.get(applicable.size() - 1).revision() - 1;
+
+            return Optional.of(new DeploymentSummaryDiffResponse(
+                    target,
+                    effectiveSince,
+                    history.lastCapturedAt,
+                    fromRevision,
+                    history.revision,
+                    truncated,
+                    added,
+                    removed,
+                    transitions,
+                    newEvents,
+                    findingsOpened,
+                    findingsClosed
+            ));
+        }
+    }
+
+    /**
+     * Evict scopes not loaded within the TTL.
+     *
+     * @param now Current timestamp
+     */
+    public void evictExpired(Instant now) {
+        histories.entrySet().removeIf(e ->
+            e.getValue().updatedAt != null && e.getValue().updatedAt.isBefore(now.minus(ttl))
+        );
+    }
+
+    /**
+     * Get number of tracked scopes (for testing/debugging).
+     */
+    public int size() {
+        return histories.size();
+    }
+
+    /**
+     * Clear all history (for testing).
+     */
+    public void clear() {
+        histories.clear();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.platformtriage.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Stale-while-revalidate cache for deployment summaries.
+ *
+ * Why this matters:
+ * - The apiserver is usually degraded exactly during an incident
+ * - Blocking every dashboard refresh on a slow control plane turns into errors and p99 spikes
+ *
+ * Design:
+ * - age <= freshFor: served directly (stale=false)
+ * - age <= freshFor + staleFor: served immediately with stale=true and ageMs, while ONE
+ *   background refresh per key runs on a virtual thread
+ * - older / missing: the caller blocks on a load
+ * - Only complete summaries are cached; a partial or failed refresh keeps the previous value
+ * - QUERY_INVALID summaries (bad selector, unknown cluster) are never cached: the fix is usually
+ *   made right away (labels, RBAC), and the next request must see it
+ * - Metrics: platformtriage.summary.cache{result=fresh|stale|miss}
+ */
+@Component
+public class SummaryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SummaryCache.class);
+
+    /**
+     * Normalized summary parameters (same normalization as request coalescing).
+     * cluster = null for the default cluster.
+     */
+    public record Key(String cluster, String namespace, String selector, String release, int limitEvents) {}
+
+    private static final class Entry {
+        private final DeploymentSummaryResponse value;
+        private final long loadedAtNanos;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(DeploymentSummaryResponse value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    /**
+     * Served without revalidation.
+     */
+    private final Duration freshFor;
+
+    /**
+     * Served as stale (with a background refresh) after the fresh window.
+     */
+    private final Duration staleFor;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter freshCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+
+    public SummaryCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, Duration.ofSeconds(10), Duration.ofMinutes(5));
+    }
+
+    SummaryCache(MeterRegistry meterRegistry, Duration freshFor, Duration staleFor) {
+        this.freshFor = freshFor;
+        this.staleFor = staleFor;
+        this.freshCounter = counter(meterRegistry, "fresh");
+        this.staleCounter = counter(meterRegistry, "stale");
+        this.missCounter = counter(meterRegistry, "miss");
+    }
+
+    /**
+     * Get the summary for {@code key}, loading it only when nothing usable is cached.
+     *
+     * @param key Normalized summary parameters
+     * @param loader Loads a fresh summary for a blocking caller (may apply the caller's budget)
+     * @param refresher Loads a fresh summary in the background (no caller waiting, so no budget)
+     */
+    public DeploymentSummaryResponse get(
+            Key key,
+            Supplier<DeploymentSummaryResponse> loader,
+            Supplier<DeploymentSummaryResponse> refresher
+    ) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long ageNanos = System.nanoTime() - entry.loadedAtNanos;
+            long ageMs = TimeUnit.NANOSECONDS.toMillis(ageNanos);
+            if (ageNanos <= freshFor.toNanos()) {
+                freshCounter.increment();
+                return entry.value.withCacheState(false, ageMs);
+            }
+            if (ageNanos <= freshFor.plus(staleFor).toNanos()) {
+                staleCounter.increment();
+                refreshInBackground(key, entry, refresher);
+                return entry.value.withCacheState(true, ageMs);
+            }
+        }
+
+        missCounter.increment();
+        DeploymentSummaryResponse value = loader.get();
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Store a freshly loaded summary (ignored when it is partial or QUERY_INVALID).
+     */
+    public void put(Key key, DeploymentSummaryResponse value) {
+        if (!isCacheable(value)) {
+            return;
+        }
+        entries.put(key, new Entry(value, System.nanoTime()));
+        evictExpired();
+    }
+
+    /**
+     * Drop entries past the stale window.
+     */
+    public void evictExpired() {
+        long maxAgeNanos = freshFor.plus(staleFor).toNanos();
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> now - e.getValue().loadedAtNanos > maxAgeNanos);
+    }
+
+    /**
+     * Get number of cached summaries (for testing/debugging).
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Clear all cached summaries (for testing).
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private void refreshInBackground(Key key, Entry entry, Supplier<DeploymentSummaryResponse> refresher) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return; // A refresh for this key is already running
+        }
+        Thread.ofVirtual().name("summary-refresh-" + key.namespace()).start(() -> {
+            try {
+                put(key, refresher.get());
+            } catch (RuntimeException e) {
+                // Keep serving the stale value; the next request past the fresh window retries
+                log.warn("Background summary refresh failed for {}: {}", key, e.getMessage());
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private static boolean isCacheable(DeploymentSummaryResponse value) {
+        if (value == null || (value.partial() != null && !value.partial().isEmpty())) {
+            return false;
+        }
+        return value.primaryFailure() == null || value.primaryFailure().code() != FailureCode.QUERY_INVALID;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("platformtriage.summary.cache")
+                .tag("result", result)
+                .register(registry);
+    }
+}
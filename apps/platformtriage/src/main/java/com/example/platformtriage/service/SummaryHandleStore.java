@@ -0,0 +1,150 @@
+package com.example.platformtriage.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+
+/**
+ * Short-lived server-side handles for loaded summaries (summaryId → typed summary).
+ *
+ * Why this matters:
+ * - AI triage used to receive the whole summary back in every chat turn's context
+ *   (megabyte request bodies once logs and events are included), and converted the raw
+ *   map into a DeploymentSummaryResponse on every turn
+ * - With a handle, the client posts a short id and skills read the typed object directly
+ *
+ * Design:
+ * - Handles are random ids issued per loaded summary; the summary they point to never
+ *   changes (load again for fresh data, which issues a new handle)
+ * - A summary is identified by its scope and generation time, so the same load served
+ *   again from the summary cache (stale-while-revalidate hits) keeps its handle instead
+ *   of filling the store with one handle per request
+ * - Sliding TTL: each lookup extends the handle's lifetime
+ * - At most {@link #MAX_HANDLES} handles; the least recently used are dropped first
+ * - An expired or unknown handle resolves to null; callers ask for a reload
+ */
+@Component
+public class SummaryHandleStore {
+
+    private static final int MAX_HANDLES = 500;
+
+    /**
+     * One loaded summary: its scope and when it was generated.
+     */
+    private record Source(Target target, OffsetDateTime timestamp) {}
+
+    private record Entry(DeploymentSummaryResponse summary, Source source, Instant lastAccess) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<Source, String> idsBySource = new ConcurrentHashMap<>();
+
+    /**
+     * Idle time after which a handle expires.
+     * Long enough for an interactive triage conversation, short enough to auto-clean.
+     */
+    private final Duration ttl = Duration.ofMinutes(30);
+
+    /**
+     * Register a summary and return it annotated with its summaryId.
+     * A summary already registered (same scope and generation time) keeps its handle;
+     * the handle then points at the latest served copy (cache state included).
+     */
+    public DeploymentSummaryResponse register(DeploymentSummaryResponse summary) {
+        if (summary == null) {
+            return null;
+        }
+        Instant now = Instant.now();
+        evictExpired(now);
+        Source source = summary.timestamp() == null ? null : new Source(summary.target(), summary.timestamp());
+        String existing = source == null ? null : idsBySource.get(source);
+        if (existing != null) {
+            Entry reused = entries.computeIfPresent(existing, (id, e) ->
+                    new Entry(summary.withSummaryId(id), source, now));
+            if (reused != null) {
+                return reused.summary();
+            }
+        }
+        if (entries.size() >= MAX_HANDLES) {
+            evictLeastRecentlyUsed(entries.size() - MAX_HANDLES + 1);
+        }
+        String id = UUID.randomUUID().toString();
+        DeploymentSummaryResponse handled = summary.withSummaryId(id);
+        entries.put(id, new Entry(handled, source, now));
+        if (source != null) {
+            idsBySource.put(source, id);
+        }
+        return handled;
+    }
+
+    /**
+     * Summary behind a handle, or null when the handle is unknown or expired.
+     */
+    public DeploymentSummaryResponse get(String summaryId) {
+        if (!StringUtils.hasText(summaryId)) {
+            return null;
+        }
+        Instant now = Instant.now();
+        String id = summaryId.trim();
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.lastAccess().plus(ttl).isBefore(now)) {
+            remove(id, entry);
+            return null;
+        }
+        entries.replace(id, entry, new Entry(entry.summary(), entry.source(), now));
+        return entry.summary();
+    }
+
+    /**
+     * Drop handles idle for longer than the TTL.
+     */
+    public void evictExpired(Instant now) {
+        Instant cutoff = now.minus(ttl);
+        entries.entrySet().stream()
+                .filter(e -> e.getValue().lastAccess().isBefore(cutoff))
+                .toList()
+                .forEach(e -> remove(e.getKey(), e.getValue()));
+    }
+
+    /**
+     * Get number of live handles (for testing/debugging).
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Clear all handles (for testing).
+     */
+    public void clear() {
+        entries.clear();
+        idsBySource.clear();
+    }
+
+    private void evictLeastRecentlyUsed(int count) {
+        entries.entrySet().stream()
+                .sorted(Comparator.comparing(e -> e.getValue().lastAccess()))
+                .limit(count)
+                .toList()
+                .forEach(e -> remove(e.getKey(), e.getValue()));
+    }
+
+    private void remove(String id, Entry entry) {
+        if (entries.remove(id, entry) && entry.source() != null) {
+            idsBySource.remove(entry.source(), id);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.platformtriage.service.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.platformtriage.detection.AhoCorasickMatcher;
+import com.example.platformtriage.model.enums.FailureCode;
+
+/**
+ * Keyword routing of triage questions to tools, compiled into one Aho-Corasick automaton
+ * ({@link AhoCorasickMatcher}).
+ *
+ * Why this matters:
+ * - Every chat turn is routed here first (the OpenAI router only sees what this leaves as chat);
+ *   the previous chain of isXxxIntent checks ran ~150 substring scans, a dozen String.matches
+ *   and the entity regexes over every question
+ *
+ * Design:
+ * - Every keyword of every {@link Cue} is a term of one matcher over the normalized question
+ *   (keywords are a-z and space; any other character breaks a keyword): one pass finds all cues
+ * - A cue is either a substring cue (any occurrence) or a whole-word cue (the matcher's
+ *   whole-word terms)
+ * - Rules are evaluated in a fixed order over the cue set; each rule's weight is the routing
+ *   confidence it reports (compared against the OpenAI router's threshold by the caller)
+ * - Entity regexes (namespace, selector, trace id, counts) only run when their keyword cue is
+ *   present, at most once per question ({@link Scan} caches them)
+ * - Behavior is locked in by the golden corpus (test resources ai/heuristic-intent-golden.tsv)
+ * - Multi-part questions ("failing pods, their logs and the db version") can also be
+ *   planned as several tools, one per clause (see {@link #plan})
+ */
+@Component
+public class HeuristicIntentRouter {
+
+    /**
+     * Keyword groups the routing rules are written against.
+     */
+    public enum Cue {
+        LOG_MENTION(false, "log", "logs", "tail"),
+        LOG_WORD(true, "log", "logs", "tail", "tailing"),
+        LOG_VERB(false, "latest", "last", "recent", "show", "show me", "view", "display", "fetch", "get", "need", "tail"),
+        LOG_PHRASE(false, "pod logs", "pods logs", "show logs", "show my logs", "show log", "show pod logs",
+                "show me logs", "log output", "log lines", "tail logs", "logs for"),
+        POD_WORD(true, "pod", "pods"),
+        POD_LIST_EXCLUDED(false, "why", "root cause", "fix", "warning", "risk", "primary"),
+        POD_LIST_PHRASE(false, "show my pods", "show me my pods", "show pods", "list pods", "list all pods",
+                "what are my pods", "what are the pods", "which pods", "pod status", "pods status", "all pods",
+                "show pod", "display pods"),
+        LIST_VERB_WORD(true, "show", "list", "display", "which", "what", "all"),
+        ASKS_WHY(false, "why", "why is", "why are", "reason", "root cause", "main cause", "what happened"),
+        NOT_READY(false, "not ready", "unready", "pending", "cannot start", "can not start", "failed to start",
+                "crashloop", "crash loop", "createcontainerconfigerror", "imagepullbackoff", "errimagepull"),
+        EVENT(false, "event", "events", "event list", "recent events"),
+        EVENT_EXCLUDED(false, "reason", "code", "finding", "analysis"),
+        SERVICE(false, "service", "services", "endpoints", "endpoint", "svc", "service details"),
+        VERSION_PHRASE(false, "check version", "check versions", "version check", "flyway", "postgres version",
+                "db version", "database version"),
+        VERSION_WORD(true, "version", "versions"),
+        IMAGE_WORD(true, "dock", "docker", "image", "images", "container", "containers"),
+        TRACE(false, "trace"),
+        TRACE_PHRASE(false, "find trace", "search trace", "trace id", "traceid", "trace search", "show trace"),
+        WARNINGS_ONLY(false, "warning only", "warnings only", "warning events only", "only warning events"),
+        HEALTH(false, "health", "health check", "check health", "status", "health status", "pod health",
+                "pods health", "is it healthy", "overall health"),
+        LOAD_SUMMARY(false, "load summary", "deployment summary", "check namespace", "diagnose namespace",
+                "diagnose deployment", "scan namespace", "run summary", "load deployment", "refresh summary",
+                "reload summary", "recheck namespace"),
+        REFRESH(false, "refresh", "reload", "re run", "rerun", "again", "latest"),
+        SUMMARIZE(false, "summarize", "brief", "overall", "summary now", "what does this mean"),
+        PRIMARY(false, "primary issue", "primary failure", "top issue", "first fix", "fix first", "main problem"),
+        RISK(false, "risk", "warning", "what could go wrong", "what are the risks", "top warning"),
+        // Entity gates: the entity regexes cannot match without these words
+        NAMESPACE(false, "namespace"),
+        SELECTOR(false, "selector"),
+        RELEASE(false, "release"),
+        LIMIT(false, "limit"),
+        LINE(false, "line");
+
+        private final boolean wholeWord;
+        private final String[] keywords;
+
+        Cue(boolean wholeWord, String... keywords) {
+            this.wholeWord = wholeWord;
+            this.keywords = keywords;
+        }
+
+        private long bit() {
+            return 1L << ordinal();
+        }
+    }
+
+    /**
+     * Entities extracted from the question, each behind the cue its regex needs.
+     */
+    public enum Entity {
+        NAMESPACE(Cue.NAMESPACE, false, "(?i)\\bnamespace\\s*[:=]?\\s*([a-z0-9.-]+)"),
+        SELECTOR(Cue.SELECTOR, false, "(?i)\\b(?:selector|label selector)\\s*[:=]?\\s*([a-zA-Z0-9_.:\\-]+=[-_a-zA-Z0-9/.]+(?:,\\s*[a-zA-Z0-9_.:\\-]+=[-_a-zA-Z0-9/.]+)*)"),
+        RELEASE(Cue.RELEASE, false, "(?i)\\brelease\\s*[:=]?\\s*([\\w.-]+)"),
+        LIMIT_EVENTS(Cue.LIMIT, false, "(?i)\\blimit\\s*events\\s*[:=]?\\s*(\\d+)"),
+        EVENT_COUNT(Cue.EVENT, true, "(?i)\\b(?:last|latest|show|show me|display|need|give me)?\\s*(\\d+|one|two|three|four|five|six|seven|eight|nine|ten|eleven|twelve)\\s+(?:of\\s+)?events?\\b"),
+        LOG_LINES(Cue.LINE, true, "(?i)\\b(?:last\\s+)?(\\d+|one|two|three|four|five|six|seven|eight|nine|ten|eleven|twelve)\\s+(?:lines?|line)\\s+(?:of\\s+)?logs\\b"),
+        TRACE_ID(Cue.TRACE, false, "(?i)\\btrace(?:[-_ ]?id)?\\s*[:=]?\\s*([a-z0-9]{4,}-[a-z0-9]{4,}|[a-f0-9]{4,}|[a-f0-9\\-_:/.]+)\\b");
+
+        private final Cue gate;
+        private final boolean count;
+        private final Pattern pattern;
+
+        Entity(Cue gate, boolean count, String regex) {
+            this.gate = gate;
+            this.count = count;
+            this.pattern = Pattern.compile(regex);
+        }
+    }
+
+    private static final Pattern NOT_ROUTABLE = Pattern.compile("[^a-z0-9\\s]");
+    private static final Pattern CLAUSE_BREAK = Pattern.compile("[,;]|\\b(?:and|also|plus|then|as well as)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Most tools one question is planned into; longer lists are usually not a request for tools.
+     */
+    public static final int MAX_PLAN_STEPS = 4;
+    private static final Pattern FINDING_CODE_PATTERN = Pattern.compile("(?i)\\b([a-z][a-z0-9]*(?:_[a-z0-9]+)+)\\b");
+    private static final List<String> NUMBER_WORDS = List.of(
+            "one", "two", "three", "four", "five", "six", "seven", "eight", "nine", "ten", "eleven", "twelve");
+
+    private static final Pattern KEYWORD = Pattern.compile("[a-z ]+");
+
+    private final AhoCorasickMatcher matcher;
+    private final Cue[] cueOfTerm;
+
+    public HeuristicIntentRouter() {
+        List<String> terms = new ArrayList<>();
+        List<Cue> termCues = new ArrayList<>();
+        for (Cue cue : Cue.values()) {
+            for (String keyword : cue.keywords) {
+                if (!KEYWORD.matcher(keyword).matches()) {
+                    throw new IllegalStateException("Keyword outside the routing alphabet: " + keyword);
+                }
+                terms.add(keyword);
+                termCues.add(cue);
+            }
+        }
+        boolean[] wholeWord = new boolean[terms.size()];
+        for (int i = 0; i < wholeWord.length; i++) {
+            wholeWord[i] = termCues.get(i).wholeWord;
+        }
+        this.matcher = new AhoCorasickMatcher(terms, wholeWord);
+        this.cueOfTerm = termCues.toArray(Cue[]::new);
+    }
+
+    /**
+     * Lowercase, punctuation replaced by spaces: the form questions are scanned and routed in.
+     */
+    public static String normalize(String question) {
+        return question == null ? "" : NOT_ROUTABLE.matcher(question.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Find every cue of a normalized question (lowercase a-z0-9 and whitespace) in one pass.
+     */
+    public Scan scan(String normalizedQuestion) {
+        String text = normalizedQuestion == null ? "" : normalizedQuestion;
+        long[] found = matcher.scan(text);
+        long cues = 0;
+        for (int word = 0; word < found.length; word++) {
+            for (long bits = found[word]; bits != 0; bits &= bits - 1) {
+                cues |= cueOfTerm[(word << 6) + Long.numberOfTrailingZeros(bits)].bit();
+            }
+        }
+        return new Scan(text, cues);
+    }
+
+    /**
+     * Tool for a scanned question, or chat when no rule applies.
+     *
+     * @param hasSummary A summary is loaded (health questions then summarize it instead of reloading)
+     * @param scopeParams Scope parameters (namespace/selector/release, ...) for tools that need them
+     */
+    public AiIntent route(Scan scan, boolean hasSummary, Supplier<Map<String, String>> scopeParams) {
+        if (scan.text().isEmpty()) {
+            return AiIntent.chatFallback("empty");
+        }
+
+        if (isPodLogs(scan)) {
+            return AiIntent.from(PlatformTriageTools.GET_POD_LOGS, 0.96d, scopeParams.get());
+        }
+        if (scan.has(Cue.POD_WORD) && scan.has(Cue.ASKS_WHY) && scan.has(Cue.NOT_READY)) {
+            return AiIntent.from(PlatformTriageTools.PRIMARY_FAILURE, 0.95d, scopeParams.get());
+        }
+        if (isPodList(scan)) {
+            return AiIntent.from(PlatformTriageTools.LIST_PODS, 0.95d, scopeParams.get());
+        }
+        if (scan.has(Cue.EVENT) && !scan.has(Cue.EVENT_EXCLUDED)) {
+            return AiIntent.from(PlatformTriageTools.LIST_EVENTS, 0.93d, scopeParams.get());
+        }
+        if (scan.has(Cue.SERVICE)) {
+            return AiIntent.from(PlatformTriageTools.LIST_SERVICES, 0.93d, scopeParams.get());
+        }
+        if (scan.has(Cue.VERSION_PHRASE) || (scan.has(Cue.VERSION_WORD) && scan.has(Cue.IMAGE_WORD))) {
+            return AiIntent.from(PlatformTriageTools.CHECK_VERSIONS, 0.95d, scopeParams.get());
+        }
+        if (scan.has(Cue.TRACE) && (scan.has(Cue.TRACE_PHRASE) || scan.entity(Entity.TRACE_ID) != null)) {
+            Map<String, String> params = new HashMap<>(scopeParams.get());
+            String traceId = scan.entity(Entity.TRACE_ID);
+            if (StringUtils.hasText(traceId)) {
+                params.put("traceId", traceId);
+            }
+            return AiIntent.from(PlatformTriageTools.TRACE_SEARCH, 0.94d, params);
+        }
+
+        // Keep health checks stable against the currently loaded summary unless user asks for refresh.
+        if (hasSummary && scan.has(Cue.HEALTH) && !scan.has(Cue.REFRESH)) {
+            return AiIntent.from(PlatformTriageTools.SUMMARIZE, 0.94d, scopeParams.get());
+        }
+        if (scan.has(Cue.LOAD_SUMMARY) || scan.hasScopeHints()) {
+            return AiIntent.from(PlatformTriageTools.LOAD_SUMMARY, 0.95d, scopeParams.get());
+        }
+        if (scan.has(Cue.SUMMARIZE)) {
+            return AiIntent.from(PlatformTriageTools.SUMMARIZE, 0.93d, Map.of());
+        }
+        if (scan.has(Cue.PRIMARY)) {
+            return AiIntent.from(PlatformTriageTools.PRIMARY_FAILURE, 0.95d, scopeParams.get());
+        }
+        if (scan.has(Cue.RISK)) {
+            return AiIntent.from(PlatformTriageTools.TOP_WARNING, 0.9d, scopeParams.get());
+        }
+
+        String code = scan.findingCode();
+        if (StringUtils.hasText(code)) {
+            return AiIntent.from(PlatformTriageTools.FINDING_DETAILS, 0.9d, Map.of("findingCode", code));
+        }
+        return AiIntent.chatFallback("chat");
+    }
+
+    /**
+     * Tools for a question asking for several things at once, one per clause, in question order.
+     * Clauses are split on commas, semicolons and joining words; each is routed like a question
+     * of its own, and a clause that names a resource without a verb ("their logs") gets that
+     * resource's tool. Empty unless at least two different tools come out; single-tool questions
+     * go through {@link #route}. Also empty when a clause (re)loads the summary ("load summary and
+     * show logs"): planned steps run side by side over the summary already loaded, so the load has
+     * to run on its own first.
+     *
+     * @param question Raw question (clause punctuation is lost in normalization)
+     */
+    public List<AiIntent> plan(String question, boolean hasSummary, Supplier<Map<String, String>> scopeParams) {
+        if (question == null) {
+            return List.of();
+        }
+        String[] clauses = CLAUSE_BREAK.split(question);
+        if (clauses.length < 2) {
+            return List.of();
+        }
+
+        Map<String, AiIntent> steps = new LinkedHashMap<>();
+        for (String clause : clauses) {
+            Scan scan = scan(normalize(clause));
+            if (scan.text().isEmpty()) {
+                continue;
+            }
+            AiIntent intent = route(scan, hasSummary, scopeParams);
+            if ("chat".equals(intent.tool())) {
+                intent = mentionedResource(scan, scopeParams);
+            }
+            if (intent != null && steps.size() < MAX_PLAN_STEPS) {
+                steps.putIfAbsent(intent.tool(), intent);
+            }
+        }
+        if (steps.size() < 2 || steps.containsKey(PlatformTriageTools.LOAD_SUMMARY)) {
+            return List.of();
+        }
+        return List.copyOf(steps.values());
+    }
+
+    /**
+     * Tool for a clause that only names a resource, or null.
+     */
+    private static AiIntent mentionedResource(Scan scan, Supplier<Map<String, String>> scopeParams) {
+        if (scan.has(Cue.LOG_WORD)) {
+            return AiIntent.from(PlatformTriageTools.GET_POD_LOGS, 0.9d, scopeParams.get());
+        }
+        if (scan.has(Cue.POD_WORD)) {
+            return AiIntent.from(PlatformTriageTools.LIST_PODS, 0.9d, scopeParams.get());
+        }
+        if (scan.has(Cue.VERSION_WORD)) {
+            return AiIntent.from(PlatformTriageTools.CHECK_VERSIONS, 0.9d, scopeParams.get());
+        }
+        return null;
+    }
+
+    private static boolean isPodLogs(Scan scan) {
+        return !scan.has(Cue.LOAD_SUMMARY)
+                && scan.has(Cue.LOG_MENTION)
+                && (scan.has(Cue.LOG_VERB) || scan.has(Cue.LOG_PHRASE));
+    }
+
+    private static boolean isPodList(Scan scan) {
+        return !scan.has(Cue.LOG_WORD)
+                && scan.has(Cue.POD_WORD)
+                && !scan.has(Cue.POD_LIST_EXCLUDED)
+                && (scan.has(Cue.POD_LIST_PHRASE) || scan.has(Cue.LIST_VERB_WORD));
+    }
+
+    /**
+     * Cues of one question, with its entities extracted on first use.
+     * Not thread-safe: one scan per request.
+     */
+    public static final class Scan {
+        private final String text;
+        private final long cues;
+        private final Map<Entity, Optional<String>> entities = new EnumMap<>(Entity.class);
+
+        private Scan(String text, long cues) {
+            this.text = text;
+            this.cues = cues;
+        }
+
+        public String text() {
+            return text;
+        }
+
+        public boolean has(Cue cue) {
+            return (cues & cue.bit()) != 0;
+        }
+
+        public boolean warningsOnly() {
+            return has(Cue.WARNINGS_ONLY);
+        }
+
+        public boolean hasScopeHints() {
+            return entity(Entity.NAMESPACE) != null || entity(Entity.SELECTOR) != null || entity(Entity.RELEASE) != null;
+        }
+
+        /**
+         * Entity value, or null when absent (counts are returned as digits).
+         */
+        public String entity(Entity entity) {
+            return entities.computeIfAbsent(entity, e -> Optional.ofNullable(has(e.gate) ? extract(e) : null))
+                    .orElse(null);
+        }
+
+        /**
+         * Known FailureCode named in the question (SNAKE_CASE), or null.
+         */
+        public String findingCode() {
+            if (text.indexOf('_') < 0) {
+                return null; // The code pattern needs an underscore
+            }
+            Matcher matcher = FINDING_CODE_PATTERN.matcher(text);
+            while (matcher.find()) {
+                String candidate = matcher.group(1).trim().toUpperCase();
+                if (Arrays.stream(FailureCode.values()).anyMatch(code -> code.name().equals(candidate))) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private String extract(Entity entity) {
+            Matcher matcher = entity.pattern.matcher(text);
+            if (!matcher.find()) {
+                return null;
+            }
+            String raw = matcher.group(1);
+            if (!entity.count) {
+                String value = raw.trim();
+                return StringUtils.hasText(value) ? value : null;
+            }
+            if (raw == null) {
+                return null;
+            }
+            if (raw.matches("\\d+")) {
+                return raw;
+            }
+            int index = NUMBER_WORDS.indexOf(raw);
+            return index < 0 ? null : String.valueOf(index + 1);
+        }
+    }
+}
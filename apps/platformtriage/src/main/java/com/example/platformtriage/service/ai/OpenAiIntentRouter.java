@@ -1,35 +1,58 @@
 package com.example.platformtriage.service.ai;
 
-import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.example.common.llm.IntentRouteCache;
+import com.example.common.llm.LlmClient;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OpenAiIntentRouter {
 
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(8);
 
     private final ObjectMapper objectMapper;
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final LlmClient llmClient;
+    private final UnaryOperator<String> environment;
+
+    /**
+     * Answers already routed for the same normalized question and context hint.
+     * See {@link IntentRouteCache} for sizing (LLM_ROUTE_CACHE_SIZE, LLM_ROUTE_CACHE_TTL_SECONDS).
+     */
+    private final IntentRouteCache<AiIntent> routeCache;
+
+    @Autowired
+    public OpenAiIntentRouter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(objectMapper, meterRegistry, System::getenv);
+    }
+
+    /**
+     * Router reading OPENAI_* and cache settings from the given environment (tests point it at a stub server).
+     */
+    OpenAiIntentRouter(ObjectMapper objectMapper, MeterRegistry meterRegistry, UnaryOperator<String> environment) {
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.routeCache = IntentRouteCache.fromEnvironment(environment);
+        this.llmClient = new LlmClient("platformtriage", meterRegistry, environment);
+    }
 
     public Optional<AiIntent> route(String question, String contextSummaryHint) {
         String apiKey = resolveEnv("OPENAI_API_KEY");
@@ -37,6 +60,24 @@ public class OpenAiIntentRouter {
             return Optional.empty();
         }
 
+        return routeCache.get(question, contextSummaryHint, () -> callRouter(apiKey, question, contextSummaryHint));
+    }
+
+    /**
+     * Route cache statistics and contents (for testing/debugging).
+     */
+    IntentRouteCache<AiIntent> routeCache() {
+        return routeCache;
+    }
+
+    /**
+     * Shared LLM client: concurrency cap, hedging, circuit breaker (for testing/debugging).
+     */
+    LlmClient llmClient() {
+        return llmClient;
+    }
+
+    private Optional<AiIntent> callRouter(String apiKey, String question, String contextSummaryHint) {
         String baseUrl = resolveEnv("OPENAI_BASE_URL", "https://api.openai.com/v1");
         String model = resolveEnv("OPENAI_MODEL", "gpt-4.1-mini");
         String endpoint = baseUrl.endsWith("/chat/completions") ? baseUrl : String.format("%s/chat/completions", baseUrl);
@@ -50,18 +91,9 @@ public class OpenAiIntentRouter {
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
 
-        try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                log.warn("OpenAI routing failed with status {}: {}", response.statusCode(), response.body());
-                return Optional.empty();
-            }
-
-            return parse(response.body());
-        } catch (IOException | InterruptedException e) {
-            log.warn("OpenAI routing failed: {}", e.getMessage());
-            return Optional.empty();
-        }
+        // Empty when the call failed, was capped, the circuit is open or the model is slower than
+        // LLM_MAX_WAIT_MS: callers use the heuristic intent
+        return llmClient.sendAndWait(model, request).flatMap(this::parse);
     }
 
     private Optional<AiIntent> parse(String responseBody) {
@@ -88,7 +120,8 @@ public class OpenAiIntentRouter {
                 });
             }
 
-            return Optional.of(AiIntent.from(tool, confidence, params));
+            // Immutable: the same intent is handed out again on cache hits
+            return Optional.of(AiIntent.from(tool, confidence, Map.copyOf(params)));
         } catch (Exception e) {
             log.warn("Failed to parse OpenAI routing response: {}", e.getMessage());
             return Optional.empty();
@@ -121,7 +154,6 @@ public class OpenAiIntentRouter {
                 - %s
                 - %s
                 - %s
-                - %s
 
                 Use this JSON format and nothing else:
                 {
@@ -181,7 +213,7 @@ public class OpenAiIntentRouter {
     }
 
     private String resolveEnv(String key, String defaultValue) {
-        String value = System.getenv(key);
+        String value = environment.apply(key);
         return StringUtils.hasText(value) ? value : defaultValue;
     }
 }
@@ -0,0 +1,29 @@
+package com.example.platformtriage.service.ai;
+
+/**
+ * Staged progress of one AI triage turn, reported while it runs (streaming clients).
+ *
+ * Order: intentResolved once (once per step for a multi-tool plan), toolStarted when a skill
+ * runs, then any number of findings as the skill produces them. The final answer is the
+ * triage return value. Plan steps run concurrently, so callbacks may come from several
+ * threads at once; implementations must be thread-safe and must not block for long.
+ */
+public interface PlatformTriageProgress {
+
+    /**
+     * No-op progress for callers that only want the final answer.
+     */
+    PlatformTriageProgress NONE = new PlatformTriageProgress() {};
+
+    default void intentResolved(AiIntent intent) {
+    }
+
+    default void toolStarted(String tool) {
+    }
+
+    /**
+     * A partial finding, e.g. one pod's trace matches while the search continues.
+     */
+    default void finding(String finding) {
+    }
+}
@@ -4,4 +4,12 @@ public interface PlatformTriageSkill {
     PlatformTriageSkillMetadata metadata();
 
     PlatformTriageSkillResult execute(PlatformTriageSkillContext context) throws Exception;
+
+    /**
+     * Execute while reporting partial findings. Skills that produce results incrementally
+     * override this; the rest only have a final result.
+     */
+    default PlatformTriageSkillResult execute(PlatformTriageSkillContext context, PlatformTriageProgress progress) throws Exception {
+        return execute(context);
+    }
 }
@@ -31,6 +31,13 @@ public record PlatformTriageSkillContext(
         return summary != null;
     }
 
+    /**
+     * Cluster the loaded summary was read from; null = default cluster (or no summary).
+     */
+    public String activeCluster() {
+        return summary != null && summary.target() != null ? summary.target().cluster() : null;
+    }
+
     public String activeNamespace() {
         return StringUtils.hasText(namespace) ? namespace : "";
     }
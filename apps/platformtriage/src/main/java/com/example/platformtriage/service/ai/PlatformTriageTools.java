@@ -14,6 +14,11 @@ public final class PlatformTriageTools {
     public static final String TOP_WARNING = "top_warning";
     public static final String FINDING_DETAILS = "finding_details";
 
+    /**
+     * Not a skill: executedTool of a merged multi-tool answer (toolResult lists each step).
+     */
+    public static final String PLAN = "plan";
+
     private PlatformTriageTools() {
     }
 }
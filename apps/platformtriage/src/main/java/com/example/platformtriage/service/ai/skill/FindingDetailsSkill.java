@@ -7,6 +7,7 @@ import java.util.Locale;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.example.platformtriage.model.dto.ContainerLogTail;
 import com.example.platformtriage.model.dto.Finding;
 import com.example.platformtriage.model.enums.FailureCode;
 import com.example.platformtriage.service.ai.PlatformTriageSkill;
@@ -18,6 +19,8 @@ import com.example.platformtriage.service.ai.PlatformTriageTools;
 @Component
 public class FindingDetailsSkill implements PlatformTriageSkill {
 
+    private static final int PREVIOUS_LOG_LINES = 20;
+
     @Override
     public PlatformTriageSkillMetadata metadata() {
         return new PlatformTriageSkillMetadata(
@@ -99,6 +102,9 @@ public class FindingDetailsSkill implements PlatformTriageSkill {
             match.evidence().forEach(e -> keyFindings.add("Evidence: " + e.kind() + "=" + e.name()
                     + (StringUtils.hasText(e.message()) ? " (" + e.message() + ")" : "")));
         }
+        if (match.code() == FailureCode.CRASH_LOOP) {
+            addPreviousLogs(keyFindings, context.summary().previousLogs());
+        }
 
         List<String> nextSteps = new ArrayList<>();
         if (match.nextSteps() != null && !match.nextSteps().isEmpty()) {
@@ -119,6 +125,29 @@ public class FindingDetailsSkill implements PlatformTriageSkill {
         );
     }
 
+    /**
+     * Prefetched previous-container log tails (last lines per crashed container).
+     */
+    private void addPreviousLogs(List<String> keyFindings, List<ContainerLogTail> previousLogs) {
+        if (previousLogs == null) {
+            return;
+        }
+        for (ContainerLogTail tail : previousLogs) {
+            String source = tail.pod() + "/" + tail.container() + " (restart " + tail.restartCount() + ")";
+            if (StringUtils.hasText(tail.error())) {
+                keyFindings.add("Previous logs " + source + ": unavailable (" + tail.error() + ")");
+                continue;
+            }
+            if (tail.lines() == null || tail.lines().isEmpty()) {
+                keyFindings.add("Previous logs " + source + ": empty");
+                continue;
+            }
+            List<String> lines = tail.lines().subList(Math.max(0, tail.lines().size() - PREVIOUS_LOG_LINES), tail.lines().size());
+            keyFindings.add("Previous logs " + source + ", last " + lines.size() + " lines"
+                    + (tail.truncated() ? " (truncated)" : "") + ":\n" + String.join("\n", lines));
+        }
+    }
+
     private boolean isKnownCode(String candidate) {
         for (FailureCode code : FailureCode.values()) {
             if (code.name().equalsIgnoreCase(candidate)) {
@@ -1,14 +1,19 @@
 package com.example.platformtriage.service.ai.skill;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.example.platformtriage.model.dto.LogTemplate;
 import com.example.platformtriage.model.dto.PodInfo;
+import com.example.platformtriage.model.response.LogPatternsResponse;
 import com.example.platformtriage.service.DeploymentDoctorService;
+import com.example.platformtriage.service.KubernetesRateLimiter;
 import com.example.platformtriage.service.ai.PlatformTriageSkill;
 import com.example.platformtriage.service.ai.PlatformTriageSkillContext;
 import com.example.platformtriage.service.ai.PlatformTriageSkillMetadata;
@@ -20,6 +25,12 @@ public class GetPodLogsSkill implements PlatformTriageSkill {
 
     private static final int MAX_LOG_LINES = 300;
 
+    /**
+     * Lines mined for error templates (far more than are shown) and templates listed.
+     */
+    private static final int PATTERN_SCAN_LINES = 5_000;
+    private static final int PATTERN_TOP = 5;
+
     private final DeploymentDoctorService deploymentDoctorService;
 
     public GetPodLogsSkill(DeploymentDoctorService deploymentDoctorService) {
@@ -80,9 +91,20 @@ public class GetPodLogsSkill implements PlatformTriageSkill {
 
         int requestedLines = parseLineLimit(context.parameter("logLines"));
         try {
-            String logs = deploymentDoctorService.getPodLogs(namespace, podName, requestedLines);
-            List<String> rawLines = logs == null ? List.of() : logs.lines().toList();
+            // One read of the wider pattern window (same cluster the summary was loaded from);
+            // its last lines are the ones shown
+            Deque<String> tail = new ArrayDeque<>(requestedLines);
+            LogPatternsResponse patterns = deploymentDoctorService.getLogPatterns(
+                    context.activeCluster(), namespace, podName, null, PATTERN_SCAN_LINES, PATTERN_TOP,
+                    KubernetesRateLimiter.Lane.INTERACTIVE, line -> {
+                        if (tail.size() == requestedLines) {
+                            tail.removeFirst();
+                        }
+                        tail.addLast(line);
+                    });
+            List<String> rawLines = List.copyOf(tail);
             List<String> keyFindings = buildLogFindings(namespace, podName, requestedLines, rawLines);
+            addErrorPatterns(keyFindings, patterns);
             return new PlatformTriageSkillResult(
                     "tool",
                     "Fetched " + Math.min(requestedLines, rawLines.size()) + " log lines for " + podName + ".",
@@ -114,6 +136,21 @@ public class GetPodLogsSkill implements PlatformTriageSkill {
         }
     }
 
+    /**
+     * Top error templates over a wider window than the lines shown.
+     */
+    private void addErrorPatterns(List<String> keyFindings, LogPatternsResponse patterns) {
+        if (patterns.topErrors().isEmpty()) {
+            keyFindings.add("No error patterns in the last " + patterns.linesScanned() + " lines.");
+            return;
+        }
+        keyFindings.add("Top error patterns (" + patterns.errorLines() + " error lines in the last "
+                + patterns.linesScanned() + "):");
+        for (LogTemplate template : patterns.topErrors()) {
+            keyFindings.add("x" + template.errorCount() + " " + template.template());
+        }
+    }
+
     private int parseLineLimit(String rawLimit) {
         if (!StringUtils.hasText(rawLimit)) {
             return 10;
@@ -47,8 +47,12 @@ public class ListEventsSkill implements PlatformTriageSkill {
                 || context.summary().objects().events() == null
                 ? List.of()
                 : context.summary().objects().events();
+        List<EventInfo> historical = context.summary().objects() == null
+                || context.summary().objects().historicalEvents() == null
+                ? List.of()
+                : context.summary().objects().historicalEvents();
 
-        if (events.isEmpty()) {
+        if (events.isEmpty() && historical.isEmpty()) {
             return new PlatformTriageSkillResult(
                     "tool",
                     "No Kubernetes events were collected for this summary.",
@@ -76,17 +80,18 @@ public class ListEventsSkill implements PlatformTriageSkill {
 
         if (!limited.isEmpty()) {
             for (EventInfo e : limited) {
-                StringBuilder line = new StringBuilder();
-                line.append(e.type()).append(" / ").append(e.reason());
-                line.append(" — ").append(e.involvedObjectKind()).append(" ").append(e.involvedObjectName());
-                if (StringUtils.hasText(e.timestamp())) {
-                    line.append(" @ ").append(e.timestamp());
-                }
-                String message = safe(e.message());
-                if (StringUtils.hasText(message)) {
-                    line.append(" | ").append(message);
-                }
-                keyFindings.add(line.toString());
+                keyFindings.add(formatEvent(e));
+            }
+        }
+
+        // Historical warnings come from the event archive (already expired in Kubernetes)
+        List<EventInfo> historicalLimited = historical.stream()
+                .limit(Math.max(0, context.safeLimitEvents() - limited.size()))
+                .toList();
+        if (!historicalLimited.isEmpty()) {
+            keyFindings.add("Historical warnings (archive, older than Kubernetes event TTL): " + historical.size());
+            for (EventInfo e : historicalLimited) {
+                keyFindings.add("[history] " + formatEvent(e));
             }
         }
 
@@ -113,6 +118,20 @@ public class ListEventsSkill implements PlatformTriageSkill {
         );
     }
 
+    private String formatEvent(EventInfo e) {
+        StringBuilder line = new StringBuilder();
+        line.append(e.type()).append(" / ").append(e.reason());
+        line.append(" — ").append(e.involvedObjectKind()).append(" ").append(e.involvedObjectName());
+        if (StringUtils.hasText(e.timestamp())) {
+            line.append(" @ ").append(e.timestamp());
+        }
+        String message = safe(e.message());
+        if (StringUtils.hasText(message)) {
+            line.append(" | ").append(message);
+        }
+        return line.toString();
+    }
+
     private boolean isWarningsOnlyRequested(String question, String param) {
         if ("true".equalsIgnoreCase(param)) {
             return true;
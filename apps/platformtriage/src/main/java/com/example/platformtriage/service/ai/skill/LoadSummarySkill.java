@@ -10,6 +10,7 @@ import com.example.platformtriage.model.dto.Finding;
 import com.example.platformtriage.model.enums.OverallStatus;
 import com.example.platformtriage.model.response.DeploymentSummaryResponse;
 import com.example.platformtriage.service.DeploymentDoctorService;
+import com.example.platformtriage.service.SummaryHandleStore;
 import com.example.platformtriage.service.ai.AiIntent;
 import com.example.platformtriage.service.ai.PlatformTriageSkill;
 import com.example.platformtriage.service.ai.PlatformTriageSkillContext;
@@ -24,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 public class LoadSummarySkill implements PlatformTriageSkill {
 
     private final DeploymentDoctorService service;
+    private final SummaryHandleStore summaryHandles;
 
     @Override
     public PlatformTriageSkillMetadata metadata() {
@@ -78,7 +80,9 @@ public class LoadSummarySkill implements PlatformTriageSkill {
             );
         }
 
-        DeploymentSummaryResponse summary = service.getSummary(namespace, selector, release, context.safeLimitEvents());
+        // A reload stays on the cluster the current summary was loaded from
+        DeploymentSummaryResponse summary = summaryHandles.register(
+                service.getSummary(context.activeCluster(), namespace, selector, release, context.safeLimitEvents(), null));
 
         List<String> findings = new ArrayList<>();
         findings.add("Overall status: " + summary.health().overall());
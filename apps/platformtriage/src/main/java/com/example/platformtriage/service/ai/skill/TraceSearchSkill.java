@@ -11,6 +11,7 @@ import com.example.platformtriage.model.response.DeploymentTraceSearchResponse;
 import com.example.platformtriage.service.DeploymentDoctorService;
 import com.example.platformtriage.service.ai.PlatformTriageSkill;
 import com.example.platformtriage.service.ai.PlatformTriageSkillContext;
+import com.example.platformtriage.service.ai.PlatformTriageProgress;
 import com.example.platformtriage.service.ai.PlatformTriageSkillMetadata;
 import com.example.platformtriage.service.ai.PlatformTriageSkillResult;
 import com.example.platformtriage.service.ai.PlatformTriageTools;
@@ -35,6 +36,14 @@ public class TraceSearchSkill implements PlatformTriageSkill {
 
     @Override
     public PlatformTriageSkillResult execute(PlatformTriageSkillContext context) throws Exception {
+        return execute(context, PlatformTriageProgress.NONE);
+    }
+
+    /**
+     * Each pod with matches is reported as a finding while the remaining pods are searched.
+     */
+    @Override
+    public PlatformTriageSkillResult execute(PlatformTriageSkillContext context, PlatformTriageProgress progress) throws Exception {
         String namespace = context.activeNamespace();
         if (!StringUtils.hasText(namespace)) {
             return new PlatformTriageSkillResult(
@@ -92,12 +101,16 @@ public class TraceSearchSkill implements PlatformTriageSkill {
 
         Integer lineLimit = parsePositiveInt(context.parameter("logLines"));
         DeploymentTraceSearchResponse traceResponse = service.findTraceInLogs(
+                context.activeCluster(), // Same cluster the summary was loaded from
                 namespace,
                 selector,
                 release,
                 podName,
-                traceId,
-                lineLimit
+                List.of(traceId),
+                null,
+                lineLimit,
+                match -> progress.finding("Pod: " + match.podName() + " -> lines: "
+                        + (match.lines() == null ? 0 : match.lines().size()))
         );
 
         return buildTraceResult(context, traceResponse);
@@ -80,7 +80,8 @@ public class VersionCheckSkill implements PlatformTriageSkill {
             );
         }
 
-        DeploymentVersionCheck versionCheck = service.getVersionCheck(namespace, selector, release);
+        // Same cluster the summary was loaded from
+        DeploymentVersionCheck versionCheck = service.getVersionCheck(context.activeCluster(), namespace, selector, release);
         return buildVersionResult(context, namespace, versionCheck);
     }
 
@@ -0,0 +1,92 @@
+package com.example.platformtriage.service.archive;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+import com.example.platformtriage.model.dto.EventInfo;
+
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import io.kubernetes.client.openapi.models.V1ObjectReference;
+
+/**
+ * One archived Kubernetes event occurrence.
+ *
+ * uid + resourceVersion identify an occurrence: Kubernetes bumps the resourceVersion
+ * when it increments count on a repeated event.
+ */
+public record ArchivedEvent(
+        String uid,
+        String resourceVersion,
+        String namespace,
+        String type,
+        String reason,
+        String message,
+        String involvedObjectKind,
+        String involvedObjectName,
+        Instant timestamp,
+        int count
+) {
+
+    /**
+     * Index key for an involved object ("Pod/cart-7d9f-abc").
+     */
+    public static String objectKey(String kind, String name) {
+        return kind + "/" + name;
+    }
+
+    public String objectKey() {
+        return objectKey(involvedObjectKind, involvedObjectName);
+    }
+
+    public boolean isWarning() {
+        return "Warning".equalsIgnoreCase(type);
+    }
+
+    public EventInfo toEventInfo() {
+        return new EventInfo(
+                type,
+                reason,
+                message,
+                involvedObjectKind,
+                involvedObjectName,
+                timestamp != null ? timestamp.toString() : null
+        );
+    }
+
+    /**
+     * Map a watched event; null when it has no uid (cannot be de-duplicated).
+     */
+    public static ArchivedEvent from(String namespace, CoreV1Event e) {
+        if (e == null || e.getMetadata() == null || e.getMetadata().getUid() == null) {
+            return null;
+        }
+        V1ObjectReference ref = e.getInvolvedObject();
+        return new ArchivedEvent(
+                e.getMetadata().getUid(),
+                e.getMetadata().getResourceVersion(),
+                namespace,
+                e.getType(),
+                e.getReason(),
+                e.getMessage(),
+                ref != null ? ref.getKind() : null,
+                ref != null ? ref.getName() : null,
+                bestTimestamp(e),
+                e.getCount() != null ? e.getCount() : 1
+        );
+    }
+
+    // Same precedence as the summary: eventTime, lastTimestamp, firstTimestamp, creation
+    private static Instant bestTimestamp(CoreV1Event e) {
+        if (e.getEventTime() != null) {
+            return e.getEventTime().toInstant();
+        }
+        if (e.getLastTimestamp() != null) {
+            return e.getLastTimestamp().toInstant();
+        }
+        if (e.getFirstTimestamp() != null) {
+            return e.getFirstTimestamp().toInstant();
+        }
+        OffsetDateTime created = e.getMetadata() != null ? e.getMetadata().getCreationTimestamp() : null;
+        return created != null ? created.toInstant() : Instant.now();
+    }
+}
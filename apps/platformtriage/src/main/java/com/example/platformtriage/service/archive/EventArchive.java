@@ -0,0 +1,232 @@
+package com.example.platformtriage.service.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Embedded archive of Kubernetes events for selected namespaces.
+ *
+ * Why this matters:
+ * - Kubernetes garbage-collects events after ~1h, so listEvents loses the evidence
+ *   for anything that happened before the on-call engineer looked
+ *
+ * Design:
+ * - Fed by {@link EventArchiveWatcher} (watch on the configured namespaces)
+ * - One append-only segment file per namespace per hour: {dir}/{namespace}/{yyyyMMddHH}.seg
+ * - Per-segment index on involved object and reason; time-range queries only open the
+ *   overlapping segments and read them through a read-only memory map
+ * - Maintenance: segments past retention are deleted; sealed segments are compacted
+ *   to the newest occurrence per event uid
+ *
+ * Configuration (environment):
+ * - PLATFORMTRIAGE_EVENT_ARCHIVE_NAMESPACES: comma-separated namespaces (empty = archive disabled)
+ * - PLATFORMTRIAGE_EVENT_ARCHIVE_DIR: storage directory (default: {tmp}/platformtriage-event-archive)
+ * - PLATFORMTRIAGE_EVENT_ARCHIVE_RETENTION_HOURS: retention (default: 168 = 7 days)
+ */
+@Component
+public class EventArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchive.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final DateTimeFormatter SEGMENT_NAME =
+            DateTimeFormatter.ofPattern("yyyyMMddHH").withZone(ZoneOffset.UTC);
+
+    private final Set<String> namespaces;
+    private final Path directory;
+    private final Duration retention;
+    private final Map<String, NavigableMap<Instant, EventSegment>> segments = new ConcurrentHashMap<>();
+
+    public EventArchive() {
+        this.namespaces = Arrays.stream(resolveEnv("PLATFORMTRIAGE_EVENT_ARCHIVE_NAMESPACES", "").split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toUnmodifiableSet());
+        this.directory = Path.of(resolveEnv(
+                "PLATFORMTRIAGE_EVENT_ARCHIVE_DIR",
+                Path.of(System.getProperty("java.io.tmpdir"), "platformtriage-event-archive").toString()
+        ));
+        this.retention = Duration.ofHours(parseLong(resolveEnv("PLATFORMTRIAGE_EVENT_ARCHIVE_RETENTION_HOURS", "168"), 168L));
+    }
+
+    public boolean isEnabled() {
+        return !namespaces.isEmpty();
+    }
+
+    public Set<String> namespaces() {
+        return namespaces;
+    }
+
+    public boolean isArchived(String namespace) {
+        return namespace != null && namespaces.contains(namespace);
+    }
+
+    /**
+     * Append one event occurrence to the segment for its hour.
+     */
+    public void append(ArchivedEvent event) {
+        if (event == null || !isArchived(event.namespace())) {
+            return;
+        }
+        Instant hour = event.timestamp().truncatedTo(ChronoUnit.HOURS);
+        NavigableMap<Instant, EventSegment> nsSegments = segmentsFor(event.namespace());
+        try {
+            nsSegments.computeIfAbsent(hour, h -> openSegment(event.namespace(), h)).append(event);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to archive event {} in {}: {}", event.uid(), event.namespace(), e.getMessage());
+        }
+    }
+
+    /**
+     * Archived events in [from, to), newest first, one entry per event uid (newest occurrence).
+     *
+     * @param objectKeys Restrict to involved objects ({@link ArchivedEvent#objectKey}); null = all
+     * @param reasons Restrict to reasons; null = all
+     * @param warningsOnly Only type=Warning
+     * @param limit Max events returned
+     */
+    public List<ArchivedEvent> query(
+            String namespace,
+            Instant from,
+            Instant to,
+            Set<String> objectKeys,
+            Set<String> reasons,
+            boolean warningsOnly,
+            int limit
+    ) {
+        if (!isArchived(namespace) || !from.isBefore(to) || limit <= 0) {
+            return List.of();
+        }
+        NavigableMap<Instant, EventSegment> nsSegments = segmentsFor(namespace);
+        Instant firstHour = from.truncatedTo(ChronoUnit.HOURS);
+
+        Map<String, ArchivedEvent> newestByUid = new HashMap<>();
+        for (EventSegment segment : nsSegments.subMap(firstHour, true, to, false).values()) {
+            try {
+                for (ArchivedEvent event : segment.query(from, to, objectKeys, reasons)) {
+                    if (warningsOnly && !event.isWarning()) {
+                        continue;
+                    }
+                    newestByUid.merge(event.uid(), event,
+                            (a, b) -> b.timestamp().isBefore(a.timestamp()) ? a : b);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read archive segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+
+        return newestByUid.values().stream()
+                .sorted(Comparator.comparing(ArchivedEvent::timestamp).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Retention and compaction. Segments whose hour has passed are sealed: their writer is
+     * closed and duplicate occurrences of the same event are compacted away.
+     *
+     * @param now Current timestamp
+     */
+    public void maintain(Instant now) {
+        Instant cutoff = now.minus(retention);
+        for (String namespace : namespaces) {
+            NavigableMap<Instant, EventSegment> nsSegments = segmentsFor(namespace);
+            for (EventSegment segment : new ArrayList<>(nsSegments.values())) {
+                try {
+                    if (!segment.end().isAfter(cutoff)) {
+                        nsSegments.remove(segment.start(), segment);
+                        segment.delete();
+                    } else if (!segment.end().isAfter(now)) {
+                        segment.closeWriter();
+                        long reclaimed = segment.compact();
+                        if (reclaimed > 0) {
+                            log.debug("Compacted {} ({} bytes reclaimed)", segment.path(), reclaimed);
+                        }
+                    }
+                } catch (IOException e) {
+                    log.warn("Archive maintenance failed for {}: {}", segment.path(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Get number of open segments across namespaces (for testing/debugging).
+     */
+    public int segmentCount() {
+        return segments.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private NavigableMap<Instant, EventSegment> segmentsFor(String namespace) {
+        return segments.computeIfAbsent(namespace, this::loadSegments);
+    }
+
+    private NavigableMap<Instant, EventSegment> loadSegments(String namespace) {
+        NavigableMap<Instant, EventSegment> loaded = new ConcurrentSkipListMap<>();
+        Path nsDir = directory.resolve(namespace);
+        if (!Files.isDirectory(nsDir)) {
+            return loaded;
+        }
+        try (Stream<Path> files = Files.list(nsDir)) {
+            files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).forEach(p -> {
+                String name = p.getFileName().toString();
+                try {
+                    Instant hour = SEGMENT_NAME.parse(name.substring(0, name.length() - SEGMENT_SUFFIX.length()),
+                            Instant::from);
+                    loaded.put(hour, EventSegment.open(p, namespace, hour, hour.plus(1, ChronoUnit.HOURS)));
+                } catch (Exception e) {
+                    log.warn("Skipping unreadable archive segment {}: {}", p, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to list archive directory {}: {}", nsDir, e.getMessage());
+        }
+        return loaded;
+    }
+
+    private EventSegment openSegment(String namespace, Instant hour) {
+        Path path = directory.resolve(namespace).resolve(SEGMENT_NAME.format(hour) + SEGMENT_SUFFIX);
+        try {
+            return EventSegment.open(path, namespace, hour, hour.plus(1, ChronoUnit.HOURS));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open archive segment " + path, e);
+        }
+    }
+
+    private long parseLong(String value, long defaultValue) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private String resolveEnv(String key, String defaultValue) {
+        String value = System.getenv(key);
+        return StringUtils.hasText(value) ? value : defaultValue;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.platformtriage.service.archive;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.platformtriage.service.EventRateTracker;
+import com.example.platformtriage.service.KubernetesClusterRegistry;
+import com.example.platformtriage.service.KubernetesRateLimiter;
+import com.google.gson.reflect.TypeToken;
+
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import io.kubernetes.client.util.Watch;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Feeds {@link EventArchive} (and the {@link EventRateTracker} counters) from a watch on
+ * each archived namespace.
+ *
+ * - One virtual thread per namespace; the watch is re-opened from the last seen
+ *   resourceVersion (short server-side timeout, below the client read timeout)
+ * - The first watch (no resourceVersion) replays the events still held by the apiserver
+ * - A watch ERROR (e.g. 410 Gone) restarts from a fresh replay; the archive de-duplicates
+ *   by uid + resourceVersion at query/compaction time
+ * - Watches run against the default cluster; (re)connects go through its BULK lane of the rate limiter
+ */
+@Component
+public class EventArchiveWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiveWatcher.class);
+
+    /**
+     * Server-side watch timeout; must stay below the ApiClient read timeout (10s).
+     */
+    private static final int WATCH_TIMEOUT_SECONDS = 8;
+
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAINTENANCE_INTERVAL = Duration.ofMinutes(10);
+
+    private static final Type WATCH_TYPE = new TypeToken<Watch.Response<CoreV1Event>>() {}.getType();
+
+    private final KubernetesClusterRegistry clusters;
+    private final EventArchive archive;
+    private final KubernetesRateLimiter rateLimiter;
+    private final EventRateTracker eventRateTracker;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public EventArchiveWatcher(
+            KubernetesClusterRegistry clusters,
+            EventArchive archive,
+            KubernetesRateLimiter rateLimiter,
+            EventRateTracker eventRateTracker
+    ) {
+        this.clusters = clusters;
+        this.archive = archive;
+        this.rateLimiter = rateLimiter;
+        this.eventRateTracker = eventRateTracker;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running || !archive.isEnabled()) {
+            return;
+        }
+        running = true;
+        for (String namespace : archive.namespaces()) {
+            threads.add(Thread.ofVirtual().name("event-archive-" + namespace).start(() -> watchLoop(namespace)));
+        }
+        threads.add(Thread.ofVirtual().name("event-archive-maintenance").start(this::maintenanceLoop));
+        log.info("✓ Event archive watching namespaces: {}", archive.namespaces());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    private void watchLoop(String namespace) {
+        KubernetesClusterRegistry.Cluster cluster = clusters.resolve(null);
+        String resourceVersion = null;
+        while (running) {
+            final String fromVersion = resourceVersion;
+            try (Watch<CoreV1Event> watch = rateLimiter.execute(cluster.name(), KubernetesRateLimiter.Lane.BULK,
+                    () -> Watch.createWatch(cluster.client(), cluster.coreV1().listNamespacedEvent(namespace)
+                            .watch(true)
+                            .allowWatchBookmarks(true)
+                            .resourceVersion(fromVersion)
+                            .timeoutSeconds(WATCH_TIMEOUT_SECONDS)
+                            .buildCall(null), WATCH_TYPE))) {
+                for (Watch.Response<CoreV1Event> item : watch) {
+                    if ("ERROR".equals(item.type)) {
+                        resourceVersion = null; // Expired resourceVersion: replay from scratch
+                        break;
+                    }
+                    if (item.object != null && item.object.getMetadata() != null) {
+                        resourceVersion = item.object.getMetadata().getResourceVersion();
+                    }
+                    if ("ADDED".equals(item.type) || "MODIFIED".equals(item.type)) {
+                        archive.append(ArchivedEvent.from(namespace, item.object));
+                        eventRateTracker.observe(null, namespace, item.object, Instant.now()); // Default cluster
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.debug("Event watch for {} interrupted: {}", namespace, e.getMessage());
+                sleep(RETRY_BACKOFF);
+            }
+        }
+    }
+
+    private void maintenanceLoop() {
+        while (running) {
+            try {
+                archive.maintain(Instant.now());
+            } catch (RuntimeException e) {
+                log.warn("Event archive maintenance failed: {}", e.getMessage());
+            }
+            sleep(MAINTENANCE_INTERVAL);
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.platformtriage.service.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One append-only, time-partitioned segment file (one namespace, one hour).
+ *
+ * Record layout (big endian):
+ *   int   payloadLength
+ *   long  timestampMillis
+ *   then payloadLength bytes: count (int) followed by 7 length-prefixed UTF-8 strings
+ *   (uid, resourceVersion, type, reason, message, kind, name); -1 = null
+ *
+ * The index (record offsets by involved object and by reason) is kept in memory
+ * and rebuilt from the file when a segment is opened. Reads map the file read-only.
+ *
+ * Locking: the monitor guards the index and the writer. Queries hold the read side of
+ * {@code fileLock} while the file is mapped; compaction and deletion replace or remove the
+ * file under the write side, so a mapping never outlives the file it was taken from.
+ * Appends only grow the file past the mapped length and need no file lock.
+ */
+final class EventSegment {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Path path;
+    private final String namespace;
+    private final Instant start;
+    private final Instant end;
+    private final Map<String, List<Integer>> byObject = new HashMap<>();
+    private final Map<String, List<Integer>> byReason = new HashMap<>();
+    private final List<Integer> offsets = new ArrayList<>();
+    private final Set<String> uids = new HashSet<>();
+    private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+    private FileChannel writer;
+    private long size;
+
+    private EventSegment(Path path, String namespace, Instant start, Instant end) {
+        this.path = path;
+        this.namespace = namespace;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Open (or create) the segment and rebuild its index from disk.
+     */
+    static EventSegment open(Path path, String namespace, Instant start, Instant end) throws IOException {
+        EventSegment segment = new EventSegment(path, namespace, start, end);
+        if (Files.exists(path)) {
+            segment.rebuildIndex();
+        }
+        return segment;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    Instant start() {
+        return start;
+    }
+
+    Instant end() {
+        return end;
+    }
+
+    synchronized long sizeBytes() {
+        return size;
+    }
+
+    synchronized int recordCount() {
+        return offsets.size();
+    }
+
+    synchronized int distinctEvents() {
+        return uids.size();
+    }
+
+    synchronized void append(ArchivedEvent event) throws IOException {
+        if (writer == null) {
+            Files.createDirectories(path.getParent());
+            writer = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            size = writer.size();
+        }
+        ByteBuffer record = encode(event);
+        int offset = (int) size;
+        while (record.hasRemaining()) {
+            writer.write(record);
+        }
+        size += record.limit();
+        index(offset, event);
+    }
+
+    /**
+     * Records within [from, to), optionally restricted to involved objects and reasons.
+     */
+    List<ArchivedEvent> query(Instant from, Instant to, Set<String> objectKeys, Set<String> reasons) throws IOException {
+        fileLock.readLock().lock();
+        try {
+            List<Integer> candidates;
+            long mappedSize;
+            synchronized (this) {
+                candidates = candidates(objectKeys, reasons);
+                mappedSize = size;
+            }
+            if (candidates.isEmpty() || mappedSize == 0) {
+                return List.of();
+            }
+
+            List<ArchivedEvent> result = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, mappedSize);
+                long fromMillis = epochMillis(from);
+                long toMillis = epochMillis(to);
+                for (int offset : candidates) {
+                    long millis = buffer.getLong(offset + Integer.BYTES);
+                    if (millis < fromMillis || millis >= toMillis) {
+                        continue; // Checked from the header without decoding the payload
+                    }
+                    result.add(decode(buffer, offset));
+                }
+            }
+            return result;
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrite the segment keeping only the newest occurrence of each event uid.
+     *
+     * @return Bytes reclaimed
+     */
+    long compact() throws IOException {
+        // Wait for in-flight queries: the file is replaced below
+        fileLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (offsets.isEmpty() || uids.size() == offsets.size()) {
+                    return 0L;
+                }
+                closeWriter();
+                long before = size;
+
+                Map<String, ArchivedEvent> latest = new LinkedHashMap<>();
+                for (ArchivedEvent event : query(Instant.EPOCH, Instant.MAX, null, null)) {
+                    latest.put(event.uid(), event); // Later records win (append order)
+                }
+
+                Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (ArchivedEvent event : latest.values()) {
+                        ByteBuffer record = encode(event);
+                        while (record.hasRemaining()) {
+                            out.write(record);
+                        }
+                    }
+                    out.force(true);
+                }
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                rebuildIndex();
+                return before - size;
+            }
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    synchronized void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    void delete() throws IOException {
+        fileLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                closeWriter();
+                Files.deleteIfExists(path);
+                offsets.clear();
+                byObject.clear();
+                byReason.clear();
+                uids.clear();
+                size = 0;
+            }
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    private List<Integer> candidates(Set<String> objectKeys, Set<String> reasons) {
+        List<Integer> base = offsets;
+        if (objectKeys != null) {
+            TreeSet<Integer> merged = new TreeSet<>();
+            objectKeys.forEach(k -> merged.addAll(byObject.getOrDefault(k, List.of())));
+            base = new ArrayList<>(merged);
+        }
+        if (reasons != null) {
+            TreeSet<Integer> byReasonOffsets = new TreeSet<>();
+            reasons.forEach(r -> byReasonOffsets.addAll(byReason.getOrDefault(r, List.of())));
+            base = base.stream().filter(byReasonOffsets::contains).toList();
+        }
+        return List.copyOf(base);
+    }
+
+    private void index(int offset, ArchivedEvent event) {
+        offsets.add(offset);
+        uids.add(event.uid());
+        byObject.computeIfAbsent(event.objectKey(), k -> new ArrayList<>()).add(offset);
+        if (event.reason() != null) {
+            byReason.computeIfAbsent(event.reason(), k -> new ArrayList<>()).add(offset);
+        }
+    }
+
+    private void rebuildIndex() throws IOException {
+        offsets.clear();
+        byObject.clear();
+        byReason.clear();
+        uids.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int offset = 0;
+            while (offset + HEADER_BYTES <= fileSize) {
+                int payloadLength = buffer.getInt(offset);
+                int next = offset + HEADER_BYTES + payloadLength;
+                if (payloadLength < 0 || next > fileSize) {
+                    break; // Torn write at the tail (crash during append): ignore it
+                }
+                index(offset, decode(buffer, offset));
+                offset = next;
+            }
+            size = offset;
+        }
+        if (size < Files.size(path)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size);
+            }
+        }
+    }
+
+    private ByteBuffer encode(ArchivedEvent event) {
+        byte[][] fields = {
+                bytes(event.uid()),
+                bytes(event.resourceVersion()),
+                bytes(event.type()),
+                bytes(event.reason()),
+                bytes(event.message()),
+                bytes(event.involvedObjectKind()),
+                bytes(event.involvedObjectName())
+        };
+        int payloadLength = Integer.BYTES;
+        for (byte[] field : fields) {
+            payloadLength += Integer.BYTES + (field == null ? 0 : field.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payloadLength);
+        buffer.putInt(payloadLength);
+        buffer.putLong(event.timestamp().toEpochMilli());
+        buffer.putInt(event.count());
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(field.length);
+                buffer.put(field);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private ArchivedEvent decode(ByteBuffer buffer, int offset) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + Integer.BYTES);
+        long millis = view.getLong();
+        int count = view.getInt();
+        String uid = string(view);
+        String resourceVersion = string(view);
+        String type = string(view);
+        String reason = string(view);
+        String message = string(view);
+        String kind = string(view);
+        String name = string(view);
+        return new ArchivedEvent(uid, resourceVersion, namespace, type, reason, message, kind, name,
+                Instant.ofEpochMilli(millis), count);
+    }
+
+    private static long epochMillis(Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer view) {
+        int length = view.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
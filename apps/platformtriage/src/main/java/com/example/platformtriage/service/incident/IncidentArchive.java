@@ -0,0 +1,391 @@
+package com.example.platformtriage.service.incident;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Incident archive: a zip of diagnostic entries fetched in parallel and streamed as they arrive.
+ *
+ * Why this matters:
+ * - A postmortem needs the raw material (events, logs of every pod, manifests, DB version),
+ *   not just the findings derived from it; collecting it by hand takes a dozen kubectl calls
+ * - Buffering a whole archive before sending it would tie heap to release size
+ *
+ * Design:
+ * - Each entry is a fetch that writes into its own bounded buffer: head buffers stop the
+ *   fetch once full (documents), tail buffers keep the newest bytes (logs)
+ * - Fetches run on virtual threads, at most {@code concurrency} at a time; finished entries
+ *   are written to the zip in completion order, and a new fetch starts only when one is taken
+ *   for writing, so memory stays within concurrency + 1 entry budgets whatever the archive size
+ * - {@code maxBytes} caps the uncompressed content: the entry that reaches it is cut, fetches
+ *   still in flight are cancelled and the rest are skipped without being fetched
+ * - manifest.json comes last: every entry with its size, truncation and error, so a cut or
+ *   failed fetch is visible instead of silently missing
+ */
+public final class IncidentArchive {
+
+    public static final String MANIFEST = "manifest.json";
+
+    private static final String SKIPPED = "skipped: archive size cap reached";
+
+    /**
+     * Writes one entry's content; {@code out} is bounded and must not be closed.
+     */
+    @FunctionalInterface
+    public interface Fetch {
+        void writeTo(OutputStream out, ObjectMapper objectMapper) throws Exception;
+    }
+
+    /**
+     * One archive entry.
+     *
+     * @param keepTail Keep the newest bytes when over budget (logs) instead of stopping at the budget
+     */
+    public record Entry(String name, int byteBudget, boolean keepTail, Fetch fetch) {
+
+        /**
+         * Document entry (JSON/YAML), cut at its budget.
+         */
+        public static Entry head(String name, int byteBudget, Fetch fetch) {
+            return new Entry(name, byteBudget, false, fetch);
+        }
+
+        /**
+         * Log entry, newest {@code byteBudget} bytes kept.
+         */
+        public static Entry tail(String name, int byteBudget, Fetch fetch) {
+            return new Entry(name, byteBudget, true, fetch);
+        }
+
+        /**
+         * JSON document of the value {@code value} returns, pretty-printed.
+         */
+        public static Entry json(String name, int byteBudget, ValueSupplier value) {
+            return head(name, byteBudget, (out, mapper) ->
+                    mapper.writerWithDefaultPrettyPrinter().writeValue(out, value.get()));
+        }
+    }
+
+    @FunctionalInterface
+    public interface ValueSupplier {
+        Object get() throws Exception;
+    }
+
+    /**
+     * Manifest line for one entry.
+     */
+    public record EntryReport(
+            @JsonProperty("name") String name,
+            @JsonProperty("bytes") long bytes,
+            @JsonProperty("truncated") boolean truncated,
+            @JsonProperty("error") String error
+    ) {}
+
+    /**
+     * Archive manifest (last entry of the zip).
+     */
+    public record Manifest(
+            @JsonProperty("generatedAt") String generatedAt,
+            @JsonProperty("scope") Object scope,
+            @JsonProperty("maxBytes") long maxBytes,
+            @JsonProperty("bytes") long bytes,
+            @JsonProperty("entries") List<EntryReport> entries,
+            @JsonProperty("notes") List<String> notes
+    ) {}
+
+    private record Fetched(Entry entry, byte[] content, boolean truncated, String error) {}
+
+    private final Object scope;
+    private final List<Entry> entries;
+    private final List<String> notes;
+    private final long maxBytes;
+    private final int concurrency;
+
+    /**
+     * @param scope What the archive covers (written to the manifest as is)
+     * @param entries Entries in submission order
+     * @param notes Scope remarks for the manifest (e.g. pods left out)
+     * @param maxBytes Cap on the uncompressed content of all entries
+     * @param concurrency Fetches in flight
+     */
+    public IncidentArchive(Object scope, List<Entry> entries, List<String> notes, long maxBytes, int concurrency) {
+        this.scope = scope;
+        this.entries = List.copyOf(entries);
+        this.notes = List.copyOf(notes);
+        this.maxBytes = maxBytes;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Fetch all entries and stream them as a zip to {@code out}. Does not close {@code out}.
+     *
+     * @return The manifest written as the last entry
+     */
+    public Manifest writeTo(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        List<EntryReport> reports = new ArrayList<>();
+        long written = 0;
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<Fetched> completed = new ExecutorCompletionService<>(executor);
+            Map<Future<Fetched>, Entry> inFlight = new LinkedHashMap<>();
+            Iterator<Entry> pending = entries.iterator();
+            while (inFlight.size() < concurrency && written < maxBytes && pending.hasNext()) {
+                Entry entry = pending.next();
+                inFlight.put(completed.submit(() -> fetch(entry, objectMapper)), entry);
+            }
+            while (!inFlight.isEmpty() && written < maxBytes) {
+                Future<Fetched> done = take(completed);
+                inFlight.remove(done);
+                Fetched fetched = result(done);
+
+                if (fetched.error() != null && fetched.content().length == 0) {
+                    reports.add(new EntryReport(fetched.entry().name(), 0, false, fetched.error()));
+                } else {
+                    int length = (int) Math.min(fetched.content().length, maxBytes - written);
+                    zip.putNextEntry(new ZipEntry(fetched.entry().name()));
+                    zip.write(fetched.content(), 0, length);
+                    zip.closeEntry();
+                    // Keep the client receiving while slower fetches run
+                    zip.flush();
+                    written += length;
+                    reports.add(new EntryReport(fetched.entry().name(), length,
+                            fetched.truncated() || length < fetched.content().length, fetched.error()));
+                }
+
+                if (written < maxBytes && pending.hasNext()) {
+                    Entry entry = pending.next();
+                    inFlight.put(completed.submit(() -> fetch(entry, objectMapper)), entry);
+                }
+            }
+
+            // Cap reached: nothing more fits, so nothing more is fetched
+            for (Map.Entry<Future<Fetched>, Entry> running : inFlight.entrySet()) {
+                running.getKey().cancel(true);
+                reports.add(new EntryReport(running.getValue().name(), 0, true, SKIPPED));
+            }
+            pending.forEachRemaining(entry -> reports.add(new EntryReport(entry.name(), 0, true, SKIPPED)));
+        } finally {
+            // Client gone or interrupted: stop the remaining fetches
+            executor.shutdownNow();
+        }
+
+        Manifest manifest = new Manifest(Instant.now().toString(), scope, maxBytes, written, reports, notes);
+        zip.putNextEntry(new ZipEntry(MANIFEST));
+        zip.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+        return manifest;
+    }
+
+    private static Future<Fetched> take(CompletionService<Fetched> completed) throws IOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the incident archive", e);
+        }
+    }
+
+    private static Fetched result(Future<Fetched> done) throws IOException {
+        try {
+            return done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the incident archive", e);
+        } catch (ExecutionException e) {
+            // fetch() reports failures in its result; only an Error ends up here
+            throw new IllegalStateException("Incident archive fetch failed", e.getCause());
+        }
+    }
+
+    private static Fetched fetch(Entry entry, ObjectMapper objectMapper) {
+        BoundedBuffer buffer = entry.keepTail()
+                ? new TailBuffer(entry.byteBudget())
+                : new HeadBuffer(entry.byteBudget());
+        String error = null;
+        try {
+            entry.fetch().writeTo(buffer, objectMapper);
+        } catch (Exception e) {
+            // A full head buffer stops the fetch on purpose (possibly wrapped by the writer)
+            if (entry.keepTail() || !buffer.truncated()) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+        }
+        return new Fetched(entry, buffer.content(), buffer.truncated(), error);
+    }
+
+    /**
+     * Thrown by a full head buffer to stop the fetch writing into it.
+     */
+    private static final class BudgetReached extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BudgetReached() {
+            super("Entry byte budget reached", null);
+        }
+    }
+
+    private abstract static class BoundedBuffer extends OutputStream {
+        protected boolean truncated;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void close() {
+            // Entries are collected after the fetch returns; nothing to release
+        }
+
+        boolean truncated() {
+            return truncated;
+        }
+
+        abstract byte[] content();
+    }
+
+    /**
+     * Keeps the first {@code limit} bytes, then stops the writer.
+     */
+    private static final class HeadBuffer extends BoundedBuffer {
+        private final int limit;
+        private byte[] data = new byte[256];
+        private int size;
+
+        HeadBuffer(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int accepted = Math.min(len, limit - size);
+            if (accepted > 0) {
+                if (size + accepted > data.length) {
+                    data = Arrays.copyOf(data, Math.min(limit, Math.max(size + accepted, data.length * 2)));
+                }
+                System.arraycopy(b, off, data, size, accepted);
+                size += accepted;
+            }
+            if (accepted < len) {
+                truncated = true;
+                throw new BudgetReached();
+            }
+        }
+
+        @Override
+        byte[] content() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    /**
+     * Ring buffer keeping the last {@code limit} bytes; when the cut fell inside a line, the
+     * content starts after the first newline so no partial line leads.
+     */
+    private static final class TailBuffer extends BoundedBuffer {
+        private final int limit;
+        private byte[] data;
+        private int start;
+        private int size;
+        private byte lastDropped = '\n';
+
+        TailBuffer(int limit) {
+            this.limit = Math.max(1, limit);
+            this.data = new byte[Math.min(256, this.limit)];
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len >= limit) {
+                // Only the end of this write survives
+                if (len > limit) {
+                    lastDropped = b[off + len - limit - 1];
+                    truncated = true;
+                } else if (size > 0) {
+                    lastDropped = data[(start + size - 1) % data.length];
+                    truncated = true;
+                }
+                data = Arrays.copyOfRange(b, off + len - limit, off + len);
+                start = 0;
+                size = limit;
+                return;
+            }
+            if (size + len > data.length && data.length < limit) {
+                byte[] grown = new byte[Math.min(limit, Math.max(size + len, data.length * 2))];
+                copyOut(grown);
+                data = grown;
+                start = 0;
+            }
+            for (int i = 0; i < len; i++) {
+                if (size < data.length) {
+                    data[(start + size) % data.length] = b[off + i];
+                    size++;
+                } else {
+                    // Full: the oldest byte makes room
+                    lastDropped = data[start];
+                    data[start] = b[off + i];
+                    start = (start + 1) % data.length;
+                    truncated = true;
+                }
+            }
+        }
+
+        @Override
+        byte[] content() {
+            byte[] out = new byte[size];
+            copyOut(out);
+            if (!truncated || lastDropped == '\n') {
+                return out;
+            }
+            for (int i = 0; i < out.length; i++) {
+                if (out[i] == '\n') {
+                    return Arrays.copyOfRange(out, i + 1, out.length);
+                }
+            }
+            return out;
+        }
+
+        private void copyOut(byte[] target) {
+            for (int i = 0; i < size; i++) {
+                target[i] = data[(start + i) % data.length];
+            }
+        }
+    }
+}
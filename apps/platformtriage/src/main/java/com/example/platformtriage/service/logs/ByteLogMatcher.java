@@ -0,0 +1,316 @@
+package com.example.platformtriage.service.logs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Multi-term line matcher over raw UTF-8 log bytes (Aho-Corasick, ASCII case folding).
+ *
+ * Why this matters:
+ * - Trace search reads up to 1000 lines from each of 100+ pods; decoding every line to a
+ *   String and lowercasing a copy of it dominates the cost, for lines that mostly don't match
+ * - A request is identified by several values (trace id, span id, correlation header),
+ *   not one substring
+ *
+ * Design:
+ * - Like grep, the search runs over whole buffers of complete lines; line bounds are only
+ *   located around a hit. One term: Boyer-Moore-Horspool (skips up to the term length per
+ *   step). Several terms: one Aho-Corasick automaton, one pass whatever the number of terms
+ * - ASCII letters match case-insensitively; other bytes (non-ASCII characters of a term)
+ *   match exactly
+ * - A line is decoded only when it matches (to be returned)
+ * - Optional regex, anchored to the byte scan: it is evaluated only on lines that already
+ *   contain a term (decoded first). Without terms it is evaluated on every line
+ * - Immutable once compiled; safe to share between threads
+ */
+public final class ByteLogMatcher {
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    /** Byte → ASCII-lowercased byte; other bytes unchanged. */
+    private static final byte[] FOLD = new byte[256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            FOLD[b] = (byte) (b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b);
+        }
+    }
+
+    private final boolean hasTerms;
+    private final Pattern regex;
+
+    // Single term: Boyer-Moore-Horspool
+    private final byte[] singleTerm;
+    private final int[] horspoolShift;
+
+    // Several terms: Aho-Corasick DFA; states are row offsets (state * alphabetSize)
+    private final int[] classOf = new int[256];
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    private ByteLogMatcher(List<byte[]> terms, Pattern regex) {
+        this.hasTerms = !terms.isEmpty();
+        this.regex = regex;
+
+        if (terms.size() == 1) {
+            this.singleTerm = terms.get(0);
+            this.horspoolShift = new int[256];
+            int last = singleTerm.length - 1;
+            Arrays.fill(horspoolShift, singleTerm.length);
+            for (int i = 0; i < last; i++) {
+                horspoolShift[singleTerm[i] & 0xFF] = last - i;
+            }
+            for (int c = 'A'; c <= 'Z'; c++) {
+                horspoolShift[c] = horspoolShift[c + ('a' - 'A')];
+            }
+            this.alphabetSize = 0;
+            this.transitions = null;
+            this.accepting = null;
+            return;
+        }
+        this.singleTerm = null;
+        this.horspoolShift = null;
+
+        // Alphabet: bytes used by the terms, uppercase ASCII folded onto lowercase;
+        // every other byte shares the last column, which always leads back to the root
+        Arrays.fill(classOf, -1);
+        int symbols = 0;
+        for (byte[] term : terms) {
+            for (byte b : term) {
+                if (classOf[b & 0xFF] < 0) {
+                    classOf[b & 0xFF] = symbols++;
+                }
+            }
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            classOf[c] = classOf[c + ('a' - 'A')];
+        }
+        for (int b = 0; b < 256; b++) {
+            if (classOf[b] < 0) {
+                classOf[b] = symbols;
+            }
+        }
+        this.alphabetSize = symbols + 1;
+
+        // Trie, then breadth-first failure links folded into a full DFA
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        trie.add(newRow());
+        ends.add(false);
+        for (byte[] term : terms) {
+            int state = 0;
+            for (byte b : term) {
+                int symbol = classOf[b & 0xFF];
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow());
+                    ends.add(false);
+                }
+                state = trie.get(state)[symbol];
+            }
+            ends.set(state, true);
+        }
+
+        int states = trie.size();
+        int[] next = new int[states * alphabetSize];
+        boolean[] accepts = new boolean[states];
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int child = trie.get(0)[symbol];
+            next[symbol] = Math.max(child, 0);
+            if (child > 0) {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepts[state] = ends.get(state) || accepts[failure[state]];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int child = trie.get(state)[symbol];
+                int fallback = next[failure[state] * alphabetSize + symbol];
+                if (child < 0) {
+                    next[state * alphabetSize + symbol] = fallback;
+                } else {
+                    next[state * alphabetSize + symbol] = child;
+                    failure[child] = fallback;
+                    queue.add(child);
+                }
+            }
+        }
+
+        // Pre-multiply so the scan loop is one add and one load per byte
+        this.transitions = new int[next.length];
+        this.accepting = new boolean[next.length];
+        for (int i = 0; i < next.length; i++) {
+            transitions[i] = next[i] * alphabetSize;
+        }
+        for (int state = 0; state < states; state++) {
+            accepting[state * alphabetSize] = accepts[state];
+        }
+    }
+
+    /**
+     * @param terms Substrings to find (blank terms ignored; ASCII case-insensitive)
+     * @param regex Optional extra filter on lines containing a term (Java regex syntax)
+     * @throws IllegalArgumentException No term and no regex, or invalid regex
+     */
+    public static ByteLogMatcher compile(Collection<String> terms, String regex) {
+        List<byte[]> encoded = terms == null ? List.of() : terms.stream()
+                .filter(t -> t != null && !t.isBlank())
+                .map(t -> asciiLowerCase(t.trim().getBytes(StandardCharsets.UTF_8)))
+                .toList();
+        Pattern pattern = null;
+        if (regex != null && !regex.isBlank()) {
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid regex: " + e.getDescription(), e);
+            }
+        }
+        if (encoded.isEmpty() && pattern == null) {
+            throw new IllegalArgumentException("At least one search term or a regex is required.");
+        }
+        return new ByteLogMatcher(encoded, pattern);
+    }
+
+    /**
+     * Does line bytes [from, to) match (contains a term, and the regex if any)?
+     */
+    public boolean matches(byte[] bytes, int from, int to) {
+        if (hasTerms && find(bytes, from, to) < 0) {
+            return false;
+        }
+        return regex == null || regex.matcher(new String(bytes, from, to - from, StandardCharsets.UTF_8)).find();
+    }
+
+    /**
+     * Scan a stream line by line ('\n', trailing '\r' dropped); matching lines are decoded
+     * and passed to {@code onMatch}. Does not close the stream.
+     *
+     * The search runs over whole buffers of complete lines, not line by line: line bounds
+     * are only located around a term occurrence.
+     *
+     * @return Number of matching lines
+     */
+    public long scan(InputStream in, Consumer<String> onMatch) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER_BYTES];
+        int end = 0;
+        long matched = 0;
+        while (true) {
+            int read = in.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                return end > 0 ? matched + scanLines(buffer, 0, end, onMatch) : matched;
+            }
+            int previousEnd = end;
+            end += read;
+            int lastNewline = end - 1;
+            while (lastNewline >= previousEnd && buffer[lastNewline] != '\n') {
+                lastNewline--;
+            }
+            if (lastNewline >= previousEnd) {
+                // Complete lines up to lastNewline; the partial last line moves to the front
+                matched += scanLines(buffer, 0, lastNewline, onMatch);
+                end -= lastNewline + 1;
+                System.arraycopy(buffer, lastNewline + 1, buffer, 0, end);
+            } else if (end == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2); // Line longer than the buffer
+            }
+        }
+    }
+
+    /**
+     * Matching lines among bytes [from, to), which hold complete lines separated by '\n'.
+     */
+    private long scanLines(byte[] bytes, int from, int to, Consumer<String> onMatch) {
+        long matched = 0;
+        int position = from;
+        while (position < to) {
+            int hit = hasTerms ? find(bytes, position, to) : position;
+            if (hit < 0) {
+                break;
+            }
+            int lineStart = hit;
+            while (lineStart > position && bytes[lineStart - 1] != '\n') {
+                lineStart--;
+            }
+            int lineEnd = hit;
+            while (lineEnd < to && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (regex == null || regex.matcher(new String(bytes, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8)).find()) {
+                onMatch.accept(new String(bytes, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8));
+                matched++;
+            }
+            position = lineEnd + 1;
+        }
+        return matched;
+    }
+
+    /**
+     * Index inside the first term occurrence in bytes [from, to), or -1.
+     */
+    private int find(byte[] bytes, int from, int to) {
+        return horspoolShift != null ? findSingle(bytes, from, to) : findAny(bytes, from, to);
+    }
+
+    /**
+     * Boyer-Moore-Horspool for a single term: skips ahead by up to the term length per step.
+     */
+    private int findSingle(byte[] bytes, int from, int to) {
+        byte[] term = singleTerm;
+        int last = term.length - 1;
+        int i = from;
+        while (i + last < to) {
+            int j = last;
+            while (j >= 0 && FOLD[bytes[i + j] & 0xFF] == term[j]) {
+                j--;
+            }
+            if (j < 0) {
+                return i;
+            }
+            i += horspoolShift[bytes[i + last] & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Aho-Corasick for several terms: one transition per byte.
+     */
+    private int findAny(byte[] bytes, int from, int to) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = transitions[state + classOf[bytes[i] & 0xFF]];
+            if (accepting[state]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] asciiLowerCase(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] >= 'A' && bytes[i] <= 'Z') {
+                bytes[i] += 'a' - 'A';
+            }
+        }
+        return bytes;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.platformtriage.service.logs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.example.platformtriage.model.dto.LogTemplate;
+
+/**
+ * Online log template clustering (Drain-style fixed-depth parse tree).
+ *
+ * Why this matters:
+ * - A pod emitting thousands of lines is truncated to a few by pod_logs; the signal is
+ *   which error shapes repeat, and how often
+ *
+ * Design (Drain, He et al. 2017):
+ * - Single pass, one line at a time; memory grows with the number of templates, not lines
+ * - Tree: token count → first {@link #PREFIX_TOKENS} tokens → leaf list of templates.
+ *   Tokens containing a digit route through the wildcard child, as does any token once a
+ *   node has {@link #MAX_CHILDREN} children
+ * - In the leaf, the most similar template (share of equal non-wildcard positions) wins if
+ *   it reaches {@link #SIMILARITY_THRESHOLD}; differing positions become &lt;*&gt;.
+ *   Otherwise the line starts a new template
+ * - At most {@link #MAX_TEMPLATES} templates; further unmatched lines are only counted
+ * - A line is an error line if it carries an error-level marker (ERROR, FATAL, panic,
+ *   Exception, ...); templates are ranked by error lines, then by total lines
+ * - Not thread-safe: one miner per scan
+ */
+public final class LogTemplateMiner {
+
+    public static final String WILDCARD = "<*>";
+
+    private static final int PREFIX_TOKENS = 2;
+    private static final int MAX_CHILDREN = 100;
+    private static final double SIMILARITY_THRESHOLD = 0.4;
+    private static final int MAX_TEMPLATES = 2_000;
+    private static final int MAX_LINE_CHARS = 2_000;
+    private static final int MAX_EXAMPLES = 3;
+    private static final int MAX_EXAMPLE_CHARS = 300;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern ERROR_MARKER = Pattern.compile(
+            "\\b(?:error|err|fatal|critical|severe|panic|traceback)\\b|exception\\b|level=error|\"level\":\\s*\"error\"",
+            Pattern.CASE_INSENSITIVE);
+
+    private final Map<Integer, Node> byLength = new HashMap<>();
+    private final List<Template> templates = new ArrayList<>();
+    private long lines;
+    private long errorLines;
+    private long unclustered;
+
+    /**
+     * Add one log line.
+     */
+    public void add(String line) {
+        if (line == null || line.isBlank()) {
+            return;
+        }
+        lines++;
+        String text = line.length() > MAX_LINE_CHARS ? line.substring(0, MAX_LINE_CHARS) : line;
+        boolean error = ERROR_MARKER.matcher(text).find();
+        if (error) {
+            errorLines++;
+        }
+
+        String[] tokens = WHITESPACE.split(text.strip());
+        Node node = byLength.computeIfAbsent(tokens.length, n -> new Node());
+        for (int depth = 0; depth < Math.min(PREFIX_TOKENS, tokens.length); depth++) {
+            String key = hasDigit(tokens[depth]) ? WILDCARD : tokens[depth];
+            Node child = node.children.get(key);
+            if (child == null) {
+                if (node.children.size() >= MAX_CHILDREN) {
+                    key = WILDCARD;
+                    child = node.children.get(key);
+                }
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(key, child);
+                }
+            }
+            node = child;
+        }
+
+        Template match = bestMatch(node.templates, tokens);
+        if (match == null) {
+            if (templates.size() >= MAX_TEMPLATES) {
+                unclustered++;
+                return;
+            }
+            match = new Template(tokens.clone());
+            node.templates.add(match);
+            templates.add(match);
+        } else {
+            match.merge(tokens);
+        }
+        match.count++;
+        if (error) {
+            match.errorCount++;
+        }
+        if (match.examples.size() < MAX_EXAMPLES) {
+            match.examples.add(text.length() > MAX_EXAMPLE_CHARS ? text.substring(0, MAX_EXAMPLE_CHARS) + "..." : text);
+        }
+    }
+
+    /**
+     * Add every line of a reader (does not close it).
+     */
+    public void addAll(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            add(line);
+        }
+    }
+
+    /**
+     * Templates that contain error lines, most error lines first.
+     */
+    public List<LogTemplate> topErrors(int limit) {
+        return templates.stream()
+                .filter(t -> t.errorCount > 0)
+                .sorted(Comparator.comparingLong((Template t) -> t.errorCount).reversed()
+                        .thenComparing(Comparator.comparingLong((Template t) -> t.count).reversed()))
+                .limit(limit)
+                .map(Template::toDto)
+                .toList();
+    }
+
+    /**
+     * All templates, most lines first.
+     */
+    public List<LogTemplate> top(int limit) {
+        return templates.stream()
+                .sorted(Comparator.comparingLong((Template t) -> t.count).reversed())
+                .limit(limit)
+                .map(Template::toDto)
+                .toList();
+    }
+
+    public long lines() {
+        return lines;
+    }
+
+    public long errorLines() {
+        return errorLines;
+    }
+
+    public int templateCount() {
+        return templates.size();
+    }
+
+    /**
+     * Lines not clustered because the template limit was reached.
+     */
+    public long unclustered() {
+        return unclustered;
+    }
+
+    private static Template bestMatch(List<Template> candidates, String[] tokens) {
+        Template best = null;
+        double bestSimilarity = -1;
+        int bestWildcards = -1;
+        for (Template candidate : candidates) {
+            int equal = 0;
+            int wildcards = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                if (WILDCARD.equals(candidate.tokens[i])) {
+                    wildcards++;
+                } else if (candidate.tokens[i].equals(tokens[i])) {
+                    equal++;
+                }
+            }
+            double similarity = (double) equal / tokens.length;
+            if (similarity > bestSimilarity || (similarity == bestSimilarity && wildcards > bestWildcards)) {
+                best = candidate;
+                bestSimilarity = similarity;
+                bestWildcards = wildcards;
+            }
+        }
+        return bestSimilarity >= SIMILARITY_THRESHOLD ? best : null;
+    }
+
+    private static boolean hasDigit(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Template> templates = new ArrayList<>();
+    }
+
+    private static final class Template {
+        private final String[] tokens;
+        private final List<String> examples = new ArrayList<>(MAX_EXAMPLES);
+        private long count;
+        private long errorCount;
+
+        Template(String[] tokens) {
+            this.tokens = tokens;
+        }
+
+        void merge(String[] line) {
+            for (int i = 0; i < tokens.length; i++) {
+                if (!tokens[i].equals(line[i])) {
+                    tokens[i] = WILDCARD;
+                }
+            }
+        }
+
+        LogTemplate toDto() {
+            return new LogTemplate(String.join(" ", tokens), count, errorCount, List.copyOf(examples));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.platformtriage.service.logs;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Logs of several pods/containers merged into one timeline, oldest line first.
+ *
+ * Why this matters:
+ * - A request hopping across replicas leaves its trail in several pod logs; reading
+ *   them one by one loses the ordering
+ *
+ * Design:
+ * - Each source is a `kubectl logs --timestamps` stream (RFC 3339 timestamp, space, line)
+ * - Streaming k-way merge: a heap holds one pending line per source; the oldest is
+ *   written and replaced by the next line of the same source. Memory is one line per
+ *   source, whatever the log sizes; output starts as soon as every source has a line
+ * - Ties keep source order; a line without a timestamp (e.g. an unprefixed continuation)
+ *   takes the timestamp of the previous line of its source
+ * - Output: "timestamp [pod/container] line"; sources that could not be opened are
+ *   listed first as "# pod/container: unavailable (reason)" comment lines
+ */
+public final class LogTimeline implements AutoCloseable {
+
+    private static final int FLUSH_EVERY_LINES = 256;
+
+    /**
+     * One log stream (reader), or the reason it could not be opened (error).
+     */
+    public record Source(String pod, String container, BufferedReader reader, String error) {
+        public static Source of(String pod, String container, BufferedReader reader) {
+            return new Source(pod, container, reader, null);
+        }
+
+        public static Source failed(String pod, String container, String error) {
+            return new Source(pod, container, null, error);
+        }
+
+        String label() {
+            return container == null ? pod : pod + "/" + container;
+        }
+    }
+
+    private final List<Source> sources;
+    private final int omittedSources;
+
+    /**
+     * @param sources Streams to merge (closed by {@link #close()})
+     * @param omittedSources Sources left out by a caller-side limit (reported in the header)
+     */
+    public LogTimeline(List<Source> sources, int omittedSources) {
+        this.sources = List.copyOf(sources);
+        this.omittedSources = omittedSources;
+    }
+
+    /**
+     * Merge all sources into {@code out} (UTF-8). Does not close {@code out}.
+     *
+     * @return Number of log lines written
+     */
+    public long writeTo(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (Source source : sources) {
+            if (source.reader() == null) {
+                writer.write("# " + source.label() + ": unavailable (" + source.error() + ")\n");
+            }
+        }
+        if (omittedSources > 0) {
+            writer.write("# " + omittedSources + " more containers not included (narrow the selector or set podName)\n");
+        }
+
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+                Comparator.comparing((Cursor c) -> c.timestamp).thenComparingInt(c -> c.order));
+        for (int i = 0; i < sources.size(); i++) {
+            Source source = sources.get(i);
+            if (source.reader() != null) {
+                Cursor cursor = new Cursor(source, i);
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                } else if (cursor.failure != null) {
+                    writer.write("# " + cursor.label + ": stream interrupted (" + cursor.failure + ")\n");
+                }
+            }
+        }
+
+        long written = 0;
+        while (!heap.isEmpty()) {
+            Cursor next = heap.poll();
+            writer.write(next.rawTimestamp);
+            writer.write(" [");
+            writer.write(next.label);
+            writer.write("] ");
+            writer.write(next.message);
+            writer.write('\n');
+            if (++written % FLUSH_EVERY_LINES == 0) {
+                writer.flush();
+            }
+            if (next.advance()) {
+                heap.add(next);
+            } else if (next.failure != null) {
+                writer.write("# " + next.label + ": stream interrupted (" + next.failure + ")\n");
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    @Override
+    public void close() {
+        for (Source source : sources) {
+            if (source.reader() != null) {
+                try {
+                    source.reader().close();
+                } catch (IOException e) {
+                    // Already broken: nothing left to release
+                }
+            }
+        }
+    }
+
+    /**
+     * Head of one source: its pending line.
+     */
+    private static final class Cursor {
+        private final BufferedReader reader;
+        private final String label;
+        private final int order;
+        private Instant timestamp = Instant.EPOCH;
+        private String rawTimestamp = Instant.EPOCH.toString();
+        private String message;
+        private String failure;
+
+        Cursor(Source source, int order) {
+            this.reader = source.reader();
+            this.label = source.label();
+            this.order = order;
+        }
+
+        /**
+         * Read the next line; false at end of stream (or when the stream broke: see failure).
+         */
+        boolean advance() {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (IOException e) {
+                failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                return false;
+            }
+            if (line == null) {
+                return false;
+            }
+            int space = line.indexOf(' ');
+            if (space >= 20 && line.charAt(4) == '-' && line.charAt(10) == 'T') {
+                try {
+                    timestamp = Instant.parse(line.substring(0, space));
+                    rawTimestamp = line.substring(0, space);
+                    message = line.substring(space + 1);
+                    return true;
+                } catch (DateTimeParseException e) {
+                    // Not a timestamp after all: keep the previous one
+                }
+            }
+            message = line;
+            return true;
+        }
+    }
+}
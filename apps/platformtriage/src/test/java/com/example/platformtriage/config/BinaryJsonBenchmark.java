@@ -0,0 +1,82 @@
+package com.example.platformtriage.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.common.http.BinaryJsonHttpMessageConverter;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Encode/decode cost of a deployment summary as JSON vs Smile vs CBOR; the payload size of
+ * each format is printed once per trial.
+ *
+ * Run after mvn test-compile, from the IDE (main) or:
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main BinaryJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryJsonBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public String format;
+
+    /** Pods and warning events in the summary. */
+    @Param({"200", "5000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private DeploymentSummaryResponse summary;
+    private byte[] encoded;
+
+    @Setup
+    public void encode() throws IOException {
+        ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = "JSON".equals(format)
+                ? json
+                : new BinaryJsonHttpMessageConverter(json, BinaryJsonHttpMessageConverter.Format.valueOf(format),
+                        List.of(DeploymentSummaryResponse.class)).getObjectMapper();
+        summary = BinaryJsonResponsesTest.summary(size);
+        encoded = mapper.writeValueAsBytes(summary);
+        System.out.printf("%n%s, %d pods + %d events: %d bytes%n", format, size, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(summary);
+    }
+
+    /** Generic decode, as automation reading the response without the model classes. */
+    @Benchmark
+    public JsonNode deserialize() throws IOException {
+        return mapper.readTree(encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BinaryJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.platformtriage.config;
+
+import com.example.common.http.BinaryJsonHttpMessageConverter;
+import com.example.common.http.BinaryJsonResponses;
+import com.example.platformtriage.model.dto.EventInfo;
+import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.Health;
+import com.example.platformtriage.model.dto.Objects;
+import com.example.platformtriage.model.dto.PodInfo;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.enums.OverallStatus;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smile/CBOR negotiation: explicit Accept only, listed response types only, same document as JSON.
+ */
+class BinaryJsonResponsesTest {
+
+    // ISO dates as in the Boot-configured mapper
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final BinaryJsonResponses responses = new BinaryJsonResponses(objectMapper, DeploymentSummaryResponse.class);
+
+    @Test
+    void testNegotiatesExplicitBinaryTypesOnly() {
+        assertEquals(BinaryJsonHttpMessageConverter.Format.SMILE, format("application/x-jackson-smile"));
+        assertEquals(BinaryJsonHttpMessageConverter.Format.CBOR, format("application/cbor, application/json;q=0.9"));
+        assertEquals(BinaryJsonHttpMessageConverter.Format.SMILE,
+                format("application/json;q=0.5, application/x-jackson-smile;q=0.8"));
+        assertNull(format("application/json, application/x-jackson-smile"), "Tie goes to the first listed");
+        assertNull(format("*/*"));
+        assertNull(format("application/*"));
+        assertNull(format("not a media type"));
+        assertNull(format(null));
+    }
+
+    @Test
+    void testWritesListedTypesOnly() {
+        BinaryJsonHttpMessageConverter smile = responses.converters().get(0);
+
+        assertTrue(smile.canWrite(DeploymentSummaryResponse.class, BinaryJsonHttpMessageConverter.APPLICATION_SMILE));
+        assertFalse(smile.canWrite(Map.class, BinaryJsonHttpMessageConverter.APPLICATION_SMILE), "Errors stay JSON");
+        assertFalse(smile.canWrite(DeploymentSummaryResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(smile.canRead(DeploymentSummaryResponse.class, BinaryJsonHttpMessageConverter.APPLICATION_SMILE));
+    }
+
+    @Test
+    void testInstallReplacesTypeAgnosticConverters() {
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(objectMapper);
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(json, new MappingJackson2SmileHttpMessageConverter()));
+
+        responses.install(converters);
+
+        assertEquals(3, converters.size());
+        assertSame(json, converters.get(0), "JSON stays first and remains the default");
+        assertEquals(responses.converters(), converters.subList(1, 3));
+    }
+
+    @Test
+    void testBinaryEncodesSameDocumentSmaller() throws Exception {
+        DeploymentSummaryResponse summary = summary(2_000);
+        byte[] json = objectMapper.writeValueAsBytes(summary);
+
+        for (BinaryJsonHttpMessageConverter converter : responses.converters()) {
+            ObjectMapper mapper = converter.getObjectMapper();
+            byte[] binary = mapper.writeValueAsBytes(summary);
+
+            assertEquals(objectMapper.readTree(json), mapper.readTree(binary));
+            assertTrue(binary.length < json.length, converter.getFormat() + ": " + binary.length + " vs " + json.length);
+        }
+    }
+
+    private BinaryJsonHttpMessageConverter.Format format(String accept) {
+        return responses.negotiate(accept).map(BinaryJsonHttpMessageConverter::getFormat).orElse(null);
+    }
+
+    static DeploymentSummaryResponse summary(int size) {
+        List<PodInfo> pods = new ArrayList<>();
+        List<EventInfo> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            pods.add(new PodInfo("cart-" + i, "Running", "CrashLoopBackOff", false, 3));
+            events.add(new EventInfo("Warning", "BackOff", "Back-off restarting failed container app in pod cart-" + i,
+                    "Pod", "cart-" + i, "2024-05-01T10:00:00Z"));
+        }
+        Finding crashLoop = new Finding(FailureCode.CRASH_LOOP, "Pods are crash looping", "Container exits on start",
+                List.of(), List.of("Check logs"));
+        Finding restarts = new Finding(FailureCode.POD_RESTARTS_DETECTED, "Pods restarted", "Restarts in the last hour",
+                List.of(), List.of("Check limits"));
+        return new DeploymentSummaryResponse(
+                null,
+                new Target("cart", "app=cart-app", null),
+                new Health(OverallStatus.FAIL, "0/1", Map.of("crashLoop", size)),
+                List.of(crashLoop, restarts),
+                crashLoop,
+                restarts,
+                null,
+                null,
+                new Objects(List.of(), pods, events, List.of(), List.of(), List.of()),
+                List.of(),
+                false,
+                0L,
+                List.of(),
+                List.of(),
+                null
+        );
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.platformtriage.detection;
+
+import com.example.platformtriage.detection.EventFindingMapper.MappedFailure;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.enums.Severity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Event → finding mapping: compiled rules, YAML rules, and agreement with the previous
+ * rule-by-rule evaluation (timing: {@link EventMappingBenchmark}).
+ */
+class DefaultEventFindingMapperTest {
+
+    static final String[][] SAMPLE_EVENTS = {
+        {"FailedMount", "MountVolume.SetUp failed for volume \"secrets-store-inline\" : rpc error: secrets-store.csi.k8s.io failed"},
+        {"FailedMount", "MountVolume.SetUp failed for volume \"config\" : configmap \"app-config\" not found"},
+        {"FailedMount", "MountVolume.SetUp failed for volume \"data\" : timed out waiting for the condition"},
+        {"FailedAttachVolume", "AttachVolume.Attach failed for volume \"kv\" : KeyVault access error"},
+        {"Failed", "Failed to pull image \"registry.example.com/app:1.2.3\": not found"},
+        {"Failed", "Error: ErrImagePull"},
+        {"Failed", "Error: container create failed"},
+        {"BackOff", "Back-off restarting failed container app in pod app-7d9f"},
+        {"FailedScheduling", "0/3 nodes are available: 3 Insufficient cpu."},
+        {"FailedCreate", "pods \"app-\" is forbidden: exceeded quota"},
+        {"Unhealthy", "Readiness probe failed: HTTP probe failed with statuscode: 503"},
+        {"SandboxChanged", "Pod sandbox changed, it will be killed and re-created."},
+        {"NodeNotReady", "Node is not ready"},
+        {"FailedKillPod", "error killing pod: unschedulable node drained"},
+    };
+
+    private final DefaultEventFindingMapper mapper = new DefaultEventFindingMapper((Path) null);
+
+    @Test
+    void testBuiltInRulesKeepPrecedence() {
+        assertEquals(FailureCode.EXTERNAL_SECRET_RESOLUTION_FAILED, code("FailedMount", SAMPLE_EVENTS[0][1]));
+        assertEquals(FailureCode.BAD_CONFIG, code("FailedMount", SAMPLE_EVENTS[1][1]));
+        assertNull(code("FailedMount", SAMPLE_EVENTS[2][1]));
+        assertEquals(FailureCode.IMAGE_PULL_FAILED, code("Failed", SAMPLE_EVENTS[4][1]));
+        assertEquals(FailureCode.CRASH_LOOP, code("backoff", SAMPLE_EVENTS[7][1]));
+        assertEquals(FailureCode.INSUFFICIENT_RESOURCES, code("FailedScheduling", SAMPLE_EVENTS[8][1]));
+        assertEquals(FailureCode.RBAC_DENIED, code("FailedCreate", SAMPLE_EVENTS[9][1]));
+        assertEquals(FailureCode.POD_SANDBOX_RECYCLE, code("SandboxChanged", null));
+        assertNull(code("Unhealthy", SAMPLE_EVENTS[10][1]));
+    }
+
+    @Test
+    void testMixedCaseTermsMatchLowercasedMessage() {
+        // "ErrImagePull" used to be compared against the lowercased message and never matched
+        assertEquals(FailureCode.IMAGE_PULL_FAILED, code("Failed", "Error: ErrImagePull"));
+    }
+
+    @Test
+    void testNormalEventsAreNotMapped() {
+        EventView normal = new EventView("Normal", "BackOff", "Back-off restarting failed container", null, null);
+        assertTrue(mapper.map(normal).isEmpty());
+    }
+
+    @Test
+    void testRulesLoadFromYamlAndReloadOnChange(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("rules.yml");
+        Files.writeString(file, """
+            rules:
+              - reason: Unhealthy
+                messageAllOf:
+                  - [readiness probe]
+                  - ["503", "500"]
+                code: READINESS_CHECK_FAILED
+                title: Readiness probe failing
+            """);
+        DefaultEventFindingMapper fromFile = new DefaultEventFindingMapper(file, Duration.ZERO);
+        assertEquals(1, fromFile.ruleCount());
+        assertEquals(FailureCode.READINESS_CHECK_FAILED,
+            fromFile.map(warning("Unhealthy", SAMPLE_EVENTS[10][1])).map(MappedFailure::code).orElse(null));
+        assertTrue(fromFile.map(warning("SandboxChanged", "")).isEmpty());
+
+        Files.writeString(file, """
+            rules:
+              - reason: SandboxChanged
+                code: POD_SANDBOX_RECYCLE
+                title: Pod sandbox recycled
+                severity: INFO
+            """);
+        touch(file, 60);
+        assertEquals(Severity.INFO,
+            fromFile.map(warning("SandboxChanged", "")).map(MappedFailure::severity).orElse(null));
+        assertTrue(fromFile.map(warning("Unhealthy", SAMPLE_EVENTS[10][1])).isEmpty());
+
+        Files.writeString(file, "rules: not-a-list");
+        touch(file, 120);
+        assertTrue(fromFile.map(warning("SandboxChanged", "")).isPresent(),
+            "Invalid file must keep the previous rules");
+    }
+
+    @Test
+    void testCompiledRulesMatchLinearEvaluationOn100kEvents() {
+        List<EventView> events = syntheticEvents(100_000, 42L);
+        List<EventMappingRule> rules = DefaultEventFindingMapper.BUILT_IN_RULES;
+
+        for (EventView event : events) {
+            assertEquals(linear(rules, event), mapper.map(event), () -> "Mismatch for " + event);
+        }
+    }
+
+    @Test
+    void testCompiledRulesMatchLinearEvaluationWithSiteRules() {
+        List<EventMappingRule> rules = new ArrayList<>(EventMappingBenchmark.siteRules(100, 7L));
+        rules.addAll(DefaultEventFindingMapper.BUILT_IN_RULES);
+        CompiledEventRules compiled = CompiledEventRules.compile(rules);
+
+        for (EventView event : syntheticEvents(10_000, 42L)) {
+            assertEquals(linear(rules, event), compiled.match(event.reason(), event.message()), () -> "Mismatch for " + event);
+        }
+    }
+
+    private static void touch(Path file, long secondsAhead) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(secondsAhead)));
+    }
+
+    private FailureCode code(String reason, String message) {
+        return mapper.map(warning(reason, message)).map(MappedFailure::code).orElse(null);
+    }
+
+    private static EventView warning(String reason, String message) {
+        return new EventView("Warning", reason, message, null, null);
+    }
+
+    static List<EventView> syntheticEvents(int count, long seed) {
+        Random random = new Random(seed);
+        List<EventView> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] sample = SAMPLE_EVENTS[random.nextInt(SAMPLE_EVENTS.length)];
+            events.add(warning(sample[0], sample[1] + " (pod app-" + Integer.toHexString(random.nextInt()) + ")"));
+        }
+        return events;
+    }
+
+    /**
+     * Previous evaluation: every rule in order, lowercasing and searching the message each time.
+     */
+    static Optional<MappedFailure> linear(List<EventMappingRule> rules, EventView event) {
+        for (EventMappingRule rule : rules) {
+            if (rule.reason() != null && !rule.reason().equalsIgnoreCase(event.reason())) {
+                continue;
+            }
+            boolean matches = true;
+            for (List<String> group : rule.messageAllOf()) {
+                String msg = event.message() != null ? event.message().toLowerCase(Locale.ROOT) : "";
+                if (group.stream().noneMatch(msg::contains)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return Optional.of(rule.mappedFailure());
+            }
+        }
+        return Optional.empty();
+    }
+}
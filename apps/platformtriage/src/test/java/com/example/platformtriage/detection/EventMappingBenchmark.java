@@ -0,0 +1,103 @@
+package com.example.platformtriage.detection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.platformtriage.detection.EventFindingMapper.MappedFailure;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.enums.Owner;
+import com.example.platformtriage.model.enums.Severity;
+
+/**
+ * Cost per event of compiled rule matching versus the previous rule-by-rule evaluation
+ * (reason compare, lowercased message, String.contains per term), for the built-in rules
+ * and for a rules file with extra site-specific rules.
+ *
+ * Run after mvn test-compile, from the IDE (main) or:
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main EventMappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    /** Events per benchmark invocation, drawn from {@link DefaultEventFindingMapperTest#SAMPLE_EVENTS}. */
+    private static final int EVENTS = 1024;
+
+    /** Rules appended to the built-in set (0 = built-in rules only). */
+    @Param({"0", "100"})
+    public int extraRules;
+
+    private List<EventMappingRule> rules;
+    private CompiledEventRules compiled;
+    private EventView[] events;
+
+    @Setup
+    public void setUp() {
+        rules = new ArrayList<>(DefaultEventFindingMapper.BUILT_IN_RULES);
+        rules.addAll(0, siteRules(extraRules, 7L));
+        compiled = CompiledEventRules.compile(rules);
+        events = DefaultEventFindingMapperTest.syntheticEvents(EVENTS, 42L).toArray(EventView[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void compiled(Blackhole blackhole) {
+        for (EventView event : events) {
+            blackhole.consume(compiled.match(event.reason(), event.message()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void ruleByRule(Blackhole blackhole) {
+        for (EventView event : events) {
+            blackhole.consume(DefaultEventFindingMapperTest.linear(rules, event));
+        }
+    }
+
+    /**
+     * Rules a site adds in its rules file: mostly common reasons with message terms that
+     * do not occur in the sample events, so every event is still checked against them.
+     */
+    static List<EventMappingRule> siteRules(int count, long seed) {
+        String[] reasons = {"FailedMount", "Failed", "BackOff", "FailedScheduling", "FailedCreate", "Unhealthy", null};
+        Random random = new Random(seed);
+        List<EventMappingRule> site = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String reason = reasons[random.nextInt(reasons.length)];
+            List<String> group = List.of("site-term-" + i, "vendor/" + Integer.toHexString(random.nextInt()).toUpperCase(Locale.ROOT));
+            site.add(new EventMappingRule(reason, List.of(group),
+                new MappedFailure(FailureCode.BAD_CONFIG, Severity.MED, Owner.APP, "Site rule " + i)));
+        }
+        return site;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventMappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.service.incident.IncidentArchive;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Incident archive built from the apiserver: event pages read in full, newest events first.
+ */
+class DeploymentDoctorServiceArchiveTest {
+
+    private static final String PODS = "/api/v1/namespaces/cart/pods";
+    private static final String DEPLOYMENTS = "/apis/apps/v1/namespaces/cart/deployments";
+    private static final String EVENTS = "/api/v1/namespaces/cart/events";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private FakeApiServer apiServer;
+    private DeploymentDoctorService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        apiServer = new FakeApiServer()
+                .respond(PODS, """
+                        {"kind":"PodList","apiVersion":"v1","metadata":{},"items":[]}
+                        """)
+                .respond(DEPLOYMENTS, """
+                        {"kind":"DeploymentList","apiVersion":"apps/v1","metadata":{},"items":[]}
+                        """);
+        service = DeploymentDoctorServiceBudgetTest.service(apiServer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        apiServer.close();
+    }
+
+    @Test
+    void testEventsArePagedAndNewestFirst() throws Exception {
+        // Storage order: the newest event is on the last page
+        apiServer.respondPage(EVENTS, null, eventList("page-2",
+                        event("e1", "Pulled", "2024-05-01T10:00:00Z"),
+                        event("e2", "BackOff", "2024-05-01T10:05:00Z")))
+                .respondPage(EVENTS, "page-2", eventList(null,
+                        event("e3", "OOMKilling", "2024-05-01T10:10:00Z")));
+
+        IncidentArchive archive = service.openIncidentArchive(null, "cart", "app=cart", null, 50, null, null, null);
+        JsonNode events = objectMapper.readTree(entry(archive, "events.json"));
+
+        assertEquals(3, events.size());
+        assertEquals("OOMKilling", events.get(0).get("reason").asText());
+        assertEquals("Pulled", events.get(2).get("reason").asText());
+        assertEquals(2, apiServer.hits(EVENTS), "Both pages read");
+    }
+
+    private String entry(IncidentArchive archive, String name) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archive.writeTo(out, objectMapper);
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (name.equals(entry.getName())) {
+                    return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new AssertionError("No archive entry " + name);
+    }
+
+    private static String eventList(String continueToken, String... events) {
+        String metadata = continueToken == null ? "{}" : "{\"continue\":\"" + continueToken + "\"}";
+        return "{\"kind\":\"EventList\",\"apiVersion\":\"v1\",\"metadata\":" + metadata
+                + ",\"items\":[" + String.join(",", events) + "]}";
+    }
+
+    private static String event(String name, String reason, String lastTimestamp) {
+        return """
+                {"metadata":{"name":"%s","namespace":"cart"},"type":"Warning","reason":"%s","message":"%s",
+                 "involvedObject":{"kind":"Pod","name":"cart-0"},"lastTimestamp":"%s"}
+                """.formatted(name, reason, reason, lastTimestamp);
+    }
+}
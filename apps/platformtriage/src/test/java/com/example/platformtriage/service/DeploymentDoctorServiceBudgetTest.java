@@ -0,0 +1,120 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import com.example.platformtriage.service.archive.EventArchive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Request budget: sub-calls that miss it are cut off and reported as unavailable inputs.
+ */
+class DeploymentDoctorServiceBudgetTest {
+
+    private static final String PODS = "/api/v1/namespaces/cart/pods";
+    private static final String DEPLOYMENTS = "/apis/apps/v1/namespaces/cart/deployments";
+    private static final String EVENTS = "/api/v1/namespaces/cart/events";
+    private static final String SERVICES = "/api/v1/namespaces/cart/services";
+
+    private FakeApiServer apiServer;
+    private DeploymentDoctorService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        apiServer = new FakeApiServer()
+                .respond(PODS, """
+                        {"kind":"PodList","apiVersion":"v1","metadata":{},"items":[{
+                          "metadata":{"name":"cart-0","namespace":"cart","labels":{"app":"cart"}},
+                          "spec":{"containers":[{"name":"app","image":"cart:1"}]},
+                          "status":{"phase":"Running","containerStatuses":[
+                            {"name":"app","image":"cart:1","imageID":"","ready":true,"restartCount":0}]}}]}
+                        """)
+                .respond(DEPLOYMENTS, """
+                        {"kind":"DeploymentList","apiVersion":"apps/v1","metadata":{},"items":[]}
+                        """)
+                .respond(EVENTS, """
+                        {"kind":"EventList","apiVersion":"v1","metadata":{},"items":[]}
+                        """)
+                .respond(SERVICES, """
+                        {"kind":"ServiceList","apiVersion":"v1","metadata":{},"items":[]}
+                        """);
+        service = service(apiServer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        apiServer.close();
+    }
+
+    @Test
+    void testCompleteWithinBudget() {
+        DeploymentSummaryResponse summary = service.getSummary("cart", "app=cart", null, 50, 5_000L);
+
+        assertEquals(List.of(), summary.partial());
+        assertEquals(1, summary.objects().pods().size());
+    }
+
+    @Test
+    void testSlowEventsAreCutAndMarkedUnavailable() {
+        // Warm up the client (first-call class loading is not what is measured)
+        service.getSummary("cart", "app=other", null, 50, null);
+        int servicesQueried = apiServer.hits(SERVICES);
+        apiServer.respond(EVENTS, 200, "{\"kind\":\"EventList\",\"apiVersion\":\"v1\",\"metadata\":{},\"items\":[]}", 3_000);
+
+        long start = System.nanoTime();
+        DeploymentSummaryResponse summary = service.getSummary("cart", "app=cart", null, 50, 500L);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertTrue(elapsedMillis < 2_000, "Slow call cancelled at the budget: " + elapsedMillis + " ms");
+        assertTrue(summary.partial().contains("events unavailable"), summary.partial().toString());
+        assertEquals(1, summary.objects().pods().size(), "Pods still reported");
+        assertEquals(servicesQueried, apiServer.hits(SERVICES), "Calls after the deadline are not issued");
+    }
+
+    @Test
+    void testFailureBeforeDeadlineIsNotMarkedUnavailable() {
+        apiServer.respond(DEPLOYMENTS, 403, """
+                {"kind":"Status","apiVersion":"v1","status":"Failure","reason":"Forbidden","code":403}
+                """, 0);
+
+        DeploymentSummaryResponse summary = service.getSummary("cart", "app=cart", null, 50, 5_000L);
+
+        assertEquals(List.of(), summary.partial(), "RBAC keeps its pods-only degrade, not a budget marker");
+        assertEquals(1, summary.objects().pods().size());
+    }
+
+    @Test
+    void testPodsMissingTheBudgetFailTheQuery() {
+        apiServer.respond(PODS, 200, "{\"kind\":\"PodList\",\"apiVersion\":\"v1\",\"metadata\":{},\"items\":[]}", 3_000);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> service.getSummary("cart", "app=cart", null, 50, 300L));
+
+        assertTrue(e.getMessage().contains("budgetMs=300"), e.getMessage());
+        assertEquals(0, apiServer.hits(EVENTS), "Nothing else is queried once pods failed");
+    }
+
+    static DeploymentDoctorService service(FakeApiServer apiServer) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        KubernetesRateLimiter rateLimiter = new KubernetesRateLimiter(registry);
+        KubernetesClusterRegistry clusters = new KubernetesClusterRegistry(apiServer.client(), rateLimiter);
+        return new DeploymentDoctorService(
+                clusters,
+                new RestartBaselineStore(),
+                new SnapshotHistoryStore(),
+                new RequestCoalescer(registry),
+                rateLimiter,
+                new SummaryCache(registry),
+                new EventArchive(),
+                new FindingHistoryStore(registry),
+                new EventRateTracker(),
+                new NodeInventory(clusters, rateLimiter),
+                new PreviousLogPrefetcher(rateLimiter)
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.platformtriage.service;
+
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1ObjectReference;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Warning event rates fed by summary polling: history, increments spread over time, spike thresholds.
+ */
+class EventRateTrackerTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+    private final EventRateTracker tracker = new EventRateTracker();
+
+    @Test
+    void testFirstSightingOfOlderEventIsNotCounted() {
+        // The first summary load lists an event that repeated 300 times over the last 20 minutes
+        CoreV1Event recent = warning("e1", "BackOff", 300, T0.minusSeconds(20 * 60), T0.minusSeconds(30));
+        tracker.observeAll(null, "cart", List.of(recent), T0);
+
+        assertEquals(0, tracker.size(), "History before the namespace was observed is not booked");
+        pollSteadily(recent, 40);
+        assertTrue(tracker.spikes(null, "cart", T0.plusSeconds(40 * 60)).isEmpty());
+    }
+
+    @Test
+    void testSteadyRateSeenAfterAPollingGapIsNotASpike() {
+        // 2 repeats per minute; the dashboard is closed for 35 minutes, then polled again
+        CoreV1Event event = warning("e1", "BackOff", 100, T0.minusSeconds(3600), T0);
+        tracker.observeAll(null, "cart", List.of(event), T0);
+        Instant now = T0.plusSeconds(40 * 60);
+        event.count(event.getCount() + 80).lastTimestamp(now.atOffset(ZoneOffset.UTC));
+        tracker.observeAll(null, "cart", List.of(event), now);
+
+        assertEquals(1, tracker.size());
+        assertTrue(tracker.spikes(null, "cart", now).isEmpty(),
+                "The +80 is spread over the 40 minutes since the last sighting, not booked into one minute");
+    }
+
+    @Test
+    void testBurstAfterSteadyBaselineIsASpike() {
+        CoreV1Event event = warning("e1", "FailedScheduling", 10, T0.minusSeconds(600), T0);
+        tracker.observeAll(null, "cart", List.of(event), T0);
+        Instant now = T0;
+        for (int minute = 1; minute <= 35; minute++) {
+            now = T0.plusSeconds(minute * 60L);
+            event.count(event.getCount() + 1).lastTimestamp(now.atOffset(ZoneOffset.UTC));
+            tracker.observeAll(null, "cart", List.of(event), now);
+        }
+        // New pods fail to schedule: 60 fresh events within two minutes
+        Instant burstStart = now.plusSeconds(60);
+        Instant burstEnd = now.plusSeconds(120);
+        CoreV1Event burst = warning("e2", "FailedScheduling", 60, burstStart, burstEnd);
+        tracker.observeAll(null, "cart", List.of(event, burst), burstEnd);
+
+        List<EventRateTracker.Spike> spikes = tracker.spikes(null, "cart", burstEnd);
+
+        assertEquals(1, spikes.size());
+        assertEquals(new EventRateTracker.RateKey(null, "cart", "FailedScheduling", "Pod"), spikes.get(0).key());
+        assertTrue(spikes.get(0).recent() >= 60);
+        assertTrue(spikes.get(0).factor() >= EventRateTracker.SPIKE_FACTOR);
+    }
+
+    @Test
+    void testSmallBurstOnQuietReasonIsBelowBaselineFloor() {
+        tracker.observeAll(null, "cart", List.of(), T0);
+        Instant now = T0.plusSeconds(40 * 60);
+        CoreV1Event burst = warning("e1", "Unhealthy", 15, now.minusSeconds(120), now);
+        tracker.observeAll(null, "cart", List.of(burst), now);
+
+        assertEquals(1, tracker.size(), "Created after the namespace was first observed: counted");
+        assertTrue(tracker.spikes(null, "cart", now).isEmpty(),
+                "15 events over a zero baseline is under 10x the floor of "
+                + EventRateTracker.SPIKE_BASELINE_FLOOR + " per window");
+    }
+
+    @Test
+    void testNoSpikesBeforeNamespaceBaselineIsObserved() {
+        tracker.observeAll(null, "cart", List.of(), T0);
+        Instant now = T0.plusSeconds(10 * 60);
+        tracker.observeAll(null, "cart", List.of(warning("e1", "FailedScheduling", 200, now.minusSeconds(60), now)), now);
+
+        assertTrue(tracker.spikes(null, "cart", now).isEmpty());
+        assertTrue(tracker.spikes(null, "billing", now.plusSeconds(3600)).isEmpty(), "Namespace never observed");
+    }
+
+    @Test
+    void testNormalEventsAndRepeatedListingsAreIgnored() {
+        tracker.observeAll(null, "cart", List.of(), T0);
+        Instant now = T0.plusSeconds(60);
+        CoreV1Event normal = warning("e1", "Pulled", 50, now, now).type("Normal");
+        CoreV1Event warning = warning("e2", "BackOff", 3, now, now);
+        tracker.observeAll(null, "cart", List.of(normal, warning, warning), now);
+        tracker.observeAll(null, "cart", List.of(normal, warning), now.plusSeconds(30));
+
+        assertEquals(1, tracker.size());
+        tracker.evictExpired(now.plusSeconds(3 * 3600));
+        assertEquals(0, tracker.size());
+    }
+
+    private void pollSteadily(CoreV1Event event, int minutes) {
+        for (int minute = 1; minute <= minutes; minute++) {
+            Instant now = T0.plusSeconds(minute * 60L);
+            event.count(event.getCount() + 1).lastTimestamp(now.atOffset(ZoneOffset.UTC));
+            tracker.observeAll(null, "cart", List.of(event), now);
+        }
+    }
+
+    private static CoreV1Event warning(String uid, String reason, int count, Instant first, Instant last) {
+        return new CoreV1Event()
+                .metadata(new V1ObjectMeta().uid(uid).namespace("cart"))
+                .type("Warning")
+                .reason(reason)
+                .involvedObject(new V1ObjectReference().kind("Pod").name("cart-" + uid))
+                .count(count)
+                .firstTimestamp(first.atOffset(ZoneOffset.UTC))
+                .lastTimestamp(last.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.platformtriage.service;
+
+import com.example.common.export.ExportStreamWriter;
+import com.example.platformtriage.model.dto.EventInfo;
+import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.Health;
+import com.example.platformtriage.model.dto.Objects;
+import com.example.platformtriage.model.dto.PodInfo;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.enums.OverallStatus;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streamed export: same document as the built ExportBundle, optionally gzip-encoded; broken on failure.
+ */
+class ExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ExportService exportService = new ExportService();
+
+    @Test
+    void testStreamedExportMatchesBuiltBundle() throws Exception {
+        DeploymentSummaryResponse summary = summary(2_000);
+
+        JsonNode built = objectMapper.valueToTree(exportService.createExportBundle(summary));
+        JsonNode streamed = objectMapper.readTree(write(summary, false));
+
+        assertEquals(withoutGeneratedAt(built), withoutGeneratedAt(streamed));
+        assertEquals(2_000, streamed.at("/additionalData/objects/events").size());
+        assertEquals("CRASH_LOOP", streamed.at("/findings/0/id").asText());
+    }
+
+    @Test
+    void testGzipStreamDecodesToSameDocument() throws Exception {
+        DeploymentSummaryResponse summary = summary(2_000);
+
+        byte[] plain = write(summary, false);
+        byte[] gzip = write(summary, true);
+
+        assertTrue(gzip.length < plain.length / 4, plain.length + " -> " + gzip.length + " bytes");
+        assertEquals(withoutGeneratedAt(objectMapper.readTree(plain)),
+                withoutGeneratedAt(objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(gzip)))));
+    }
+
+    @Test
+    void testFailedExportLeavesStreamBroken() {
+        DeploymentSummaryResponse summary = summary(200);
+
+        byte[] plain = writeThenFail(summary, false);
+        byte[] gzip = writeThenFail(summary, true);
+
+        assertTrue(plain.length > 0, "Sections written before the failure were sent");
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(plain));
+        assertThrows(EOFException.class, () -> new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes());
+    }
+
+    @Test
+    void testAcceptsGzipFromHeader() {
+        assertTrue(ExportStreamWriter.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ExportStreamWriter.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(ExportStreamWriter.acceptsGzip("gzip;q=0"));
+        assertFalse(ExportStreamWriter.acceptsGzip("identity"));
+        assertFalse(ExportStreamWriter.acceptsGzip(null));
+    }
+
+    private byte[] write(DeploymentSummaryResponse summary, boolean gzip) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportStreamWriter writer = ExportStreamWriter.open(objectMapper, out, gzip)) {
+            exportService.writeExport(summary, writer);
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] writeThenFail(DeploymentSummaryResponse summary, boolean gzip) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IOException.class, () -> {
+            try (ExportStreamWriter writer = ExportStreamWriter.open(objectMapper, out, gzip)) {
+                exportService.writeExport(summary, writer);
+                throw new IOException("Connection to the apiserver lost");
+            }
+        });
+        return out.toByteArray();
+    }
+
+    private JsonNode withoutGeneratedAt(JsonNode export) {
+        ((ObjectNode) export.get("metadata")).remove("generatedAt");
+        return export;
+    }
+
+    private DeploymentSummaryResponse summary(int size) {
+        List<PodInfo> pods = new ArrayList<>();
+        List<EventInfo> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            pods.add(new PodInfo("cart-" + i, "Running", "CrashLoopBackOff", false, 3));
+            events.add(new EventInfo("Warning", "BackOff", "Back-off restarting failed container app in pod cart-" + i,
+                    "Pod", "cart-" + i, "2024-05-01T10:00:00Z"));
+        }
+        Finding crashLoop = new Finding(FailureCode.CRASH_LOOP, "Pods are crash looping", "Container exits on start",
+                List.of(), List.of("Check logs"));
+        Finding restarts = new Finding(FailureCode.POD_RESTARTS_DETECTED, "Pods restarted", "Restarts in the last hour",
+                List.of(), List.of("Check limits"));
+        return new DeploymentSummaryResponse(
+                null,
+                new Target("cart", "app=cart-app", null),
+                new Health(OverallStatus.FAIL, "0/1", Map.of("crashLoop", size)),
+                List.of(crashLoop, restarts),
+                crashLoop,
+                restarts,
+                null,
+                null,
+                new Objects(List.of(), pods, events, List.of(), List.of(), List.of()),
+                List.of(),
+                false,
+                0L,
+                List.of(),
+                List.of(),
+                null
+        );
+    }
+}
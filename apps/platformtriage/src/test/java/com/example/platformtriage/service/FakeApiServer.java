@@ -0,0 +1,144 @@
+package com.example.platformtriage.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.kubernetes.client.openapi.ApiClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal stand-in for the Kubernetes apiserver: canned JSON per path, with optional latency.
+ * Unknown paths answer 404 like a missing resource. Watch requests ({@code ?watch=true}) stream
+ * the lines registered with {@link #respondWatch}, then hold the connection briefly and end it
+ * like a server-side watch timeout.
+ */
+final class FakeApiServer implements AutoCloseable {
+
+    private record Route(int status, String contentType, String body, long delayMillis) {}
+
+    private final HttpServer server;
+    private static final long WATCH_HOLD_MILLIS = 200;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> watches = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    FakeApiServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            hits.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            String query = exchange.getRequestURI().getQuery();
+            if (query != null && query.contains("watch=true")) {
+                streamWatch(exchange, watches.getOrDefault(path, List.of()));
+                return;
+            }
+            Route route = routes.getOrDefault(pageKey(path, query), new Route(404, "application/json",
+                    "{\"kind\":\"Status\",\"apiVersion\":\"v1\",\"status\":\"Failure\",\"reason\":\"NotFound\",\"code\":404}", 0));
+            try {
+                if (route.delayMillis() > 0) {
+                    Thread.sleep(route.delayMillis());
+                }
+                byte[] body = route.body().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", route.contentType());
+                exchange.sendResponseHeaders(route.status(), body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // Client gave up (call timeout); nothing to answer
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    FakeApiServer respond(String path, String json) {
+        return respond(path, 200, json, 0);
+    }
+
+    FakeApiServer respond(String path, int status, String json, long delayMillis) {
+        routes.put(path, new Route(status, "application/json", json, delayMillis));
+        return this;
+    }
+
+    /**
+     * Answer for the list page requested with {@code continue=continueToken} (null: the first page).
+     */
+    FakeApiServer respondPage(String path, String continueToken, String json) {
+        routes.put(continueToken == null ? path : path + "?continue=" + continueToken,
+                new Route(200, "application/json", json, 0));
+        return this;
+    }
+
+    /**
+     * Plain-text answer (pod logs).
+     */
+    FakeApiServer respondText(String path, String text, long delayMillis) {
+        routes.put(path, new Route(200, "text/plain", text, delayMillis));
+        return this;
+    }
+
+    /**
+     * Watch events (one JSON {@code {"type":..., "object":...}} per line) sent on every watch of {@code path}.
+     */
+    FakeApiServer respondWatch(String path, String... events) {
+        watches.put(path, List.of(events));
+        return this;
+    }
+
+    private static String pageKey(String path, String query) {
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("continue=")) {
+                    return path + "?" + param;
+                }
+            }
+        }
+        return path;
+    }
+
+    int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    ApiClient client() {
+        return new ApiClient().setBasePath("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private static void streamWatch(HttpExchange exchange, List<String> events) {
+        try (exchange) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            for (String event : events) {
+                out.write((event.replace("\n", " ") + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+            Thread.sleep(WATCH_HOLD_MILLIS);
+            out.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Client closed the watch
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.dto.Evidence;
+import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.FindingHistory;
+import com.example.platformtriage.model.enums.FailureCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Finding lifecycles: open duration, re-opens, flapping and the stable-evidence key.
+ */
+class FindingHistoryStoreTest {
+
+    private static final RestartBaselineStore.ScopeKey SCOPE = new RestartBaselineStore.ScopeKey("cart", "app=cart", null);
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FindingHistoryStore store = new FindingHistoryStore(registry);
+
+    @Test
+    void testOpenFindingAccumulatesDuration() {
+        Finding crashLoop = crashLoop("cart-7d9f-abc");
+        store.record(SCOPE, List.of(crashLoop), T0);
+        FindingHistory history = store.record(SCOPE, List.of(crashLoop), T0.plusSeconds(120)).get(0);
+
+        assertEquals(OffsetDateTime.ofInstant(T0, ZoneOffset.UTC), history.firstSeen());
+        assertEquals(history.firstSeen(), history.openSince());
+        assertEquals(120_000L, history.openForMs());
+        assertEquals(2, history.occurrences());
+        assertEquals(0, history.reopenCount());
+        assertFalse(history.flapping());
+    }
+
+    @Test
+    void testPodChurnKeepsTheSameFinding() {
+        store.record(SCOPE, List.of(crashLoop("cart-7d9f-abc")), T0);
+        FindingHistory history = store.record(SCOPE, List.of(crashLoop("cart-7d9f-xyz")), T0.plusSeconds(60)).get(0);
+
+        assertEquals(2, history.occurrences(), "Pod evidence is not part of the key");
+        assertEquals(FindingHistoryStore.key(crashLoop("a")), FindingHistoryStore.key(crashLoop("b")));
+        assertNotEquals(FindingHistoryStore.key(crashLoop("a")), FindingHistoryStore.key(
+                new Finding(FailureCode.CRASH_LOOP, "Crash loop", "", List.of(new Evidence("Deployment", "billing")), List.of())));
+    }
+
+    @Test
+    void testCloseRecordsDurationAndReopenCounts() {
+        Finding crashLoop = crashLoop("cart-7d9f-abc");
+        store.record(SCOPE, List.of(crashLoop), T0);
+        store.record(SCOPE, List.of(), T0.plusSeconds(300));
+        FindingHistory reopened = store.record(SCOPE, List.of(crashLoop), T0.plusSeconds(360)).get(0);
+
+        assertEquals(1, reopened.reopenCount());
+        assertEquals(OffsetDateTime.ofInstant(T0.plusSeconds(360), ZoneOffset.UTC), reopened.openSince());
+        assertEquals(OffsetDateTime.ofInstant(T0, ZoneOffset.UTC), reopened.firstSeen());
+        assertEquals(300.0d, registry.timer("platformtriage.findings.open.duration", "code", "CRASH_LOOP")
+                .totalTime(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRepeatedOpenCloseIsFlapping() {
+        Finding crashLoop = crashLoop("cart-7d9f-abc");
+        store.record(SCOPE, List.of(crashLoop), T0);
+        store.record(SCOPE, List.of(), T0.plusSeconds(60));
+        store.record(SCOPE, List.of(crashLoop), T0.plusSeconds(120));
+        assertFalse(store.describe(SCOPE, List.of(crashLoop), T0.plusSeconds(120)).get(0).flapping());
+
+        store.record(SCOPE, List.of(), T0.plusSeconds(180));
+        FindingHistory history = store.record(SCOPE, List.of(crashLoop), T0.plusSeconds(240)).get(0);
+
+        assertTrue(history.flapping());
+        assertEquals(1.0d, registry.counter("platformtriage.findings.flaps", "code", "CRASH_LOOP").count());
+    }
+
+    @Test
+    void testTransitionsOutsideFlapWindowDoNotCount() {
+        Finding crashLoop = crashLoop("cart-7d9f-abc");
+        for (int i = 0; i < 5; i++) {
+            // One transition every 20 minutes: never 4 within 30 minutes
+            store.record(SCOPE, i % 2 == 0 ? List.of(crashLoop) : List.of(), T0.plusSeconds(i * 1200L));
+        }
+
+        assertFalse(store.describe(SCOPE, List.of(crashLoop), T0.plusSeconds(4800)).get(0).flapping());
+    }
+
+    @Test
+    void testUnknownScopeAndFinding() {
+        assertTrue(store.describe(SCOPE, List.of(crashLoop("cart-7d9f-abc")), T0).isEmpty());
+
+        store.record(SCOPE, List.of(crashLoop("cart-7d9f-abc")), T0);
+        Finding other = new Finding(FailureCode.IMAGE_PULL_FAILED, "Image pull", "", List.of(), List.of());
+        FindingHistory history = store.describe(SCOPE, List.of(other), T0).get(0);
+
+        assertNull(history.firstSeen());
+        assertEquals(0, history.occurrences());
+    }
+
+    private static Finding crashLoop(String pod) {
+        return new Finding(FailureCode.CRASH_LOOP, "Crash loop", "Container exits on start",
+                List.of(new Evidence("Deployment", "cart"), new Evidence("Pod", pod)), List.of());
+    }
+}
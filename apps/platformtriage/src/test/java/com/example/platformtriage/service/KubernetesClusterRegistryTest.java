@@ -0,0 +1,106 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.dto.ClusterHealth;
+import com.example.platformtriage.model.response.CrossClusterSummaryResponse;
+import com.example.platformtriage.model.response.CrossClusterSummaryResponse.ClusterSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cluster registry: default-cluster keys, unknown contexts, cached health, cross-cluster summaries.
+ */
+class KubernetesClusterRegistryTest {
+
+    private static final String VERSION = """
+            {"major":"1","minor":"30","gitVersion":"v1.30.4","gitCommit":"abc","gitTreeState":"clean",
+             "buildDate":"2024-05-01T00:00:00Z","goVersion":"go1.22","compiler":"gc","platform":"linux/amd64"}
+            """;
+
+    private FakeApiServer apiServer;
+    private KubernetesClusterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        apiServer = new FakeApiServer().respond("/version/", VERSION);
+        registry = new KubernetesClusterRegistry(apiServer.client(), new KubernetesRateLimiter(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        apiServer.close();
+    }
+
+    @Test
+    void testDefaultClusterKeys() {
+        String defaultName = registry.displayName(null);
+
+        assertNull(registry.normalize(null));
+        assertNull(registry.normalize("  "));
+        assertNull(registry.normalize(defaultName), "The current context is the default cluster");
+        assertTrue(registry.isDefault(" " + defaultName + " "));
+        assertSame(registry.resolve(null), registry.resolve(defaultName));
+        assertEquals("eu-west", registry.normalize(" eu-west "));
+    }
+
+    @Test
+    void testUnknownContextIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> registry.resolve("no-such-context"));
+        assertTrue(e.getMessage().contains("no-such-context"), e.getMessage());
+
+        ClusterHealth health = registry.health("no-such-context");
+        assertFalse(health.reachable());
+        assertEquals("no-such-context", health.cluster());
+    }
+
+    @Test
+    void testHealthIsProbedAndCached() {
+        ClusterHealth health = registry.health(null);
+        registry.health(null);
+
+        assertTrue(health.reachable());
+        assertEquals("v1.30.4", health.serverVersion());
+        assertEquals(1, apiServer.hits("/version/"), "Cached for the health TTL");
+    }
+
+    @Test
+    void testUnreachableDefaultCluster() throws Exception {
+        try (FakeApiServer down = new FakeApiServer().respond("/version/", 503, "{}", 0)) {
+            KubernetesClusterRegistry unreachable =
+                    new KubernetesClusterRegistry(down.client(), new KubernetesRateLimiter(new SimpleMeterRegistry()));
+
+            ClusterHealth health = unreachable.health(null);
+
+            assertFalse(health.reachable());
+            assertEquals("HTTP 503", health.error());
+        }
+    }
+
+    @Test
+    void testCrossClusterSummaryReportsEachClusterInRequestOrder() throws Exception {
+        apiServer.respond("/api/v1/namespaces/cart/pods", "{\"kind\":\"PodList\",\"apiVersion\":\"v1\",\"metadata\":{},\"items\":[]}")
+                .respond("/apis/apps/v1/namespaces/cart/deployments",
+                        "{\"kind\":\"DeploymentList\",\"apiVersion\":\"apps/v1\",\"metadata\":{},\"items\":[]}")
+                .respond("/api/v1/namespaces/cart/events", "{\"kind\":\"EventList\",\"apiVersion\":\"v1\",\"metadata\":{},\"items\":[]}")
+                .respond("/api/v1/namespaces/cart/services", "{\"kind\":\"ServiceList\",\"apiVersion\":\"v1\",\"metadata\":{},\"items\":[]}");
+        DeploymentDoctorService service = DeploymentDoctorServiceBudgetTest.service(apiServer);
+
+        CrossClusterSummaryResponse response = service.getCrossClusterSummary(
+                "cart", "app=cart", null, 50, List.of("no-such-context", registry.displayName(null)), 5_000L);
+
+        List<ClusterSummary> clusters = response.clusters();
+        assertEquals(2, clusters.size());
+        assertEquals("no-such-context", clusters.get(0).cluster());
+        assertNotNull(clusters.get(0).error(), "Unknown context fails without affecting the other cluster");
+        assertNull(clusters.get(0).health());
+        assertEquals(registry.displayName(null), clusters.get(1).cluster());
+        assertNull(clusters.get(1).error());
+        assertNotNull(clusters.get(1).health());
+        assertTrue(clusters.get(1).connectivity().reachable());
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.platformtriage.service;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Apiserver rate limiter: burst and refill, bulk lane reserve, 429 pause and retry, one bucket per cluster.
+ */
+class KubernetesRateLimiterTest {
+
+    private static final String CLUSTER = "eu-1";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final KubernetesRateLimiter limiter = new KubernetesRateLimiter(registry);
+
+    @Test
+    void testFreshLimiterIsNotPaused() throws Exception {
+        long start = System.nanoTime();
+
+        assertEquals("ok", limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> "ok"));
+
+        assertTrue(elapsedMillis(start) < 500, "First call must not wait: " + elapsedMillis(start) + " ms");
+    }
+
+    @Test
+    void testBurstThenRefillRate() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < 40; i++) {
+            limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> null);
+        }
+        long burstMillis = elapsedMillis(start);
+
+        long refillStart = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> null);
+        }
+
+        assertTrue(burstMillis < 500, "Burst of 40 is immediate: " + burstMillis + " ms");
+        // 20 tokens/s: four more tokens take ~200 ms
+        assertTrue(elapsedMillis(refillStart) >= 150, "Refill paced: " + elapsedMillis(refillStart) + " ms");
+    }
+
+    @Test
+    void testBulkLeavesInteractiveReserve() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.BULK, () -> null);
+        }
+
+        // Bulk is down to the reserve and has to wait for refill...
+        ApiException rejected = assertThrows(ApiException.class, () ->
+                limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.BULK, Duration.ofMillis(20), () -> null));
+        assertEquals(429, rejected.getCode());
+        assertTrue(rejected.getResponseBody().contains("bulk lane waited"), rejected.getResponseBody());
+
+        // ...while interactive callers still get the reserved tokens at once
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> null);
+        }
+        assertTrue(elapsedMillis(start) < 200, "Reserve is immediate: " + elapsedMillis(start) + " ms");
+        assertEquals(1.0d, registry.counter("platformtriage.k8s.limiter.rejected", "cluster", CLUSTER, "lane", "bulk").count());
+    }
+
+    @Test
+    void testBulkQueuedFirstWaitsForInteractiveCallers() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> null);
+        }
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> bulk = CompletableFuture.runAsync(() -> call(KubernetesRateLimiter.Lane.BULK, order));
+        while (limiter.queueDepth(CLUSTER, KubernetesRateLimiter.Lane.BULK) == 0) {
+            Thread.onSpinWait();
+        }
+        List<CompletableFuture<Void>> interactive = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            interactive.add(CompletableFuture.runAsync(() -> call(KubernetesRateLimiter.Lane.INTERACTIVE, order)));
+        }
+        bulk.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(interactive.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(6, order.size());
+        assertEquals("BULK", order.get(5), "Bulk runs after every interactive caller: " + order);
+    }
+
+    @Test
+    void testRetriesOnceAfterRetryAfterPause() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+
+        String result = limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw throttled("1");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        assertTrue(elapsedMillis(start) >= 900, "Waited for Retry-After: " + elapsedMillis(start) + " ms");
+        assertEquals(1.0d, registry.counter("platformtriage.k8s.limiter.retry_after", "cluster", CLUSTER).count());
+    }
+
+    @Test
+    void testPauseLongerThanQueueTimeoutFailsAndHoldsOtherCalls() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ApiException throttled = assertThrows(ApiException.class, () ->
+                limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> {
+                    calls.incrementAndGet();
+                    throw throttled("30");
+                }));
+        assertEquals(1, calls.get(), "No retry when the pause exceeds the lane timeout");
+        assertEquals(429, throttled.getCode());
+
+        // The whole bucket is paused: the next caller runs out of its budget waiting
+        ApiException rejected = assertThrows(ApiException.class, () ->
+                limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, Duration.ofMillis(100), () -> "never"));
+        assertTrue(rejected.getResponseBody().startsWith("Client-side rate limit exceeded"), rejected.getResponseBody());
+    }
+
+    @Test
+    void testThrottledClusterDoesNotHoldOtherClusters() throws Exception {
+        assertThrows(ApiException.class, () ->
+                limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, () -> {
+                    throw throttled("30");
+                }));
+
+        // The throttled cluster waits out its budget; another cluster has its own bucket
+        assertThrows(ApiException.class, () ->
+                limiter.execute(CLUSTER, KubernetesRateLimiter.Lane.INTERACTIVE, Duration.ofMillis(100), () -> "never"));
+        long start = System.nanoTime();
+        assertEquals("ok", limiter.execute("ap-1", KubernetesRateLimiter.Lane.INTERACTIVE, () -> "ok"));
+        assertTrue(elapsedMillis(start) < 200, "Other cluster is not paused: " + elapsedMillis(start) + " ms");
+        assertEquals(0.0d, registry.counter("platformtriage.k8s.limiter.retry_after", "cluster", "ap-1").count());
+    }
+
+    private void call(KubernetesRateLimiter.Lane lane, List<String> order) {
+        try {
+            limiter.execute(CLUSTER, lane, () -> order.add(lane.name()));
+        } catch (ApiException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ApiException throttled(String retryAfter) {
+        return new ApiException("Too Many Requests", 429, Map.of("Retry-After", List.of(retryAfter)), "");
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.enums.Severity;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Node inventory: list + watch into the cache, RBAC denial, lookup budget, dropped clusters, node correlation.
+ */
+class NodeInventoryTest {
+
+    private static final String NODES = "/api/v1/nodes";
+
+    private static final String READY_NODE = """
+            {"metadata":{"name":"node-a","resourceVersion":"10"},
+             "status":{"conditions":[{"type":"Ready","status":"True"},{"type":"MemoryPressure","status":"False"}],
+                       "allocatable":{"cpu":"4","memory":"16Gi"}}}
+            """;
+
+    private static final String NOT_READY_NODE = """
+            {"metadata":{"name":"node-b","resourceVersion":"11"},
+             "spec":{"unschedulable":true,"taints":[{"key":"node.kubernetes.io/unreachable","effect":"NoExecute"}]},
+             "status":{"conditions":[
+                {"type":"Ready","status":"Unknown","reason":"NodeStatusUnknown","message":"Kubelet stopped posting node status.",
+                 "lastTransitionTime":"2024-05-01T10:00:00Z"},
+                {"type":"DiskPressure","status":"True"}]}}
+            """;
+
+    private FakeApiServer apiServer;
+    private NodeInventory inventory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        apiServer = new FakeApiServer().respond(NODES, nodeList(READY_NODE, NOT_READY_NODE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (inventory != null) {
+            inventory.stop();
+        }
+        apiServer.close();
+    }
+
+    @Test
+    void testListFillsNodeStates() {
+        Map<String, NodeInventory.NodeState> nodes = inventory().nodes(null);
+
+        assertEquals(2, nodes.size(), "First lookup waits for the initial list");
+        NodeInventory.NodeState ready = nodes.get("node-a");
+        assertTrue(ready.ready());
+        assertFalse(ready.unhealthy());
+        assertEquals("16Gi", ready.allocatable().get("memory"));
+
+        NodeInventory.NodeState notReady = nodes.get("node-b");
+        assertFalse(notReady.ready());
+        assertEquals("Unknown", notReady.readyStatus());
+        assertEquals("NodeStatusUnknown: Kubelet stopped posting node status.", notReady.readyReason());
+        assertEquals(List.of("DiskPressure"), notReady.pressures());
+        assertEquals(List.of("node.kubernetes.io/unreachable:NoExecute"), notReady.taints());
+        assertTrue(notReady.unschedulable());
+        assertTrue(notReady.unhealthy());
+    }
+
+    @Test
+    void testWatchEventsUpdateCache() throws Exception {
+        apiServer.respondWatch(NODES,
+                "{\"type\":\"MODIFIED\",\"object\":" + READY_NODE.replace("\"False\"", "\"True\"").replace("\"10\"", "\"12\"") + "}",
+                "{\"type\":\"DELETED\",\"object\":" + NOT_READY_NODE + "}");
+
+        Map<String, NodeInventory.NodeState> nodes = inventory().nodes(null);
+
+        awaitNodes(nodes, n -> !n.containsKey("node-b") && n.get("node-a").pressures().contains("MemoryPressure"));
+        assertEquals(1, nodes.size());
+        assertTrue(nodes.get("node-a").unhealthy());
+    }
+
+    @Test
+    void testForbiddenListLeavesCacheEmptyWithoutWaiting() {
+        apiServer.respond(NODES, 403, "{\"kind\":\"Status\",\"apiVersion\":\"v1\",\"status\":\"Failure\",\"code\":403}", 0);
+        // Warm up the client (first-call class loading is not what is measured)
+        assertThrows(ApiException.class, () -> new CoreV1Api(apiServer.client()).listNode().execute());
+
+        long start = System.nanoTime();
+        Map<String, NodeInventory.NodeState> nodes = inventory().nodes(null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertTrue(nodes.isEmpty());
+        assertTrue(elapsedMillis < 1_500, "Denied list releases waiting lookups: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testFirstLookupWaitsNoLongerThanBudget() {
+        apiServer.respond(NODES, 200, nodeList(READY_NODE), 1_500);
+        // Warm up the client (first-call class loading is not what is measured)
+        assertThrows(ApiException.class, () -> new CoreV1Api(apiServer.client()).listNamespacedPod("none").execute());
+
+        long start = System.nanoTime();
+        Map<String, NodeInventory.NodeState> nodes = inventory().nodes(null, Duration.ofMillis(100));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertTrue(nodes.isEmpty(), "Initial list still in flight");
+        assertTrue(elapsedMillis < 1_000, "Lookup bounded by the budget: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testUnresolvableClusterDropsItsInformer() throws Exception {
+        NodeInventory inventory = inventory(Duration.ofMillis(20));
+        Map<String, NodeInventory.NodeState> known = inventory.nodes(null);
+
+        assertTrue(inventory.nodes("removed-context", Duration.ofMillis(50)).isEmpty());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inventory.informerCount() > 1) {
+            assertTrue(System.nanoTime() < deadline, "Informer of the unknown cluster still running");
+            Thread.sleep(10);
+        }
+        assertEquals(2, known.size(), "Default cluster's informer keeps running");
+        assertSame(known, inventory.nodes(null));
+    }
+
+    @Test
+    void testFailingPodsOnNotReadyNodeAreCorrelated() {
+        apiServer.respond("/api/v1/namespaces/cart/pods", """
+                        {"kind":"PodList","apiVersion":"v1","metadata":{},"items":[
+                          {"metadata":{"name":"cart-0","namespace":"cart","labels":{"app":"cart"}},
+                           "spec":{"nodeName":"node-b","containers":[{"name":"app","image":"cart:1"}]},
+                           "status":{"phase":"Running","conditions":[{"type":"Ready","status":"False"}],"containerStatuses":[
+                             {"name":"app","image":"cart:1","imageID":"","ready":false,"restartCount":0}]}},
+                          {"metadata":{"name":"cart-1","namespace":"cart","labels":{"app":"cart"}},
+                           "spec":{"nodeName":"node-a","containers":[{"name":"app","image":"cart:1"}]},
+                           "status":{"phase":"Running","conditions":[{"type":"Ready","status":"True"}],"containerStatuses":[
+                             {"name":"app","image":"cart:1","imageID":"","ready":true,"restartCount":0}]}}]}
+                        """)
+                .respond("/apis/apps/v1/namespaces/cart/deployments",
+                        "{\"kind\":\"DeploymentList\",\"apiVersion\":\"apps/v1\",\"metadata\":{},\"items\":[]}")
+                .respond("/api/v1/namespaces/cart/events", "{\"kind\":\"EventList\",\"apiVersion\":\"v1\",\"metadata\":{},\"items\":[]}")
+                .respond("/api/v1/namespaces/cart/services", "{\"kind\":\"ServiceList\",\"apiVersion\":\"v1\",\"metadata\":{},\"items\":[]}");
+
+        DeploymentSummaryResponse summary = DeploymentDoctorServiceBudgetTest.service(apiServer)
+                .getSummary("cart", "app=cart", null, 50, 5_000L);
+
+        Finding node = summary.findings().stream()
+                .filter(f -> f.code() == FailureCode.NODE_UNHEALTHY)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No NODE_UNHEALTHY in " + summary.findings()));
+        assertEquals(Severity.HIGH, node.severity(), "A NotReady node blocks its pods");
+        assertEquals(1, node.evidence().size(), "Healthy node-a is not evidence");
+        assertEquals("node-b", node.evidence().get(0).name());
+        assertTrue(node.evidence().get(0).message().contains("failing pods: cart-0"), node.evidence().get(0).message());
+    }
+
+    private NodeInventory inventory() {
+        KubernetesRateLimiter rateLimiter = new KubernetesRateLimiter(new SimpleMeterRegistry());
+        inventory = new NodeInventory(new KubernetesClusterRegistry(apiServer.client(), rateLimiter), rateLimiter);
+        return inventory;
+    }
+
+    private NodeInventory inventory(Duration retryBackoff) {
+        KubernetesRateLimiter rateLimiter = new KubernetesRateLimiter(new SimpleMeterRegistry());
+        inventory = new NodeInventory(new KubernetesClusterRegistry(apiServer.client(), rateLimiter), rateLimiter, retryBackoff);
+        return inventory;
+    }
+
+    private static void awaitNodes(Map<String, NodeInventory.NodeState> nodes,
+                                   Predicate<Map<String, NodeInventory.NodeState>> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.test(nodes)) {
+            assertTrue(System.nanoTime() < deadline, "Watch events not applied: " + nodes.keySet());
+            Thread.sleep(10);
+        }
+    }
+
+    private static String nodeList(String... nodes) {
+        return "{\"kind\":\"NodeList\",\"apiVersion\":\"v1\",\"metadata\":{\"resourceVersion\":\"11\"},\"items\":["
+                + String.join(",", nodes) + "]}";
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.dto.ContainerLogTail;
+import io.kubernetes.client.openapi.models.V1ContainerState;
+import io.kubernetes.client.openapi.models.V1ContainerStateTerminated;
+import io.kubernetes.client.openapi.models.V1ContainerStatus;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Previous-container log prefetch: which containers are read, caching per restart, byte budget, failures.
+ */
+class PreviousLogPrefetcherTest {
+
+    private static final String LOG = "/api/v1/namespaces/cart/pods/cart-0/log";
+
+    private FakeApiServer apiServer;
+    private KubernetesClusterRegistry.Cluster cluster;
+    private PreviousLogPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        apiServer = new FakeApiServer().respondText(LOG, "starting\npanic: config missing\n", 0);
+        cluster = KubernetesClusterRegistry.Cluster.of("test", apiServer.client());
+        prefetcher = new PreviousLogPrefetcher(new KubernetesRateLimiter(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.stop();
+        apiServer.close();
+    }
+
+    @Test
+    void testReadsOnlyRestartedContainersAndCachesPerRestart() {
+        V1Pod pod = pod("cart-0", container("app", 3, true), container("sidecar", 0, false));
+
+        List<ContainerLogTail> tails = prefetcher.collect(
+                prefetcher.prefetch(cluster, null, "cart", List.of(pod)), Duration.ofSeconds(5));
+
+        assertEquals(1, tails.size());
+        ContainerLogTail tail = tails.get(0);
+        assertEquals("app", tail.container());
+        assertEquals(3, tail.restartCount());
+        assertEquals(List.of("starting", "panic: config missing"), tail.lines());
+        assertFalse(tail.truncated());
+        assertNull(tail.error());
+
+        prefetcher.collect(prefetcher.prefetch(cluster, null, "cart", List.of(pod)), Duration.ofSeconds(5));
+        assertEquals(1, apiServer.hits(LOG), "Same restart is served from the cache");
+
+        V1Pod restartedAgain = pod("cart-0", container("app", 4, true));
+        prefetcher.collect(prefetcher.prefetch(cluster, null, "cart", List.of(restartedAgain)), Duration.ofSeconds(5));
+        assertEquals(2, apiServer.hits(LOG), "A new restart is a new previous instance");
+    }
+
+    @Test
+    void testTailKeepsNewestLinesWithinByteBudget() {
+        String log = IntStream.range(0, 1000)
+                .mapToObj(i -> String.format("%04d %s", i, "x".repeat(95)))
+                .collect(Collectors.joining("\n"));
+        apiServer.respondText(LOG, log, 0);
+
+        ContainerLogTail tail = prefetcher.collect(
+                prefetcher.prefetch(cluster, null, "cart", List.of(pod("cart-0", container("app", 1, true)))),
+                Duration.ofSeconds(5)).get(0);
+
+        assertTrue(tail.truncated());
+        assertTrue(tail.lines().get(tail.lines().size() - 1).startsWith("0999 "), "Newest line kept");
+        int bytes = tail.lines().stream().mapToInt(line -> line.length() + 1).sum();
+        assertTrue(bytes <= PreviousLogPrefetcher.POD_BYTE_BUDGET, bytes + " bytes");
+        assertTrue(bytes > PreviousLogPrefetcher.POD_BYTE_BUDGET - 101, "Budget is filled: " + bytes + " bytes");
+    }
+
+    @Test
+    void testTransientFailureIsRetriedButDenialIsCached() {
+        V1Pod pod = pod("cart-0", container("app", 1, true));
+        apiServer.respond(LOG, 503, "{\"kind\":\"Status\",\"apiVersion\":\"v1\",\"status\":\"Failure\",\"code\":503}", 0);
+
+        ContainerLogTail failed = prefetcher.collect(prefetcher.prefetch(cluster, null, "cart", List.of(pod)),
+                Duration.ofSeconds(5)).get(0);
+        assertEquals("HTTP 503", failed.error());
+        assertEquals(0, prefetcher.size(), "Transient failures are not cached");
+
+        apiServer.respond(LOG, 403, "{\"kind\":\"Status\",\"apiVersion\":\"v1\",\"status\":\"Failure\",\"code\":403}", 0);
+        prefetcher.collect(prefetcher.prefetch(cluster, null, "cart", List.of(pod)), Duration.ofSeconds(5));
+        prefetcher.collect(prefetcher.prefetch(cluster, null, "cart", List.of(pod)), Duration.ofSeconds(5));
+        assertEquals(2, apiServer.hits(LOG), "Denied read is cached until the next restart");
+    }
+
+    @Test
+    void testCollectReturnsOnlyTailsFinishedWithinWait() {
+        apiServer.respondText(LOG, "slow\n", 1_000);
+        List<CompletableFuture<ContainerLogTail>> pending =
+                prefetcher.prefetch(cluster, null, "cart", List.of(pod("cart-0", container("app", 1, true))));
+
+        long start = System.nanoTime();
+        List<ContainerLogTail> tails = prefetcher.collect(pending, Duration.ofMillis(100));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertTrue(tails.isEmpty());
+        assertTrue(elapsedMillis < 900, elapsedMillis + " ms");
+        assertEquals(List.of("slow"), prefetcher.collect(pending, Duration.ofSeconds(5)).get(0).lines(),
+                "The read keeps running for the next load");
+    }
+
+    private static V1Pod pod(String name, V1ContainerStatus... statuses) {
+        return new V1Pod()
+                .metadata(new V1ObjectMeta().name(name).namespace("cart"))
+                .status(new V1PodStatus().phase("Running").containerStatuses(List.of(statuses)));
+    }
+
+    private static V1ContainerStatus container(String name, int restarts, boolean terminatedBefore) {
+        V1ContainerStatus status = new V1ContainerStatus().name(name).restartCount(restarts).ready(false);
+        if (terminatedBefore) {
+            status.lastState(new V1ContainerState().terminated(new V1ContainerStateTerminated().exitCode(1)));
+        }
+        return status;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.platformtriage.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single-flight: identical concurrent calls share one load, results are micro-cached, failures are not.
+ */
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(registry);
+
+    @Test
+    void testConcurrentIdenticalCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RequestCoalescer.Loader<String, RuntimeException> slowLoad = () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "summary";
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.execute("summary", slowLoad, "cart", "app=cart")));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> coalescer.execute("summary", slowLoad, "cart", "app=cart")));
+            }
+            awaitCount("summary", "coalesced", 4);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("summary", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(0.8d, coalescer.coalescingRatio("summary"), 1e-9);
+    }
+
+    @Test
+    void testCompletedResultIsReusedOnlyForSameParams() {
+        AtomicInteger loads = new AtomicInteger();
+        RequestCoalescer.Loader<Integer, RuntimeException> load = loads::incrementAndGet;
+
+        assertEquals(1, coalescer.execute("versions", load, "cart", "app=cart"));
+        assertEquals(1, coalescer.execute("versions", load, "cart", "app=cart"), "Served from the micro-cache");
+        assertEquals(2, coalescer.execute("versions", load, "cart", "app=other"));
+        assertEquals(3, coalescer.execute("trace", load, "cart", "app=cart"), "Operations never share results");
+        assertEquals(1.0d, count("versions", "cached"));
+    }
+
+    @Test
+    void testFailureIsNotCached() throws Exception {
+        RequestCoalescer.Loader<String, IOException> failing = () -> {
+            throw new IOException("apiserver unavailable");
+        };
+        IOException thrown = assertThrows(IOException.class, () -> coalescer.execute("summary", failing, "cart"));
+        assertEquals("apiserver unavailable", thrown.getMessage());
+
+        assertEquals("recovered", coalescer.execute("summary", () -> "recovered", "cart"));
+        assertEquals(2.0d, count("summary", "leader"));
+    }
+
+    private double count(String operation, String outcome) {
+        return registry.counter("platformtriage.coalescing.requests", "operation", operation, "outcome", outcome).count();
+    }
+
+    private void awaitCount(String operation, String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(operation, outcome) < expected) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the in-flight load");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.dto.EventInfo;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.response.DeploymentSummaryDiffResponse;
+import com.example.platformtriage.model.response.DeploymentSummaryDiffResponse.PodTransition;
+import com.example.platformtriage.service.SnapshotHistoryStore.EventObservation;
+import com.example.platformtriage.service.SnapshotHistoryStore.PodObservation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Delta-encoded snapshot history: diffs against the previous load, composition and truncation.
+ */
+class SnapshotHistoryStoreTest {
+
+    private static final RestartBaselineStore.ScopeKey SCOPE = new RestartBaselineStore.ScopeKey("cart", "app=cart", null);
+    private static final Target TARGET = new Target("cart", "app=cart", null);
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 5, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+    private static final Instant NOW = T0.toInstant();
+
+    private final SnapshotHistoryStore store = new SnapshotHistoryStore();
+
+    @Test
+    void testDiffAgainstPreviousLoad() {
+        EventInfo oldEvent = event("Scheduled");
+        EventInfo newEvent = event("BackOff");
+        store.record(SCOPE, T0,
+                List.of(pod("cart-a", "1", "Running/Ready", 0), pod("cart-b", "1", "Running/Ready", 0)),
+                List.of(new EventObservation("e1", "10", oldEvent)),
+                List.of(FailureCode.ROLLOUT_STUCK),
+                NOW);
+        store.record(SCOPE, T0.plusSeconds(30),
+                List.of(pod("cart-a", "2", "Running/CrashLoopBackOff", 3), pod("cart-c", "1", "Pending", 0)),
+                List.of(new EventObservation("e1", "10", oldEvent), new EventObservation("e2", "11", newEvent)),
+                List.of(FailureCode.CRASH_LOOP),
+                NOW);
+
+        DeploymentSummaryDiffResponse diff = store.diff(SCOPE, TARGET, null).orElseThrow();
+
+        assertEquals(T0, diff.since());
+        assertEquals(T0.plusSeconds(30), diff.until());
+        assertEquals(List.of("cart-c"), diff.podsAdded());
+        assertEquals(List.of("cart-b"), diff.podsRemoved());
+        assertEquals(List.of(new PodTransition("cart-a", "Running/Ready", "Running/CrashLoopBackOff", 3)),
+                diff.statusTransitions());
+        assertEquals(List.of(newEvent), diff.newEvents(), "Events with an unchanged resourceVersion are not new");
+        assertEquals(List.of(FailureCode.CRASH_LOOP), diff.findingsOpened());
+        assertEquals(List.of(FailureCode.ROLLOUT_STUCK), diff.findingsClosed());
+        assertFalse(diff.historyTruncated());
+    }
+
+    @Test
+    void testUnchangedLoadsAddNoDelta() {
+        store.record(SCOPE, T0, List.of(pod("cart-a", "1", "Running/Ready", 0)), List.of(), List.of(), NOW);
+        store.record(SCOPE, T0.plusSeconds(30), List.of(pod("cart-a", "1", "Running/Ready", 0)), List.of(), List.of(), NOW);
+
+        DeploymentSummaryDiffResponse diff = store.diff(SCOPE, TARGET, null).orElseThrow();
+
+        assertEquals(diff.toRevision(), diff.fromRevision());
+        assertTrue(diff.podsAdded().isEmpty());
+        assertTrue(diff.statusTransitions().isEmpty());
+    }
+
+    @Test
+    void testDiffSinceComposesDeltas() {
+        store.record(SCOPE, T0, List.of(pod("cart-a", "1", "Running/Ready", 0)), List.of(), List.of(), NOW);
+        store.record(SCOPE, T0.plusSeconds(30), List.of(pod("cart-a", "2", "Running/NotReady", 0)), List.of(),
+                List.of(FailureCode.READINESS_CHECK_FAILED), NOW);
+        store.record(SCOPE, T0.plusSeconds(60),
+                List.of(pod("cart-a", "3", "Running/Ready", 1), pod("cart-b", "1", "Running/Ready", 0)),
+                List.of(), List.of(), NOW);
+
+        DeploymentSummaryDiffResponse diff = store.diff(SCOPE, TARGET, T0).orElseThrow();
+
+        assertEquals(1, diff.fromRevision());
+        assertEquals(3, diff.toRevision());
+        assertEquals(List.of("cart-b"), diff.podsAdded());
+        assertEquals(List.of(new PodTransition("cart-a", "Running/Ready", "Running/Ready", 1)), diff.statusTransitions());
+        assertTrue(diff.findingsOpened().isEmpty(), "Opened and closed within the window nets out");
+        assertTrue(diff.findingsClosed().isEmpty());
+    }
+
+    @Test
+    void testDiffOlderThanRetainedHistoryIsTruncated() {
+        for (int i = 0; i < 40; i++) {
+            store.record(SCOPE, T0.plusSeconds(i), List.of(pod("cart-a", "" + i, "Running/Ready", i)), List.of(), List.of(), NOW);
+        }
+
+        DeploymentSummaryDiffResponse diff = store.diff(SCOPE, TARGET, T0).orElseThrow();
+
+        assertTrue(diff.historyTruncated());
+        assertEquals(8, diff.fromRevision(), "Starts at the oldest of the 32 retained deltas");
+        assertEquals(40, diff.toRevision());
+        assertEquals(List.of(new PodTransition("cart-a", "Running/Ready", "Running/Ready", 32)), diff.statusTransitions());
+    }
+
+    @Test
+    void testUnknownScopeAndTtlEviction() {
+        assertTrue(store.diff(SCOPE, TARGET, null).isEmpty());
+
+        store.record(SCOPE, T0, List.of(pod("cart-a", "1", "Running/Ready", 0)), List.of(), List.of(), NOW);
+        store.evictExpired(NOW.plusSeconds(3600));
+        assertEquals(1, store.size());
+        store.evictExpired(NOW.plusSeconds(3 * 3600));
+        assertEquals(0, store.size());
+    }
+
+    private static PodObservation pod(String name, String resourceVersion, String status, int restarts) {
+        return new PodObservation(name, resourceVersion, status, restarts);
+    }
+
+    private static EventInfo event(String reason) {
+        return new EventInfo("Normal", reason, reason, "Pod", "cart-a", "2024-05-01T10:00:00Z");
+    }
+}
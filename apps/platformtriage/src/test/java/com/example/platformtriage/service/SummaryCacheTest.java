@@ -0,0 +1,176 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.dto.Finding;
+import com.example.platformtriage.model.dto.Health;
+import com.example.platformtriage.model.dto.Objects;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.FailureCode;
+import com.example.platformtriage.model.enums.OverallStatus;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stale-while-revalidate: fresh window, stale window with one background refresh, what is cached.
+ */
+class SummaryCacheTest {
+
+    private static final SummaryCache.Key KEY = new SummaryCache.Key(null, "cart", "app=cart", null, 50);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testFreshEntryServedWithoutLoading() {
+        SummaryCache cache = new SummaryCache(registry, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<DeploymentSummaryResponse> loader = () -> {
+            loads.incrementAndGet();
+            return summary("1/1");
+        };
+
+        cache.get(KEY, loader, loader);
+        DeploymentSummaryResponse second = cache.get(KEY, loader, loader);
+
+        assertEquals(1, loads.get());
+        assertFalse(second.stale());
+        assertEquals(1.0d, registry.counter("platformtriage.summary.cache", "result", "fresh").count());
+    }
+
+    @Test
+    void testStaleEntryServedWhileOneRefreshRuns() throws Exception {
+        SummaryCache cache = new SummaryCache(registry, Duration.ofMillis(20), Duration.ofMinutes(1));
+        cache.get(KEY, () -> summary("1/1"), () -> fail("no refresh on a miss"));
+        Thread.sleep(50);
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        Supplier<DeploymentSummaryResponse> refresher = () -> {
+            refreshes.incrementAndGet();
+            await(release);
+            return summary("2/2");
+        };
+        for (int i = 0; i < 3; i++) {
+            DeploymentSummaryResponse served = cache.get(KEY, () -> fail("stale entries never block"), refresher);
+            assertTrue(served.stale());
+            assertEquals("1/1", served.health().deploymentsReady());
+            assertTrue(served.ageMs() >= 20);
+        }
+        release.countDown();
+
+        assertEquals("2/2", awaitValue(cache).health().deploymentsReady());
+        assertEquals(1, refreshes.get(), "One background refresh per key");
+    }
+
+    @Test
+    void testFailedRefreshKeepsStaleValue() throws Exception {
+        SummaryCache cache = new SummaryCache(registry, Duration.ofMillis(20), Duration.ofMinutes(1));
+        cache.get(KEY, () -> summary("1/1"), () -> null);
+        Thread.sleep(50);
+
+        cache.get(KEY, () -> fail("stale entries never block"), () -> {
+            throw new IllegalStateException("apiserver down");
+        });
+        Thread.sleep(50);
+
+        DeploymentSummaryResponse served = cache.get(KEY, () -> fail("stale entries never block"), () -> summary("1/1"));
+        assertTrue(served.stale());
+        assertEquals("1/1", served.health().deploymentsReady());
+    }
+
+    @Test
+    void testEntryPastStaleWindowLoadsBlocking() throws Exception {
+        SummaryCache cache = new SummaryCache(registry, Duration.ofMillis(10), Duration.ofMillis(20));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<DeploymentSummaryResponse> loader = () -> {
+            loads.incrementAndGet();
+            return summary("1/1");
+        };
+
+        cache.get(KEY, loader, loader);
+        Thread.sleep(60);
+        DeploymentSummaryResponse served = cache.get(KEY, loader, () -> fail("expired entries are not served"));
+
+        assertEquals(2, loads.get());
+        assertFalse(served.stale());
+        cache.evictExpired();
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testPartialAndQueryInvalidSummariesAreNotCached() {
+        SummaryCache cache = new SummaryCache(registry, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        Finding queryInvalid = new Finding(FailureCode.QUERY_INVALID, "Query invalid", "Bad selector", List.of(), List.of());
+        Supplier<DeploymentSummaryResponse> invalid = () -> {
+            loads.incrementAndGet();
+            return summary("0/0", queryInvalid, List.of());
+        };
+        cache.get(KEY, invalid, invalid);
+        cache.get(KEY, invalid, invalid);
+        assertEquals(2, loads.get(), "QUERY_INVALID is reloaded on every request");
+
+        Supplier<DeploymentSummaryResponse> partial = () -> {
+            loads.incrementAndGet();
+            return summary("1/1", null, List.of("events unavailable"));
+        };
+        cache.get(KEY, partial, partial);
+        cache.get(KEY, partial, partial);
+        assertEquals(4, loads.get(), "Partial summaries are reloaded");
+        assertEquals(0, cache.size());
+    }
+
+    private DeploymentSummaryResponse awaitValue(SummaryCache cache) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            DeploymentSummaryResponse served = cache.get(KEY, () -> fail("entry is cached"), () -> summary("1/1"));
+            if (!served.stale()) {
+                return served;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Background refresh did not land");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DeploymentSummaryResponse summary(String ready) {
+        return summary(ready, null, List.of());
+    }
+
+    private static DeploymentSummaryResponse summary(String ready, Finding primaryFailure, List<String> partial) {
+        return new DeploymentSummaryResponse(
+                null,
+                new Target("cart", "app=cart", null),
+                new Health(OverallStatus.PASS, ready, Map.of()),
+                primaryFailure == null ? List.of() : List.of(primaryFailure),
+                primaryFailure,
+                null,
+                null,
+                null,
+                new Objects(List.of(), List.of(), List.of(), List.of(), List.of(), List.of()),
+                partial,
+                false,
+                0L,
+                List.of(),
+                List.of(),
+                null
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.platformtriage.service;
+
+import com.example.platformtriage.model.dto.Health;
+import com.example.platformtriage.model.dto.Objects;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.OverallStatus;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Summary handles: issue and resolve, reuse for cache hits, expiry, and the least-recently-used cap.
+ */
+class SummaryHandleStoreTest {
+
+    private final SummaryHandleStore store = new SummaryHandleStore();
+
+    @Test
+    void testRegisterIssuesResolvableHandle() {
+        DeploymentSummaryResponse registered = store.register(summary("cart"));
+
+        assertNotNull(registered.summaryId());
+        assertSame(registered, store.get(registered.summaryId()));
+        assertSame(registered, store.get(" " + registered.summaryId() + " "));
+        assertNotEquals(registered.summaryId(), store.register(summary("cart", registered.timestamp().plusSeconds(1))).summaryId(),
+                "Every load gets its own handle");
+    }
+
+    @Test
+    void testSameSummaryServedAgainKeepsItsHandle() {
+        OffsetDateTime loadedAt = OffsetDateTime.now();
+        DeploymentSummaryResponse first = store.register(summary("cart", loadedAt));
+        DeploymentSummaryResponse again = store.register(summary("cart", loadedAt).withCacheState(true, 5_000));
+
+        assertEquals(first.summaryId(), again.summaryId());
+        assertEquals(1, store.size());
+        assertTrue(store.get(first.summaryId()).stale(), "Handle points at the latest served copy");
+        assertNotEquals(first.summaryId(), store.register(summary("orders", loadedAt)).summaryId());
+        assertNotEquals(first.summaryId(), store.register(summary("cart", loadedAt.plusSeconds(1))).summaryId());
+    }
+
+    @Test
+    void testSummaryCacheHitReturnsSameSummaryId() throws Exception {
+        try (FakeApiServer apiServer = new FakeApiServer()
+                .respond("/api/v1/namespaces/cart/pods", """
+                        {"kind":"PodList","apiVersion":"v1","metadata":{},"items":[]}
+                        """)) {
+            DeploymentDoctorService service = DeploymentDoctorServiceBudgetTest.service(apiServer);
+
+            String first = store.register(service.getSummary("cart", "app=cart", null, 50)).summaryId();
+            String second = store.register(service.getSummary("cart", "app=cart", null, 50)).summaryId();
+
+            assertEquals(first, second);
+            assertEquals(1, apiServer.hits("/api/v1/namespaces/cart/pods"), "Second call was a cache hit");
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void testExpiredHandleIsNotReused() {
+        OffsetDateTime loadedAt = OffsetDateTime.now();
+        DeploymentSummaryResponse first = store.register(summary("cart", loadedAt));
+
+        store.evictExpired(Instant.now().plus(Duration.ofMinutes(31)));
+
+        assertNotEquals(first.summaryId(), store.register(summary("cart", loadedAt)).summaryId());
+    }
+
+    @Test
+    void testUnknownOrExpiredHandleResolvesToNull() {
+        DeploymentSummaryResponse registered = store.register(summary("cart"));
+
+        assertNull(store.get(null));
+        assertNull(store.get(""));
+        assertNull(store.get("no-such-handle"));
+        assertNull(store.register(null));
+
+        store.evictExpired(Instant.now().plus(Duration.ofMinutes(20)));
+        assertNotNull(store.get(registered.summaryId()), "Still within the idle TTL");
+        store.evictExpired(Instant.now().plus(Duration.ofMinutes(31)));
+        assertNull(store.get(registered.summaryId()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedHandleIsDroppedAtCap() throws InterruptedException {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(store.register(summary("ns-" + i)).summaryId());
+        }
+        Thread.sleep(2);
+        assertNotNull(store.get(ids.get(0)), "Lookup refreshes the oldest handle");
+
+        store.register(summary("ns-500"));
+
+        assertEquals(500, store.size());
+        assertNotNull(store.get(ids.get(0)));
+        assertEquals(499, ids.stream().filter(id -> store.get(id) != null).count(), "One untouched handle dropped");
+    }
+
+    private static DeploymentSummaryResponse summary(String namespace) {
+        return summary(namespace, OffsetDateTime.now());
+    }
+
+    private static DeploymentSummaryResponse summary(String namespace, OffsetDateTime timestamp) {
+        return new DeploymentSummaryResponse(
+                timestamp,
+                new Target(namespace, "app=cart", null),
+                new Health(OverallStatus.PASS, "1/1", Map.of()),
+                List.of(),
+                null,
+                null,
+                null,
+                null,
+                new Objects(List.of(), List.of(), List.of(), List.of(), List.of(), List.of()),
+                List.of(),
+                false,
+                0L,
+                List.of(),
+                List.of(),
+                null
+        );
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.platformtriage.service.ai;
+
+import com.example.platformtriage.model.dto.Health;
+import com.example.platformtriage.model.dto.Objects;
+import com.example.platformtriage.model.dto.Target;
+import com.example.platformtriage.model.enums.OverallStatus;
+import com.example.platformtriage.model.request.AiTriageRequest;
+import com.example.platformtriage.model.response.AiTriageResponse;
+import com.example.platformtriage.model.response.DeploymentSummaryResponse;
+import com.example.platformtriage.service.AiTriageService;
+import com.example.platformtriage.service.SummaryHandleStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-part questions: planned skills run concurrently and come back as one merged answer;
+ * single-tool questions (the golden routing corpus) still run their one tool.
+ */
+class AiTriagePlanTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testRunsPlannedSkillsConcurrentlyAndMergesResults() {
+        // Each skill waits for the other to start: only passes when they run at the same time
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AiTriageService service = service(
+                skill(PlatformTriageTools.LIST_PODS, bothStarted, "api-2 crashlooping", "pods"),
+                skill(PlatformTriageTools.GET_POD_LOGS, bothStarted, "OOMKilled at 10:02", "logs"));
+
+        AiTriageResponse response = service.triage(new AiTriageRequest("deployment-doctor",
+                "show me the failing pods and their logs", null, null, null, null));
+
+        assertEquals(PlatformTriageTools.PLAN, response.executedTool());
+        assertEquals("tool", response.mode());
+        assertTrue(response.toolExecuted());
+        assertEquals(List.of("[list_pods] list_pods done", "api-2 crashlooping",
+                "[pod_logs] pod_logs done", "OOMKilled at 10:02"), response.keyFindings());
+        assertEquals(List.of("Open the pod"), response.nextSteps(), "Next steps de-duplicated");
+        assertEquals(List.of(
+                new AiTriageService.PlanStep(PlatformTriageTools.LIST_PODS, true, "pods"),
+                new AiTriageService.PlanStep(PlatformTriageTools.GET_POD_LOGS, true, "logs")
+        ), response.toolResult());
+    }
+
+    @Test
+    void testSingleToolQuestionIsNotPlanned() {
+        AiTriageService service = service(
+                skill(PlatformTriageTools.LIST_PODS, new CountDownLatch(0), "api-1 ready", "pods"),
+                skill(PlatformTriageTools.GET_POD_LOGS, new CountDownLatch(0), "no errors", "logs"));
+
+        AiTriageResponse response = service.triage(new AiTriageRequest("deployment-doctor",
+                "list pods", null, null, null, null));
+
+        assertEquals(PlatformTriageTools.LIST_PODS, response.executedTool());
+        assertEquals("pods", response.toolResult());
+    }
+
+    @Test
+    void testGoldenQuestionsRunTheirRoutedTool() throws IOException {
+        SummaryHandleStore summaryHandles = new SummaryHandleStore();
+        String summaryId = summaryHandles.register(summary()).summaryId();
+        List<PlatformTriageSkill> skills = new ArrayList<>();
+        for (String tool : List.of(PlatformTriageTools.LOAD_SUMMARY, PlatformTriageTools.SUMMARIZE,
+                PlatformTriageTools.LIST_PODS, PlatformTriageTools.GET_POD_LOGS, PlatformTriageTools.LIST_EVENTS,
+                PlatformTriageTools.LIST_SERVICES, PlatformTriageTools.CHECK_VERSIONS, PlatformTriageTools.TRACE_SEARCH,
+                PlatformTriageTools.PRIMARY_FAILURE, PlatformTriageTools.TOP_WARNING, PlatformTriageTools.FINDING_DETAILS)) {
+            skills.add(skill(tool, new CountDownLatch(0), tool, tool));
+        }
+        AiTriageService service = service(summaryHandles, skills.toArray(PlatformTriageSkill[]::new));
+
+        List<String> mismatches = new ArrayList<>();
+        for (String[] row : HeuristicIntentRouterTest.goldenRows()) {
+            String question = row[2];
+            String withoutSummary = service.triage(new AiTriageRequest("deployment-doctor",
+                    question, null, null, null, null)).executedTool();
+            String withSummary = service.triage(new AiTriageRequest("deployment-doctor",
+                    question, null, null, null, summaryId)).executedTool();
+            String expectedWithout = row[0].substring(0, row[0].indexOf('|'));
+            String expectedWith = row[1].substring(0, row[1].indexOf('|'));
+            if (!expectedWithout.equals(withoutSummary) || !expectedWith.equals(withSummary)) {
+                mismatches.add(question + " -> " + withoutSummary + " / " + withSummary
+                        + " (expected " + expectedWithout + " / " + expectedWith + ")");
+            }
+        }
+
+        assertEquals(List.of(), mismatches);
+    }
+
+    private PlatformTriageSkill skill(String tool, CountDownLatch started, String finding, Object result) {
+        return new PlatformTriageSkill() {
+            @Override
+            public PlatformTriageSkillMetadata metadata() {
+                return new PlatformTriageSkillMetadata(tool, tool, false);
+            }
+
+            @Override
+            public PlatformTriageSkillResult execute(PlatformTriageSkillContext context) throws Exception {
+                started.countDown();
+                if (!started.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Plan steps ran one after another");
+                }
+                return new PlatformTriageSkillResult("tool", tool + " done", List.of(finding),
+                        List.of("Open the pod"), List.of(), tool, true, result);
+            }
+        };
+    }
+
+    private AiTriageService service(PlatformTriageSkill... skills) {
+        return service(new SummaryHandleStore(), skills);
+    }
+
+    private AiTriageService service(SummaryHandleStore summaryHandles, PlatformTriageSkill... skills) {
+        // No OPENAI_API_KEY: routing is heuristic only
+        OpenAiIntentRouter openAiRouter = new OpenAiIntentRouter(objectMapper, new SimpleMeterRegistry(), key -> null);
+        return new AiTriageService(new HeuristicIntentRouter(), openAiRouter,
+                new PlatformTriageSkillRegistry(List.of(skills)), summaryHandles, objectMapper);
+    }
+
+    private static DeploymentSummaryResponse summary() {
+        return new DeploymentSummaryResponse(
+                OffsetDateTime.now(),
+                new Target("cart", "app=cart", null),
+                new Health(OverallStatus.PASS, "1/1", Map.of()),
+                List.of(),
+                null,
+                null,
+                null,
+                null,
+                new Objects(List.of(), List.of(), List.of(), List.of(), List.of(), List.of()),
+                List.of(),
+                false,
+                0L,
+                List.of(),
+                List.of(),
+                null
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.platformtriage.service.ai;
+
+import com.example.platformtriage.model.request.AiTriageRequest;
+import com.example.platformtriage.model.response.AiTriageResponse;
+import com.example.platformtriage.service.AiTriageService;
+import com.example.platformtriage.service.SummaryHandleStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Staged triage progress (streamed to the UI): intent, tool start, partial findings, answer.
+ */
+class AiTriageProgressTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testReportsStagesBeforeTheAnswer() {
+        List<String> events = new ArrayList<>();
+        AiTriageService service = service(new PlatformTriageSkill() {
+            @Override
+            public PlatformTriageSkillMetadata metadata() {
+                return new PlatformTriageSkillMetadata(PlatformTriageTools.LIST_PODS, "Pods in scope.", false);
+            }
+
+            @Override
+            public PlatformTriageSkillResult execute(PlatformTriageSkillContext context) {
+                return execute(context, PlatformTriageProgress.NONE);
+            }
+
+            @Override
+            public PlatformTriageSkillResult execute(PlatformTriageSkillContext context, PlatformTriageProgress progress) {
+                progress.finding("api-1 ready");
+                progress.finding("api-2 crashlooping");
+                events.add("skill done");
+                return new PlatformTriageSkillResult("tool", "2 pods.", List.of("api-1 ready", "api-2 crashlooping"),
+                        List.of(), List.of(), PlatformTriageTools.LIST_PODS, true, null);
+            }
+        });
+
+        AiTriageResponse response = service.triage(request("list pods"), new PlatformTriageProgress() {
+            @Override
+            public void intentResolved(AiIntent intent) {
+                events.add("intent " + intent.tool());
+            }
+
+            @Override
+            public void toolStarted(String tool) {
+                events.add("started " + tool);
+            }
+
+            @Override
+            public void finding(String finding) {
+                events.add("finding " + finding);
+            }
+        });
+
+        assertEquals(List.of("intent list_pods", "started list_pods", "finding api-1 ready",
+                "finding api-2 crashlooping", "skill done"), events);
+        assertEquals("2 pods.", response.answer());
+    }
+
+    @Test
+    void testUnroutedQuestionOnlyReportsIntent() {
+        List<String> events = new ArrayList<>();
+        AiTriageResponse response = service().triage(request("my logs"), new PlatformTriageProgress() {
+            @Override
+            public void intentResolved(AiIntent intent) {
+                events.add("intent " + intent.tool());
+            }
+
+            @Override
+            public void toolStarted(String tool) {
+                events.add("started " + tool);
+            }
+        });
+
+        assertEquals(List.of("intent chat"), events);
+        assertEquals("chat", response.mode());
+    }
+
+    private AiTriageService service(PlatformTriageSkill... skills) {
+        // No OPENAI_API_KEY: routing is heuristic only
+        OpenAiIntentRouter openAiRouter = new OpenAiIntentRouter(objectMapper, new SimpleMeterRegistry(), key -> null);
+        return new AiTriageService(new HeuristicIntentRouter(), openAiRouter,
+                new PlatformTriageSkillRegistry(List.of(skills)), new SummaryHandleStore(), objectMapper);
+    }
+
+    private AiTriageRequest request(String question) {
+        return new AiTriageRequest("deployment-doctor", question, null, null, null, null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.platformtriage.service.ai;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Routing cost per question over the golden corpus (normalize + keyword scan + rules).
+ *
+ * Run after mvn test-compile, from the IDE (main) or:
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main HeuristicIntentRouterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicIntentRouterBenchmark {
+
+    /** Questions per benchmark invocation: the golden corpus has more rows, it is cycled through. */
+    private static final int QUESTIONS = 128;
+
+    private final HeuristicIntentRouter router = new HeuristicIntentRouter();
+    private String[] questions;
+
+    @Setup
+    public void loadCorpus() throws IOException {
+        List<String> corpus = new ArrayList<>();
+        try (InputStream in = HeuristicIntentRouterBenchmark.class.getResourceAsStream("/ai/heuristic-intent-golden.tsv")) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    corpus.add(line.split("\t", 3)[2]);
+                }
+            }
+        }
+        questions = new String[QUESTIONS];
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions[i] = corpus.get(i % corpus.size());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUESTIONS)
+    public void routeQuestion(Blackhole blackhole) {
+        for (String question : questions) {
+            HeuristicIntentRouter.Scan scan = router.scan(HeuristicIntentRouter.normalize(question));
+            blackhole.consume(router.route(scan, true, Map::of));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HeuristicIntentRouterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
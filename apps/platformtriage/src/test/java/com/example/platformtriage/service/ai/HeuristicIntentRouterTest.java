@@ -0,0 +1,122 @@
+package com.example.platformtriage.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyword automaton routing: golden corpus of existing phrasings, whole-word cues, entity gates.
+ */
+class HeuristicIntentRouterTest {
+
+    private final HeuristicIntentRouter router = new HeuristicIntentRouter();
+
+    @Test
+    void testRoutesGoldenCorpusUnchanged() throws IOException {
+        List<String> mismatches = new ArrayList<>();
+        List<String[]> rows = goldenRows();
+        for (String[] row : rows) {
+            String question = row[2];
+            String withoutSummary = route(question, false);
+            String withSummary = route(question, true);
+            if (!row[0].equals(withoutSummary) || !row[1].equals(withSummary)) {
+                mismatches.add(question + " -> " + withoutSummary + " / " + withSummary
+                        + " (expected " + row[0] + " / " + row[1] + ")");
+            }
+        }
+
+        assertTrue(rows.size() > 100, "Corpus loaded");
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void testGoldenCorpusIsNotPlanned() throws IOException {
+        List<String> planned = new ArrayList<>();
+        for (String[] row : goldenRows()) {
+            for (boolean hasSummary : new boolean[] {false, true}) {
+                List<AiIntent> plan = router.plan(row[2], hasSummary, HashMap::new);
+                if (!plan.isEmpty()) {
+                    planned.add(row[2] + " -> " + plan.stream().map(AiIntent::tool).toList());
+                }
+            }
+        }
+
+        assertEquals(List.of(), planned, "Every golden row asks for one tool");
+    }
+
+    @Test
+    void testWholeWordCuesIgnoreLongerWords() {
+        HeuristicIntentRouter.Scan scan = router.scan(HeuristicIntentRouter.normalize("Show the catalog of podcasts"));
+
+        assertTrue(scan.has(HeuristicIntentRouter.Cue.LOG_MENTION), "Substring cue: 'catalog' contains 'log'");
+        assertFalse(scan.has(HeuristicIntentRouter.Cue.LOG_WORD));
+        assertFalse(scan.has(HeuristicIntentRouter.Cue.POD_WORD));
+        assertTrue(scan.has(HeuristicIntentRouter.Cue.LIST_VERB_WORD));
+        assertTrue(router.scan("pods\nlist").has(HeuristicIntentRouter.Cue.POD_WORD), "Newlines separate words");
+    }
+
+    @Test
+    void testExtractsEntitiesBehindTheirCues() {
+        HeuristicIntentRouter.Scan scan = router.scan(HeuristicIntentRouter.normalize(
+                "Check namespace payments, show the last twelve lines of logs and 5 events"));
+
+        assertEquals("payments", scan.entity(HeuristicIntentRouter.Entity.NAMESPACE));
+        assertEquals("12", scan.entity(HeuristicIntentRouter.Entity.LOG_LINES));
+        assertEquals("5", scan.entity(HeuristicIntentRouter.Entity.EVENT_COUNT));
+        assertNull(scan.entity(HeuristicIntentRouter.Entity.TRACE_ID));
+        assertTrue(scan.hasScopeHints());
+    }
+
+    @Test
+    void testPlansOneToolPerClause() {
+        List<AiIntent> plan = router.plan("Show me the failing pods, their logs and the db version", false,
+                () -> Map.of("namespace", "cart"));
+
+        assertEquals(List.of(PlatformTriageTools.LIST_PODS, PlatformTriageTools.GET_POD_LOGS, PlatformTriageTools.CHECK_VERSIONS),
+                plan.stream().map(AiIntent::tool).toList());
+        assertEquals("cart", plan.get(1).parameters().get("namespace"));
+
+        assertEquals(List.of(), router.plan("list pods", false, HashMap::new), "Single clause");
+        assertEquals(List.of(), router.plan("show pod logs and tail 20 lines of logs", false, HashMap::new),
+                "Clauses asking for the same tool");
+        assertEquals(List.of(), router.plan("check namespace cart and selector app=cart-app", false, HashMap::new),
+                "Scope spread over clauses is one summary load");
+        assertEquals(List.of(), router.plan("load summary and show logs", true, HashMap::new),
+                "The summary load runs before anything that reads it");
+    }
+
+    /**
+     * Golden corpus rows: route without a summary, route with one, question.
+     */
+    static List<String[]> goldenRows() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (InputStream in = HeuristicIntentRouterTest.class.getResourceAsStream("/ai/heuristic-intent-golden.tsv")) {
+            assertNotNull(in, "Golden corpus is on the test classpath");
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    rows.add(line.split("\t", 3));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private String route(String question, boolean hasSummary) {
+        HeuristicIntentRouter.Scan scan = router.scan(HeuristicIntentRouter.normalize(question));
+        AiIntent intent = router.route(scan, hasSummary, HashMap::new);
+        return intent.tool() + "|" + intent.confidence() + "|" + new TreeMap<>(intent.parameters());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.platformtriage.service.ai;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.platformtriage.service.AiTriageService;
+
+/**
+ * End-to-end triage per question against a local routing stand-in with 10 ms model latency,
+ * with the route cache disabled (LLM_ROUTE_CACHE_SIZE=0) and enabled.
+ *
+ * Run after mvn test-compile, from the IDE (main) or:
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main OpenAiIntentRouterCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenAiIntentRouterCacheBenchmark {
+
+    private static final Duration MODEL_LATENCY = Duration.ofMillis(10);
+
+    @Param({"0", "256"})
+    public String cacheSize;
+
+    private StubRoutingServer server;
+    private AiTriageService service;
+
+    @Setup
+    public void startServer() throws IOException {
+        server = StubRoutingServer.start(PlatformTriageTools.SUMMARIZE, 0.9d, MODEL_LATENCY);
+        service = OpenAiIntentRouterCacheTest.service(OpenAiIntentRouterCacheTest.router(server, cacheSize, "600"));
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(3)
+    public void triageQuestions(Blackhole blackhole) {
+        for (String question : OpenAiIntentRouterCacheTest.QUESTIONS) {
+            blackhole.consume(service.triage(OpenAiIntentRouterCacheTest.request(question)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OpenAiIntentRouterCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.platformtriage.service.ai;
+
+import com.example.platformtriage.model.request.AiTriageRequest;
+import com.example.platformtriage.service.AiTriageService;
+import com.example.platformtriage.service.SummaryHandleStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LLM route cache against a local routing stand-in: hits, expiry, model calls per triage round.
+ */
+class OpenAiIntentRouterCacheTest {
+
+    /** Questions cycled through by the triage test and {@link OpenAiIntentRouterCacheBenchmark}. */
+    static final List<String> QUESTIONS = List.of("which pods need a fix", "event code analysis", "my logs");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void testRepeatedQuestionsAreServedFromCache() throws IOException {
+        try (StubRoutingServer server = StubRoutingServer.start(PlatformTriageTools.LIST_PODS, 0.9d, Duration.ZERO)) {
+            OpenAiIntentRouter router = router(server, "16", "600");
+
+            Optional<AiIntent> first = router.route("Which pods need a fix?", "namespace=cart");
+            Optional<AiIntent> again = router.route("  which   PODS need a fix?", "namespace=cart");
+            Optional<AiIntent> otherContext = router.route("Which pods need a fix?", "namespace=payments");
+
+            assertEquals(PlatformTriageTools.LIST_PODS, first.orElseThrow().tool());
+            assertEquals(first, again);
+            assertTrue(otherContext.isPresent());
+            assertEquals(2, server.requests(), "Same question and hint routed once; another hint routed again");
+            assertEquals(1, router.routeCache().hits());
+            assertEquals(2, router.routeCache().size());
+        }
+    }
+
+    @Test
+    void testExpiredAndDisabledCacheRouteAgain() throws IOException, InterruptedException {
+        try (StubRoutingServer server = StubRoutingServer.start(PlatformTriageTools.LIST_EVENTS, 0.9d, Duration.ZERO)) {
+            OpenAiIntentRouter expiring = router(server, "16", "1");
+            expiring.route("event code analysis", null);
+            Thread.sleep(1_100);
+            expiring.route("event code analysis", null);
+            assertEquals(2, server.requests(), "Expired answer is routed again");
+
+            OpenAiIntentRouter uncached = router(server, "0", "600");
+            uncached.route("event code analysis", null);
+            uncached.route("event code analysis", null);
+            assertEquals(4, server.requests(), "LLM_ROUTE_CACHE_SIZE=0 disables caching");
+            assertEquals(0, uncached.routeCache().size());
+        }
+    }
+
+    @Test
+    void testEndToEndTriageReachesModelOncePerQuestionWithCache() throws IOException {
+        int rounds = 5;
+
+        try (StubRoutingServer server = StubRoutingServer.start(PlatformTriageTools.SUMMARIZE, 0.9d, Duration.ZERO)) {
+            triageAll(service(router(server, "0", "600")), rounds);
+            int uncachedCalls = server.requests();
+
+            triageAll(service(router(server, "256", "600")), rounds);
+            int cachedCalls = server.requests() - uncachedCalls;
+
+            assertEquals(QUESTIONS.size() * rounds, uncachedCalls);
+            assertEquals(QUESTIONS.size(), cachedCalls, "Only the first round reaches the model");
+        }
+    }
+
+    static OpenAiIntentRouter router(StubRoutingServer server, String cacheSize, String ttlSeconds) {
+        Map<String, String> environment = Map.of(
+                "OPENAI_API_KEY", "test-key",
+                "OPENAI_BASE_URL", server.baseUrl(),
+                "LLM_ROUTE_CACHE_SIZE", cacheSize,
+                "LLM_ROUTE_CACHE_TTL_SECONDS", ttlSeconds);
+        return new OpenAiIntentRouter(OBJECT_MAPPER, new SimpleMeterRegistry(), environment::get);
+    }
+
+    static AiTriageService service(OpenAiIntentRouter router) {
+        return new AiTriageService(new HeuristicIntentRouter(), router,
+                new PlatformTriageSkillRegistry(List.of()), new SummaryHandleStore(), OBJECT_MAPPER);
+    }
+
+    static AiTriageRequest request(String question) {
+        return new AiTriageRequest("chat", question, null, null, null, null);
+    }
+
+    private void triageAll(AiTriageService service, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (String question : QUESTIONS) {
+                assertNotNull(service.triage(request(question)));
+            }
+        }
+    }
+}
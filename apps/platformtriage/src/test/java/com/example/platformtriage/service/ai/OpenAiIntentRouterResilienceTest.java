@@ -0,0 +1,111 @@
+package com.example.platformtriage.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LLM client behaviour behind the router: circuit breaker, hedging, concurrency cap, bounded wait, metrics.
+ */
+class OpenAiIntentRouterResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testCircuitOpensAfterFailuresAndClosesAfterTrial() throws IOException, InterruptedException {
+        try (StubRoutingServer server = StubRoutingServer.start(PlatformTriageTools.LIST_PODS, 0.9d, Duration.ZERO)) {
+            OpenAiIntentRouter router = router(server, Map.of(
+                    "LLM_BREAKER_FAILURES", "3",
+                    "LLM_BREAKER_OPEN_SECONDS", "1"));
+            server.respondWith(500);
+            for (int i = 0; i < 3; i++) {
+                assertTrue(router.route("which pods need a fix", null).isEmpty());
+            }
+            assertTrue(router.llmClient().isCircuitOpen());
+
+            long start = System.nanoTime();
+            assertTrue(router.route("which pods need a fix", null).isEmpty());
+            assertTrue(System.nanoTime() - start < Duration.ofMillis(50).toNanos(), "Open circuit answers without waiting");
+            assertEquals(3, server.requests(), "Open circuit never reaches the endpoint");
+
+            Thread.sleep(1_100);
+            server.respondWith(200);
+            assertEquals(PlatformTriageTools.LIST_PODS, router.route("which pods need a fix", null).orElseThrow().tool());
+            assertFalse(router.llmClient().isCircuitOpen(), "Successful trial closes the circuit");
+            assertEquals(3.0d, meterRegistry.counter("llm.client.requests",
+                    "client", "platformtriage", "model", "gpt-4.1-mini", "outcome", "failure").count());
+            assertEquals(1.0d, meterRegistry.counter("llm.client.requests",
+                    "client", "platformtriage", "model", "gpt-4.1-mini", "outcome", "short_circuited").count());
+        }
+    }
+
+    @Test
+    void testSlowCallIsHedgedAfterP95() throws IOException {
+        try (StubRoutingServer server = StubRoutingServer.start(PlatformTriageTools.LIST_EVENTS, 0.9d, Duration.ZERO)) {
+            OpenAiIntentRouter router = router(server, Map.of("LLM_HEDGE_MIN_DELAY_MS", "100"));
+            for (int i = 0; i < 25; i++) {
+                assertTrue(router.route("event code analysis", null).isPresent());
+            }
+            int warmup = server.requests();
+
+            server.delayNext(Duration.ofSeconds(3));
+            long start = System.nanoTime();
+            Optional<AiIntent> intent = router.route("event code analysis", null);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertEquals(PlatformTriageTools.LIST_EVENTS, intent.orElseThrow().tool());
+            assertTrue(elapsedMillis < 2_000, "Hedge answered first (" + elapsedMillis + " ms)");
+            assertEquals(warmup + 2, server.requests());
+            assertEquals(1.0d, meterRegistry.counter("llm.client.hedges",
+                    "client", "platformtriage", "model", "gpt-4.1-mini").count());
+        }
+    }
+
+    @Test
+    void testCallsBeyondConcurrencyCapFallBackImmediately() throws IOException {
+        try (StubRoutingServer server = StubRoutingServer.start(PlatformTriageTools.LIST_PODS, 0.9d, Duration.ofMillis(500))) {
+            OpenAiIntentRouter router = router(server, Map.of("LLM_MAX_CONCURRENT", "1"));
+            CompletableFuture<Optional<AiIntent>> first = CompletableFuture.supplyAsync(() -> router.route("which pods need a fix", null));
+            while (server.requests() == 0) {
+                Thread.onSpinWait();
+            }
+
+            long start = System.nanoTime();
+            assertTrue(router.route("event code analysis", null).isEmpty());
+            assertTrue(System.nanoTime() - start < Duration.ofMillis(250).toNanos(), "Capped call does not queue");
+            assertTrue(first.join().isPresent());
+            assertEquals(1, server.requests());
+        }
+    }
+
+    @Test
+    void testSlowModelIsNotWaitedForBeyondMaxWait() throws IOException {
+        try (StubRoutingServer server = StubRoutingServer.start(PlatformTriageTools.LIST_PODS, 0.9d, Duration.ofSeconds(2))) {
+            OpenAiIntentRouter router = router(server, Map.of("LLM_MAX_WAIT_MS", "200"));
+
+            long start = System.nanoTime();
+            assertTrue(router.route("which pods need a fix", null).isEmpty());
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertTrue(elapsedMillis < 1_000, "Gave up after the max wait (" + elapsedMillis + " ms)");
+            assertEquals(1, server.requests());
+        }
+    }
+
+    private OpenAiIntentRouter router(StubRoutingServer server, Map<String, String> settings) {
+        Map<String, String> environment = new HashMap<>(settings);
+        environment.put("OPENAI_API_KEY", "test-key");
+        environment.put("OPENAI_BASE_URL", server.baseUrl());
+        environment.put("LLM_ROUTE_CACHE_SIZE", "0");
+        return new OpenAiIntentRouter(new ObjectMapper(), meterRegistry, environment::get);
+    }
+}
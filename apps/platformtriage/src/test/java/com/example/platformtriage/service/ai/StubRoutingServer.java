@@ -0,0 +1,105 @@
+package com.example.platformtriage.service.ai;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local stand-in for the OpenAI chat completions endpoint, so routing runs offline.
+ *
+ * Answers every POST /chat/completions with the same routing JSON after a fixed delay
+ * (roughly what a hosted model costs per call) and counts the calls it served. Tests can
+ * switch it to an error status or make just the next call slow. Requests are served
+ * concurrently, like a real endpoint.
+ */
+final class StubRoutingServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicReference<Duration> nextLatency = new AtomicReference<>();
+    private volatile int status = 200;
+
+    private StubRoutingServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Start on a free loopback port, answering with the given tool and confidence.
+     */
+    static StubRoutingServer start(String tool, double confidence, Duration latency) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        StubRoutingServer stub = new StubRoutingServer(server);
+        String routed = "{\\\"tool\\\":\\\"%s\\\",\\\"confidence\\\":%s,\\\"params\\\":{}}".formatted(tool, confidence);
+        byte[] body = ("{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"" + routed + "\"}}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        server.createContext("/chat/completions", exchange -> {
+            try (InputStream in = exchange.getRequestBody(); OutputStream out = exchange.getResponseBody()) {
+                in.readAllBytes();
+                stub.requests.incrementAndGet();
+                Duration once = stub.nextLatency.getAndSet(null);
+                sleep(once != null ? once : latency);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                if (stub.status != 200) {
+                    exchange.sendResponseHeaders(stub.status, -1);
+                    return;
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                out.write(body);
+            }
+        });
+        server.setExecutor(stub.executor);
+        server.start();
+        return stub;
+    }
+
+    /**
+     * Base URL to use as OPENAI_BASE_URL.
+     */
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    /**
+     * Answer every following call with this status (an error status sends no body).
+     */
+    void respondWith(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Make only the next call take this long.
+     */
+    void delayNext(Duration latency) {
+        nextLatency.set(latency);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void sleep(Duration latency) {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.platformtriage.service.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Segment file format, index rebuild on open, and compaction racing with queries.
+ */
+class EventSegmentTest {
+
+    private static final Instant START = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant END = START.plusSeconds(3600);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRoundTripAndIndexedQueries() throws IOException {
+        EventSegment segment = open();
+        ArchivedEvent backOff = event("uid-1", "1", "BackOff", "cart-a", 60, 3);
+        ArchivedEvent unicode = new ArchivedEvent("uid-2", null, "cart", "Normal", "Pulled", "Image \"cart:1.2\" pulled — 3.1s",
+                "Pod", "cart-b", START.plusSeconds(120), 1);
+        segment.append(backOff);
+        segment.append(unicode);
+
+        assertEquals(List.of(backOff, unicode), segment.query(Instant.EPOCH, Instant.MAX, null, null),
+                "Nulls, non-ASCII text, timestamps and counts survive the encoding");
+        assertEquals(List.of(unicode), segment.query(Instant.EPOCH, Instant.MAX, Set.of("Pod/cart-b"), null));
+        assertEquals(List.of(backOff), segment.query(Instant.EPOCH, Instant.MAX, null, Set.of("BackOff")));
+        assertEquals(List.of(backOff), segment.query(START, START.plusSeconds(120), null, null), "'to' is exclusive");
+        assertTrue(segment.query(Instant.EPOCH, Instant.MAX, Set.of("Pod/cart-a"), Set.of("Pulled")).isEmpty());
+    }
+
+    @Test
+    void testReopenRebuildsIndexAndDropsTornTail() throws IOException {
+        EventSegment segment = open();
+        segment.append(event("uid-1", "1", "BackOff", "cart-a", 60, 1));
+        segment.append(event("uid-2", "1", "Unhealthy", "cart-b", 90, 1));
+        segment.closeWriter();
+        long complete = Files.size(segment.path());
+        try (FileChannel channel = FileChannel.open(segment.path(), StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2})); // Crash mid-append
+        }
+
+        EventSegment reopened = open();
+
+        assertEquals(2, reopened.recordCount());
+        assertEquals(complete, reopened.sizeBytes());
+        assertEquals(complete, Files.size(segment.path()), "Torn tail is truncated");
+        assertEquals("uid-2", reopened.query(Instant.EPOCH, Instant.MAX, Set.of("Pod/cart-b"), null).get(0).uid());
+        reopened.append(event("uid-3", "1", "Killing", "cart-a", 120, 1));
+        assertEquals(3, open().recordCount(), "Appends continue after the last complete record");
+    }
+
+    @Test
+    void testCompactKeepsNewestOccurrence() throws IOException {
+        EventSegment segment = open();
+        for (int i = 1; i <= 5; i++) {
+            segment.append(event("uid-1", "" + i, "BackOff", "cart-a", i, i));
+        }
+        segment.append(event("uid-2", "1", "Unhealthy", "cart-b", 10, 1));
+        long before = segment.sizeBytes();
+
+        long reclaimed = segment.compact();
+
+        assertEquals(before - segment.sizeBytes(), reclaimed);
+        assertTrue(reclaimed > 0);
+        List<ArchivedEvent> events = segment.query(Instant.EPOCH, Instant.MAX, null, null);
+        assertEquals(List.of("5", "1"), events.stream().map(ArchivedEvent::resourceVersion).toList());
+        assertEquals(0L, segment.compact(), "Nothing left to reclaim");
+    }
+
+    @Test
+    void testCompactWhileQuerying() throws Exception {
+        EventSegment segment = open();
+        for (int i = 0; i < 2000; i++) {
+            segment.append(event("uid-" + (i % 50), "" + i, "BackOff", "cart-" + (i % 50), i % 3600, i));
+        }
+
+        AtomicBoolean compacting = new AtomicBoolean(true);
+        try (ExecutorService executor = Executors.newFixedThreadPool(5)) {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(executor.submit(() -> {
+                    int queries = 0;
+                    while (compacting.get()) {
+                        for (ArchivedEvent event : segment.query(Instant.EPOCH, Instant.MAX, null, Set.of("BackOff"))) {
+                            assertEquals("Pod/" + event.uid().replace("uid", "cart"), event.objectKey());
+                            assertEquals("Back-off restarting " + event.involvedObjectName(), event.message());
+                        }
+                        queries++;
+                    }
+                    return queries;
+                }));
+            }
+            for (int round = 0; round < 200; round++) {
+                for (int i = 0; i < 50; i++) {
+                    segment.append(event("uid-" + i, "r" + round, "BackOff", "cart-" + i, i, round));
+                }
+                segment.compact();
+            }
+            compacting.set(false);
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+            }
+        }
+
+        List<ArchivedEvent> events = segment.query(Instant.EPOCH, Instant.MAX, null, null);
+        assertEquals(50, events.size());
+        assertTrue(events.stream().allMatch(e -> e.resourceVersion().equals("r199")));
+    }
+
+    private EventSegment open() throws IOException {
+        return EventSegment.open(dir.resolve("cart").resolve("2024-05-01T10.seg"), "cart", START, END);
+    }
+
+    private static ArchivedEvent event(String uid, String resourceVersion, String reason, String pod, int second, int count) {
+        return new ArchivedEvent(uid, resourceVersion, "cart", "Warning", reason, "Back-off restarting " + pod,
+                "Pod", pod, START.plusSeconds(second), count);
+    }
+}
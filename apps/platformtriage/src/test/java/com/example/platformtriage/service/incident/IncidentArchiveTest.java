@@ -0,0 +1,197 @@
+package com.example.platformtriage.service.incident;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Incident archive: parallel fetches streamed into a zip within per-entry and total byte budgets.
+ */
+class IncidentArchiveTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testStreamsEntriesAndManifest() throws Exception {
+        IncidentArchive archive = new IncidentArchive(Map.of("namespace", "cart"), List.of(
+                IncidentArchive.Entry.json("summary.json", 1024, () -> Map.of("overall", "FAIL")),
+                IncidentArchive.Entry.tail("logs/cart-0/app.log", 1024, (out, mapper) -> out.write(lines(3))),
+                IncidentArchive.Entry.head("deployments/cart.yaml", 1024, (out, mapper) -> {
+                    throw new IOException("HTTP 403");
+                })
+        ), List.of("2 more pods not included"), 1 << 20, 2);
+
+        Map<String, String> zip = unzip(write(archive));
+
+        assertEquals("line 0\nline 1\nline 2\n", zip.get("logs/cart-0/app.log"));
+        assertEquals("FAIL", objectMapper.readTree(zip.get("summary.json")).get("overall").asText());
+        assertFalse(zip.containsKey("deployments/cart.yaml"), "Failed fetch has no entry");
+
+        JsonNode manifest = objectMapper.readTree(zip.get(IncidentArchive.MANIFEST));
+        assertEquals("cart", manifest.at("/scope/namespace").asText());
+        assertEquals(3, manifest.get("entries").size());
+        assertEquals("2 more pods not included", manifest.at("/notes/0").asText());
+        assertEquals("HTTP 403", entry(manifest, "deployments/cart.yaml").get("error").asText());
+    }
+
+    @Test
+    void testKeepsNewestLogBytesAndCutsDocumentsAtBudget() throws Exception {
+        AtomicInteger documentBytesWritten = new AtomicInteger();
+        IncidentArchive archive = new IncidentArchive(Map.of(), List.of(
+                IncidentArchive.Entry.tail("logs/cart-0/app.log", 36, (out, mapper) -> {
+                    for (byte b : lines(100)) {
+                        out.write(b);
+                    }
+                }),
+                IncidentArchive.Entry.head("events.json", 100, (out, mapper) -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        out.write(new byte[10]);
+                        documentBytesWritten.addAndGet(10);
+                    }
+                })
+        ), List.of(), 1 << 20, 2);
+
+        Map<String, String> zip = unzip(write(archive));
+
+        assertEquals("line 96\nline 97\nline 98\nline 99\n", zip.get("logs/cart-0/app.log"), "Newest whole lines kept");
+        assertEquals(100, zip.get("events.json").length());
+        assertTrue(documentBytesWritten.get() <= 110, "Full budget stops the fetch: " + documentBytesWritten.get());
+        JsonNode manifest = objectMapper.readTree(zip.get(IncidentArchive.MANIFEST));
+        assertTrue(entry(manifest, "logs/cart-0/app.log").get("truncated").asBoolean());
+        assertTrue(entry(manifest, "events.json").get("truncated").asBoolean());
+        assertTrue(entry(manifest, "events.json").get("error").isNull(), "Budget cut is not an error");
+    }
+
+    @Test
+    void testTotalCapCutsThenSkips() throws Exception {
+        List<IncidentArchive.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entries.add(IncidentArchive.Entry.head("logs/pod-" + i + ".log", 1000, (out, mapper) -> out.write(new byte[400])));
+        }
+        IncidentArchive archive = new IncidentArchive(Map.of(), entries, List.of(), 1000, 1);
+
+        Map<String, String> zip = unzip(write(archive));
+
+        JsonNode manifest = objectMapper.readTree(zip.get(IncidentArchive.MANIFEST));
+        assertEquals(1000, manifest.get("bytes").asLong());
+        assertEquals(400, zip.get("logs/pod-1.log").length());
+        assertEquals(200, zip.get("logs/pod-2.log").length());
+        assertTrue(entry(manifest, "logs/pod-2.log").get("truncated").asBoolean());
+        assertFalse(zip.containsKey("logs/pod-3.log"));
+        assertTrue(entry(manifest, "logs/pod-4.log").get("error").asText().contains("size cap"));
+    }
+
+    @Test
+    void testReachedCapCancelsInFlightFetchesAndFetchesNoMore() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger laterFetches = new AtomicInteger();
+        List<IncidentArchive.Entry> entries = new ArrayList<>();
+        // Fills the cap only once the slow fetch is running
+        entries.add(IncidentArchive.Entry.head("events.json", 1000, (out, mapper) -> {
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+            out.write(new byte[200]);
+        }));
+        entries.add(IncidentArchive.Entry.tail("logs/slow.log", 1000, (out, mapper) -> {
+            slowStarted.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                throw e;
+            }
+        }));
+        for (int i = 0; i < 5; i++) {
+            entries.add(IncidentArchive.Entry.tail("logs/pod-" + i + ".log", 1000, (out, mapper) -> {
+                laterFetches.incrementAndGet();
+                out.write('x');
+            }));
+        }
+        IncidentArchive archive = new IncidentArchive(Map.of(), entries, List.of(), 100, 2);
+
+        Map<String, String> zip = unzip(write(archive));
+
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "In-flight fetch cancelled");
+        assertEquals(0, laterFetches.get(), "Nothing fetched once the cap is reached");
+        JsonNode manifest = objectMapper.readTree(zip.get(IncidentArchive.MANIFEST));
+        assertEquals(100, manifest.get("bytes").asLong());
+        assertEquals(7, manifest.get("entries").size(), "Skipped entries are still listed");
+        assertTrue(entry(manifest, "logs/slow.log").get("error").asText().contains("size cap"));
+        assertTrue(entry(manifest, "logs/pod-4.log").get("error").asText().contains("size cap"));
+    }
+
+    @Test
+    void testFetchesRunConcurrentlyWithinLimit() throws Exception {
+        // Each fetch waits for a second one to start: only completes when two run at the same time
+        CountDownLatch pairs = new CountDownLatch(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<IncidentArchive.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            entries.add(IncidentArchive.Entry.head("e" + i, 100, (out, mapper) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                pairs.countDown();
+                assertTrue(pairs.await(5, TimeUnit.SECONDS));
+                Thread.sleep(10);
+                running.decrementAndGet();
+                out.write('x');
+            }));
+        }
+        IncidentArchive archive = new IncidentArchive(Map.of(), entries, List.of(), 1 << 20, 3);
+
+        Map<String, String> zip = unzip(write(archive));
+
+        assertEquals(9, zip.size());
+        assertTrue(maxRunning.get() >= 2 && maxRunning.get() <= 3, "Fetches in flight: " + maxRunning.get());
+    }
+
+    private byte[] write(IncidentArchive archive) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archive.writeTo(out, objectMapper);
+        return out.toByteArray();
+    }
+
+    private Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private JsonNode entry(JsonNode manifest, String name) {
+        for (JsonNode entry : manifest.get("entries")) {
+            if (name.equals(entry.get("name").asText())) {
+                return entry;
+            }
+        }
+        throw new AssertionError("No manifest entry " + name);
+    }
+
+    private byte[] lines(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("line ").append(i).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
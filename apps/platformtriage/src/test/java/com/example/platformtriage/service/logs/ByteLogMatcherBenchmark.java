@@ -0,0 +1,68 @@
+package com.example.platformtriage.service.logs;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Trace search over 100 pods x 1000 log lines: byte-level scan versus the previous
+ * decode + lowercase + contains per line.
+ *
+ * Run after mvn test-compile, from the IDE (main) or:
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main ByteLogMatcherBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteLogMatcherBenchmark {
+
+    private List<byte[]> pods;
+    private ByteLogMatcher matcher;
+
+    @Setup
+    public void generateLogs() {
+        pods = ByteLogMatcherTest.podLogs(100, 1_000, 7L);
+        matcher = ByteLogMatcher.compile(List.of(ByteLogMatcherTest.TRACE_TERM), null);
+    }
+
+    @Benchmark
+    public void byteScan(Blackhole blackhole) throws IOException {
+        for (byte[] pod : pods) {
+            blackhole.consume(matcher.scan(new ByteArrayInputStream(pod), blackhole::consume));
+        }
+    }
+
+    @Benchmark
+    public void decodeLowercaseContains(Blackhole blackhole) {
+        for (byte[] pod : pods) {
+            new String(pod, StandardCharsets.UTF_8).lines()
+                    .filter(line -> line.toLowerCase(Locale.ROOT).contains(ByteLogMatcherTest.TRACE_TERM))
+                    .forEach(blackhole::consume);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ByteLogMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.platformtriage.service.logs;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Byte-level trace search: multiple terms, ASCII case folding, regex filter, line splitting,
+ * and agreement with decode + lowercase + contains (timing: {@link ByteLogMatcherBenchmark}).
+ */
+class ByteLogMatcherTest {
+
+    static final String TRACE_TERM = "traceid=4bf92f3577b34da6";
+
+    @Test
+    void testMatchesAnyTermIgnoringAsciiCase() throws IOException {
+        ByteLogMatcher matcher = ByteLogMatcher.compile(List.of("4bf92f3577b34da6", "span=00F067AA", "X-Request-Id: r-42"), null);
+
+        List<String> matched = scan(matcher, String.join("\n",
+                "GET /cart traceparent=00-4BF92F3577B34DA6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+                "calling payments span=00f067aa0ba902b7",
+                "x-request-id: R-42 accepted",
+                "unrelated line",
+                "x-request-id: r-43 accepted"));
+
+        assertEquals(3, matched.size());
+        assertTrue(matched.get(0).startsWith("GET /cart"), "Original casing is returned");
+    }
+
+    @Test
+    void testRegexOnlyFiltersLinesWithATerm() throws IOException {
+        ByteLogMatcher matcher = ByteLogMatcher.compile(List.of("trace=abc"), "^\\S+ (ERROR|WARN) ");
+
+        List<String> matched = scan(matcher, String.join("\n",
+                "2024-05-01T10:00:00Z ERROR payment failed trace=abc",
+                "2024-05-01T10:00:01Z INFO payment retried trace=abc",
+                "2024-05-01T10:00:02Z ERROR unrelated trace=xyz"));
+
+        assertEquals(List.of("2024-05-01T10:00:00Z ERROR payment failed trace=abc"), matched);
+
+        ByteLogMatcher regexOnly = ByteLogMatcher.compile(List.of(), "ERROR .* trace=\\w+");
+        assertEquals(2, scan(regexOnly, "a ERROR x trace=abc\nb INFO x trace=abc\nc ERROR y trace=xyz").size());
+
+        assertThrows(IllegalArgumentException.class, () -> ByteLogMatcher.compile(List.of(" "), null));
+        assertThrows(IllegalArgumentException.class, () -> ByteLogMatcher.compile(List.of("a"), "(unclosed"));
+    }
+
+    @Test
+    void testSplitsLinesAcrossReadsAndKeepsUtf8() throws IOException {
+        ByteLogMatcher matcher = ByteLogMatcher.compile(List.of("needle", "Zürich"), null);
+        String longLine = "x".repeat(200_000) + " NEEDLE " + "y".repeat(100_000);
+        String log = "first needle\r\n" + longLine + "\nno match\nrequest from Zürich ✓\nlast needle";
+
+        List<String> matched = new ArrayList<>();
+        long count = matcher.scan(new OneByteAtATimeWhenSmall(log.getBytes(StandardCharsets.UTF_8)), matched::add);
+
+        assertEquals(4, count);
+        assertEquals(List.of("first needle", longLine, "request from Zürich ✓", "last needle"), matched);
+    }
+
+    @Test
+    void testByteScanMatchesLowercaseContainsOn100Pods() throws IOException {
+        List<byte[]> pods = podLogs(100, 1_000, 7L);
+        ByteLogMatcher matcher = ByteLogMatcher.compile(List.of(TRACE_TERM), null);
+
+        int decodeMatches = 0;
+        List<String> matched = new ArrayList<>();
+        for (byte[] pod : pods) {
+            decodeMatches += (int) new String(pod, StandardCharsets.UTF_8).lines()
+                    .filter(line -> line.toLowerCase(Locale.ROOT).contains(TRACE_TERM))
+                    .count();
+            matcher.scan(new ByteArrayInputStream(pod), matched::add);
+        }
+
+        assertTrue(decodeMatches > 0, "Generated logs contain the trace");
+        assertEquals(decodeMatches, matched.size());
+    }
+
+    /**
+     * Access-log style pod logs; about one line in 5000 carries {@link #TRACE_TERM} in upper case.
+     */
+    static List<byte[]> podLogs(int podCount, int linesPerPod, long seed) {
+        Random random = new Random(seed);
+        List<byte[]> pods = new ArrayList<>();
+        for (int pod = 0; pod < podCount; pod++) {
+            StringBuilder log = new StringBuilder();
+            for (int line = 0; line < linesPerPod; line++) {
+                log.append("2024-05-01T10:").append(line % 60).append(":00.123Z INFO [http-nio-8080-exec-")
+                        .append(random.nextInt(200)).append("] c.e.cart.CartController - GET /api/cart/")
+                        .append(random.nextInt(100_000)).append(" status=200 traceId=")
+                        .append(Long.toHexString(random.nextLong()))
+                        .append(random.nextInt(5_000) == 0 ? " TRACEID=4BF92F3577B34DA6" : "")
+                        .append('\n');
+            }
+            pods.add(log.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return pods;
+    }
+
+    private static List<String> scan(ByteLogMatcher matcher, String log) throws IOException {
+        List<String> matched = new ArrayList<>();
+        matcher.scan(new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)), matched::add);
+        return matched;
+    }
+
+    /**
+     * Short reads at the start, so lines and multi-byte characters straddle read boundaries.
+     */
+    private static final class OneByteAtATimeWhenSmall extends InputStream {
+        private final byte[] data;
+        private int position;
+
+        OneByteAtATimeWhenSmall(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            return position < data.length ? data[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= data.length) {
+                return -1;
+            }
+            int count = Math.min(position < 64 ? 1 : 10_000, Math.min(length, data.length - position));
+            System.arraycopy(data, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
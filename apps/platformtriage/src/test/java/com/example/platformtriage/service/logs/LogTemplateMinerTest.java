@@ -0,0 +1,74 @@
+package com.example.platformtriage.service.logs;
+
+import com.example.platformtriage.model.dto.LogTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drain-style template mining: variable tokens collapse to wildcards, error templates rank first.
+ */
+class LogTemplateMinerTest {
+
+    @Test
+    void testClustersVariableTokensIntoOneTemplate() {
+        LogTemplateMiner miner = new LogTemplateMiner();
+        for (int i = 0; i < 1_000; i++) {
+            miner.add("2024-05-01T10:00:" + (i % 60) + "Z ERROR Connection to db-" + (i % 3) + ":5432 refused after " + i + "ms");
+            miner.add("2024-05-01T10:00:" + (i % 60) + "Z INFO GET /cart/" + i + " 200 in " + (i % 17) + "ms");
+            if (i % 10 == 0) {
+                miner.add("2024-05-01T10:00:" + (i % 60) + "Z ERROR Payment gateway timeout for order " + i);
+            }
+        }
+
+        assertEquals(2_100, miner.lines());
+        assertEquals(1_100, miner.errorLines());
+        assertEquals(3, miner.templateCount());
+
+        List<LogTemplate> errors = miner.topErrors(10);
+        assertEquals(2, errors.size());
+        assertEquals("<*> ERROR Connection to <*> refused after <*>", errors.get(0).template());
+        assertEquals(1_000, errors.get(0).errorCount());
+        assertEquals("<*> ERROR Payment gateway timeout for order <*>", errors.get(1).template());
+        assertEquals(100, errors.get(1).count());
+        assertEquals(3, errors.get(0).examples().size());
+    }
+
+    @Test
+    void testRecognizesErrorMarkers() {
+        LogTemplateMiner miner = new LogTemplateMiner();
+        miner.add("java.lang.NullPointerException: cart is null");
+        miner.add("{\"level\":\"error\",\"msg\":\"db down\"}");
+        miner.add("level=error msg=\"db down\"");
+        miner.add("panic: runtime error: index out of range");
+        miner.add("processed 0 errors");
+        miner.add("terror alert cleared");
+
+        assertEquals(6, miner.lines());
+        assertEquals(4, miner.errorLines());
+    }
+
+    @Test
+    void testStopsCreatingTemplatesAtTheLimit() {
+        LogTemplateMiner miner = new LogTemplateMiner();
+        for (int i = 0; i < 5_000; i++) {
+            // No token shared with any other line: every line would start a template
+            miner.add(word(3 * i) + " " + word(3 * i + 1) + " " + word(3 * i + 2));
+        }
+
+        assertEquals(5_000, miner.lines());
+        assertEquals(2_000, miner.templateCount());
+        assertEquals(3_000, miner.unclustered());
+    }
+
+    private static String word(int n) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return word.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.platformtriage.service.logs;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Merged log timeline: ordering across sources, continuation lines, unavailable sources.
+ */
+class LogTimelineTest {
+
+    @Test
+    void testInterleavesSourcesByTimestamp() throws IOException {
+        LogTimeline timeline = new LogTimeline(List.of(
+                source("api-1", "2024-05-01T10:00:00.100000000Z GET /cart trace=abc\n"
+                        + "2024-05-01T10:00:00.400000000Z 200 /cart trace=abc\n"),
+                source("api-2", "2024-05-01T10:00:00.200000000Z calling payments trace=abc\n"
+                        + "2024-05-01T10:00:00.300000000Z payments ok trace=abc\n"
+                        + "2024-05-01T10:00:00.500000000Z idle\n")
+        ), 0);
+
+        List<String> lines = write(timeline);
+
+        assertEquals(List.of(
+                "2024-05-01T10:00:00.100000000Z [api-1/app] GET /cart trace=abc",
+                "2024-05-01T10:00:00.200000000Z [api-2/app] calling payments trace=abc",
+                "2024-05-01T10:00:00.300000000Z [api-2/app] payments ok trace=abc",
+                "2024-05-01T10:00:00.400000000Z [api-1/app] 200 /cart trace=abc",
+                "2024-05-01T10:00:00.500000000Z [api-2/app] idle"
+        ), lines);
+    }
+
+    @Test
+    void testKeepsSourceOrderOnTiesAndContinuationLines() throws IOException {
+        LogTimeline timeline = new LogTimeline(List.of(
+                source("a", "2024-05-01T10:00:01Z boom\n"
+                        + "\tat com.example.Cart.checkout(Cart.java:42)\n"
+                        + "2024-05-01T10:00:03Z recovered\n"),
+                source("b", "2024-05-01T10:00:01Z same instant\n"
+                        + "2024-05-01T10:00:02Z later\n")
+        ), 0);
+
+        List<String> lines = write(timeline);
+
+        assertEquals(List.of(
+                "2024-05-01T10:00:01Z [a/app] boom",
+                "2024-05-01T10:00:01Z [a/app] \tat com.example.Cart.checkout(Cart.java:42)",
+                "2024-05-01T10:00:01Z [b/app] same instant",
+                "2024-05-01T10:00:02Z [b/app] later",
+                "2024-05-01T10:00:03Z [a/app] recovered"
+        ), lines);
+    }
+
+    @Test
+    void testReportsUnavailableAndOmittedSourcesFirst() throws IOException {
+        LogTimeline timeline = new LogTimeline(List.of(
+                source("a", "2024-05-01T10:00:01Z up\n"),
+                LogTimeline.Source.failed("b", "app", "HTTP 400")
+        ), 3);
+
+        List<String> lines = write(timeline);
+
+        assertEquals(3, lines.size());
+        assertEquals("# b/app: unavailable (HTTP 400)", lines.get(0));
+        assertTrue(lines.get(1).startsWith("# 3 more containers"));
+        assertEquals("2024-05-01T10:00:01Z [a/app] up", lines.get(2));
+    }
+
+    private static LogTimeline.Source source(String pod, String log) {
+        return LogTimeline.Source.of(pod, "app", new BufferedReader(new StringReader(log)));
+    }
+
+    private static List<String> write(LogTimeline timeline) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (timeline) {
+            timeline.writeTo(out);
+        }
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
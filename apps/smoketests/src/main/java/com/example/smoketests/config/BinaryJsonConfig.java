@@ -0,0 +1,36 @@
+package com.example.smoketests.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.common.http.BinaryJsonResponses;
+import com.example.smoketests.model.response.RunResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smile/CBOR on request (Accept) for run results; JSON stays the default.
+ * The run export is a plain map, so its endpoint negotiates through the same BinaryJsonResponses.
+ */
+@Configuration
+public class BinaryJsonConfig implements WebMvcConfigurer {
+
+    private final BinaryJsonResponses binaryJsonResponses;
+
+    public BinaryJsonConfig(ObjectMapper objectMapper) {
+        this.binaryJsonResponses = new BinaryJsonResponses(objectMapper, RunResponse.class);
+    }
+
+    @Bean
+    public BinaryJsonResponses binaryJsonResponses() {
+        return binaryJsonResponses;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        binaryJsonResponses.install(converters);
+    }
+}
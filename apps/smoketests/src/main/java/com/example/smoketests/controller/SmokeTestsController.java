@@ -1,9 +1,11 @@
 package com.example.smoketests.controller;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,11 +14,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.common.http.BinaryJsonHttpMessageConverter;
+import com.example.common.http.BinaryJsonResponses;
 import com.example.smoketests.model.enums.ErrorCode;
 import com.example.smoketests.model.request.GenerateTestsPreviewRequest;
 import com.example.smoketests.model.request.RunSmokeTestsRequest;
@@ -28,6 +33,7 @@ import com.example.smoketests.model.response.SpecResolveResponse;
 import com.example.smoketests.model.response.UploadResponse;
 import com.example.smoketests.model.response.ValidationResponse;
 import com.example.smoketests.model.response.WorkflowCatalogResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -54,6 +60,7 @@ public class SmokeTestsController {
     private final com.example.smoketests.service.UploadService uploadService;
     private final com.example.smoketests.handler.EvidenceHandler evidenceHandler;
     private final com.example.smoketests.handler.ExportHandler exportHandler;
+    private final BinaryJsonResponses binaryJsonResponses;
 
     /**
      * 2.1 Resolve spec + fingerprint + cache status GET
@@ -192,14 +199,26 @@ public class SmokeTestsController {
 
     /**
      * 6) Export diagnostics GET /api/smoke/runs/{runId}/export
+     * Smile/CBOR when Accept prefers it (the bundle is a plain map, so it is encoded here
+     * rather than by the type-scoped converters).
      */
     @GetMapping("/runs/{runId}/export")
-    public ResponseEntity<Map<String, Object>> exportDiagnostics(@PathVariable String runId) {
+    public ResponseEntity<?> exportDiagnostics(@PathVariable String runId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws JsonProcessingException {
 
         log.info("Exporting diagnostics for run: {}", runId);
 
         Map<String, Object> export = exportHandler.createExportBundle(runId);
-        return ResponseEntity.ok(export);
+        Optional<BinaryJsonHttpMessageConverter> binary = binaryJsonResponses.negotiate(accept);
+        if (binary.isPresent()) {
+            return ResponseEntity.ok()
+                    .contentType(binary.get().getMediaType())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .body(binary.get().getObjectMapper().writeValueAsBytes(export));
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(export);
     }
 
     /**
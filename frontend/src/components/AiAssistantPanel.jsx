@@ -289,14 +289,23 @@ export default function AiAssistantPanel({
   };
 
   const pushMessage = (role, payload) => {
+    const id = `${role}-${Date.now()}-${Math.random().toString(16).slice(2)}`;
     setMessages(prev => [
       ...prev,
       {
-        id: `${role}-${Date.now()}-${Math.random().toString(16).slice(2)}`,
+        id,
         role,
         ...payload
       }
     ]);
+    return id;
+  };
+
+  // patch: fields to merge, or a function of the current message returning them
+  const updateMessage = (id, patch) => {
+    setMessages(prev => prev.map(msg => (
+      msg.id === id ? { ...msg, ...(typeof patch === 'function' ? patch(msg) : patch) } : msg
+    )));
   };
 
   const askAssistant = async (question) => {
@@ -308,38 +317,81 @@ export default function AiAssistantPanel({
     const userCandidate = parseConnectionFromText(userText);
     pushMessage('user', { content: userText, connectionCandidate: userCandidate });
 
+    // Deployment triage streams its progress into a placeholder message that becomes the answer
+    let progressId = null;
+    const showMessage = (payload) => {
+      if (progressId) {
+        updateMessage(progressId, payload);
+      } else {
+        pushMessage('assistant', payload);
+      }
+    };
+
     try {
-      const response = await apiService.askTriageAssistant({
+      // A summary registered server-side is referenced by its handle instead of posted back
+      const summaryId = attachContext && context?.summaryId ? context.summaryId : null;
+      const payload = {
         tool,
         question: question.trim(),
         connectionId,
         action: currentAction,
-        context: attachContext ? context : null
-      });
+        summaryId,
+        context: attachContext && !summaryId ? context : null
+      };
+
+      let data;
+      if (tool === 'deployment-doctor') {
+        progressId = pushMessage('assistant', {
+          content: 'Working out what you need...',
+          keyFindings: [],
+          nextSteps: [],
+          openQuestions: [],
+          mode: 'streaming'
+        });
+        data = await apiService.streamTriageAssistant(payload, (name, event) => {
+          if (name === 'intent') {
+            updateMessage(progressId, { content: `Routing to ${event?.tool || 'chat'}...` });
+          } else if (name === 'tool_started') {
+            updateMessage(progressId, { content: `Running ${event?.tool}...` });
+          } else if (name === 'finding') {
+            updateMessage(progressId, (msg) => ({ keyFindings: [...(msg.keyFindings || []), event?.text] }));
+          }
+        });
+      } else {
+        const response = await apiService.askTriageAssistant(payload);
+        data = response.data;
+      }
 
-      const assistantText = response.data?.answer || 'No response received.';
+      const assistantText = data?.answer || 'No response received.';
       const assistantCandidate = parseConnectionFromText(assistantText);
-      const toolExecuted = response.data?.toolExecuted === true;
-      const toolResult = response.data?.toolResult;
+      const toolExecuted = data?.toolExecuted === true;
+      const toolResult = data?.toolResult;
 
       if (toolExecuted && toolResult && onToolResult) {
-        onToolResult(response.data?.executedTool, toolResult);
+        if (data?.executedTool === 'plan' && Array.isArray(toolResult)) {
+          // Multi-tool answer: hand each executed step to the page like a single tool result
+          toolResult
+            .filter((step) => step?.toolExecuted && step.result)
+            .forEach((step) => onToolResult(step.tool, step.result));
+        } else {
+          onToolResult(data?.executedTool, toolResult);
+        }
       }
 
-      pushMessage('assistant', {
+      showMessage({
         content: assistantText,
-        keyFindings: response.data?.keyFindings || [],
-        nextSteps: response.data?.nextSteps || [],
-        openQuestions: response.data?.openQuestions || [],
-        mode: response.data?.mode || 'heuristic',
+        keyFindings: data?.keyFindings || [],
+        nextSteps: data?.nextSteps || [],
+        openQuestions: data?.openQuestions || [],
+        mode: data?.mode || 'heuristic',
         toolExecuted,
-        executedTool: response.data?.executedTool,
+        executedTool: data?.executedTool,
         connectionCandidate: assistantCandidate
       });
     } catch (err) {
       const msg = err.response?.data?.message || err.message || 'Assistant request failed.';
       setError(msg);
-      pushMessage('assistant', {
+      showMessage({
         content: `Request failed: ${msg}`,
         keyFindings: [],
         nextSteps: [],
@@ -390,6 +390,26 @@ function DeploymentDoctorPage({ addConsoleMessage, setK8sStatus }) {
     }
   };
 
+  const handleDownloadIncidentArchive = () => {
+    const effectiveNamespace = (summary?.target?.namespace || namespace || '').trim();
+    const effectiveSelector = (summary?.target?.selector || selector || '').trim();
+    const effectiveRelease = (summary?.target?.release || release || '').trim();
+
+    if (!effectiveNamespace || (!effectiveSelector && !effectiveRelease)) {
+      addConsoleMessage('✗ Namespace and selector or release are required for an incident archive', 'error');
+      return;
+    }
+
+    const link = document.createElement('a');
+    link.href = apiService.deploymentArchiveUrl(
+      effectiveNamespace,
+      effectiveSelector || undefined,
+      effectiveRelease || undefined
+    );
+    link.click();
+    addConsoleMessage(`🗄️ Downloading incident archive for namespace: ${effectiveNamespace}`, 'info');
+  };
+
   const isErrorLine = (line) => {
     if (!line || typeof line !== 'string') {
       return false;
@@ -573,6 +593,15 @@ function DeploymentDoctorPage({ addConsoleMessage, setK8sStatus }) {
         >
           {exportingDiagnostics ? 'Exporting...' : 'Export Diagnostics'}
         </Button>
+        <Button
+          variant="outlined"
+          onClick={handleDownloadIncidentArchive}
+          disabled={loading || (!summary && !namespace)}
+          startIcon={<DownloadIcon />}
+          sx={{ minHeight: 40, fontSize: '1.02rem', fontWeight: 700, textTransform: 'none' }}
+        >
+          Incident Archive
+        </Button>
         <Typography variant="body2" color="text.secondary">
           Use this panel to query logs by trace id or plain text.
         </Typography>
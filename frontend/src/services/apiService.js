@@ -115,6 +115,14 @@ export const apiService = {
       params: { namespace, selector, release, limitEvents } 
     }),
   
+  // Incident archive (zip) URL: downloaded by the browser as it streams, never held in memory
+  deploymentArchiveUrl: (namespace, selector, release) => {
+    const params = new URLSearchParams({ namespace });
+    if (selector) params.append('selector', selector);
+    if (release) params.append('release', release);
+    return `${DEPLOYMENT_API_BASE}/diagnostics/archive?${params.toString()}`;
+  },
+  
   // Smoke Tests APIs
   runSmokeTests: (config) =>
     axios.post(`${SMOKE_TEST_API_BASE}/run`, config),
@@ -135,5 +143,51 @@ export const apiService = {
   askTriageAssistant: (payload) => {
     const base = payload?.tool === 'deployment-doctor' ? DEPLOYMENT_AI_API_BASE : AI_API_BASE;
     return axios.post(`${base}/triage`, payload);
+  },
+
+  // Deployment triage as server-sent events: onEvent(name, data) for intent, tool_started,
+  // finding and error; resolves with the final answer (same shape as askTriageAssistant's data)
+  streamTriageAssistant: async (payload, onEvent) => {
+    const response = await fetch(`${DEPLOYMENT_AI_API_BASE}/triage/stream`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json', Accept: 'text/event-stream' },
+      body: JSON.stringify(payload)
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Assistant stream failed with status ${response.status}`);
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let answer = null;
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true });
+      const frames = buffer.split(/\r?\n\r?\n/);
+      buffer = frames.pop();
+      for (const frame of frames) {
+        let name = 'message';
+        const data = [];
+        for (const line of frame.split(/\r?\n/)) {
+          if (line.startsWith('event:')) name = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5));
+        }
+        if (data.length === 0) continue;
+        const parsed = JSON.parse(data.join('\n'));
+        if (name === 'answer') {
+          answer = parsed;
+        } else if (name === 'error') {
+          throw new Error(parsed?.message || 'Assistant stream failed.');
+        } else {
+          onEvent?.(name, parsed);
+        }
+      }
+    }
+    if (!answer) {
+      throw new Error('Assistant stream ended without an answer.');
+    }
+    return answer;
   }
 };